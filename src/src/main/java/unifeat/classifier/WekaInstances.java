@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import unifeat.dataset.SparseDataset;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.SparseInstance;
+
+/**
+ * This java class is used to convert the data kept in unifeat tool to the
+ * Instances implemented in weka software. The Instances are built directly
+ * from the values in the memory, so no CSV or ARFF file is needed for
+ * evaluating a feature subset.
+ *
+ * @author Sina Tabakhi
+ */
+public final class WekaInstances {
+
+    /**
+     * This method creates the Instances of the input data based on the selected
+     * features. The class label is added as the last (nominal) attribute whose
+     * values are in the same order as the names of the class labels.
+     *
+     * @param data the input data (the class label of each sample is placed in
+     * the last column)
+     * @param selectedFeature the list of selected features
+     * @param featureNames a string array of features names
+     * @param classNames a string array of class labels names
+     *
+     * @return the Instances of the reduced data
+     */
+    public static Instances createInstances(double[][] data, int[] selectedFeature, String[] featureNames, String[] classNames) {
+        int numSamples = data.length;
+        int sizeFeatureSet = selectedFeature.length;
+        int numFeats = featureNames.length - 1;
+        ArrayList<Attribute> attributes = new ArrayList<>(sizeFeatureSet + 1);
+
+        for (int i = 0; i < sizeFeatureSet; i++) {
+            attributes.add(new Attribute(featureNames[selectedFeature[i]]));
+        }
+        attributes.add(new Attribute(featureNames[numFeats], new ArrayList<>(Arrays.asList(classNames))));
+
+        Instances instances = new Instances("data", attributes, numSamples);
+        instances.setClassIndex(sizeFeatureSet);
+        for (double[] sample : data) {
+            double[] values = new double[sizeFeatureSet + 1];
+            for (int j = 0; j < sizeFeatureSet; j++) {
+                values[j] = sample[selectedFeature[j]];
+            }
+            values[sizeFeatureSet] = sample[numFeats];
+            instances.add(new DenseInstance(1.0, values));
+        }
+        return instances;
+    }
+
+    /**
+     * This method creates the Instances of the sparse data based on the
+     * selected features. Each sample is added as a SparseInstance that keeps
+     * only the nonzero values of the selected features and the class label.
+     *
+     * @param data the sparse data
+     * @param selectedFeature the list of selected features
+     * @param featureNames a string array of features names
+     * @param classNames a string array of class labels names
+     *
+     * @return the Instances of the reduced data
+     */
+    public static Instances createInstances(SparseDataset data, int[] selectedFeature, String[] featureNames, String[] classNames) {
+        int numSamples = data.getNumSamples();
+        int sizeFeatureSet = selectedFeature.length;
+        int numFeats = featureNames.length - 1;
+        int[] rows = data.getRowIndices();
+        double[] nonzeros = data.getValues();
+        ArrayList<Attribute> attributes = new ArrayList<>(sizeFeatureSet + 1);
+
+        for (int i = 0; i < sizeFeatureSet; i++) {
+            attributes.add(new Attribute(featureNames[selectedFeature[i]]));
+        }
+        attributes.add(new Attribute(featureNames[numFeats], new ArrayList<>(Arrays.asList(classNames))));
+
+        //counts the nonzero values of the selected features in each sample
+        int[] rowPointers = new int[numSamples + 1];
+        for (int feature : selectedFeature) {
+            for (int k = data.getColumnStart(feature); k < data.getColumnEnd(feature); k++) {
+                rowPointers[rows[k] + 1]++;
+            }
+        }
+        for (int i = 0; i < numSamples; i++) {
+            rowPointers[i + 1] += rowPointers[i] + 1;
+        }
+
+        //places the nonzero values of each sample in order of the attributes
+        int[] indices = new int[rowPointers[numSamples]];
+        double[] values = new double[rowPointers[numSamples]];
+        int[] nextPosition = Arrays.copyOf(rowPointers, numSamples);
+        for (int j = 0; j < sizeFeatureSet; j++) {
+            int feature = selectedFeature[j];
+            for (int k = data.getColumnStart(feature); k < data.getColumnEnd(feature); k++) {
+                int position = nextPosition[rows[k]]++;
+                indices[position] = j;
+                values[position] = nonzeros[k];
+            }
+        }
+
+        Instances instances = new Instances("data", attributes, numSamples);
+        instances.setClassIndex(sizeFeatureSet);
+        for (int i = 0; i < numSamples; i++) {
+            int position = nextPosition[i];
+            indices[position] = sizeFeatureSet;
+            values[position] = data.getLabel(i);
+            instances.add(new SparseInstance(1.0, Arrays.copyOfRange(values, rowPointers[i], position + 1),
+                    Arrays.copyOfRange(indices, rowPointers[i], position + 1), sizeFeatureSet + 1));
+        }
+        return instances;
+    }
+}
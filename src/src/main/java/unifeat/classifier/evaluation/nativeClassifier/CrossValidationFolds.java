@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import java.util.ArrayList;
+import java.util.Random;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+/**
+ * This java class is used to split the samples of the train set into the folds
+ * of the k-fold cross validation. The folds are the same as the folds used by
+ * the cross validation of the Weka software (the samples are randomized by a
+ * fixed seed and stratified by their class labels), so the native classifiers
+ * are evaluated on exactly the same train and test sets as the Weka
+ * classifiers.
+ * <p>
+ * The folds only depend on the class labels, so they are computed once and
+ * shared by the evaluations of all feature subsets.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.wekaClassifier.CrossValidation
+ */
+public class CrossValidationFolds {
+
+    private final int numFolds;
+    private final int[][] trainIndices;
+    private final int[][] testIndices;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param labels the class label (index of the class) of each sample
+     * @param numClasses the number of classes
+     * @param kFold the number of equal sized subsamples
+     */
+    public CrossValidationFolds(int[] labels, int numClasses, int kFold) {
+        ArrayList<String> classValues = new ArrayList<>(numClasses);
+        for (int i = 0; i < numClasses; i++) {
+            classValues.add(String.valueOf(i));
+        }
+        ArrayList<Attribute> attributes = new ArrayList<>(2);
+        attributes.add(new Attribute("index"));
+        attributes.add(new Attribute("class", classValues));
+
+        //each sample keeps only its index and its class label
+        Instances data = new Instances("folds", attributes, labels.length);
+        data.setClassIndex(1);
+        for (int i = 0; i < labels.length; i++) {
+            data.add(new DenseInstance(1.0, new double[]{i, labels[i]}));
+        }
+
+        //the same steps as the cross validation of the Weka software
+        Random random = new Random(1);
+        data.randomize(random);
+        data.stratify(kFold);
+        numFolds = kFold;
+        trainIndices = new int[kFold][];
+        testIndices = new int[kFold][];
+        for (int i = 0; i < kFold; i++) {
+            trainIndices[i] = indicesOf(data.trainCV(kFold, i, random));
+            testIndices[i] = indicesOf(data.testCV(kFold, i));
+        }
+    }
+
+    /**
+     * This method returns the indices of the samples kept in the given
+     * Instances in their order.
+     *
+     * @param data the Instances of the samples
+     *
+     * @return an array of the indices of the samples
+     */
+    private static int[] indicesOf(Instances data) {
+        int[] indices = new int[data.numInstances()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = (int) data.instance(i).value(0);
+        }
+        return indices;
+    }
+
+    /**
+     * This method returns the number of folds
+     *
+     * @return the number of folds
+     */
+    public int getNumFolds() {
+        return numFolds;
+    }
+
+    /**
+     * This method returns the indices of the samples used for training the
+     * classifier in the given fold.
+     *
+     * @param fold the index of the fold
+     *
+     * @return an array of the indices of the train samples
+     */
+    public int[] getTrainIndices(int fold) {
+        return trainIndices[fold];
+    }
+
+    /**
+     * This method returns the indices of the samples used for testing the
+     * classifier in the given fold.
+     *
+     * @param fold the index of the fold
+     *
+     * @return an array of the indices of the test samples
+     */
+    public int[] getTestIndices(int fold) {
+        return testIndices[fold];
+    }
+}
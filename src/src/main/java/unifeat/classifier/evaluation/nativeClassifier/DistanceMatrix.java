@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import java.util.Arrays;
+
+/**
+ * This java class is used to keep the squared distances between the samples
+ * over a feature subset, which are used by the native kNN classifier. The
+ * distance of the i-th sample (as a test sample) to the t-th sample (as a
+ * train sample) is placed at (i * numSamples + t), and each feature is
+ * weighted by the inverse of its squared range in the train samples of the
+ * fold of the i-th sample.
+ * <p>
+ * The matrix is changed only by the kNN evaluator when a feature is added or
+ * removed, and it can be read by several threads at the same time.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.nativeClassifier.KNNCrossValidation
+ */
+public class DistanceMatrix {
+
+    final double[] values;
+    private int[] features;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param numSamples the number of samples
+     */
+    DistanceMatrix(int numSamples) {
+        values = new double[numSamples * numSamples];
+        features = new int[0];
+    }
+
+    /**
+     * This method returns the features of the current subset in the order
+     * they have been added.
+     *
+     * @return an array of indices of the features
+     */
+    public int[] getFeatures() {
+        return features;
+    }
+
+    /**
+     * This method adds the feature to the current subset
+     *
+     * @param feature the index of the feature
+     */
+    void addFeature(int feature) {
+        features = Arrays.copyOf(features, features.length + 1);
+        features[features.length - 1] = feature;
+    }
+
+    /**
+     * This method removes the feature from the current subset
+     *
+     * @param feature the index of the feature
+     */
+    void removeFeature(int feature) {
+        int[] newFeatures = new int[features.length - 1];
+        int index = 0;
+        for (int f : features) {
+            if (f != feature) {
+                newFeatures[index++] = f;
+            }
+        }
+        features = newFeatures;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import java.util.Arrays;
+
+/**
+ * This java class is used to keep the inner products between the samples over
+ * a feature subset, which are used as the precomputed kernel of the native SVM
+ * classifier. Each feature is normalized to [0, 1] by its range in the samples
+ * of the matrix (as the normalization filter of the Weka SMO classifier), and
+ * the inner product of the i-th and t-th samples is placed at
+ * (i * numSamples + t).
+ * <p>
+ * The linear kernel of a feature subset is the sum of the outer products of
+ * its normalized features, so adding or removing a feature is a rank-one
+ * update of the matrix instead of computing the matrix again. The RBF and
+ * Pearson VII kernels are computed from the inner products in the same way as
+ * the Weka software.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.nativeClassifier.SMOClassifier
+ */
+public class GramMatrix {
+
+    private static final int BLOCK_SIZE = 4;
+    final double[] values;
+    private final double[][] data;
+    private final int numSamples;
+    private int[] features;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param data the input data (the class label of each sample is placed in
+     * the last column)
+     */
+    public GramMatrix(double[][] data) {
+        this.data = data;
+        this.numSamples = data.length;
+        this.values = new double[numSamples * numSamples];
+        this.features = new int[0];
+    }
+
+    /**
+     * This method shows whether the inner products of the given number of
+     * samples can be kept in a Gram matrix.
+     *
+     * @param numSamples the number of samples
+     *
+     * @return true if at least one Gram matrix of the samples can be kept in
+     * the memory
+     */
+    public static boolean isApplicable(int numSamples) {
+        return getMaxNumMatrices(numSamples) > 0;
+    }
+
+    /**
+     * This method returns the number of Gram matrices of the given number of
+     * samples that can be kept in the memory at the same time. All matrices
+     * need less than a quarter of the maximum memory of the virtual machine.
+     *
+     * @param numSamples the number of samples
+     *
+     * @return the maximum number of Gram matrices (zero if the number of the
+     * pairs of samples is greater than the maximum length of an array or a
+     * single matrix does not fit in the memory)
+     */
+    public static int getMaxNumMatrices(int numSamples) {
+        long numValues = (long) numSamples * numSamples;
+        if (numValues > Integer.MAX_VALUE - 8) {
+            return 0;
+        }
+        long maxMatrices = Runtime.getRuntime().maxMemory() / 4 / Math.max(1, numValues * Double.BYTES);
+        return (int) Math.min(maxMatrices, Integer.MAX_VALUE);
+    }
+
+    /**
+     * This method returns the number of samples
+     *
+     * @return the number of samples
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * This method returns the features of the current subset in the order
+     * they have been added.
+     *
+     * @return an array of indices of the features
+     */
+    public int[] getFeatures() {
+        return features;
+    }
+
+    /**
+     * This method returns the inner product of the given samples over the
+     * current feature subset
+     *
+     * @param index1 the index of the first sample
+     * @param index2 the index of the second sample
+     *
+     * @return the inner product of the samples
+     */
+    public double getValue(int index1, int index2) {
+        return values[index1 * numSamples + index2];
+    }
+
+    /**
+     * This method adds the given features to the current subset
+     *
+     * @param newFeatures an array of indices of the new features
+     */
+    public void addFeatures(int[] newFeatures) {
+        updateValues(newFeatures, 1);
+        int length = features.length;
+        features = Arrays.copyOf(features, length + newFeatures.length);
+        System.arraycopy(newFeatures, 0, features, length, newFeatures.length);
+    }
+
+    /**
+     * This method removes the given features from the current subset. The
+     * features that are not in the subset are ignored.
+     *
+     * @param removedFeatures an array of indices of the removed features
+     */
+    public void removeFeatures(int[] removedFeatures) {
+        int[] sortedFeatures = removedFeatures.clone();
+        Arrays.sort(sortedFeatures);
+        int[] remainedFeatures = new int[features.length];
+        int[] deletedFeatures = new int[features.length];
+        int numRemained = 0;
+        int numDeleted = 0;
+        for (int feature : features) {
+            if (Arrays.binarySearch(sortedFeatures, feature) >= 0) {
+                deletedFeatures[numDeleted++] = feature;
+            } else {
+                remainedFeatures[numRemained++] = feature;
+            }
+        }
+        updateValues(Arrays.copyOf(deletedFeatures, numDeleted), -1);
+        features = Arrays.copyOf(remainedFeatures, numRemained);
+    }
+
+    /**
+     * This method changes the current subset to the given feature subset by
+     * removing the features that are not in the given subset and adding the
+     * new ones.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     */
+    public void setFeatures(int[] selectedFeature) {
+        int[] sortedSelected = selectedFeature.clone();
+        Arrays.sort(sortedSelected);
+        int[] sortedCurrent = features.clone();
+        Arrays.sort(sortedCurrent);
+
+        int[] removedFeatures = new int[sortedCurrent.length];
+        int numRemoved = 0;
+        for (int feature : sortedCurrent) {
+            if (Arrays.binarySearch(sortedSelected, feature) < 0) {
+                removedFeatures[numRemoved++] = feature;
+            }
+        }
+        int[] newFeatures = new int[sortedSelected.length];
+        int numNew = 0;
+        for (int feature : selectedFeature) {
+            if (Arrays.binarySearch(sortedCurrent, feature) < 0) {
+                newFeatures[numNew++] = feature;
+            }
+        }
+        if (numRemoved > 0) {
+            removeFeatures(Arrays.copyOf(removedFeatures, numRemoved));
+        }
+        if (numNew > 0) {
+            addFeatures(Arrays.copyOf(newFeatures, numNew));
+        }
+    }
+
+    /**
+     * This method returns the values of the feature in all samples normalized
+     * to [0, 1] by the range of the feature. The values of a constant feature
+     * are zero.
+     *
+     * @param feature the index of the feature
+     *
+     * @return an array of the normalized values of the feature
+     */
+    public double[] getColumn(int feature) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double[] sample : data) {
+            min = Math.min(min, sample[feature]);
+            max = Math.max(max, sample[feature]);
+        }
+        return getColumn(feature, min, max);
+    }
+
+    /**
+     * This method returns the values of the feature in all samples normalized
+     * by the given range. The values of a feature with an empty range are
+     * zero.
+     *
+     * @param feature the index of the feature
+     * @param min the minimum value of the feature
+     * @param max the maximum value of the feature
+     *
+     * @return an array of the normalized values of the feature
+     */
+    double[] getColumn(int feature, double min, double max) {
+        double[] column = new double[numSamples];
+        if (max > min) {
+            for (int i = 0; i < numSamples; i++) {
+                column[i] = (data[i][feature] - min) / (max - min);
+            }
+        }
+        return column;
+    }
+
+    /**
+     * This method adds (or subtracts) the outer products of the normalized
+     * values of the given features to the inner products. Each block of four
+     * features is added in one pass over the matrix.
+     *
+     * @param updatedFeatures an array of indices of the features
+     * @param sign one for adding the features and minus one for removing them
+     */
+    private void updateValues(int[] updatedFeatures, double sign) {
+        double[][] columns = new double[BLOCK_SIZE][];
+        for (int start = 0; start < updatedFeatures.length; start += BLOCK_SIZE) {
+            int blockSize = Math.min(BLOCK_SIZE, updatedFeatures.length - start);
+            for (int b = 0; b < BLOCK_SIZE; b++) {
+                //the missing features of the last block have zero values
+                columns[b] = b < blockSize ? getColumn(updatedFeatures[start + b]) : new double[numSamples];
+            }
+            double[] column0 = columns[0];
+            double[] column1 = columns[1];
+            double[] column2 = columns[2];
+            double[] column3 = columns[3];
+            for (int i = 0; i < numSamples; i++) {
+                double value0 = sign * column0[i];
+                double value1 = sign * column1[i];
+                double value2 = sign * column2[i];
+                double value3 = sign * column3[i];
+                int offset = i * numSamples;
+                for (int t = 0; t < numSamples; t++) {
+                    values[offset + t] += value0 * column0[t] + value1 * column1[t]
+                            + value2 * column2[t] + value3 * column3[t];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,493 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import unifeat.result.performanceMeasure.Criteria;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This java class is used to evaluate the k-nearest neighbours (kNN) classifier
+ * by k-fold cross validation without building the Weka classifier for each
+ * feature subset.
+ * <p>
+ * The distances are the normalized Euclidean distances of the Weka software,
+ * in which each feature is divided by its range. The Weka classifier computes
+ * the ranges from the train samples and widens them by each test sample before
+ * classifying it, so the squared distances kept in the {@link DistanceMatrix}
+ * use the ranges of the train samples of each fold, and the few features whose
+ * ranges are widened by the test samples are corrected while the neighbours of
+ * a test sample are found. Adding or removing a feature is an O(n^2) update of
+ * the matrix instead of computing the distances again, and the features are
+ * added in blocks, so the matrix is visited once for each block.
+ * <p>
+ * Each test sample is classified by the majority vote of its k nearest train
+ * samples, in which the train samples at the same distance as the k-th nearest
+ * one are also voted (as the linear search of the Weka software) and the ties
+ * of the votes are broken in favour of the first class. The k nearest samples
+ * are found by partial selection instead of sorting the distances. If the
+ * number of folds is not smaller than the number of samples, the leave-one-out
+ * cross validation is performed.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.nativeClassifier.CrossValidationFolds
+ */
+public class KNNCrossValidation {
+
+    private static final int BLOCK_SIZE = 4;
+    private final double[][] data;
+    private final int numSamples;
+    private final int numClasses;
+    private final int kNNValue;
+    private final int[] labels;
+    private final int numFolds;
+    private final int[] foldOfSample;
+    private final int[][] testIndices;
+    private final AtomicReferenceArray<double[]> featureWeights;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param data the input data (the class label of each sample is placed in
+     * the last column)
+     * @param numFeatures the number of features in the data
+     * @param numClasses the number of classes
+     * @param kNNValue the number of neighbours to use
+     * @param kFold the number of equal sized subsamples
+     */
+    public KNNCrossValidation(double[][] data, int numFeatures, int numClasses, int kNNValue, int kFold) {
+        this.data = data;
+        this.numSamples = data.length;
+        this.numClasses = numClasses;
+        this.kNNValue = kNNValue;
+        this.labels = new int[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            labels[i] = (int) data[i][numFeatures];
+        }
+        this.featureWeights = new AtomicReferenceArray<>(numFeatures);
+
+        //assigns each sample to the fold in which it is a test sample
+        foldOfSample = new int[numSamples];
+        if (kFold >= numSamples) {
+            numFolds = numSamples;
+            testIndices = new int[numSamples][];
+            for (int i = 0; i < numSamples; i++) {
+                foldOfSample[i] = i;
+                testIndices[i] = new int[]{i};
+            }
+        } else {
+            CrossValidationFolds folds = new CrossValidationFolds(labels, numClasses, kFold);
+            numFolds = kFold;
+            testIndices = new int[kFold][];
+            for (int f = 0; f < kFold; f++) {
+                testIndices[f] = folds.getTestIndices(f);
+                for (int index : testIndices[f]) {
+                    foldOfSample[index] = f;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method shows whether the distances of the given number of samples
+     * can be kept in a distance matrix.
+     *
+     * @param numSamples the number of samples
+     *
+     * @return true if at least one distance matrix of the samples can be kept
+     * in the memory
+     */
+    public static boolean isApplicable(int numSamples) {
+        return getMaxConcurrentEvaluations(numSamples) > 0;
+    }
+
+    /**
+     * This method returns the number of feature subsets that can be evaluated
+     * at the same time, since the evaluation of each subset keeps its own
+     * distance matrix. The distance matrices of all concurrent evaluations
+     * need less than a quarter of the maximum memory of the virtual machine.
+     *
+     * @param numSamples the number of samples
+     *
+     * @return the maximum number of concurrent evaluations (zero if the number
+     * of the pairs of samples is greater than the maximum length of an array
+     * or a single distance matrix does not fit in the memory)
+     */
+    public static int getMaxConcurrentEvaluations(int numSamples) {
+        long numValues = (long) numSamples * numSamples;
+        if (numValues > Integer.MAX_VALUE - 8) {
+            return 0;
+        }
+        long maxMatrices = Runtime.getRuntime().maxMemory() / 4 / Math.max(1, numValues * Double.BYTES);
+        return (int) Math.min(maxMatrices, Integer.MAX_VALUE);
+    }
+
+    /**
+     * This method computes the squared distances between the samples over the
+     * selected feature subset.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return the distance matrix of the feature subset
+     */
+    public DistanceMatrix computeDistances(int[] selectedFeature) {
+        DistanceMatrix distances = new DistanceMatrix(numSamples);
+        addFeatures(distances, selectedFeature);
+        return distances;
+    }
+
+    /**
+     * This method adds the given features to the feature subset of the
+     * distance matrix.
+     *
+     * @param distances the distance matrix of the current feature subset
+     * @param features an array of indices of the new features
+     */
+    public void addFeatures(DistanceMatrix distances, int[] features) {
+        updateDistances(distances.values, features, 1);
+        for (int feature : features) {
+            distances.addFeature(feature);
+        }
+    }
+
+    /**
+     * This method removes the given features from the feature subset of the
+     * distance matrix. The features that are not in the subset are ignored.
+     *
+     * @param distances the distance matrix of the current feature subset
+     * @param features an array of indices of the removed features
+     */
+    public void removeFeatures(DistanceMatrix distances, int[] features) {
+        for (int feature : features) {
+            for (int f : distances.getFeatures()) {
+                if (f == feature) {
+                    updateDistances(distances.values, new int[]{feature}, -1);
+                    distances.removeFeature(feature);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method adds (or subtracts) the weighted squared differences of the
+     * given features to the squared distances. Each block of four features is
+     * added in one pass over the matrix.
+     *
+     * @param values the values of the distance matrix
+     * @param features an array of indices of the features
+     * @param sign one for adding the features and minus one for removing them
+     */
+    private void updateDistances(double[] values, int[] features, double sign) {
+        double[][] columns = new double[BLOCK_SIZE][];
+        double[][] weights = new double[BLOCK_SIZE][];
+        for (int start = 0; start < features.length; start += BLOCK_SIZE) {
+            int blockSize = Math.min(BLOCK_SIZE, features.length - start);
+            for (int b = 0; b < BLOCK_SIZE; b++) {
+                //the missing features of the last block have no weight
+                columns[b] = b < blockSize ? getColumn(features[start + b]) : new double[numSamples];
+                weights[b] = b < blockSize ? getWeights(features[start + b]) : new double[numSamples + numFolds];
+            }
+            double[] column0 = columns[0];
+            double[] column1 = columns[1];
+            double[] column2 = columns[2];
+            double[] column3 = columns[3];
+            for (int i = 0; i < numSamples; i++) {
+                int fold = numSamples + foldOfSample[i];
+                double weight0 = sign * weights[0][fold];
+                double weight1 = sign * weights[1][fold];
+                double weight2 = sign * weights[2][fold];
+                double weight3 = sign * weights[3][fold];
+                double value0 = column0[i];
+                double value1 = column1[i];
+                double value2 = column2[i];
+                double value3 = column3[i];
+                int offset = i * numSamples;
+                for (int t = 0; t < numSamples; t++) {
+                    double diff0 = value0 - column0[t];
+                    double diff1 = value1 - column1[t];
+                    double diff2 = value2 - column2[t];
+                    double diff3 = value3 - column3[t];
+                    values[offset + t] += weight0 * diff0 * diff0 + weight1 * diff1 * diff1
+                            + weight2 * diff2 * diff2 + weight3 * diff3 * diff3;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method performs k-fold cross validation of the kNN classifier on the
+     * reduced data which is achieved by the selected feature subset.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public Criteria crossValidation(int[] selectedFeature) {
+        return crossValidation(computeDistances(selectedFeature), -1);
+    }
+
+    /**
+     * This method performs k-fold cross validation of the kNN classifier on the
+     * feature subset of the given distance matrix, extended by the candidate
+     * feature. The distance matrix is not changed, so the current subset
+     * extended by each feasible feature can be evaluated by a single matrix.
+     *
+     * @param distances the distance matrix of the current feature subset
+     * @param candidateFeature the index of the feature that is added to the
+     * current subset, or a negative value if no feature is added
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public Criteria crossValidation(DistanceMatrix distances, int candidateFeature) {
+        Criteria criteria = new Criteria();
+        int[] features = distances.getFeatures();
+        double[][] weights = new double[features.length][];
+        for (int f = 0; f < features.length; f++) {
+            weights[f] = getWeights(features[f]);
+        }
+        double[] candidateColumn = candidateFeature >= 0 ? getColumn(candidateFeature) : null;
+        double[] candidateWeights = candidateFeature >= 0 ? getWeights(candidateFeature) : null;
+        double[] trainDistances = new double[numSamples];
+        double[] selectionBuffer = new double[numSamples];
+        int[] trainIndices = new int[numSamples];
+        int[] votes = new int[numClasses];
+        int numIncorrect = 0;
+
+        for (int i = 0; i < numSamples; i++) {
+            int fold = foldOfSample[i];
+
+            //collects the distances between the test sample and the train samples
+            int numTrain = 0;
+            int offset = i * numSamples;
+            for (int t = 0; t < numSamples; t++) {
+                if (foldOfSample[t] != fold) {
+                    trainDistances[numTrain] = distances.values[offset + t];
+                    trainIndices[numTrain++] = t;
+                }
+            }
+
+            //corrects the features whose ranges are widened by the test samples
+            for (int f = 0; f < features.length; f++) {
+                double weight = weights[f][i] - weights[f][numSamples + fold];
+                if (weight != 0) {
+                    addFeatureDistances(trainDistances, trainIndices, numTrain, i, features[f], weight);
+                }
+            }
+            if (candidateColumn != null) {
+                double value = candidateColumn[i];
+                double weight = candidateWeights[i];
+                for (int t = 0; t < numTrain; t++) {
+                    double diff = value - candidateColumn[trainIndices[t]];
+                    trainDistances[t] += weight * diff * diff;
+                }
+            }
+
+            //votes the train samples which are not farther than the k-th nearest one
+            int k = Math.min(kNNValue, numTrain);
+            Arrays.fill(votes, 0);
+            if (k > 0) {
+                System.arraycopy(trainDistances, 0, selectionBuffer, 0, numTrain);
+                double kthDistance = selectKthSmallest(selectionBuffer, numTrain, k - 1);
+                for (int t = 0; t < numTrain; t++) {
+                    if (trainDistances[t] <= kthDistance) {
+                        votes[labels[trainIndices[t]]]++;
+                    }
+                }
+            }
+            int predictedClass = 0;
+            for (int c = 1; c < numClasses; c++) {
+                if (votes[c] > votes[predictedClass]) {
+                    predictedClass = c;
+                }
+            }
+            if (predictedClass != labels[i]) {
+                numIncorrect++;
+            }
+        }
+
+        //Set different criteria values
+        criteria.setErrorRate((double) numIncorrect / numSamples * 100);
+        criteria.setAccuracy(100 - criteria.getErrorRate());
+        return criteria;
+    }
+
+    /**
+     * This method adds the weighted squared differences of the feature between
+     * the test sample and the train samples to their distances.
+     *
+     * @param trainDistances the distances of the train samples
+     * @param trainIndices the indices of the train samples
+     * @param numTrain the number of train samples
+     * @param testIndex the index of the test sample
+     * @param feature the index of the feature
+     * @param weight the weight of the squared differences
+     */
+    private void addFeatureDistances(double[] trainDistances, int[] trainIndices, int numTrain,
+            int testIndex, int feature, double weight) {
+        double value = data[testIndex][feature];
+        for (int t = 0; t < numTrain; t++) {
+            double diff = value - data[trainIndices[t]][feature];
+            trainDistances[t] += weight * diff * diff;
+        }
+    }
+
+    /**
+     * This method returns the values of the feature in all samples
+     *
+     * @param feature the index of the feature
+     *
+     * @return an array of the values of the feature
+     */
+    private double[] getColumn(int feature) {
+        double[] column = new double[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            column[i] = data[i][feature];
+        }
+        return column;
+    }
+
+    /**
+     * This method returns the weights of the feature. The value at i is the
+     * weight used by the i-th sample as a test sample, and the value at
+     * (numSamples + f) is the weight computed from the train samples of the
+     * f-th fold. The weight is the inverse of the squared range of the values
+     * (zero for a constant feature).
+     *
+     * @param feature the index of the feature
+     *
+     * @return an array of the weights of the feature
+     */
+    private double[] getWeights(int feature) {
+        double[] weights = featureWeights.get(feature);
+        if (weights == null) {
+            weights = computeWeights(feature);
+            featureWeights.compareAndSet(feature, null, weights);
+        }
+        return weights;
+    }
+
+    /**
+     * This method computes the weights of the feature. The range of each fold
+     * starts from the range of its train samples and it is widened by each test
+     * sample in the order of the classification, as the Weka classifier.
+     *
+     * @param feature the index of the feature
+     *
+     * @return an array of the weights of the feature
+     */
+    private double[] computeWeights(int feature) {
+        double[] weights = new double[numSamples + numFolds];
+
+        //finds the samples with the minimum and maximum values
+        int minIndex = 0;
+        int maxIndex = 0;
+        for (int i = 1; i < numSamples; i++) {
+            if (data[i][feature] < data[minIndex][feature]) {
+                minIndex = i;
+            }
+            if (data[i][feature] > data[maxIndex][feature]) {
+                maxIndex = i;
+            }
+        }
+        double minOtherFold = Double.POSITIVE_INFINITY;
+        double maxOtherFold = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < numSamples; i++) {
+            if (foldOfSample[i] != foldOfSample[minIndex]) {
+                minOtherFold = Math.min(minOtherFold, data[i][feature]);
+            }
+            if (foldOfSample[i] != foldOfSample[maxIndex]) {
+                maxOtherFold = Math.max(maxOtherFold, data[i][feature]);
+            }
+        }
+
+        for (int f = 0; f < numFolds; f++) {
+            //the range of the train samples (all samples out of the fold)
+            double min = foldOfSample[minIndex] == f ? minOtherFold : data[minIndex][feature];
+            double max = foldOfSample[maxIndex] == f ? maxOtherFold : data[maxIndex][feature];
+            weights[numSamples + f] = computeWeight(min, max);
+            for (int index : testIndices[f]) {
+                min = Math.min(min, data[index][feature]);
+                max = Math.max(max, data[index][feature]);
+                weights[index] = computeWeight(min, max);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * This method computes the weight of a feature by its range
+     *
+     * @param min the minimum value of the feature
+     * @param max the maximum value of the feature
+     *
+     * @return the inverse of the squared range, or zero if the range is empty
+     */
+    private static double computeWeight(double min, double max) {
+        return max > min ? 1.0 / ((max - min) * (max - min)) : 0;
+    }
+
+    /**
+     * This method finds the k-th smallest value of the first entries of the
+     * array by partial selection. The order of the entries is changed.
+     *
+     * @param array the input array
+     * @param length the number of entries that are considered
+     * @param k the rank of the value (zero for the smallest value)
+     *
+     * @return the k-th smallest value
+     */
+    private static double selectKthSmallest(double[] array, int length, int k) {
+        int left = 0;
+        int right = length - 1;
+        while (left < right) {
+            double pivot = array[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (array[i] < pivot) {
+                    i++;
+                }
+                while (array[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double temp = array[i];
+                    array[i++] = array[j];
+                    array[j--] = temp;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return array[k];
+            }
+        }
+        return array[k];
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import unifeat.dataset.ColumnarDataset;
+import unifeat.util.MathFunc;
+import java.util.Random;
+
+/**
+ * This java class is used to train the binary linear support vector machine
+ * (SVM) classifier by the dual coordinate descent method of Hsieh et al. (the
+ * L1-loss solver of LIBLINEAR). The bias is learned as the weight of an extra
+ * feature with a constant value for all samples, so the dual problem has only
+ * the box constraints of the variables. The large value of the bias feature
+ * keeps the regularization of the bias small, so the weights are close to the
+ * weights of the SVM classifier with an unregularized bias.
+ * <p>
+ * The classifier keeps its dual variables and the weight vector between the
+ * calls of {@link #buildClassifier(int[])}. If some features are removed from
+ * (or added to) the feature subset, the previous solution remains feasible and
+ * the weight vector is updated by the values of the changed features, so the
+ * training is warm-started from the solution of the previous subset. This is
+ * the case of the recursive feature elimination in which one feature is
+ * removed in each iteration.
+ * <p>
+ * The values of the features are normalized to the range [0, 1] in the same way
+ * as the SVM classifier of the Weka software by
+ * {@link #normalizeSamples(ColumnarDataset)}, and the normalized samples can be
+ * shared by all binary classifiers of a multiclass problem.
+ * <p>
+ * If the stopping condition of the solver is not met in the maximum number of
+ * iterations, the weights of the last iteration are used, and
+ * {@link #isConverged()} returns false.
+ *
+ * @author Sina Tabakhi
+ */
+public class LinearSVMClassifier {
+
+    private static final double EPSILON = 1.0e-3;
+    private static final double BIAS_VALUE = 10.0;
+    private static final int MAX_ITERATIONS = 1000;
+    private final double[][] samples;
+    private final int[] sampleIndices;
+    private final double[] y;
+    private final double parameterC;
+    private final double[] alpha;
+    private final double[] diagonal;
+    private final double[] weights;
+    private final boolean[] isActive;
+    private final Random rand;
+    private double biasWeight;
+    private boolean isConverged;
+    private int[] features;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param samples the normalized values of the samples in which each row
+     * contains the values of all features of a sample
+     * @param sampleIndices the indices of the train samples of the classifier
+     * @param isPositive the class of each train sample of the classifier (true
+     * for the positive class and false for the negative class)
+     * @param c the complexity parameter C
+     */
+    public LinearSVMClassifier(double[][] samples, int[] sampleIndices, boolean[] isPositive, double c) {
+        this.samples = samples;
+        this.sampleIndices = sampleIndices;
+        this.parameterC = c;
+        this.y = new double[sampleIndices.length];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = isPositive[i] ? 1 : -1;
+        }
+        this.alpha = new double[sampleIndices.length];
+        this.diagonal = new double[sampleIndices.length];
+        //the value of the bias feature is added to the diagonal
+        for (int i = 0; i < diagonal.length; i++) {
+            diagonal[i] = BIAS_VALUE * BIAS_VALUE;
+        }
+        int numFeatures = samples.length == 0 ? 0 : samples[0].length;
+        this.weights = new double[numFeatures];
+        this.isActive = new boolean[numFeatures];
+        this.features = new int[0];
+        this.rand = new Random(1);
+    }
+
+    /**
+     * This method normalizes the values of each feature to the range [0, 1]
+     * using the minimum and maximum values of the feature. The values of a
+     * constant feature are set to zero.
+     *
+     * @param data the column-major dataset
+     *
+     * @return the normalized values in which each row contains the values of
+     * all features of a sample
+     */
+    public static double[][] normalizeSamples(ColumnarDataset data) {
+        int numSamples = data.getNumSamples();
+        double[][] samples = new double[numSamples][data.getNumFeatures()];
+        for (int j = 0; j < data.getNumFeatures(); j++) {
+            double[] column = data.getColumn(j);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (double value : column) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max > min) {
+                double range = max - min;
+                for (int i = 0; i < numSamples; i++) {
+                    samples[i][j] = (column[i] - min) / range;
+                }
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * This method trains the classifier on the given feature subset. The
+     * training starts from the solution of the previous subset.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     */
+    public void buildClassifier(int[] selectedFeature) {
+        updateFeatures(selectedFeature);
+
+        int[] order = new int[sampleIndices.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        isConverged = false;
+        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+            //shuffles the order of the dual variables
+            for (int i = order.length - 1; i > 0; i--) {
+                MathFunc.swap(order, i, rand.nextInt(i + 1));
+            }
+
+            double maxProjectedGradient = Double.NEGATIVE_INFINITY;
+            double minProjectedGradient = Double.POSITIVE_INFINITY;
+            for (int i : order) {
+                double[] sample = samples[sampleIndices[i]];
+                double output = biasWeight * BIAS_VALUE;
+                for (int feature : features) {
+                    output += weights[feature] * sample[feature];
+                }
+                double gradient = y[i] * output - 1;
+
+                //computes the projected gradient of the dual variable
+                double projectedGradient = gradient;
+                if (alpha[i] == 0) {
+                    projectedGradient = Math.min(gradient, 0);
+                } else if (alpha[i] == parameterC) {
+                    projectedGradient = Math.max(gradient, 0);
+                }
+                maxProjectedGradient = Math.max(maxProjectedGradient, projectedGradient);
+                minProjectedGradient = Math.min(minProjectedGradient, projectedGradient);
+
+                if (Math.abs(projectedGradient) > 1.0e-12) {
+                    double oldAlpha = alpha[i];
+                    alpha[i] = Math.min(Math.max(alpha[i] - gradient / diagonal[i], 0), parameterC);
+                    double delta = (alpha[i] - oldAlpha) * y[i];
+                    for (int feature : features) {
+                        weights[feature] += delta * sample[feature];
+                    }
+                    biasWeight += delta * BIAS_VALUE;
+                }
+            }
+            if (maxProjectedGradient - minProjectedGradient <= EPSILON) {
+                isConverged = true;
+                break;
+            }
+        }
+    }
+
+    /**
+     * This method shows whether the last training of the classifier met the
+     * stopping condition of the solver
+     *
+     * @return true if the solver converged in the last training
+     */
+    public boolean isConverged() {
+        return isConverged;
+    }
+
+    /**
+     * This method updates the diagonal of the dual problem and the weight
+     * vector by the features that are removed from or added to the subset
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     */
+    private void updateFeatures(int[] selectedFeature) {
+        boolean[] isSelected = new boolean[weights.length];
+        for (int feature : selectedFeature) {
+            isSelected[feature] = true;
+        }
+        for (int feature = 0; feature < weights.length; feature++) {
+            if (isActive[feature] == isSelected[feature]) {
+                continue;
+            }
+            double sign = isSelected[feature] ? 1 : -1;
+            double weight = 0;
+            for (int i = 0; i < sampleIndices.length; i++) {
+                double value = samples[sampleIndices[i]][feature];
+                diagonal[i] += sign * value * value;
+                weight += y[i] * alpha[i] * value;
+            }
+            weights[feature] = isSelected[feature] ? weight : 0;
+            isActive[feature] = isSelected[feature];
+        }
+        features = selectedFeature.clone();
+    }
+
+    /**
+     * This method returns the weights of the given features. The positive
+     * weights show the features that increase the output of the positive
+     * class.
+     *
+     * @param selectedFeature an array of indices of the features
+     *
+     * @return an array of the weights of the features
+     */
+    public double[] getWeights(int[] selectedFeature) {
+        double[] result = new double[selectedFeature.length];
+        for (int i = 0; i < selectedFeature.length; i++) {
+            result[i] = weights[selectedFeature[i]];
+        }
+        return result;
+    }
+}
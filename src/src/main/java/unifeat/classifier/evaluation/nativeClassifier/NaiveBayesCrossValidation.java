@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import unifeat.result.performanceMeasure.Criteria;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import weka.core.Statistics;
+
+/**
+ * This java class is used to evaluate the Gaussian naive Bayes (NB) classifier
+ * by k-fold cross validation without building the Weka classifier for each
+ * feature subset.
+ * <p>
+ * The NB classifier factorizes over the features, so the log-likelihood of
+ * each test sample for each class is computed once per feature from the
+ * statistics of the train samples of its fold (the mean, the standard
+ * deviation, and the precision of the values of the feature in each class).
+ * The evaluation of a feature subset only sums the log-likelihood columns of
+ * the selected features. The estimators are the same as the NaiveBayes
+ * classifier of the Weka software, so the predictions are the same apart from
+ * the rounding errors of the sums.
+ * <p>
+ * The log-likelihood column of a feature is computed when the feature is used
+ * for the first time, and the evaluation of the feature subsets can be done
+ * at the same time by several threads.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.nativeClassifier.CrossValidationFolds
+ */
+public class NaiveBayesCrossValidation {
+
+    private static final double DEFAULT_PRECISION = 0.01;
+    private static final double MIN_PROBABILITY = 1e-75;
+    private final double[][] data;
+    private final int numSamples;
+    private final int numClasses;
+    private final int[] labels;
+    private final CrossValidationFolds folds;
+    private final double[][] logPriors;
+    private final AtomicReferenceArray<double[]> logLikelihoods;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param data the input data (the class label of each sample is placed in
+     * the last column)
+     * @param numFeatures the number of features in the data
+     * @param numClasses the number of classes
+     * @param kFold the number of equal sized subsamples
+     */
+    public NaiveBayesCrossValidation(double[][] data, int numFeatures, int numClasses, int kFold) {
+        this.data = data;
+        this.numSamples = data.length;
+        this.numClasses = numClasses;
+        this.labels = new int[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            labels[i] = (int) data[i][numFeatures];
+        }
+        this.folds = new CrossValidationFolds(labels, numClasses, kFold);
+        this.logLikelihoods = new AtomicReferenceArray<>(numFeatures);
+
+        //computes the class prior probabilities by the Laplace estimator
+        logPriors = new double[kFold][numClasses];
+        for (int f = 0; f < kFold; f++) {
+            int[] trainIndices = folds.getTrainIndices(f);
+            double[] counts = new double[numClasses];
+            Arrays.fill(counts, 1);
+            for (int index : trainIndices) {
+                counts[labels[index]]++;
+            }
+            for (int c = 0; c < numClasses; c++) {
+                logPriors[f][c] = Math.log(counts[c] / (trainIndices.length + numClasses));
+            }
+        }
+    }
+
+    /**
+     * This method performs k-fold cross validation of the NB classifier on the
+     * reduced data which is achieved by the selected feature subset.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public Criteria crossValidation(int[] selectedFeature) {
+        Criteria criteria = new Criteria();
+        double[] scores = new double[numSamples * numClasses];
+        for (int f = 0; f < folds.getNumFolds(); f++) {
+            for (int index : folds.getTestIndices(f)) {
+                System.arraycopy(logPriors[f], 0, scores, index * numClasses, numClasses);
+            }
+        }
+
+        //sums the log-likelihood columns of the selected features
+        for (int feature : selectedFeature) {
+            double[] column = getLogLikelihoods(feature);
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] += column[i];
+            }
+        }
+
+        int numIncorrect = 0;
+        for (int i = 0; i < numSamples; i++) {
+            int offset = i * numClasses;
+            int predictedClass = 0;
+            for (int c = 1; c < numClasses; c++) {
+                if (scores[offset + c] > scores[offset + predictedClass]) {
+                    predictedClass = c;
+                }
+            }
+            if (predictedClass != labels[i]) {
+                numIncorrect++;
+            }
+        }
+
+        //Set different criteria values
+        criteria.setErrorRate((double) numIncorrect / numSamples * 100);
+        criteria.setAccuracy(100 - criteria.getErrorRate());
+        return criteria;
+    }
+
+    /**
+     * This method returns the log-likelihood column of the given feature. The
+     * value of the column at (i * numClasses + c) is the log-likelihood of the
+     * i-th sample for the class c, where the estimator is built on the train
+     * samples of the fold in which the i-th sample is a test sample.
+     *
+     * @param feature the index of the feature
+     *
+     * @return the log-likelihood column of the feature
+     */
+    private double[] getLogLikelihoods(int feature) {
+        double[] column = logLikelihoods.get(feature);
+        if (column == null) {
+            column = computeLogLikelihoods(feature);
+            logLikelihoods.compareAndSet(feature, null, column);
+        }
+        return column;
+    }
+
+    /**
+     * This method computes the log-likelihood column of the given feature
+     *
+     * @param feature the index of the feature
+     *
+     * @return the log-likelihood column of the feature
+     */
+    private double[] computeLogLikelihoods(int feature) {
+        double[] column = new double[numSamples * numClasses];
+        double[] sumOfWeights = new double[numClasses];
+        double[] sumOfValues = new double[numClasses];
+        double[] sumOfValuesSq = new double[numClasses];
+        double[] mean = new double[numClasses];
+        double[] standardDev = new double[numClasses];
+
+        for (int f = 0; f < folds.getNumFolds(); f++) {
+            int[] trainIndices = folds.getTrainIndices(f);
+            double precision = computePrecision(feature, trainIndices);
+
+            //computes the mean and standard deviation of the rounded values in each class
+            Arrays.fill(sumOfWeights, 0);
+            Arrays.fill(sumOfValues, 0);
+            Arrays.fill(sumOfValuesSq, 0);
+            for (int index : trainIndices) {
+                double value = round(data[index][feature], precision);
+                int c = labels[index];
+                sumOfWeights[c]++;
+                sumOfValues[c] += value;
+                sumOfValuesSq[c] += value * value;
+            }
+            for (int c = 0; c < numClasses; c++) {
+                mean[c] = 0;
+                standardDev[c] = precision / (2 * 3);
+                if (sumOfWeights[c] > 0) {
+                    mean[c] = sumOfValues[c] / sumOfWeights[c];
+                    double stdDev = Math.sqrt(Math.abs(sumOfValuesSq[c] - mean[c] * sumOfValues[c]) / sumOfWeights[c]);
+                    if (stdDev > 1e-10) {
+                        standardDev[c] = Math.max(precision / (2 * 3), stdDev);
+                    }
+                }
+            }
+
+            //computes the log-likelihood values of the test samples
+            for (int index : folds.getTestIndices(f)) {
+                double value = round(data[index][feature], precision);
+                for (int c = 0; c < numClasses; c++) {
+                    double zLower = (value - mean[c] - (precision / 2)) / standardDev[c];
+                    double zUpper = (value - mean[c] + (precision / 2)) / standardDev[c];
+                    double probability = (Statistics.normalProbability(zUpper) - Statistics.normalProbability(zLower)) / precision;
+                    column[index * numClasses + c] = Math.log(Math.max(MIN_PROBABILITY, probability));
+                }
+            }
+        }
+        return column;
+    }
+
+    /**
+     * This method computes the precision of the values of the given feature
+     * in the train samples, which is the mean difference between the adjacent
+     * distinct values.
+     *
+     * @param feature the index of the feature
+     * @param trainIndices the indices of the train samples
+     *
+     * @return the precision of the values
+     */
+    private double computePrecision(int feature, int[] trainIndices) {
+        double[] values = new double[trainIndices.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data[trainIndices[i]][feature];
+        }
+        Arrays.sort(values);
+
+        double deltaSum = 0;
+        int distinct = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[i - 1]) {
+                deltaSum += values[i] - values[i - 1];
+                distinct++;
+            }
+        }
+        return distinct > 0 ? deltaSum / distinct : DEFAULT_PRECISION;
+    }
+
+    /**
+     * This method rounds the value to the given precision
+     *
+     * @param value the input value
+     * @param precision the precision of the values
+     *
+     * @return the rounded value
+     */
+    private static double round(double value, double precision) {
+        return Math.rint(value / precision) * precision;
+    }
+}
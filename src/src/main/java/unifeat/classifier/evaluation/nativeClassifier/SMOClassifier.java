@@ -0,0 +1,669 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import unifeat.gui.classifier.svmClassifier.SVMKernelType;
+import java.util.Random;
+
+/**
+ * This java class is used to train the support vector machine (SVM) classifier
+ * on a precomputed kernel. The binary classifiers are trained by the sequential
+ * minimal optimization (SMO) algorithm with the modification 2 of Keerthi et
+ * al. in the same way as the SMO classifier of the Weka software (the same
+ * order of the samples, tolerance, epsilon and kernel parameters), and the
+ * multiclass problems are solved by the One-Versus-One strategy with the
+ * majority vote of the binary classifiers.
+ * <p>
+ * The kernel values are read from a {@link GramMatrix} instead of computing
+ * the inner products of the samples for each classifier, so a single matrix is
+ * shared by all folds of the cross validation and all binary classifiers. A few
+ * normalized features can be added to (or removed from) the inner products
+ * without changing the matrix, e.g. a candidate feature or the features whose
+ * ranges are different in the train samples of a fold.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.nativeClassifier.GramMatrix
+ */
+public class SMOClassifier {
+
+    private static final double TOLERANCE = 1.0e-3;
+    private static final double EPSILON = 1.0e-12;
+    private static final double DELTA = 1000 * Double.MIN_VALUE;
+    private static final double RBF_GAMMA = 0.01;
+    private static final double PUK_OMEGA = 1.0;
+    private static final double PUK_SIGMA = 1.0;
+    private static final double PUK_FACTOR = 2.0 * Math.sqrt(Math.pow(2.0, 1.0 / PUK_OMEGA) - 1) / PUK_SIGMA;
+    private final SVMKernelType kernelType;
+    private final double parameterC;
+    private GramMatrix gramMatrix;
+    private double[][] addedColumns;
+    private double[][] removedColumns;
+    private double[] selfProducts;
+    private int numSamples;
+    private int numClasses;
+    private BinarySMO[][] classifiers;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param kernelType the type of kernel to use
+     * @param c the complexity parameter C
+     */
+    public SMOClassifier(SVMKernelType kernelType, double c) {
+        this.kernelType = kernelType;
+        this.parameterC = c;
+    }
+
+    /**
+     * This method builds the binary classifiers of all pairs of classes on the
+     * given train samples.
+     *
+     * @param gramMatrix the Gram matrix of the current feature subset
+     * @param addedColumns the normalized values of the features that are added
+     * to the inner products of the Gram matrix
+     * @param removedColumns the normalized values of the features that are
+     * removed from the inner products of the Gram matrix
+     * @param trainIndices the indices of the train samples in their order
+     * @param labels the class label (index of the class) of each sample
+     * @param numClasses the number of classes
+     */
+    public void buildClassifier(GramMatrix gramMatrix, double[][] addedColumns, double[][] removedColumns,
+            int[] trainIndices, int[] labels, int numClasses) {
+        this.gramMatrix = gramMatrix;
+        this.addedColumns = addedColumns;
+        this.removedColumns = removedColumns;
+        this.numSamples = gramMatrix.getNumSamples();
+        this.numClasses = numClasses;
+        this.selfProducts = new double[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            selfProducts[i] = innerProduct(i, i);
+        }
+
+        //generates subsets representing each class
+        int[] classSizes = new int[numClasses];
+        for (int index : trainIndices) {
+            classSizes[labels[index]]++;
+        }
+        int[][] subsets = new int[numClasses][];
+        for (int c = 0; c < numClasses; c++) {
+            subsets[c] = new int[classSizes[c]];
+            classSizes[c] = 0;
+        }
+        for (int index : trainIndices) {
+            subsets[labels[index]][classSizes[labels[index]]++] = index;
+        }
+
+        //builds the binary classifiers
+        Random random = new Random(1);
+        classifiers = new BinarySMO[numClasses][numClasses];
+        for (int i = 0; i < numClasses; i++) {
+            for (int j = i + 1; j < numClasses; j++) {
+                int[] samples = new int[subsets[i].length + subsets[j].length];
+                System.arraycopy(subsets[i], 0, samples, 0, subsets[i].length);
+                System.arraycopy(subsets[j], 0, samples, subsets[i].length, subsets[j].length);
+                randomize(samples, random);
+                classifiers[i][j] = new BinarySMO(samples, labels, i);
+                classifiers[i][j].build();
+            }
+        }
+    }
+
+    /**
+     * This method classifies the given sample by the majority vote of the
+     * binary classifiers. The ties are broken in favour of the first class.
+     *
+     * @param index the index of the sample
+     *
+     * @return the predicted class label (index of the class)
+     */
+    public int classifyInstance(int index) {
+        int[] votes = new int[numClasses];
+        for (int i = 0; i < numClasses; i++) {
+            for (int j = i + 1; j < numClasses; j++) {
+                if (classifiers[i][j].isBuilt()) {
+                    if (classifiers[i][j].output(index) > 0) {
+                        votes[j]++;
+                    } else {
+                        votes[i]++;
+                    }
+                }
+            }
+        }
+        int predictedClass = 0;
+        for (int c = 1; c < numClasses; c++) {
+            if (votes[c] > votes[predictedClass]) {
+                predictedClass = c;
+            }
+        }
+        return predictedClass;
+    }
+
+    /**
+     * This method computes the kernel value of the given samples
+     *
+     * @param index1 the index of the first sample
+     * @param index2 the index of the second sample
+     *
+     * @return the kernel value
+     */
+    private double kernel(int index1, int index2) {
+        double dotProduct = innerProduct(index1, index2);
+        if (kernelType == SVMKernelType.POLYNOMIAL) {
+            return dotProduct;
+        } else if (index1 == index2) {
+            return 1.0;
+        }
+        if (kernelType == SVMKernelType.RBF) {
+            return Math.exp(-RBF_GAMMA * (selfProducts[index1] - 2.0 * dotProduct + selfProducts[index2]));
+        }
+        double intermediate = PUK_FACTOR * Math.sqrt(-2.0 * dotProduct + selfProducts[index1] + selfProducts[index2]);
+        return 1.0 / Math.pow(1.0 + intermediate * intermediate, PUK_OMEGA);
+    }
+
+    /**
+     * This method computes the inner product of the given samples
+     *
+     * @param index1 the index of the first sample
+     * @param index2 the index of the second sample
+     *
+     * @return the inner product of the samples
+     */
+    private double innerProduct(int index1, int index2) {
+        double value = gramMatrix.values[index1 * numSamples + index2];
+        for (double[] column : addedColumns) {
+            value += column[index1] * column[index2];
+        }
+        for (double[] column : removedColumns) {
+            value -= column[index1] * column[index2];
+        }
+        return value;
+    }
+
+    /**
+     * This method shuffles the samples in the same way as the Weka software
+     *
+     * @param samples an array of indices of the samples
+     * @param random the random number generator
+     */
+    private static void randomize(int[] samples, Random random) {
+        for (int j = samples.length - 1; j > 0; j--) {
+            int k = random.nextInt(j + 1);
+            int temp = samples[j];
+            samples[j] = samples[k];
+            samples[k] = temp;
+        }
+    }
+
+    /**
+     * This java class is used to train a binary SVM classifier by the SMO
+     * algorithm. The samples of the first class are labelled by -1 and the
+     * samples of the second class by +1.
+     */
+    private class BinarySMO {
+
+        private final int[] samples;
+        private final double[] y;
+        private final double[] alpha;
+        private double b;
+        private double bLow;
+        private double bUp;
+        private int iLow;
+        private int iUp;
+        private double[] errors;
+        private IndexSet supportVectors;
+        private IndexSet setI0;
+        private IndexSet setI1;
+        private IndexSet setI2;
+        private IndexSet setI3;
+        private IndexSet setI4;
+        private boolean built;
+
+        /**
+         * Initializes the parameters
+         *
+         * @param samples the indices of the train samples in their order
+         * @param labels the class label (index of the class) of each sample
+         * @param class1 the index of the first class
+         */
+        BinarySMO(int[] samples, int[] labels, int class1) {
+            this.samples = samples;
+            this.y = new double[samples.length];
+            this.alpha = new double[samples.length];
+            iLow = -1;
+            iUp = -1;
+            for (int l = 0; l < samples.length; l++) {
+                if (labels[samples[l]] == class1) {
+                    y[l] = -1;
+                    iLow = l;
+                } else {
+                    y[l] = 1;
+                    iUp = l;
+                }
+            }
+        }
+
+        /**
+         * This method finds the Lagrange multipliers and the threshold
+         */
+        void build() {
+            bUp = -1;
+            bLow = 1;
+            b = 0;
+            supportVectors = new IndexSet(samples.length);
+
+            //checks whether one or both classes are missing
+            if (iUp == -1 || iLow == -1) {
+                if (iUp != -1) {
+                    b = -1;
+                    built = true;
+                } else if (iLow != -1) {
+                    b = 1;
+                    built = true;
+                }
+                return;
+            }
+            built = true;
+            setI0 = new IndexSet(samples.length);
+            setI1 = new IndexSet(samples.length);
+            setI2 = new IndexSet(samples.length);
+            setI3 = new IndexSet(samples.length);
+            setI4 = new IndexSet(samples.length);
+            errors = new double[samples.length];
+            errors[iLow] = 1;
+            errors[iUp] = -1;
+            for (int l = 0; l < samples.length; l++) {
+                if (y[l] == 1) {
+                    setI1.insert(l);
+                } else {
+                    setI4.insert(l);
+                }
+            }
+
+            //loops to find all the support vectors
+            int numChanged = 0;
+            boolean examineAll = true;
+            while (numChanged > 0 || examineAll) {
+                numChanged = 0;
+                if (examineAll) {
+                    for (int l = 0; l < samples.length; l++) {
+                        if (examineExample(l)) {
+                            numChanged++;
+                        }
+                    }
+                } else {
+                    for (int l = 0; l < samples.length; l++) {
+                        if (alpha[l] > 0 && alpha[l] < parameterC) {
+                            if (examineExample(l)) {
+                                numChanged++;
+                            }
+                            //checks the optimality on the unbound vectors
+                            if (bUp > bLow - 2 * TOLERANCE) {
+                                numChanged = 0;
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (examineAll) {
+                    examineAll = false;
+                } else if (numChanged == 0) {
+                    examineAll = true;
+                }
+            }
+            b = (bLow + bUp) / 2.0;
+            errors = null;
+            setI0 = setI1 = setI2 = setI3 = setI4 = null;
+        }
+
+        /**
+         * This method shows whether the classifier takes part in the voting
+         *
+         * @return true if at least one class has train samples
+         */
+        boolean isBuilt() {
+            return built;
+        }
+
+        /**
+         * This method computes the output of the classifier for the sample
+         *
+         * @param index the index of the sample
+         *
+         * @return the output of the classifier
+         */
+        double output(int index) {
+            double result = 0;
+            for (int l = supportVectors.getNext(-1); l != -1; l = supportVectors.getNext(l)) {
+                result += y[l] * alpha[l] * kernel(index, samples[l]);
+            }
+            return result - b;
+        }
+
+        /**
+         * This method examines the sample and jointly optimizes it with another
+         * sample if the optimality conditions are violated.
+         *
+         * @param i2 the position of the sample
+         *
+         * @return true if the Lagrange multipliers are changed
+         */
+        private boolean examineExample(int i2) {
+            double f2;
+            int i1 = -1;
+            if (setI0.contains(i2)) {
+                f2 = errors[i2];
+            } else {
+                f2 = output(samples[i2]) + b - y[i2];
+                errors[i2] = f2;
+
+                //updates the thresholds
+                if ((setI1.contains(i2) || setI2.contains(i2)) && f2 < bUp) {
+                    bUp = f2;
+                    iUp = i2;
+                } else if ((setI3.contains(i2) || setI4.contains(i2)) && f2 > bLow) {
+                    bLow = f2;
+                    iLow = i2;
+                }
+            }
+
+            //checks the optimality using the current thresholds
+            boolean optimal = true;
+            if (setI0.contains(i2) || setI1.contains(i2) || setI2.contains(i2)) {
+                if (bLow - f2 > 2 * TOLERANCE) {
+                    optimal = false;
+                    i1 = iLow;
+                }
+            }
+            if (setI0.contains(i2) || setI3.contains(i2) || setI4.contains(i2)) {
+                if (f2 - bUp > 2 * TOLERANCE) {
+                    optimal = false;
+                    i1 = iUp;
+                }
+            }
+            if (optimal) {
+                return false;
+            }
+
+            //chooses the better sample for an unbound sample
+            if (setI0.contains(i2)) {
+                i1 = bLow - f2 > f2 - bUp ? iLow : iUp;
+            }
+            return takeStep(i1, i2, f2);
+        }
+
+        /**
+         * This method jointly optimizes the Lagrange multipliers of two samples
+         *
+         * @param i1 the position of the first sample
+         * @param i2 the position of the second sample
+         * @param f2 the error of the second sample
+         *
+         * @return true if the Lagrange multipliers are changed
+         */
+        private boolean takeStep(int i1, int i2, double f2) {
+            if (i1 == i2) {
+                return false;
+            }
+            double alpha1 = alpha[i1];
+            double alpha2 = alpha[i2];
+            double y1 = y[i1];
+            double y2 = y[i2];
+            double f1 = errors[i1];
+            double s = y1 * y2;
+
+            //finds the constraints on the second multiplier
+            double low;
+            double high;
+            if (y1 != y2) {
+                low = Math.max(0, alpha2 - alpha1);
+                high = Math.min(parameterC, parameterC + alpha2 - alpha1);
+            } else {
+                low = Math.max(0, alpha1 + alpha2 - parameterC);
+                high = Math.min(parameterC, alpha1 + alpha2);
+            }
+            if (low >= high) {
+                return false;
+            }
+
+            //computes the second derivative of the objective function
+            double k11 = kernel(samples[i1], samples[i1]);
+            double k12 = kernel(samples[i1], samples[i2]);
+            double k22 = kernel(samples[i2], samples[i2]);
+            double eta = 2 * k12 - k11 - k22;
+
+            double a2;
+            if (eta < 0) {
+                //computes the constrained maximum
+                a2 = alpha2 - y2 * (f1 - f2) / eta;
+                if (a2 < low) {
+                    a2 = low;
+                } else if (a2 > high) {
+                    a2 = high;
+                }
+            } else {
+                //looks at the endpoints of the diagonal
+                double v1 = output(samples[i1]) + b - y1 * alpha1 * k11 - y2 * alpha2 * k12;
+                double v2 = output(samples[i2]) + b - y1 * alpha1 * k12 - y2 * alpha2 * k22;
+                double gamma = alpha1 + s * alpha2;
+                double lowObjective = objective(gamma, s, low, k11, k12, k22, y1, y2, v1, v2);
+                double highObjective = objective(gamma, s, high, k11, k12, k22, y1, y2, v1, v2);
+                if (lowObjective > highObjective + EPSILON) {
+                    a2 = low;
+                } else if (lowObjective < highObjective - EPSILON) {
+                    a2 = high;
+                } else {
+                    a2 = alpha2;
+                }
+            }
+            if (Math.abs(a2 - alpha2) < EPSILON * (a2 + alpha2 + EPSILON)) {
+                return false;
+            }
+
+            //prevents the precision problems
+            if (a2 > parameterC - DELTA * parameterC) {
+                a2 = parameterC;
+            } else if (a2 <= DELTA * parameterC) {
+                a2 = 0;
+            }
+            double a1 = alpha1 + s * (alpha2 - a2);
+            if (a1 > parameterC - DELTA * parameterC) {
+                a1 = parameterC;
+            } else if (a1 <= DELTA * parameterC) {
+                a1 = 0;
+            }
+
+            updateSets(i1, a1);
+            updateSets(i2, a2);
+
+            //updates the error cache using the new Lagrange multipliers
+            double delta1 = y1 * (a1 - alpha1);
+            double delta2 = y2 * (a2 - alpha2);
+            for (int j = setI0.getNext(-1); j != -1; j = setI0.getNext(j)) {
+                if (j != i1 && j != i2) {
+                    errors[j] += delta1 * kernel(samples[i1], samples[j]) + delta2 * kernel(samples[i2], samples[j]);
+                }
+            }
+            errors[i1] += delta1 * k11 + delta2 * k12;
+            errors[i2] += delta1 * k12 + delta2 * k22;
+            alpha[i1] = a1;
+            alpha[i2] = a2;
+
+            //updates the thresholds
+            bLow = -Double.MAX_VALUE;
+            bUp = Double.MAX_VALUE;
+            iLow = -1;
+            iUp = -1;
+            for (int j = setI0.getNext(-1); j != -1; j = setI0.getNext(j)) {
+                if (errors[j] < bUp) {
+                    bUp = errors[j];
+                    iUp = j;
+                }
+                if (errors[j] > bLow) {
+                    bLow = errors[j];
+                    iLow = j;
+                }
+            }
+            updateThresholds(i1);
+            updateThresholds(i2);
+            return true;
+        }
+
+        /**
+         * This method computes the objective function at an endpoint of the
+         * diagonal
+         *
+         * @return the value of the objective function
+         */
+        private double objective(double gamma, double s, double a2, double k11, double k12, double k22,
+                double y1, double y2, double v1, double v2) {
+            double a1 = gamma - s * a2;
+            return a1 + a2 - 0.5 * k11 * a1 * a1 - 0.5 * k22 * a2 * a2
+                    - s * k12 * a1 * a2 - y1 * a1 * v1 - y2 * a2 * v2;
+        }
+
+        /**
+         * This method updates the index sets of the sample by its new Lagrange
+         * multiplier
+         *
+         * @param i the position of the sample
+         * @param a the new Lagrange multiplier of the sample
+         */
+        private void updateSets(int i, double a) {
+            supportVectors.update(i, a > 0);
+            setI0.update(i, a > 0 && a < parameterC);
+            setI1.update(i, y[i] == 1 && a == 0);
+            setI2.update(i, y[i] == -1 && a == parameterC);
+            setI3.update(i, y[i] == 1 && a == parameterC);
+            setI4.update(i, y[i] == -1 && a == 0);
+        }
+
+        /**
+         * This method updates the thresholds by a sample which is not unbound
+         *
+         * @param i the position of the sample
+         */
+        private void updateThresholds(int i) {
+            if (!setI0.contains(i)) {
+                if (setI3.contains(i) || setI4.contains(i)) {
+                    if (errors[i] > bLow) {
+                        bLow = errors[i];
+                        iLow = i;
+                    }
+                } else if (errors[i] < bUp) {
+                    bUp = errors[i];
+                    iUp = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * This java class is used to keep a set of positions of samples. The
+     * members are visited in the reverse order of their insertion (as the set
+     * of the Weka software), so the ties are resolved in the same way.
+     */
+    private static class IndexSet {
+
+        private final boolean[] indicators;
+        private final int[] next;
+        private final int[] previous;
+        private int first = -1;
+        private int size;
+
+        /**
+         * Initializes the parameters
+         *
+         * @param capacity the maximum number of members
+         */
+        IndexSet(int capacity) {
+            indicators = new boolean[capacity];
+            next = new int[capacity];
+            previous = new int[capacity];
+        }
+
+        /**
+         * This method shows whether the given member is in the set
+         *
+         * @param index the member
+         *
+         * @return true if the member is in the set
+         */
+        boolean contains(int index) {
+            return indicators[index];
+        }
+
+        /**
+         * This method returns the member after the given member
+         *
+         * @param index the current member, or -1 for the first member
+         *
+         * @return the next member, or -1 if there is no more member
+         */
+        int getNext(int index) {
+            if (index == -1) {
+                return size == 0 ? -1 : first;
+            }
+            return next[index];
+        }
+
+        /**
+         * This method inserts or deletes the given member
+         *
+         * @param index the member
+         * @param isMember true if the member is inserted
+         */
+        void update(int index, boolean isMember) {
+            if (isMember && !indicators[index]) {
+                next[index] = size == 0 ? -1 : first;
+                previous[index] = -1;
+                if (size > 0) {
+                    previous[first] = index;
+                }
+                first = index;
+                indicators[index] = true;
+                size++;
+            } else if (!isMember && indicators[index]) {
+                if (first == index) {
+                    first = next[index];
+                } else {
+                    next[previous[index]] = next[index];
+                }
+                if (next[index] != -1) {
+                    previous[next[index]] = previous[index];
+                }
+                indicators[index] = false;
+                size--;
+            }
+        }
+
+        /**
+         * This method inserts the given member
+         *
+         * @param index the member
+         */
+        void insert(int index) {
+            update(index, true);
+        }
+    }
+}
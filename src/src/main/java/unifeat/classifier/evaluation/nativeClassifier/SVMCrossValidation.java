@@ -0,0 +1,236 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import unifeat.gui.classifier.svmClassifier.SVMKernelType;
+import unifeat.result.performanceMeasure.Criteria;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This java class is used to evaluate the support vector machine (SVM)
+ * classifier by k-fold cross validation without building the Weka classifier
+ * for each feature subset.
+ * <p>
+ * The classifier of each fold is trained by the {@link SMOClassifier} on the
+ * same train samples (in the same order) as the Weka software. The kernel is
+ * read from a single {@link GramMatrix} of all samples, which is shared by all
+ * folds. The Weka classifier normalizes the features by their ranges in the
+ * train samples of each fold, so the few features whose ranges in the train
+ * samples of a fold are different from their ranges in all samples are
+ * corrected while the classifier of the fold is trained. A subset extended by
+ * a candidate feature is evaluated on the matrix of the current subset and the
+ * normalized values of the candidate feature.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.nativeClassifier.CrossValidationFolds
+ */
+public class SVMCrossValidation {
+
+    private final double[][] data;
+    private final int numSamples;
+    private final int numClasses;
+    private final SVMKernelType kernelType;
+    private final double parameterC;
+    private final int[] labels;
+    private final CrossValidationFolds folds;
+    private final AtomicReferenceArray<double[]> featureRanges;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param data the input data (the class label of each sample is placed in
+     * the last column)
+     * @param numFeatures the number of features in the data
+     * @param numClasses the number of classes
+     * @param kernelType the type of kernel to use
+     * @param c the complexity parameter C
+     * @param kFold the number of equal sized subsamples
+     */
+    public SVMCrossValidation(double[][] data, int numFeatures, int numClasses,
+            SVMKernelType kernelType, double c, int kFold) {
+        this.data = data;
+        this.numSamples = data.length;
+        this.numClasses = numClasses;
+        this.kernelType = kernelType;
+        this.parameterC = c;
+        this.labels = new int[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            labels[i] = (int) data[i][numFeatures];
+        }
+        this.folds = new CrossValidationFolds(labels, numClasses, kFold);
+        this.featureRanges = new AtomicReferenceArray<>(numFeatures);
+    }
+
+    /**
+     * This method shows whether the native SVM classifier can be evaluated on
+     * the given number of samples.
+     *
+     * @param numSamples the number of samples
+     * @param kFold the number of equal sized subsamples
+     *
+     * @return true if the number of folds is not greater than the number of
+     * samples and the Gram matrix of the samples can be kept in the memory
+     */
+    public static boolean isApplicable(int numSamples, int kFold) {
+        return kFold <= numSamples && GramMatrix.isApplicable(numSamples);
+    }
+
+    /**
+     * This method returns the number of feature subsets that can be evaluated
+     * at the same time, since the evaluation of each subset keeps its own Gram
+     * matrix.
+     *
+     * @param numSamples the number of samples
+     *
+     * @return the maximum number of concurrent evaluations
+     */
+    public static int getMaxConcurrentEvaluations(int numSamples) {
+        return GramMatrix.getMaxNumMatrices(numSamples);
+    }
+
+    /**
+     * This method computes the Gram matrix of all samples over the selected
+     * feature subset.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return the Gram matrix of the feature subset
+     */
+    public GramMatrix computeGramMatrix(int[] selectedFeature) {
+        GramMatrix gramMatrix = new GramMatrix(data);
+        gramMatrix.addFeatures(selectedFeature);
+        return gramMatrix;
+    }
+
+    /**
+     * This method performs k-fold cross validation of the SVM classifier on the
+     * reduced data which is achieved by the selected feature subset.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public Criteria crossValidation(int[] selectedFeature) {
+        return crossValidation(computeGramMatrix(selectedFeature), -1);
+    }
+
+    /**
+     * This method performs k-fold cross validation of the SVM classifier on the
+     * feature subset of the given Gram matrix, extended by the candidate
+     * feature. The Gram matrix is not changed, so the current subset extended
+     * by each feasible feature can be evaluated by a single matrix.
+     *
+     * @param gramMatrix the Gram matrix of the current feature subset
+     * @param candidateFeature the index of the feature that is added to the
+     * current subset, or a negative value if no feature is added
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public Criteria crossValidation(GramMatrix gramMatrix, int candidateFeature) {
+        Criteria criteria = new Criteria();
+        int numIncorrect = 0;
+
+        for (int f = 0; f < folds.getNumFolds(); f++) {
+            //replaces the features whose ranges are different in the train samples
+            ArrayList<double[]> addedColumns = new ArrayList<>();
+            ArrayList<double[]> removedColumns = new ArrayList<>();
+            for (int feature : gramMatrix.getFeatures()) {
+                double[] ranges = getRanges(feature);
+                if (ranges[2 + 2 * f] != ranges[0] || ranges[3 + 2 * f] != ranges[1]) {
+                    removedColumns.add(gramMatrix.getColumn(feature, ranges[0], ranges[1]));
+                    addedColumns.add(gramMatrix.getColumn(feature, ranges[2 + 2 * f], ranges[3 + 2 * f]));
+                }
+            }
+            if (candidateFeature >= 0) {
+                double[] ranges = getRanges(candidateFeature);
+                addedColumns.add(gramMatrix.getColumn(candidateFeature, ranges[2 + 2 * f], ranges[3 + 2 * f]));
+            }
+
+            SMOClassifier svm = new SMOClassifier(kernelType, parameterC);
+            svm.buildClassifier(gramMatrix, addedColumns.toArray(new double[0][]),
+                    removedColumns.toArray(new double[0][]), folds.getTrainIndices(f), labels, numClasses);
+            for (int index : folds.getTestIndices(f)) {
+                if (svm.classifyInstance(index) != labels[index]) {
+                    numIncorrect++;
+                }
+            }
+        }
+
+        //Set different criteria values
+        criteria.setErrorRate((double) numIncorrect / numSamples * 100);
+        criteria.setAccuracy(100 - criteria.getErrorRate());
+        return criteria;
+    }
+
+    /**
+     * This method returns the ranges of the feature. The values at zero and one
+     * are the minimum and maximum values in all samples, and the values at
+     * (2 + 2 * f) and (3 + 2 * f) are the minimum and maximum values in the
+     * train samples of the f-th fold.
+     *
+     * @param feature the index of the feature
+     *
+     * @return an array of the ranges of the feature
+     */
+    private double[] getRanges(int feature) {
+        double[] ranges = featureRanges.get(feature);
+        if (ranges == null) {
+            ranges = computeRanges(feature);
+            featureRanges.compareAndSet(feature, null, ranges);
+        }
+        return ranges;
+    }
+
+    /**
+     * This method computes the ranges of the feature in all samples and in the
+     * train samples of each fold.
+     *
+     * @param feature the index of the feature
+     *
+     * @return an array of the ranges of the feature
+     */
+    private double[] computeRanges(int feature) {
+        double[] ranges = new double[2 + 2 * folds.getNumFolds()];
+        ranges[0] = Double.POSITIVE_INFINITY;
+        ranges[1] = Double.NEGATIVE_INFINITY;
+        for (double[] sample : data) {
+            ranges[0] = Math.min(ranges[0], sample[feature]);
+            ranges[1] = Math.max(ranges[1], sample[feature]);
+        }
+        for (int f = 0; f < folds.getNumFolds(); f++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int index : folds.getTrainIndices(f)) {
+                min = Math.min(min, data[index][feature]);
+                max = Math.max(max, data[index][feature]);
+            }
+            ranges[2 + 2 * f] = min;
+            ranges[3 + 2 * f] = max;
+        }
+        return ranges;
+    }
+}
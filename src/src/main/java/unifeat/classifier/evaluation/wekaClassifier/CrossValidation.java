@@ -28,9 +28,11 @@ import unifeat.gui.classifier.svmClassifier.SVMKernelType;
 import unifeat.result.performanceMeasure.Criteria;
 import java.io.BufferedReader;
 import java.io.FileReader;
+import java.io.IOException;
 import java.util.Random;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import weka.classifiers.Classifier;
 import weka.classifiers.Evaluation;
 import weka.classifiers.bayes.NaiveBayes;
 import weka.classifiers.functions.SMO;
@@ -48,6 +50,50 @@ import weka.core.Instances;
  */
 public class CrossValidation {
 
+    /**
+     * This method reads the train set from the ARFF file and sets its class
+     * index to the last attribute.
+     *
+     * @param pathTrainData the path of the train set
+     *
+     * @return the Instances of the train set
+     *
+     * @throws IOException if the ARFF file cannot be read
+     */
+    private static Instances readInstances(String pathTrainData) throws IOException {
+        BufferedReader readerTrain = new BufferedReader(new FileReader(pathTrainData));
+        Instances dataTrain = new Instances(readerTrain);
+        readerTrain.close();
+        dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
+        return dataTrain;
+    }
+
+    /**
+     * This method evaluates the given classifier on the train set using k-fold
+     * cross validation.
+     * <p>
+     * The classifier is not trained on the whole train set beforehand, since
+     * the cross validation trains a new copy of the classifier on each fold.
+     *
+     * @param classifier the classifier to evaluate
+     * @param dataTrain the Instances of the train set
+     * @param kFold the number of equal sized subsamples
+     *
+     * @return the different criteria values
+     *
+     * @throws Exception if the classifier could not be evaluated successfully
+     */
+    private static Criteria evaluate(Classifier classifier, Instances dataTrain, int kFold) throws Exception {
+        Criteria criteria = new Criteria();
+        Evaluation eval = new Evaluation(dataTrain);
+        eval.crossValidateModel(classifier, dataTrain, kFold, new Random(1));
+
+        //Set different criteria values
+        criteria.setErrorRate(eval.errorRate() * 100);
+        criteria.setAccuracy(100 - criteria.getErrorRate());
+        return criteria;
+    }
+
     /**
      * This method builds and evaluates the support vector machine(SVM)
      * classifier. The SMO is used as the SVM classifier implemented in the Weka
@@ -62,23 +108,35 @@ public class CrossValidation {
      * @see unifeat.result.performanceMeasure.Criteria
      */
     public static Criteria SVM(String pathTrainData, SVMKernelType svmKernel, double c, int kFold) {
-        Criteria criteria = new Criteria();
         try {
-            BufferedReader readerTrain = new BufferedReader(new FileReader(pathTrainData));
-            Instances dataTrain = new Instances(readerTrain);
-            readerTrain.close();
-            dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
+            return SVM(readInstances(pathTrainData), svmKernel, c, kFold);
+        } catch (IOException ex) {
+            Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        return new Criteria();
+    }
 
+    /**
+     * This method builds and evaluates the support vector machine(SVM)
+     * classifier. The SMO is used as the SVM classifier implemented in the Weka
+     * software.
+     *
+     * @param dataTrain the Instances of the train set whose class index has
+     * been set
+     * @param svmKernel the kernel to use
+     * @param c the complexity parameter C
+     * @param kFold the number of equal sized subsamples
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public static Criteria SVM(Instances dataTrain, SVMKernelType svmKernel, double c, int kFold) {
+        Criteria criteria = new Criteria();
+        try {
             SMO svm = new SMO();
             svm.setC(c);
             svm.setKernel(WekaSVMKernel.parse(svmKernel));
-            svm.buildClassifier(dataTrain);
-            Evaluation eval = new Evaluation(dataTrain);
-            eval.crossValidateModel(svm, dataTrain, kFold, new Random(1));
-
-            //Set different criteria values
-            criteria.setErrorRate(eval.errorRate() * 100);
-            criteria.setAccuracy(100 - criteria.getErrorRate());
+            criteria = evaluate(svm, dataTrain, kFold);
         } catch (Exception ex) {
             Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
         }
@@ -96,21 +154,30 @@ public class CrossValidation {
      * @see unifeat.result.performanceMeasure.Criteria
      */
     public static Criteria naiveBayes(String pathTrainData, int kFold) {
-        Criteria criteria = new Criteria();
         try {
-            BufferedReader readerTrain = new BufferedReader(new FileReader(pathTrainData));
-            Instances dataTrain = new Instances(readerTrain);
-            readerTrain.close();
-            dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
+            return naiveBayes(readInstances(pathTrainData), kFold);
+        } catch (IOException ex) {
+            Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        return new Criteria();
+    }
 
+    /**
+     * This method builds and evaluates the naiveBayes(NB) classifier. The
+     * naiveBayes is used as the NB classifier implemented in the Weka software.
+     *
+     * @param dataTrain the Instances of the train set whose class index has
+     * been set
+     * @param kFold the number of equal sized subsamples
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public static Criteria naiveBayes(Instances dataTrain, int kFold) {
+        Criteria criteria = new Criteria();
+        try {
             NaiveBayes nb = new NaiveBayes();
-            nb.buildClassifier(dataTrain);
-            Evaluation eval = new Evaluation(dataTrain);
-            eval.crossValidateModel(nb, dataTrain, kFold, new Random(1));
-
-            //Set different criteria values
-            criteria.setErrorRate(eval.errorRate() * 100);
-            criteria.setAccuracy(100 - criteria.getErrorRate());
+            criteria = evaluate(nb, dataTrain, kFold);
         } catch (Exception ex) {
             Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
         }
@@ -130,23 +197,34 @@ public class CrossValidation {
      * @see unifeat.result.performanceMeasure.Criteria
      */
     public static Criteria dTree(String pathTrainData, double confidenceValue, int minNumSampleInLeaf, int kFold) {
-        Criteria criteria = new Criteria();
         try {
-            BufferedReader readerTrain = new BufferedReader(new FileReader(pathTrainData));
-            Instances dataTrain = new Instances(readerTrain);
-            readerTrain.close();
-            dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
+            return dTree(readInstances(pathTrainData), confidenceValue, minNumSampleInLeaf, kFold);
+        } catch (IOException ex) {
+            Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        return new Criteria();
+    }
 
+    /**
+     * This method builds and evaluates the decision tree(DT) classifier. The
+     * j48 is used as the DT classifier implemented in the Weka software.
+     *
+     * @param dataTrain the Instances of the train set whose class index has
+     * been set
+     * @param confidenceValue The confidence factor used for pruning
+     * @param minNumSampleInLeaf The minimum number of instances per leaf
+     * @param kFold the number of equal sized subsamples
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public static Criteria dTree(Instances dataTrain, double confidenceValue, int minNumSampleInLeaf, int kFold) {
+        Criteria criteria = new Criteria();
+        try {
             J48 decisionTree = new J48();
             decisionTree.setConfidenceFactor((float) confidenceValue);
             decisionTree.setMinNumObj(minNumSampleInLeaf);
-            decisionTree.buildClassifier(dataTrain);
-            Evaluation eval = new Evaluation(dataTrain);
-            eval.crossValidateModel(decisionTree, dataTrain, kFold, new Random(1));
-
-            //Set different criteria values
-            criteria.setErrorRate(eval.errorRate() * 100);
-            criteria.setAccuracy(100 - criteria.getErrorRate());
+            criteria = evaluate(decisionTree, dataTrain, kFold);
         } catch (Exception ex) {
             Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
         }
@@ -166,22 +244,33 @@ public class CrossValidation {
      * @see unifeat.result.performanceMeasure.Criteria
      */
     public static Criteria kNN(String pathTrainData, int kNNValue, int kFold) {
-        Criteria criteria = new Criteria();
         try {
-            BufferedReader readerTrain = new BufferedReader(new FileReader(pathTrainData));
-            Instances dataTrain = new Instances(readerTrain);
-            readerTrain.close();
-            dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
+            return kNN(readInstances(pathTrainData), kNNValue, kFold);
+        } catch (IOException ex) {
+            Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        return new Criteria();
+    }
 
+    /**
+     * This method builds and evaluates the k-nearest neighbours(knn)
+     * classifier. The IBk is used as the knn classifier implemented in the Weka
+     * software.
+     *
+     * @param dataTrain the Instances of the train set whose class index has
+     * been set
+     * @param kNNValue the number of neighbours to use
+     * @param kFold the number of equal sized subsamples
+     *
+     * @return the different criteria values
+     * @see unifeat.result.performanceMeasure.Criteria
+     */
+    public static Criteria kNN(Instances dataTrain, int kNNValue, int kFold) {
+        Criteria criteria = new Criteria();
+        try {
             IBk knn = new IBk();
             knn.setKNN(kNNValue);
-            knn.buildClassifier(dataTrain);
-            Evaluation eval = new Evaluation(dataTrain);
-            eval.crossValidateModel(knn, dataTrain, kFold, new Random(1));
-
-            //Set different criteria values
-            criteria.setErrorRate(eval.errorRate() * 100);
-            criteria.setAccuracy(100 - criteria.getErrorRate());
+            criteria = evaluate(knn, dataTrain, kFold);
         } catch (Exception ex) {
             Logger.getLogger(CrossValidation.class.getName()).log(Level.SEVERE, null, ex);
         }
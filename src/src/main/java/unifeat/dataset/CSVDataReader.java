@@ -0,0 +1,629 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import unifeat.util.WorkerPool;
+
+/**
+ * This java class is used to read the dataset files in CSV format in a single
+ * pass. The bytes of the files are parsed directly into the primitive arrays of
+ * the features and the class labels, so no String is created for the lines or
+ * the values of the samples (except the header line). The arrays grow as the
+ * samples are read.
+ * <p>
+ * The first line of each file contains the names of the features and the name
+ * of the class attribute, and each following line contains the values of the
+ * features of a sample followed by its class label. Several files (e.g. the
+ * train and test sets) can be read one after another; the samples of all files
+ * are appended in the same order. Large files are split into byte ranges that
+ * are parsed concurrently, and the samples of the ranges are appended in the
+ * order of the file.
+ * <p>
+ * The checks performed on the files are the same as those of the previous
+ * reader of the DatasetInfo class: all lines must have the same number of
+ * values as the header, the headers of all files must have the same number of
+ * values, and the class label of each sample must be one of the given class
+ * labels.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.DatasetInfo
+ */
+public class CSVDataReader {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long MIN_CHUNK_SIZE = 1 << 22;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final byte[][] classNames;
+    private final int numThreads;
+    private String header;
+    private int numFeatures = -1;
+    private int numSamples;
+    private int numParsedSamples;
+    private double[][] columns;
+    private int[] labels;
+    private boolean correctFormat = true;
+    private boolean compatibleFiles = true;
+    private boolean correctLabels = true;
+    private NumberFormatException parseError;
+
+    // the state of the file that is being read
+    private int numFields;
+    private boolean parseSamples;
+    private long remainingBytes;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param classNames the names of the class labels in which the index of
+     * each name is used as the class label of the samples
+     */
+    public CSVDataReader(String[] classNames) {
+        this(classNames, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes the parameters
+     *
+     * @param classNames the names of the class labels in which the index of
+     * each name is used as the class label of the samples
+     * @param numThreads the number of worker threads that is used for parsing
+     * large files
+     */
+    public CSVDataReader(String[] classNames, int numThreads) {
+        this.classNames = new byte[classNames.length][];
+        for (int i = 0; i < classNames.length; i++) {
+            this.classNames[i] = classNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+        this.numThreads = Math.max(1, numThreads);
+    }
+
+    /**
+     * Initializes a reader that parses a byte range of the file that is read
+     * by the given reader
+     *
+     * @param parent the reader of the file
+     */
+    private CSVDataReader(CSVDataReader parent) {
+        this.classNames = parent.classNames;
+        this.numThreads = 1;
+        this.numFeatures = parent.numFeatures;
+        this.numFields = parent.numFields;
+        this.parseSamples = parent.parseSamples;
+        this.correctFormat = parent.correctFormat;
+        this.correctLabels = parent.correctLabels;
+        this.parseError = parent.parseError;
+        this.columns = new double[numFeatures][];
+        this.labels = new int[0];
+    }
+
+    /**
+     * This method reads the given file and appends its samples to the samples
+     * that have been read before. Large files are split into byte ranges
+     * aligned to the lines, the ranges are parsed concurrently by the worker
+     * threads, and their samples are appended in the order of the file.
+     *
+     * @param path the path of the file
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public void read(String path) throws IOException {
+        long fileSize = new File(path).length();
+        long numChunks = Math.min((long) numThreads * CHUNKS_PER_THREAD, fileSize / MIN_CHUNK_SIZE);
+        if (numChunks > 1) {
+            readChunks(path, fileSize, (int) numChunks);
+        } else {
+            try (InputStream in = new FileInputStream(path)) {
+                remainingBytes = fileSize;
+                readLines(in, 0, Long.MAX_VALUE, true);
+            }
+        }
+    }
+
+    /**
+     * This method reads the lines of the given stream that start before the
+     * given offset of the file. The first line is either the header line of
+     * the file or the end of a line that belongs to the previous range of the
+     * file, which is skipped.
+     *
+     * @param in the stream of the file
+     * @param offset the offset of the file from which the stream starts
+     * @param endOffset the offset of the file at which no new line is started
+     * @param hasHeader true if the first line is the header line of the file
+     *
+     * @return the offset of the first line that is not read
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private long readLines(InputStream in, long offset, long endOffset, boolean hasHeader) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long bufferOffset = offset;
+        int length = 0;
+        int position = 0;
+        boolean isFirstLine = true;
+        boolean skipLineFeed = false;
+        boolean endOfFile = false;
+
+        while (true) {
+            if (skipLineFeed && position < length) {
+                if (buffer[position] == '\n') {
+                    position++;
+                }
+                skipLineFeed = false;
+            }
+            if (!skipLineFeed && bufferOffset + position >= endOffset) {
+                break;
+            }
+
+            int lineEnd = position;
+            while (lineEnd < length && buffer[lineEnd] != '\n' && buffer[lineEnd] != '\r') {
+                lineEnd++;
+            }
+
+            if (lineEnd < length || (endOfFile && position < length)) {
+                if (isFirstLine) {
+                    if (hasHeader) {
+                        readHeader(buffer, position, lineEnd);
+                    }
+                    isFirstLine = false;
+                } else {
+                    readSample(buffer, position, lineEnd);
+                }
+                remainingBytes -= lineEnd - position + 1;
+                if (lineEnd < length) {
+                    skipLineFeed = buffer[lineEnd] == '\r';
+                    position = lineEnd + 1;
+                } else {
+                    position = length;
+                }
+            } else if (endOfFile) {
+                break;
+            } else {
+                //moves the incomplete line to the beginning of the buffer and reads the next bytes
+                if (position > 0) {
+                    System.arraycopy(buffer, position, buffer, 0, length - position);
+                    length -= position;
+                    bufferOffset += position;
+                    position = 0;
+                }
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int count = in.read(buffer, length, buffer.length - length);
+                if (count < 0) {
+                    endOfFile = true;
+                } else {
+                    length += count;
+                }
+            }
+        }
+
+        if (isFirstLine && hasHeader) {
+            correctFormat = false;
+        }
+        return bufferOffset + position;
+    }
+
+    /**
+     * This method reads the header line of the file, splits the rest of the
+     * file into the given number of byte ranges and parses them concurrently
+     * by the shared worker pool. The samples of the ranges are appended in the
+     * order of the ranges when all of them have been parsed.
+     *
+     * @param path the path of the file
+     * @param fileSize the number of bytes of the file
+     * @param numChunks the number of byte ranges
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private void readChunks(String path, long fileSize, int numChunks) throws IOException {
+        long dataOffset;
+        try (InputStream in = new FileInputStream(path)) {
+            remainingBytes = fileSize;
+            dataOffset = readLines(in, 0, 1, true); //reads the header line
+        }
+        if (dataOffset >= fileSize) {
+            return;
+        }
+
+        long chunkSize = (fileSize - dataOffset + numChunks - 1) / numChunks;
+        int numRanges = (int) ((fileSize - dataOffset + chunkSize - 1) / chunkSize);
+        CSVDataReader[] chunks = new CSVDataReader[numRanges];
+        for (int i = 0; i < numRanges; i++) {
+            chunks[i] = new CSVDataReader(this);
+        }
+        try {
+            WorkerPool.common().runTasks(numRanges, numThreads, index -> {
+                long start = dataOffset + index * chunkSize;
+                try {
+                    chunks[index].readRange(path, start, Math.min(fileSize, start + chunkSize));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } catch (IllegalStateException ex) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Reading of the file is interrupted: " + path);
+            }
+            throw ex;
+        }
+
+        remainingBytes = fileSize - dataOffset;
+        for (int i = 0; i < numRanges; i++) {
+            long start = dataOffset + i * chunkSize;
+            appendChunk(chunks[i], Math.min(fileSize, start + chunkSize) - start);
+        }
+    }
+
+    /**
+     * This method reads the lines of the file that start in the given byte
+     * range. The line that contains the first byte of the range belongs to the
+     * previous range unless it starts exactly at the first byte.
+     *
+     * @param path the path of the file
+     * @param start the first byte of the range (greater than zero)
+     * @param end the end of the range (exclusive)
+     *
+     * @return this reader that contains the samples of the range
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private CSVDataReader readRange(String path, long start, long end) throws IOException {
+        try (FileInputStream in = new FileInputStream(path)) {
+            in.getChannel().position(start - 1);
+            remainingBytes = end - start;
+            readLines(in, start - 1, end, false);
+        }
+        return this;
+    }
+
+    /**
+     * This method appends the samples of a byte range that is parsed by
+     * another reader. The status of the files is updated as if the lines of
+     * the range were read by this reader.
+     *
+     * @param chunk the reader of the byte range
+     * @param chunkBytes the number of bytes of the range
+     */
+    private void appendChunk(CSVDataReader chunk, long chunkBytes) {
+        numSamples += chunk.numSamples;
+        if (correctFormat) {
+            if (parseError == null && correctLabels) {
+                int count = chunk.numParsedSamples;
+                if (count > 0) {
+                    int lineLength = (int) Math.min(Integer.MAX_VALUE, chunkBytes / Math.max(1, chunk.numSamples));
+                    ensureCapacity(numParsedSamples + count, lineLength);
+                    for (int j = 0; j < numFeatures; j++) {
+                        System.arraycopy(chunk.columns[j], 0, columns[j], numParsedSamples, count);
+                    }
+                    System.arraycopy(chunk.labels, 0, labels, numParsedSamples, count);
+                    numParsedSamples += count;
+                }
+                parseError = chunk.parseError;
+                correctLabels = chunk.correctLabels;
+            }
+            correctFormat = chunk.correctFormat;
+        }
+        remainingBytes -= chunkBytes;
+    }
+
+    /**
+     * This method reads the header line of the file. The header of the first
+     * file determines the number of features.
+     *
+     * @param buffer the bytes of the file
+     * @param start the index of the first byte of the line
+     * @param end the index of the end of the line (exclusive)
+     */
+    private void readHeader(byte[] buffer, int start, int end) {
+        numFields = countFields(buffer, start, end);
+        if (numFeatures == -1) {
+            header = new String(buffer, start, end - start, StandardCharsets.UTF_8);
+            if (header.indexOf(',') == -1 || header.indexOf(';') != -1 || header.indexOf('\t') != -1) {
+                correctFormat = false;
+            }
+            numFeatures = numFields - 1;
+            columns = new double[numFeatures][];
+            labels = new int[0];
+        } else if (numFields != numFeatures + 1) {
+            compatibleFiles = false;
+        }
+        parseSamples = numFields == numFeatures + 1;
+    }
+
+    /**
+     * This method reads a sample of the file. The values are parsed only as
+     * long as no error has been found; after that, only the format of the
+     * lines is checked.
+     *
+     * @param buffer the bytes of the file
+     * @param start the index of the first byte of the line
+     * @param end the index of the end of the line (exclusive)
+     */
+    private void readSample(byte[] buffer, int start, int end) {
+        numSamples++;
+        if (!correctFormat) {
+            return;
+        }
+        if (!parseSamples || parseError != null || !correctLabels) {
+            if (countFields(buffer, start, end) != numFields) {
+                correctFormat = false;
+            }
+            return;
+        }
+
+        ensureCapacity(numParsedSamples + 1, end - start + 1);
+        int fieldStart = start;
+        int field = 0;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer[i] == ',') {
+                if (field < numFeatures) {
+                    try {
+                        columns[field][numParsedSamples] = parseDouble(buffer, fieldStart, i);
+                    } catch (NumberFormatException ex) {
+                        parseError = ex;
+                    }
+                } else if (field == numFeatures) {
+                    labels[numParsedSamples] = indexClass(buffer, fieldStart, i);
+                    if (labels[numParsedSamples] == -1) {
+                        correctLabels = false;
+                    }
+                }
+                field++;
+                fieldStart = i + 1;
+            }
+        }
+
+        if (field != numFields) {
+            correctFormat = false;
+        } else if (parseError == null && correctLabels) {
+            numParsedSamples++;
+        }
+    }
+
+    /**
+     * This method counts the number of comma-separated values in the line
+     *
+     * @param buffer the bytes of the file
+     * @param start the index of the first byte of the line
+     * @param end the index of the end of the line (exclusive)
+     *
+     * @return the number of values in the line
+     */
+    private static int countFields(byte[] buffer, int start, int end) {
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == ',') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method returns the index of the class label whose name is equal to
+     * the given bytes
+     *
+     * @param buffer the bytes of the file
+     * @param start the index of the first byte of the name
+     * @param end the index of the end of the name (exclusive)
+     *
+     * @return the index of the class, or -1 if the name is not found
+     */
+    private int indexClass(byte[] buffer, int start, int end) {
+        for (int i = 0; i < classNames.length; i++) {
+            if (Arrays.equals(classNames[i], 0, classNames[i].length, buffer, start, end)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method increases the size of the arrays of the samples if they
+     * cannot hold the given number of samples. The new size is estimated from
+     * the remaining bytes of the file and the length of the current line.
+     *
+     * @param minCapacity the required number of samples
+     * @param lineLength the number of bytes of the current line
+     */
+    private void ensureCapacity(int minCapacity, int lineLength) {
+        if (minCapacity <= labels.length) {
+            return;
+        }
+        long estimated = numParsedSamples + remainingBytes / Math.max(1, lineLength) + 16;
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(minCapacity, Math.max(estimated, labels.length + (labels.length >> 1))));
+        for (int j = 0; j < numFeatures; j++) {
+            columns[j] = columns[j] == null ? new double[capacity] : Arrays.copyOf(columns[j], capacity);
+        }
+        labels = Arrays.copyOf(labels, capacity);
+    }
+
+    /**
+     * This method parses the decimal number written in the given bytes. The
+     * numbers with at most 15-16 significant digits and a small exponent are
+     * computed exactly from their digits (the result is the same as
+     * Double.parseDouble); other numbers are parsed by Double.parseDouble.
+     *
+     * @param buffer the bytes of the file
+     * @param start the index of the first byte of the number
+     * @param end the index of the end of the number (exclusive)
+     *
+     * @return the parsed value
+     *
+     * @throws NumberFormatException if the bytes do not contain a number
+     */
+    static double parseDouble(byte[] buffer, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        int numDigits = 0;
+        boolean exact = true;
+        while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+            mantissa = mantissa * 10 + (buffer[i] - '0');
+            exact &= mantissa <= MAX_EXACT_MANTISSA;
+            numDigits++;
+            i++;
+        }
+        if (i < end && buffer[i] == '.') {
+            i++;
+            while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+                mantissa = mantissa * 10 + (buffer[i] - '0');
+                exact &= mantissa <= MAX_EXACT_MANTISSA;
+                exponent--;
+                numDigits++;
+                i++;
+            }
+        }
+        if (numDigits > 0 && i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+                negativeExponent = buffer[i] == '-';
+                i++;
+            }
+            int expDigits = 0;
+            int expValue = 0;
+            while (i < end && buffer[i] >= '0' && buffer[i] <= '9' && expValue < 10000) {
+                expValue = expValue * 10 + (buffer[i] - '0');
+                expDigits++;
+                i++;
+            }
+            exact &= expDigits > 0;
+            exponent += negativeExponent ? -expValue : expValue;
+        }
+
+        if (exact && numDigits > 0 && i == end && exponent >= -22 && exponent <= 22) {
+            double value = (double) mantissa;
+            if (exponent < 0) {
+                value /= POWERS_OF_TEN[-exponent];
+            } else {
+                value *= POWERS_OF_TEN[exponent];
+            }
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(buffer, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * This method creates the column-major dataset of the samples that have
+     * been read.
+     *
+     * @return the dataset of all samples
+     *
+     * @throws NumberFormatException if a value of the samples is not a number
+     */
+    public ColumnarDataset createDataset() {
+        if (parseError != null) {
+            throw parseError;
+        }
+        double[][] dataColumns = new double[numFeatures][];
+        for (int j = 0; j < numFeatures; j++) {
+            if (columns[j] == null) {
+                dataColumns[j] = new double[0];
+            } else {
+                dataColumns[j] = columns[j].length == numParsedSamples ? columns[j] : Arrays.copyOf(columns[j], numParsedSamples);
+            }
+        }
+        int[] dataLabels = labels.length == numParsedSamples ? labels : Arrays.copyOf(labels, numParsedSamples);
+        return new ColumnarDataset(dataColumns, dataLabels);
+    }
+
+    /**
+     * This method returns the header line of the first file
+     *
+     * @return the header line
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * This method returns the number of features in the dataset
+     *
+     * @return number of features
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * This method returns the number of samples (lines after the header) that
+     * have been read
+     *
+     * @return number of samples
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * This method returns the status of the format of the files
+     *
+     * @return true if all lines of the files are in the correct format
+     */
+    public boolean isCorrectFormat() {
+        return correctFormat;
+    }
+
+    /**
+     * This method returns the status of the headers of the files
+     *
+     * @return true if all files have the same number of values
+     */
+    public boolean isCompatibleFiles() {
+        return compatibleFiles;
+    }
+
+    /**
+     * This method returns the status of the class labels of the samples
+     *
+     * @return true if the class label of each sample is one of the given class
+     * labels
+     */
+    public boolean isCorrectLabels() {
+        return correctLabels;
+    }
+}
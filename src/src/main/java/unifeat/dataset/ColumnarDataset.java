@@ -0,0 +1,318 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.util.HashMap;
+import unifeat.util.ArraysFunc;
+
+/**
+ * This java class is used to keep the values of a dataset in the column-major
+ * order. The values of each feature are kept in a contiguous array and the
+ * class labels of the samples are kept as indices of the classes in a separate
+ * array.
+ * <p>
+ * The arrays returned by {@link #getColumn(int)} and {@link #getLabels()} are
+ * the internal arrays of the dataset, so they should not be modified. The
+ * row-major view of the dataset (the class label of each sample is placed in
+ * the last column) is available by {@link #toRows()} for the methods that work
+ * on the samples.
+ * <p>
+ * The indices of the samples sorted by the values of each feature are computed
+ * once, when they are requested first, and are shared by all methods that walk
+ * the values of the features in sorted order. In the same way, the integer
+ * codes of the values of the features are computed once for each
+ * discretization method and are shared by the information-theoretic methods,
+ * and the similarity values between all pairs of features are computed once
+ * for each similarity measure. The similarity values are kept outside of the
+ * Java heap until {@link #releaseSimilarityMatrices()} is called, so the owner
+ * of the dataset releases them when the dataset is not used anymore.
+ *
+ * @author Sina Tabakhi
+ */
+public class ColumnarDataset {
+
+    private final int numSamples;
+    private final int numFeatures;
+    private final double[][] columns;
+    private final int[] labels;
+    private final int[][] sortedIndices;
+    private final HashMap<String, DiscretizedDataset> discretizedData;
+    private final HashMap<SimilarityType, SimilarityMatrix> similarityMatrices;
+    private PrecisionType similarityPrecision;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param columns the values of the features in which each row contains the
+     * values of a feature over all samples
+     * @param labels the index of the class label of each sample
+     */
+    public ColumnarDataset(double[][] columns, int[] labels) {
+        this.numSamples = labels.length;
+        this.numFeatures = columns.length;
+        this.columns = columns;
+        this.labels = labels;
+        this.sortedIndices = new int[columns.length][];
+        this.discretizedData = new HashMap<>();
+        this.similarityMatrices = new HashMap<>();
+        this.similarityPrecision = PrecisionType.DOUBLE;
+    }
+
+    /**
+     * This method creates the column-major dataset of the input data
+     *
+     * @param rows the input data in which the class label of each sample is
+     * placed in the last column
+     * @param numFeatures the number of features in the dataset
+     *
+     * @return the column-major dataset
+     */
+    public static ColumnarDataset fromRows(double[][] rows, int numFeatures) {
+        int numSamples = rows.length;
+        double[][] columns = new double[numFeatures][numSamples];
+        int[] labels = new int[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            double[] sample = rows[i];
+            for (int j = 0; j < numFeatures; j++) {
+                columns[j][i] = sample[j];
+            }
+            labels[i] = (int) sample[numFeatures];
+        }
+        return new ColumnarDataset(columns, labels);
+    }
+
+    /**
+     * This method creates the row-major view of the dataset in which the class
+     * label of each sample is placed in the last column
+     *
+     * @return the matrix of the dataset
+     */
+    public double[][] toRows() {
+        double[][] rows = new double[numSamples][numFeatures + 1];
+        for (int j = 0; j < numFeatures; j++) {
+            double[] column = columns[j];
+            for (int i = 0; i < numSamples; i++) {
+                rows[i][j] = column[i];
+            }
+        }
+        for (int i = 0; i < numSamples; i++) {
+            rows[i][numFeatures] = labels[i];
+        }
+        return rows;
+    }
+
+    /**
+     * This method creates a new dataset that contains the given samples in the
+     * same order as the indices
+     *
+     * @param sampleIndices the indices of the samples
+     *
+     * @return the dataset of the given samples
+     */
+    public ColumnarDataset subset(int[] sampleIndices) {
+        double[][] newColumns = new double[numFeatures][sampleIndices.length];
+        int[] newLabels = new int[sampleIndices.length];
+        for (int j = 0; j < numFeatures; j++) {
+            double[] column = columns[j];
+            double[] newColumn = newColumns[j];
+            for (int i = 0; i < sampleIndices.length; i++) {
+                newColumn[i] = column[sampleIndices[i]];
+            }
+        }
+        for (int i = 0; i < sampleIndices.length; i++) {
+            newLabels[i] = labels[sampleIndices[i]];
+        }
+        return new ColumnarDataset(newColumns, newLabels);
+    }
+
+    /**
+     * This method returns the number of samples in the dataset
+     *
+     * @return number of samples
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * This method returns the number of features in the dataset
+     *
+     * @return number of features
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * This method returns the values of the given feature over all samples.
+     * The returned array should not be modified.
+     *
+     * @param index the index of the feature
+     *
+     * @return the values of the feature
+     */
+    public double[] getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * This method returns the indices of the samples sorted in ascending order
+     * of the values of the given feature. The samples with equal values remain
+     * in their original order. The returned array should not be modified.
+     *
+     * @param index the index of the feature
+     *
+     * @return the indices of the samples in sorted order
+     */
+    public synchronized int[] getSortedIndices(int index) {
+        if (sortedIndices[index] == null) {
+            sortedIndices[index] = ArraysFunc.argsort(columns[index]);
+        }
+        return sortedIndices[index];
+    }
+
+    /**
+     * This method returns the values of the features converted to the integer
+     * codes by the given discretization method. The number of bins is not used
+     * by the exact and MDL methods.
+     *
+     * @param type the discretization method
+     * @param numBins the number of bins used in the equal width and equal
+     * frequency methods
+     *
+     * @return the discretized dataset
+     */
+    public synchronized DiscretizedDataset getDiscretizedData(DiscretizationType type, int numBins) {
+        String key = (type == DiscretizationType.EQUAL_WIDTH || type == DiscretizationType.EQUAL_FREQUENCY)
+                ? type.getValue() + ":" + numBins : String.valueOf(type.getValue());
+        DiscretizedDataset data = discretizedData.get(key);
+        if (data == null) {
+            data = DiscretizedDataset.discretize(this, type, numBins);
+            discretizedData.put(key, data);
+        }
+        return data;
+    }
+
+    /**
+     * This method returns the similarity values between all pairs of features
+     * by the given similarity measure. The values are computed by all
+     * available processors when they are requested first, and are kept in the
+     * precision given by {@link #setSimilarityPrecision(PrecisionType)}.
+     *
+     * @param type the similarity measure
+     *
+     * @return the similarity matrix
+     */
+    public synchronized SimilarityMatrix getSimilarityMatrix(SimilarityType type) {
+        SimilarityMatrix matrix = similarityMatrices.get(type);
+        if (matrix == null) {
+            matrix = SimilarityMatrix.compute(this, type, similarityPrecision, Runtime.getRuntime().availableProcessors());
+            similarityMatrices.put(type, matrix);
+        }
+        return matrix;
+    }
+
+    /**
+     * This method sets the precision in which the similarity values between
+     * all pairs of features are kept. The lower precisions reduce the memory
+     * usage of the datasets with a large number of features. The similarity
+     * values computed in the previous precision are released.
+     *
+     * @param precision the precision of the similarity values
+     */
+    public synchronized void setSimilarityPrecision(PrecisionType precision) {
+        if (similarityPrecision != precision) {
+            similarityPrecision = precision;
+            releaseSimilarityMatrices();
+        }
+    }
+
+    /**
+     * This method returns the precision in which the similarity values between
+     * all pairs of features are kept.
+     *
+     * @return the precision of the similarity values
+     */
+    public synchronized PrecisionType getSimilarityPrecision() {
+        return similarityPrecision;
+    }
+
+    /**
+     * This method releases the memory of all computed similarity matrices of
+     * the dataset. The matrices are computed again if they are requested
+     * later, so this method must not be called while a feature selection
+     * method is using them.
+     */
+    public synchronized void releaseSimilarityMatrices() {
+        for (SimilarityMatrix matrix : similarityMatrices.values()) {
+            matrix.release();
+        }
+        similarityMatrices.clear();
+    }
+
+    /**
+     * This method returns the similarity values between all pairs of features
+     * by the given similarity measure if they have been computed before
+     *
+     * @param type the similarity measure
+     *
+     * @return the similarity matrix, or null if it has not been computed
+     */
+    public synchronized SimilarityMatrix getCachedSimilarityMatrix(SimilarityType type) {
+        return similarityMatrices.get(type);
+    }
+
+    /**
+     * This method returns the value of the given feature in the given sample
+     *
+     * @param sample the index of the sample
+     * @param feature the index of the feature
+     *
+     * @return the value of the feature in the sample
+     */
+    public double getValue(int sample, int feature) {
+        return columns[feature][sample];
+    }
+
+    /**
+     * This method returns the index of the class label of each sample. The
+     * returned array should not be modified.
+     *
+     * @return the class labels of the samples
+     */
+    public int[] getLabels() {
+        return labels;
+    }
+
+    /**
+     * This method returns the index of the class label of the given sample
+     *
+     * @param sample the index of the sample
+     *
+     * @return the index of the class label
+     */
+    public int getLabel(int sample) {
+        return labels[sample];
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This java class is used to keep a parsed dataset in a binary file so that
+ * the same dataset files can be loaded again without parsing them. The values
+ * of the binary file are read in large blocks directly into the arrays of the
+ * features, so each process that loads the dataset keeps its own copy of the
+ * values in the Java heap.
+ * <p>
+ * The binary files of a directory are kept as a cache of the most recently
+ * used datasets: reading a file marks it as used, and
+ * {@link #evict(String, long)} removes the least recently used files when
+ * their total size exceeds a limit.
+ * <p>
+ * The binary file starts with a header that contains the paths, sizes and
+ * modification times of the source files, the dimensions of the dataset, the
+ * header line of the dataset and the names of the class labels. The values of
+ * each feature follow the header as a block of little-endian doubles, and the
+ * class labels of the samples are placed after the last block as little-endian
+ * integers. If a source file has been changed, the binary file is not used.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.DatasetInfo
+ */
+public class DatasetCache {
+
+    private static final int MAGIC_NUMBER = 0x55464443;
+    private static final int VERSION = 1;
+    private static final int HEADER_BUFFER_SIZE = 1 << 16;
+    private static final long BLOCK_SIZE = 1L << 23;
+
+    private final File cacheFile;
+    private final File[] sourceFiles;
+    private String header;
+    private String[] classLabels;
+    private int numFirstFileSamples;
+    private ColumnarDataset data;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param directory the directory in which the binary files are kept
+     * @param sourcePaths the paths of the dataset files followed by the path
+     * of the class label file
+     */
+    public DatasetCache(String directory, String... sourcePaths) {
+        this.sourceFiles = new File[sourcePaths.length];
+        String key = "";
+        for (int i = 0; i < sourcePaths.length; i++) {
+            sourceFiles[i] = new File(sourcePaths[i]).getAbsoluteFile();
+            key += sourceFiles[i].getPath() + File.pathSeparator;
+        }
+        this.cacheFile = new File(directory, "dataset_" + Integer.toHexString(key.hashCode())
+                + "_" + Integer.toHexString(key.length()) + ".bin");
+    }
+
+    /**
+     * This method reads the binary file of the dataset. The values are read
+     * from the file in blocks of features into the arrays of the dataset, so
+     * no part of the file remains mapped or buffered after the method returns.
+     * The modification time of the binary file is updated to mark it as the
+     * most recently used one.
+     *
+     * @return true if the binary file exists and is up to date with the
+     * source files
+     */
+    public boolean read() {
+        if (!cacheFile.isFile()) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            headerBuffer.flip();
+
+            headerBuffer = ensureAvailable(channel, headerBuffer, 3 * Integer.BYTES);
+            if (headerBuffer.getInt() != MAGIC_NUMBER || headerBuffer.getInt() != VERSION) {
+                return false;
+            }
+            int numSources = headerBuffer.getInt();
+            if (numSources != sourceFiles.length) {
+                return false;
+            }
+            for (File source : sourceFiles) {
+                headerBuffer = ensureAvailable(channel, headerBuffer, Integer.BYTES);
+                int length = headerBuffer.getInt();
+                headerBuffer = ensureAvailable(channel, headerBuffer, length + 2 * Long.BYTES);
+                String path = readString(headerBuffer, length);
+                long size = headerBuffer.getLong();
+                long modified = headerBuffer.getLong();
+                if (!path.equals(source.getPath()) || size != source.length() || modified != source.lastModified()) {
+                    return false;
+                }
+            }
+
+            headerBuffer = ensureAvailable(channel, headerBuffer, 5 * Integer.BYTES);
+            int numSamples = headerBuffer.getInt();
+            int numFeatures = headerBuffer.getInt();
+            int numFirstSamples = headerBuffer.getInt();
+            int numClass = headerBuffer.getInt();
+            int length = headerBuffer.getInt();
+            headerBuffer = ensureAvailable(channel, headerBuffer, length);
+            String headerLine = readString(headerBuffer, length);
+            String[] labelNames = new String[numClass];
+            for (int i = 0; i < numClass; i++) {
+                headerBuffer = ensureAvailable(channel, headerBuffer, Integer.BYTES);
+                length = headerBuffer.getInt();
+                headerBuffer = ensureAvailable(channel, headerBuffer, length);
+                labelNames[i] = readString(headerBuffer, length);
+            }
+            long offset = align(channel.position() - headerBuffer.remaining());
+            long columnSize = (long) numSamples * Double.BYTES;
+            if (columnSize > Integer.MAX_VALUE || fileSize != offset + numFeatures * columnSize + (long) numSamples * Integer.BYTES) {
+                return false;
+            }
+
+            //reads the blocks of the features into the columns of the dataset
+            double[][] columns = new double[numFeatures][];
+            int columnsPerBlock = (int) Math.max(1, Math.min(numFeatures, BLOCK_SIZE / Math.max(1, columnSize)));
+            ByteBuffer block = ByteBuffer.allocate((int) (columnsPerBlock * columnSize)).order(ByteOrder.LITTLE_ENDIAN);
+            for (int j = 0; j < numFeatures; j += columnsPerBlock) {
+                int count = Math.min(columnsPerBlock, numFeatures - j);
+                block.clear().limit((int) (count * columnSize));
+                readFully(channel, block, offset + j * columnSize);
+                for (int k = 0; k < count; k++) {
+                    columns[j + k] = new double[numSamples];
+                    block.asDoubleBuffer().get(k * numSamples, columns[j + k]);
+                }
+            }
+            ByteBuffer labelBlock = ByteBuffer.allocate(numSamples * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, labelBlock, offset + numFeatures * columnSize);
+            int[] labels = new int[numSamples];
+            labelBlock.asIntBuffer().get(labels);
+
+            this.header = headerLine;
+            this.classLabels = labelNames;
+            this.numFirstFileSamples = numFirstSamples;
+            this.data = new ColumnarDataset(columns, labels);
+            cacheFile.setLastModified(System.currentTimeMillis());
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            Logger.getLogger(DatasetCache.class.getName()).log(Level.WARNING,
+                    "The binary file of the dataset cannot be read: " + cacheFile, ex);
+            return false;
+        }
+    }
+
+    /**
+     * This method removes the least recently used binary files of the given
+     * directory until the total size of the binary files is not more than the
+     * given size. A binary file which is larger than the given size is removed
+     * too, so a small limit turns the binary files off in effect.
+     *
+     * @param directory the directory in which the binary files are kept
+     * @param maxSize the maximum total size of the binary files in bytes
+     */
+    public static void evict(String directory, long maxSize) {
+        File[] files = new File(directory).listFiles((dir, name) -> name.startsWith("dataset_") && name.endsWith(".bin"));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+        long totalSize = 0;
+        for (File file : files) {
+            totalSize += file.length();
+            if (totalSize > maxSize && !file.delete()) {
+                Logger.getLogger(DatasetCache.class.getName()).log(Level.WARNING,
+                        "The binary file of the dataset cannot be removed: " + file);
+            }
+        }
+    }
+
+    /**
+     * This method writes the binary file of the dataset. The file is written
+     * to a temporary file first and then renamed, so other processes never
+     * read an incomplete file. Since the binary file is optional, a failure is
+     * only logged.
+     *
+     * @param header the header line of the dataset
+     * @param classLabels the names of the class labels
+     * @param numFirstFileSamples the number of samples in the first dataset
+     * file
+     * @param data the parsed dataset
+     */
+    public void write(String header, String[] classLabels, int numFirstFileSamples, ColumnarDataset data) {
+        Path target = cacheFile.toPath();
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC_NUMBER).putInt(VERSION).putInt(sourceFiles.length);
+                for (File source : sourceFiles) {
+                    buffer = writeString(channel, buffer, source.getPath());
+                    buffer = ensureRemaining(channel, buffer, 2 * Long.BYTES);
+                    buffer.putLong(source.length()).putLong(source.lastModified());
+                }
+                buffer = ensureRemaining(channel, buffer, 4 * Integer.BYTES);
+                buffer.putInt(data.getNumSamples()).putInt(data.getNumFeatures())
+                        .putInt(numFirstFileSamples).putInt(classLabels.length);
+                buffer = writeString(channel, buffer, header);
+                for (String label : classLabels) {
+                    buffer = writeString(channel, buffer, label);
+                }
+                long position = channel.position() + buffer.position();
+                buffer = ensureRemaining(channel, buffer, Long.BYTES);
+                for (long i = position; i < align(position); i++) {
+                    buffer.put((byte) 0);
+                }
+
+                for (int j = 0; j < data.getNumFeatures(); j++) {
+                    for (double value : data.getColumn(j)) {
+                        if (buffer.remaining() < Double.BYTES) {
+                            flush(channel, buffer);
+                        }
+                        buffer.putDouble(value);
+                    }
+                }
+                for (int label : data.getLabels()) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putInt(label);
+                }
+                flush(channel, buffer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            Logger.getLogger(DatasetCache.class.getName()).log(Level.WARNING,
+                    "The binary file of the dataset cannot be written: " + cacheFile, ex);
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * This method reads the UTF-8 bytes of a string whose length has been read
+     * before
+     *
+     * @param buffer the buffer of the file
+     * @param length the number of bytes of the string
+     *
+     * @return the string
+     */
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method makes sure that the given number of bytes of the file can
+     * be read from the buffer by reading the next bytes of the file into it or
+     * by enlarging it.
+     *
+     * @param channel the channel of the file
+     * @param buffer the buffer of the file which is ready to be read
+     * @param size the required number of bytes
+     *
+     * @return the buffer that should be used for the next values
+     *
+     * @throws IOException if the file cannot be read or ends before the bytes
+     */
+    private static ByteBuffer ensureAvailable(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+        if (buffer.remaining() < size) {
+            if (size > channel.size()) {
+                throw new EOFException();
+            }
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN).put(buffer);
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < size) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+        }
+        return buffer;
+    }
+
+    /**
+     * This method fills the buffer with the bytes of the file that start at
+     * the given position and makes the buffer ready to be read
+     *
+     * @param channel the channel of the file
+     * @param buffer the buffer which is filled
+     * @param position the position of the first byte in the file
+     *
+     * @throws IOException if the file cannot be read or ends before the buffer
+     * is filled
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if (count < 0) {
+                throw new EOFException();
+            }
+            position += count;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * This method writes a string as its length followed by its UTF-8 bytes
+     *
+     * @param channel the channel of the file
+     * @param buffer the buffer of the file
+     * @param str the string
+     *
+     * @return the buffer that should be used for the next values
+     *
+     * @throws IOException if the buffer cannot be written
+     */
+    private static ByteBuffer writeString(FileChannel channel, ByteBuffer buffer, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        buffer = ensureRemaining(channel, buffer, Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length).put(bytes);
+        return buffer;
+    }
+
+    /**
+     * This method makes sure that the buffer has the given number of free
+     * bytes by writing its content to the file or by enlarging it.
+     *
+     * @param channel the channel of the file
+     * @param buffer the buffer of the file
+     * @param size the required number of free bytes
+     *
+     * @return the buffer that should be used for the next values
+     *
+     * @throws IOException if the buffer cannot be written
+     */
+    private static ByteBuffer ensureRemaining(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+        if (buffer.remaining() < size) {
+            flush(channel, buffer);
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * This method writes the content of the buffer to the file and clears the
+     * buffer
+     *
+     * @param channel the channel of the file
+     * @param buffer the buffer of the file
+     *
+     * @throws IOException if the buffer cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * This method returns the smallest multiple of eight that is not less than
+     * the given position, so the blocks of the features start at an aligned
+     * offset.
+     *
+     * @param position the position in the file
+     *
+     * @return the aligned position
+     */
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * This method returns the header line of the dataset
+     *
+     * @return the header line
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * This method returns the names of the class labels
+     *
+     * @return the names of the class labels
+     */
+    public String[] getClassLabels() {
+        return classLabels;
+    }
+
+    /**
+     * This method returns the number of samples in the first dataset file
+     *
+     * @return the number of samples in the first file
+     */
+    public int getNumFirstFileSamples() {
+        return numFirstFileSamples;
+    }
+
+    /**
+     * This method returns the dataset that has been read from the binary file
+     *
+     * @return the column-major dataset
+     */
+    public ColumnarDataset getData() {
+        return data;
+    }
+}
@@ -25,9 +25,11 @@ package unifeat.dataset;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
+import java.io.IOException;
 //import java.io.FileWriter;
 //import java.io.IOException;
 //import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.logging.Level;
@@ -35,7 +37,6 @@ import java.util.logging.Logger;
 import javax.swing.JOptionPane;
 //import java.util.logging.Level;
 //import java.util.logging.Logger;
-import unifeat.util.ArraysFunc;
 
 /**
  * This java class is used to keep the input data, split input data to
@@ -55,288 +56,197 @@ public class DatasetInfo {
     private boolean checkClassLabels; //checks the format of class labels file
     private boolean checkSamplesClass; //checks that the class labels of the samples is valid
     private String[] Classlabel;
-    private String allNameFeatures;
     private String[] nameFeatures;
-    private String pathData;
-    private String pathTestSet;
-    private String pathLabel;
-    private String[] originalData;
-    private double[][] allData;
-    private double[][] trainSet;
-    private double[][] testSet;
-//    private int seedValue = 0;
-//    private Random rand = new Random(seedValue);
-    private Random rand = new Random();
+    private ColumnarDataset allData;
+    private ColumnarDataset trainData;
+    private ColumnarDataset testData;
+    private SparseDataset allSparseData;
+    private SparseDataset trainSparseData;
+    private SparseDataset testSparseData;
+    private long seed;
+    private String cacheDirectory;
+    private long maxCacheSize = Long.MAX_VALUE;
+    private PrecisionType similarityPrecision = PrecisionType.DOUBLE;
 
     /**
-     * This method checks that the input string don't contain the semicolon(;)
-     * or tab characters. Also, its checks that the input string contains the
-     * comma character
+     * This method reads the class labels of the samples and checks the correct
+     * format of the class label file
      *
-     * @param str the input string
+     * @param path the path of the class label file
      *
-     * @return true if the input string is in the correct format
+     * @throws IOException if the class label file cannot be read
      */
-    private boolean isCorrectString(String str) {
-        return str.indexOf(',') != -1 && str.indexOf(';') == -1 && str.indexOf('	') == -1;
-    }
-
-    /**
-     * This method sets the dataset and the class labels of samples
-     *
-     * @param path1 the path of the dataset file
-     * @param path2 the path of the class label file
-     */
-    private void init(String path1, String path2) {
-        checkDataSet = checkClassLabels = checkTrainTestSet = checkSamplesClass = true;
-        BufferedReader br1 = null;
-        BufferedReader br2 = null;
-
-        //reads the dataset file and checks the correct format of them
-        try {
-            br1 = new BufferedReader(new FileReader(path1));
-            String tempStr = br1.readLine();
-            if (!isCorrectString(tempStr)) {
-                checkDataSet = false;
-            } else {
-                int sizeAllFeatures = tempStr.split(",").length;
-                numFeature = sizeAllFeatures - 1;
-                numData = 0;
-                while (br1.ready()) {
-                    int tempSize = br1.readLine().split(",").length;
-                    if (tempSize != sizeAllFeatures) {
-                        checkDataSet = false;
-                        break;
-                    }
-                    numData++;
-                }
+    private void readLabel(String path) throws IOException {
+        ArrayList<String> labels = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                labels.add(line);
             }
-            br1.close();
-        } catch (Exception e) {
-            e.printStackTrace();
         }
-
-        //reads the class label file and checks the correct format of them
-        try {
-            br2 = new BufferedReader(new FileReader(path2));
-            numClass = 0;
-            while (br2.ready()) {
-                br2.readLine();
-                numClass++;
-            }
-            br2.close();
-            if (numClass == 0) {
-                checkClassLabels = false;
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        if (checkDataSet && checkClassLabels) {
-            numTrainSet = (int) (numData * 0.66);
-            numTestSet = numData - numTrainSet;
-            pathData = path1;
-            pathLabel = path2;
-            Classlabel = new String[numClass];
-            nameFeatures = new String[numFeature + 1];
-            originalData = new String[numData];
-            allData = new double[numData][numFeature + 1];
-            trainSet = new double[numTrainSet][numFeature + 1];
-            testSet = new double[numTestSet][numFeature + 1];
+        numClass = labels.size();
+        Classlabel = labels.toArray(new String[numClass]);
+        if (numClass == 0) {
+            checkClassLabels = false;
         }
     }
 
     /**
-     * This method read and set the train/test sets and class labels of samples
+     * This method reads the dataset files in a single pass, checks the correct
+     * format of them and converts the values of the samples to the
+     * column-major dataset
+     *
+     * @param paths the paths of the dataset files (the train set file and
+     * optionally the test set file)
      *
-     * @param path1 the path of the train set file
-     * @param path2 the path of the test set file
-     * @param path3 the path of the class labels of samples
+     * @throws IOException if a dataset file cannot be read
      */
-    private void init(String path1, String path2, String path3) {
-        checkDataSet = checkClassLabels = checkTrainTestSet = checkSamplesClass = true;
-        BufferedReader br1 = null;
-        BufferedReader br2 = null;
-        BufferedReader br3 = null;
-
-        //reads the train set file and checks the correct format of them
-        try {
-            br1 = new BufferedReader(new FileReader(path1));
-            String tempStr = br1.readLine();
-            if (!isCorrectString(tempStr)) {
-                checkDataSet = false;
-            } else {
-                int sizeAllFeatures = tempStr.split(",").length;
-                numFeature = sizeAllFeatures - 1;
-                numTrainSet = 0;
-                while (br1.ready()) {
-                    int tempSize = br1.readLine().split(",").length;
-                    if (tempSize != sizeAllFeatures) {
-                        checkDataSet = false;
-                        break;
-                    }
-                    numTrainSet++;
-                }
-            }
-            br1.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+    private void readDataset(String... paths) throws IOException {
+        CSVDataReader reader = new CSVDataReader(Classlabel);
+        reader.read(paths[0]);
+        numTrainSet = reader.getNumSamples();
+        for (int i = 1; i < paths.length; i++) {
+            reader.read(paths[i]);
         }
 
-        //reads the test set file and checks the correct format of them
-        if (checkDataSet) {
-            try {
-                br2 = new BufferedReader(new FileReader(path2));
-                int sizeAllFeatures = br2.readLine().split(",").length;
-                numTestSet = 0;
-                while (br2.ready()) {
-                    int tempSize = br2.readLine().split(",").length;
-                    if (tempSize != sizeAllFeatures) {
-                        checkDataSet = false;
-                        break;
-                    }
-                    numTestSet++;
-                }
-                br2.close();
-                if (checkDataSet && sizeAllFeatures != (numFeature + 1)) {
-                    checkTrainTestSet = false;
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+        checkDataSet = reader.isCorrectFormat();
+        checkTrainTestSet = reader.isCompatibleFiles();
+        if (reader.getHeader() != null) {
+            nameFeatures = reader.getHeader().split(",");
         }
-
-        //reads the class label file and checks the correct format of them
-        try {
-            br3 = new BufferedReader(new FileReader(path3));
-            numClass = 0;
-            while (br3.ready()) {
-                br3.readLine();
-                numClass++;
-            }
-            br3.close();
-            if (numClass == 0) {
-                checkClassLabels = false;
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+        numFeature = reader.getNumFeatures();
+        numData = reader.getNumSamples();
+        if (paths.length == 1) {
+            numTrainSet = (int) (numData * 0.66);
         }
+        numTestSet = numData - numTrainSet;
 
         if (checkDataSet && checkClassLabels && checkTrainTestSet) {
-            numData = numTrainSet + numTestSet;
-            pathData = path1;
-            pathTestSet = path2;
-            pathLabel = path3;
-            Classlabel = new String[numClass];
-            nameFeatures = new String[numFeature + 1];
-            originalData = new String[numData];
-            allData = new double[numData][numFeature + 1];
-            trainSet = new double[numTrainSet][numFeature + 1];
-            testSet = new double[numTestSet][numFeature + 1];
-        }
-    }
-
-    /**
-     * This method reads the dataset
-     */
-    private void readExample1() {
-        int count = 0;
-        BufferedReader br = null;
-        try {
-            br = new BufferedReader(new FileReader(pathData));
-            allNameFeatures = br.readLine();
-            while (br.ready()) {
-                originalData[count++] = br.readLine();
+            checkSamplesClass = reader.isCorrectLabels();
+            if (checkSamplesClass) {
+                allData = reader.createDataset(); //converts the values of the samples to the column-major dataset
             }
-            br.close();
-        } catch (Exception e) {
-            e.printStackTrace();
         }
     }
 
     /**
-     * This method reads the train/test sets
+     * This method reads the sparse dataset files in LibSVM format, checks the
+     * correct format of them and keeps the nonzero values of the samples. The
+     * features are named by their indices in the files.
+     *
+     * @param paths the paths of the dataset files (the train set file and
+     * optionally the test set file)
+     *
+     * @throws IOException if a dataset file cannot be read
      */
-    private void readExample2() {
-        int count = 0;
-        BufferedReader br1 = null;
-        BufferedReader br2 = null;
+    private void readSparseDataset(String... paths) throws IOException {
+        LibSVMDataReader reader = new LibSVMDataReader(Classlabel);
+        reader.read(paths[0]);
+        numTrainSet = reader.getNumSamples();
+        for (int i = 1; i < paths.length; i++) {
+            reader.read(paths[i]);
+        }
 
-        //reads the train set file
-        try {
-            br1 = new BufferedReader(new FileReader(pathData));
-            allNameFeatures = br1.readLine();
-            while (br1.ready()) {
-                originalData[count++] = br1.readLine();
-            }
-            br1.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+        checkDataSet = reader.isCorrectFormat() && reader.getNumSamples() > 0;
+        numFeature = reader.getNumFeatures();
+        numData = reader.getNumSamples();
+        nameFeatures = new String[numFeature + 1];
+        for (int i = 0; i < numFeature; i++) {
+            nameFeatures[i] = "f" + (i + 1);
+        }
+        nameFeatures[numFeature] = "class";
+        if (paths.length == 1) {
+            numTrainSet = (int) (numData * 0.66);
         }
+        numTestSet = numData - numTrainSet;
 
-        //reads the test set file
-        try {
-            br2 = new BufferedReader(new FileReader(pathTestSet));
-            br2.readLine();
-            while (br2.ready()) {
-                originalData[count++] = br2.readLine();
+        if (checkDataSet && checkClassLabels) {
+            checkSamplesClass = reader.isCorrectLabels();
+            if (checkSamplesClass) {
+                allSparseData = reader.createDataset();
             }
-            br2.close();
-        } catch (Exception e) {
-            e.printStackTrace();
         }
     }
 
     /**
-     * This method reads the class labels of the samples
+     * This method checks whether the given dataset file is in LibSVM format
+     * based on its extension (.libsvm, .svm or .svmlight)
+     *
+     * @param path the path of the dataset file
+     *
+     * @return true if the file is a sparse dataset file
      */
-    private void readLabel() {
-        int count = 0;
-        BufferedReader br = null;
-        try {
-            br = new BufferedReader(new FileReader(pathLabel));
-            while (br.ready()) {
-                Classlabel[count++] = br.readLine();
-            }
-            br.close();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    private static boolean isSparseFile(String path) {
+        String name = path.toLowerCase();
+        return name.endsWith(".libsvm") || name.endsWith(".svm") || name.endsWith(".svmlight");
     }
 
     /**
-     * This method converts the String name of class labels to the integer value
+     * This method reads the class label and dataset files. If a directory is
+     * set for the binary files of the datasets and the binary file of the
+     * given files is up to date, the dataset is loaded from the binary file
+     * instead of parsing the files. Otherwise, the parsed dataset is written
+     * to a new binary file. The dataset files in LibSVM format are read as a
+     * sparse dataset.
      *
-     * @param nameClass the name of the class labels as String
+     * @param labelPath the path of the class label file
+     * @param paths the paths of the dataset files
      *
-     * @return the index of the class
+     * @throws IOException if a class label or dataset file cannot be read
      */
-    private int indexClass(String nameClass) {
-        for (int i = 0; i < numClass; i++) {
-            if (nameClass.equals(Classlabel[i])) {
-                return i;
+    private void readFiles(String labelPath, String... paths) throws IOException {
+        releaseSimilarityMatrices();
+        allData = trainData = testData = null;
+        allSparseData = trainSparseData = testSparseData = null;
+        if (isSparseFile(paths[0])) {
+            readLabel(labelPath); //reads the class label file
+            readSparseDataset(paths); //reads the sparse dataset files
+            return;
+        }
+
+        DatasetCache cache = null;
+        if (cacheDirectory != null) {
+            String[] sourcePaths = Arrays.copyOf(paths, paths.length + 1);
+            sourcePaths[paths.length] = labelPath;
+            cache = new DatasetCache(cacheDirectory, sourcePaths);
+            if (cache.read()) {
+                Classlabel = cache.getClassLabels();
+                numClass = Classlabel.length;
+                nameFeatures = cache.getHeader().split(",");
+                allData = cache.getData();
+                numFeature = allData.getNumFeatures();
+                numData = allData.getNumSamples();
+                numTrainSet = paths.length == 1 ? (int) (numData * 0.66) : cache.getNumFirstFileSamples();
+                numTestSet = numData - numTrainSet;
+                return;
             }
         }
-        return -1;
+
+        readLabel(labelPath); //reads the class label file
+        readDataset(paths); //reads the dataset files
+        if (cache != null && checkDataSet && checkClassLabels && checkTrainTestSet && checkSamplesClass) {
+            cache.write(String.join(",", nameFeatures), Classlabel,
+                    paths.length == 1 ? numData : numTrainSet, allData);
+            DatasetCache.evict(cacheDirectory, maxCacheSize);
+        }
     }
 
     /**
-     * This method converts and sets the string values of the input data to the
-     * double values
+     * This method creates the train/test sets of the given samples of the
+     * dataset. The sparse dataset is split without storing its zero values.
+     *
+     * @param trainIndices the indices of the samples of the train set
+     * @param testIndices the indices of the samples of the test set
      */
-    private void splitFeatureWithLabel() {
-        checkSamplesClass = true;
-        nameFeatures = allNameFeatures.split(",");
-        for (int i = 0; i < numData; i++) {
-            String res[] = originalData[i].split(",");
-            for (int k = 0; k < numFeature; k++) {
-                allData[i][k] = Double.parseDouble(res[k]);
-            }
-            allData[i][numFeature] = indexClass(res[numFeature]);
-            if (allData[i][numFeature] == -1) {
-                checkSamplesClass = false;
-                break;
-            }
+    private void createTrainTestSets(int[] trainIndices, int[] testIndices) {
+        if (allSparseData != null) {
+            trainSparseData = allSparseData.subset(trainIndices);
+            trainSparseData.setSimilarityPrecision(similarityPrecision);
+            testSparseData = allSparseData.subset(testIndices);
+        } else {
+            trainData = allData.subset(trainIndices);
+            trainData.setSimilarityPrecision(similarityPrecision);
+            testData = allData.subset(testIndices);
         }
     }
 
@@ -346,21 +256,25 @@ public class DatasetInfo {
      * test set
      */
     private void splitDataSetToTrainAndTest1() {
+        int[] trainIndices = new int[numTrainSet];
+        int[] testIndices = new int[numTestSet];
         int countTest = 0;
         int countTrain = 0;
+        Random rand = new Random(seed);
         for (int i = 0; i < numData; i++) {
             if ((countTrain < numTrainSet) && (countTest < numTestSet)) {
                 if (rand.nextDouble() <= 0.66) {
-                    trainSet[countTrain++] = Arrays.copyOf(allData[i], allData[i].length);
+                    trainIndices[countTrain++] = i;
                 } else {
-                    testSet[countTest++] = Arrays.copyOf(allData[i], allData[i].length);
+                    testIndices[countTest++] = i;
                 }
             } else if (countTrain < numTrainSet) {
-                trainSet[countTrain++] = Arrays.copyOf(allData[i], allData[i].length);
+                trainIndices[countTrain++] = i;
             } else {
-                testSet[countTest++] = Arrays.copyOf(allData[i], allData[i].length);
+                testIndices[countTest++] = i;
             }
         }
+        createTrainTestSets(trainIndices, testIndices);
     }
 
     /**
@@ -368,12 +282,15 @@ public class DatasetInfo {
      * split by user
      */
     private void splitDataSetToTrainAndTest2() {
+        int[] trainIndices = new int[numTrainSet];
+        int[] testIndices = new int[numTestSet];
         for (int i = 0; i < numTrainSet; i++) {
-            trainSet[i] = Arrays.copyOf(allData[i], allData[i].length);
+            trainIndices[i] = i;
         }
         for (int i = numTrainSet; i < numData; i++) {
-            testSet[i - numTrainSet] = Arrays.copyOf(allData[i], allData[i].length);
+            testIndices[i - numTrainSet] = i;
         }
+        createTrainTestSets(trainIndices, testIndices);
     }
 
     /**
@@ -385,16 +302,13 @@ public class DatasetInfo {
      */
     public void preProcessing(String path1, String path2) {
         try {
-            init(path1, path2); //checks the correct format of the input files
-            if (checkDataSet && checkClassLabels) {
-                readExample1(); //reads the dataset file as string
-                readLabel(); //reads the class label file
-                splitFeatureWithLabel(); //converts string values of the input data to the double values
-                if (checkSamplesClass) {
-                    splitDataSetToTrainAndTest1(); //randomly splits the input dataset to the train/test sets
-                }
+            checkDataSet = checkClassLabels = checkTrainTestSet = checkSamplesClass = true;
+            readFiles(path2, path1); //reads the class label and dataset files
+            if (checkDataSet && checkClassLabels && checkSamplesClass) {
+                splitDataSetToTrainAndTest1(); //randomly splits the input dataset to the train/test sets
             }
         } catch (Exception e) {
+            checkDataSet = false;
             JOptionPane.showMessageDialog(null, "An error has occurred in reading the dataset. Please recheck the format of the dataset files.",
                     "Error", JOptionPane.ERROR_MESSAGE);
 
@@ -414,16 +328,13 @@ public class DatasetInfo {
      */
     public void preProcessing(String path1, String path2, String path3) {
         try {
-            init(path1, path2, path3); //checks the correct format of the input files
-            if (checkDataSet && checkClassLabels && checkTrainTestSet) {
-                readExample2(); //reads the train/test set files as string
-                readLabel(); //reads the class label file
-                splitFeatureWithLabel(); //converts string values of the input data to the double values
-                if (checkSamplesClass) {
-                    splitDataSetToTrainAndTest2(); //setts the train/test sets
-                }
+            checkDataSet = checkClassLabels = checkTrainTestSet = checkSamplesClass = true;
+            readFiles(path3, path1, path2); //reads the class label and train/test set files
+            if (checkDataSet && checkClassLabels && checkTrainTestSet && checkSamplesClass) {
+                splitDataSetToTrainAndTest2(); //setts the train/test sets
             }
         } catch (Exception e) {
+            checkDataSet = false;
             JOptionPane.showMessageDialog(null, "An error has occurred in reading the dataset. Please recheck the format of the dataset files.",
                     "Error", JOptionPane.ERROR_MESSAGE);
 
@@ -433,6 +344,70 @@ public class DatasetInfo {
         }
     }
 
+    /**
+     * This method sets the seed of the random split of the dataset to the
+     * train/test sets. The same seed gives the same train/test sets, so each
+     * run of the feature selection methods should use its own seed.
+     *
+     * @param seed the seed of the random split
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * This method sets the directory in which the parsed datasets are kept as
+     * binary files to load them faster in the next runs
+     *
+     * @param cacheDirectory the path of the directory (null disables the
+     * binary files)
+     */
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * This method sets the maximum total size of the binary files of the
+     * datasets. The least recently used files are removed when a new file
+     * makes the total size larger than this size.
+     *
+     * @param maxCacheSize the maximum total size of the binary files in bytes
+     */
+    public void setMaxCacheSize(long maxCacheSize) {
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * This method sets the precision in which the similarity values between
+     * all pairs of features of the train set are kept. The lower precisions
+     * reduce the memory usage of the datasets with a large number of features.
+     *
+     * @param precision the precision of the similarity values
+     */
+    public void setSimilarityPrecision(PrecisionType precision) {
+        this.similarityPrecision = precision;
+        if (trainData != null) {
+            trainData.setSimilarityPrecision(precision);
+        }
+        if (trainSparseData != null) {
+            trainSparseData.setSimilarityPrecision(precision);
+        }
+    }
+
+    /**
+     * This method releases the memory of the similarity values between all
+     * pairs of features of the train set. It is called when the train set is
+     * replaced or is not used anymore.
+     */
+    public void releaseSimilarityMatrices() {
+        if (trainData != null) {
+            trainData.releaseSimilarityMatrices();
+        }
+        if (trainSparseData != null) {
+            trainSparseData.releaseSimilarityMatrices();
+        }
+    }
+
     /**
      * This is used to return the status of the dataset
      *
@@ -525,21 +500,83 @@ public class DatasetInfo {
     }
 
     /**
-     * This is used to return the train set values
+     * This is used to return the train set values in the row-major order (the
+     * class label of each sample is placed in the last column)
      *
      * @return the matrix of train set
      */
     public double[][] getTrainSet() {
-        return ArraysFunc.copyDoubleArray2D(trainSet);
+        return getTrainData().toRows();
     }
 
     /**
-     * This is used to return the test set values
+     * This is used to return the test set values in the row-major order (the
+     * class label of each sample is placed in the last column)
      *
      * @return the matrix of test set
      */
     public double[][] getTestSet() {
-        return ArraysFunc.copyDoubleArray2D(testSet);
+        return getTestData().toRows();
+    }
+
+    /**
+     * This is used to return the column-major train set. The returned dataset
+     * is shared, so its arrays should not be modified. For a sparse dataset,
+     * the zero values are stored explicitly when this method is called first.
+     *
+     * @return the column-major train set
+     */
+    public ColumnarDataset getTrainData() {
+        if (trainData == null && trainSparseData != null) {
+            trainData = trainSparseData.toColumnar();
+            trainData.setSimilarityPrecision(similarityPrecision);
+        }
+        return trainData;
+    }
+
+    /**
+     * This is used to return the column-major test set. The returned dataset
+     * is shared, so its arrays should not be modified. For a sparse dataset,
+     * the zero values are stored explicitly when this method is called first.
+     *
+     * @return the column-major test set
+     */
+    public ColumnarDataset getTestData() {
+        if (testData == null && testSparseData != null) {
+            testData = testSparseData.toColumnar();
+        }
+        return testData;
+    }
+
+    /**
+     * This is used to return the status of the representation of the dataset
+     *
+     * @return true if the dataset has been read from sparse (LibSVM) files
+     */
+    public boolean isSparse() {
+        return allSparseData != null;
+    }
+
+    /**
+     * This is used to return the sparse train set. The returned dataset is
+     * shared, so its arrays should not be modified.
+     *
+     * @return the sparse train set, or <code>null</code> if the dataset is
+     * not sparse
+     */
+    public SparseDataset getTrainSparseData() {
+        return trainSparseData;
+    }
+
+    /**
+     * This is used to return the sparse test set. The returned dataset is
+     * shared, so its arrays should not be modified.
+     *
+     * @return the sparse test set, or <code>null</code> if the dataset is not
+     * sparse
+     */
+    public SparseDataset getTestSparseData() {
+        return testSparseData;
     }
 
     /**
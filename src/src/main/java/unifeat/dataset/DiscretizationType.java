@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import unifeat.featureSelection.EnumType;
+
+/**
+ * This java class is used to define the names of the discretization methods
+ * that are used to convert the values of the features to integer codes.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.EnumType
+ * @see unifeat.dataset.DiscretizedDataset
+ */
+public final class DiscretizationType extends EnumType {
+
+    public static final DiscretizationType EXACT = new DiscretizationType("Exact values", 0);
+    public static final DiscretizationType EQUAL_WIDTH = new DiscretizationType("Equal width", 1);
+    public static final DiscretizationType EQUAL_FREQUENCY = new DiscretizationType("Equal frequency", 2);
+    public static final DiscretizationType MDL = new DiscretizationType("Minimum description length (MDL)", 3);
+
+    /**
+     * Creates new DiscretizationType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param name the name of discretization method
+     */
+    private DiscretizationType(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates new DiscretizationType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param name the name of discretization method
+     * @param value the value of discretization method
+     */
+    private DiscretizationType(String name, int value) {
+        super(name, value);
+    }
+
+    /**
+     * Returns the names of discretization methods
+     *
+     * @return an array of names of discretization methods
+     */
+    public static String[] asList() {
+        return new String[]{EXACT.toString(),
+            EQUAL_WIDTH.toString(),
+            EQUAL_FREQUENCY.toString(),
+            MDL.toString()};
+    }
+
+    /**
+     * Converts the discretization method name to DiscretizationType
+     *
+     * @param type the name of discretization method as string
+     *
+     * @return the discretization method type
+     */
+    public static DiscretizationType parse(String type) {
+        return switch (type) {
+            case "Equal width" -> EQUAL_WIDTH;
+            case "Equal frequency" -> EQUAL_FREQUENCY;
+            case "Minimum description length (MDL)" -> MDL;
+            default -> EXACT;
+        };
+    }
+}
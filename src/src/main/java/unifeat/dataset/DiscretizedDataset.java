@@ -0,0 +1,384 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import unifeat.util.MathFunc;
+
+/**
+ * This java class is used to keep the values of the features of a dataset as
+ * integer codes. The values of each feature are converted to the codes in the
+ * range [0, number of codes of the feature) so that the codes keep the
+ * ascending order of the values, and the samples with equal values have equal
+ * codes.
+ * <p>
+ * The information-theoretic methods such as entropy and mutual information
+ * count the codes in the contingency tables instead of grouping the real
+ * values of the features. The dataset is created once by
+ * {@link ColumnarDataset#getDiscretizedData(DiscretizationType, int)} and is
+ * shared by all methods that use the same discretization method.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.DiscretizationType
+ * @see unifeat.util.InformationFunc
+ */
+public class DiscretizedDataset {
+
+    private final int[][] codes;
+    private final int[] numCodes;
+    private final int[] labels;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param codes the codes of the features in which each row contains the
+     * codes of a feature over all samples
+     * @param numCodes the number of codes of each feature
+     * @param labels the index of the class label of each sample
+     */
+    public DiscretizedDataset(int[][] codes, int[] numCodes, int[] labels) {
+        this.codes = codes;
+        this.numCodes = numCodes;
+        this.labels = labels;
+    }
+
+    /**
+     * This method converts the values of the features of the input data to
+     * the integer codes by the given discretization method
+     *
+     * @param data the input data
+     * @param type the discretization method
+     * @param numBins the number of bins used in the equal width and equal
+     * frequency methods
+     *
+     * @return the discretized dataset
+     */
+    public static DiscretizedDataset discretize(ColumnarDataset data, DiscretizationType type, int numBins) {
+        int numFeatures = data.getNumFeatures();
+        int[][] codes = new int[numFeatures][];
+        int[] numCodes = new int[numFeatures];
+        for (int i = 0; i < numFeatures; i++) {
+            if (type == DiscretizationType.EQUAL_WIDTH) {
+                codes[i] = equalWidthCodes(data.getColumn(i), numBins);
+            } else if (type == DiscretizationType.EQUAL_FREQUENCY) {
+                codes[i] = equalFrequencyCodes(data.getColumn(i), data.getSortedIndices(i), numBins);
+            } else if (type == DiscretizationType.MDL) {
+                codes[i] = mdlCodes(data.getColumn(i), data.getSortedIndices(i), data.getLabels());
+            } else {
+                codes[i] = exactCodes(data.getColumn(i), data.getSortedIndices(i));
+            }
+            numCodes[i] = compactCodes(codes[i]);
+        }
+        return new DiscretizedDataset(codes, numCodes, data.getLabels());
+    }
+
+    /**
+     * Converts each distinct value of the feature to a code. The codes are
+     * given in ascending order of the values.
+     *
+     * @param column the values of the feature
+     * @param order the indices of the samples sorted by the values of the
+     * feature
+     *
+     * @return the codes of the samples
+     */
+    private static int[] exactCodes(double[] column, int[] order) {
+        int[] codes = new int[column.length];
+        int code = 0;
+        for (int i = 1; i < order.length; i++) {
+            codes[order[i - 1]] = code;
+            if (column[order[i]] != column[order[i - 1]]) {
+                code++;
+            }
+        }
+        if (order.length > 0) {
+            codes[order[order.length - 1]] = code;
+        }
+        return codes;
+    }
+
+    /**
+     * Divides the range of the values of the feature into the bins with equal
+     * widths and converts each value to the index of its bin
+     *
+     * @param column the values of the feature
+     * @param numBins the number of bins
+     *
+     * @return the codes of the samples
+     */
+    private static int[] equalWidthCodes(double[] column, int numBins) {
+        int[] codes = new int[column.length];
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (double value : column) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        if (max <= min) {
+            return codes;
+        }
+        double width = (max - min) / numBins;
+        for (int i = 0; i < column.length; i++) {
+            codes[i] = Math.min((int) ((column[i] - min) / width), numBins - 1);
+        }
+        return codes;
+    }
+
+    /**
+     * Divides the samples sorted by the values of the feature into the bins
+     * with (nearly) equal number of samples. The samples with equal values are
+     * placed in the bin of the first of them.
+     *
+     * @param column the values of the feature
+     * @param order the indices of the samples sorted by the values of the
+     * feature
+     * @param numBins the number of bins
+     *
+     * @return the codes of the samples
+     */
+    private static int[] equalFrequencyCodes(double[] column, int[] order, int numBins) {
+        int numSamples = order.length;
+        int[] codes = new int[numSamples];
+        int code = 0;
+        for (int i = 0; i < numSamples; i++) {
+            if (i > 0 && column[order[i]] != column[order[i - 1]]) {
+                code = (int) ((long) i * numBins / numSamples);
+            }
+            codes[order[i]] = code;
+        }
+        return codes;
+    }
+
+    /**
+     * Computes the entropy of the class labels given by the number of samples
+     * in each class
+     *
+     * @param countClass the number of samples in each class
+     * @param size the number of samples
+     *
+     * @return the entropy value
+     */
+    private static double computeEntropy(int[] countClass, int size) {
+        double entropy = 0;
+        for (int count : countClass) {
+            if (count != 0) {
+                double prob = count / (double) size;
+                entropy -= prob * MathFunc.log2(prob);
+            }
+        }
+        return entropy;
+    }
+
+    /**
+     * Returns the number of classes that have at least one sample
+     *
+     * @param countClass the number of samples in each class
+     *
+     * @return the number of nonempty classes
+     */
+    private static int countNonEmpty(int[] countClass) {
+        int count = 0;
+        for (int value : countClass) {
+            if (value != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Splits the samples sorted by the values of the feature by the entropy
+     * based method of Fayyad and Irani. Each range of the samples is split
+     * at the boundary that minimizes the class entropy of the two parts, and
+     * the split is accepted if it passes the minimum description length
+     * criterion. The parts are split recursively.
+     *
+     * @param column the values of the feature
+     * @param order the indices of the samples sorted by the values of the
+     * feature
+     * @param labels the index of the class label of each sample
+     *
+     * @return the codes of the samples
+     */
+    private static int[] mdlCodes(double[] column, int[] order, int[] labels) {
+        int numSamples = order.length;
+        int numClass = 0;
+        for (int label : labels) {
+            numClass = Math.max(numClass, label + 1);
+        }
+        boolean[] isCut = new boolean[numSamples];
+        int[] countLeft = new int[numClass];
+        int[] countRight = new int[numClass];
+        ArrayDeque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[]{0, numSamples});
+
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int start = range[0];
+            int end = range[1];
+            int size = end - start;
+            int[] countClass = new int[numClass];
+            for (int i = start; i < end; i++) {
+                countClass[labels[order[i]]]++;
+            }
+            double entropy = computeEntropy(countClass, size);
+
+            //finds the boundary with the minimum entropy of the two parts
+            Arrays.fill(countLeft, 0);
+            double minEntropy = Double.MAX_VALUE;
+            int bestCut = -1;
+            for (int i = start + 1; i < end; i++) {
+                countLeft[labels[order[i - 1]]]++;
+                if (column[order[i]] != column[order[i - 1]]) {
+                    for (int k = 0; k < numClass; k++) {
+                        countRight[k] = countClass[k] - countLeft[k];
+                    }
+                    int sizeLeft = i - start;
+                    double partEntropy = (sizeLeft * computeEntropy(countLeft, sizeLeft)
+                            + (end - i) * computeEntropy(countRight, end - i)) / size;
+                    if (partEntropy < minEntropy) {
+                        minEntropy = partEntropy;
+                        bestCut = i;
+                    }
+                }
+            }
+            if (bestCut == -1) {
+                continue;
+            }
+
+            //checks the minimum description length criterion
+            Arrays.fill(countLeft, 0);
+            for (int i = start; i < bestCut; i++) {
+                countLeft[labels[order[i]]]++;
+            }
+            for (int k = 0; k < numClass; k++) {
+                countRight[k] = countClass[k] - countLeft[k];
+            }
+            int numClassAll = countNonEmpty(countClass);
+            int numClassLeft = countNonEmpty(countLeft);
+            int numClassRight = countNonEmpty(countRight);
+            double delta = MathFunc.log2(Math.pow(3, numClassAll) - 2)
+                    - (numClassAll * entropy
+                    - numClassLeft * computeEntropy(countLeft, bestCut - start)
+                    - numClassRight * computeEntropy(countRight, end - bestCut));
+            double gain = entropy - minEntropy;
+            if (gain > (MathFunc.log2(size - 1) + delta) / size) {
+                isCut[bestCut] = true;
+                ranges.push(new int[]{start, bestCut});
+                ranges.push(new int[]{bestCut, end});
+            }
+        }
+
+        int[] codes = new int[numSamples];
+        int code = 0;
+        for (int i = 0; i < numSamples; i++) {
+            if (isCut[i]) {
+                code++;
+            }
+            codes[order[i]] = code;
+        }
+        return codes;
+    }
+
+    /**
+     * Renumbers the codes so that only the codes that are given to at least
+     * one sample are used. The order of the codes is not changed.
+     *
+     * @param codes the codes of the samples
+     *
+     * @return the number of used codes
+     */
+    private static int compactCodes(int[] codes) {
+        int maxCode = -1;
+        for (int code : codes) {
+            maxCode = Math.max(maxCode, code);
+        }
+        int[] newCodes = new int[maxCode + 1];
+        for (int code : codes) {
+            newCodes[code] = 1;
+        }
+        int numCodes = 0;
+        for (int i = 0; i <= maxCode; i++) {
+            if (newCodes[i] != 0) {
+                newCodes[i] = numCodes++;
+            }
+        }
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = newCodes[codes[i]];
+        }
+        return numCodes;
+    }
+
+    /**
+     * This method returns the number of samples in the dataset
+     *
+     * @return number of samples
+     */
+    public int getNumSamples() {
+        return labels.length;
+    }
+
+    /**
+     * This method returns the number of features in the dataset
+     *
+     * @return number of features
+     */
+    public int getNumFeatures() {
+        return codes.length;
+    }
+
+    /**
+     * This method returns the codes of the given feature over all samples.
+     * The returned array should not be modified.
+     *
+     * @param index the index of the feature
+     *
+     * @return the codes of the feature
+     */
+    public int[] getCodes(int index) {
+        return codes[index];
+    }
+
+    /**
+     * This method returns the number of codes of the given feature
+     *
+     * @param index the index of the feature
+     *
+     * @return the number of codes
+     */
+    public int getNumCodes(int index) {
+        return numCodes[index];
+    }
+
+    /**
+     * This method returns the index of the class label of each sample. The
+     * returned array should not be modified.
+     *
+     * @return the class labels of the samples
+     */
+    public int[] getLabels() {
+        return labels;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * This java class is used to read the sparse dataset files in LibSVM
+ * (SVMLight) format. Each line of the file contains the class label of a
+ * sample followed by the nonzero values of its features as
+ * <code>index:value</code> pairs, e.g. <code>a 3:0.5 17:1 204:2.25</code>. The
+ * indices of the features start from one and are in ascending order in each
+ * line. The text after a <code>#</code> character is a comment, the
+ * <code>qid:</code> pairs of SVMLight are ignored and the empty lines are
+ * skipped.
+ * <p>
+ * Only the nonzero values are kept while the files are read, and the number of
+ * features is the largest index of the features in all files. Several files
+ * (e.g. the train and test sets) can be read one after another; the samples
+ * of all files are appended in the same order.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.SparseDataset
+ * @see unifeat.dataset.DatasetInfo
+ */
+public class LibSVMDataReader {
+
+    private final HashMap<String, Integer> classIndices;
+    private int numFeatures;
+    private int numSamples;
+    private int numValues;
+    private int[] rowPointers;
+    private int[] featureIndices;
+    private double[] values;
+    private int[] labels;
+    private boolean correctFormat = true;
+    private boolean correctLabels = true;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param classNames the names of the class labels in which the index of
+     * each name is used as the class label of the samples
+     */
+    public LibSVMDataReader(String[] classNames) {
+        this.classIndices = new HashMap<>();
+        for (int i = 0; i < classNames.length; i++) {
+            this.classIndices.putIfAbsent(classNames[i], i);
+        }
+        this.rowPointers = new int[16];
+        this.featureIndices = new int[16];
+        this.values = new double[16];
+        this.labels = new int[16];
+    }
+
+    /**
+     * This method reads the given file and appends its samples to the samples
+     * that have been read before.
+     *
+     * @param path the path of the file
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public void read(String path) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                int end = line.indexOf('#');
+                readSample(line, end == -1 ? line.length() : end);
+            }
+        }
+    }
+
+    /**
+     * This method reads a sample of the file. After an error has been found in
+     * the format of the file, the lines are only counted.
+     *
+     * @param line the line of the file
+     * @param end the index of the end of the line (exclusive)
+     */
+    private void readSample(String line, int end) {
+        int position = skipWhitespace(line, 0, end);
+        if (position == end) {
+            return;
+        }
+        if (!correctFormat) {
+            numSamples++;
+            return;
+        }
+
+        int tokenEnd = findWhitespace(line, position, end);
+        Integer label = classIndices.get(line.substring(position, tokenEnd));
+        if (label == null) {
+            correctLabels = false;
+            label = -1;
+        }
+        ensureCapacity(numSamples + 2, numValues);
+        labels[numSamples] = label;
+
+        int previousIndex = 0;
+        position = skipWhitespace(line, tokenEnd, end);
+        try {
+            while (position < end) {
+                tokenEnd = findWhitespace(line, position, end);
+                int separator = line.indexOf(':', position);
+                if (separator == -1 || separator >= tokenEnd) {
+                    correctFormat = false;
+                    break;
+                }
+                if (!line.startsWith("qid", position) || separator != position + 3) {
+                    int index = Integer.parseInt(line.substring(position, separator));
+                    double value = Double.parseDouble(line.substring(separator + 1, tokenEnd));
+                    if (index <= previousIndex) {
+                        correctFormat = false;
+                        break;
+                    }
+                    previousIndex = index;
+                    if (value != 0) {
+                        ensureCapacity(numSamples + 2, numValues + 1);
+                        featureIndices[numValues] = index - 1;
+                        values[numValues++] = value;
+                    }
+                }
+                position = skipWhitespace(line, tokenEnd, end);
+            }
+        } catch (NumberFormatException ex) {
+            correctFormat = false;
+        }
+
+        numFeatures = Math.max(numFeatures, previousIndex);
+        numSamples++;
+        rowPointers[numSamples] = numValues;
+    }
+
+    /**
+     * This method returns the index of the first character that is not a
+     * whitespace
+     *
+     * @param line the line of the file
+     * @param start the index from which the line is searched
+     * @param end the index of the end of the line (exclusive)
+     *
+     * @return the index of the character, or end if there is no such character
+     */
+    private static int skipWhitespace(String line, int start, int end) {
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * This method returns the index of the first whitespace character
+     *
+     * @param line the line of the file
+     * @param start the index from which the line is searched
+     * @param end the index of the end of the line (exclusive)
+     *
+     * @return the index of the whitespace, or end if there is no whitespace
+     */
+    private static int findWhitespace(String line, int start, int end) {
+        while (start < end && !Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * This method increases the size of the arrays if they cannot hold the
+     * given number of samples and nonzero values.
+     *
+     * @param minSamples the required size of the arrays of the samples
+     * @param minValues the required size of the arrays of the nonzero values
+     */
+    private void ensureCapacity(int minSamples, int minValues) {
+        if (minSamples > rowPointers.length) {
+            int capacity = Math.max(minSamples, rowPointers.length + (rowPointers.length >> 1));
+            rowPointers = Arrays.copyOf(rowPointers, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+        }
+        if (minValues > values.length) {
+            int capacity = Math.max(minValues, values.length + (values.length >> 1));
+            featureIndices = Arrays.copyOf(featureIndices, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * This method creates the sparse dataset of the samples that have been
+     * read. The nonzero values that are kept sample by sample are rearranged
+     * feature by feature.
+     *
+     * @return the sparse dataset of all samples
+     */
+    public SparseDataset createDataset() {
+        int[] columnPointers = new int[numFeatures + 1];
+        for (int k = 0; k < numValues; k++) {
+            columnPointers[featureIndices[k] + 1]++;
+        }
+        for (int j = 0; j < numFeatures; j++) {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+
+        int[] rowIndices = new int[numValues];
+        double[] nonzeros = new double[numValues];
+        int[] nextPosition = Arrays.copyOf(columnPointers, numFeatures);
+        for (int i = 0; i < numSamples; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int position = nextPosition[featureIndices[k]]++;
+                rowIndices[position] = i;
+                nonzeros[position] = values[k];
+            }
+        }
+        return new SparseDataset(columnPointers, rowIndices, nonzeros, Arrays.copyOf(labels, numSamples));
+    }
+
+    /**
+     * This method returns the number of features in the dataset (the largest
+     * index of the features)
+     *
+     * @return number of features
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * This method returns the number of samples (non-empty lines) that have
+     * been read
+     *
+     * @return number of samples
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * This method returns the status of the format of the files
+     *
+     * @return true if all lines of the files are in the correct format
+     */
+    public boolean isCorrectFormat() {
+        return correctFormat;
+    }
+
+    /**
+     * This method returns the status of the class labels of the samples
+     *
+     * @return true if the class label of each sample is one of the given class
+     * labels
+     */
+    public boolean isCorrectLabels() {
+        return correctLabels;
+    }
+}
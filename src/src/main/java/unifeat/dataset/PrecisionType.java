@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import unifeat.featureSelection.EnumType;
+
+/**
+ * This java class is used to define the names of the precisions in which the
+ * values of a matrix are stored.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.EnumType
+ * @see unifeat.dataset.TriangularMatrix
+ */
+public final class PrecisionType extends EnumType {
+
+    public static final PrecisionType DOUBLE = new PrecisionType("Double (64 bits)", 0);
+    public static final PrecisionType FLOAT = new PrecisionType("Float (32 bits)", 1);
+    public static final PrecisionType HALF = new PrecisionType("Half (16 bits)", 2);
+
+    /**
+     * Creates new PrecisionType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param name the name of precision
+     */
+    private PrecisionType(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates new PrecisionType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param name the name of precision
+     * @param value the value of precision
+     */
+    private PrecisionType(String name, int value) {
+        super(name, value);
+    }
+
+    /**
+     * Returns the names of precisions
+     *
+     * @return an array of names of precisions
+     */
+    public static String[] asList() {
+        return new String[]{DOUBLE.toString(),
+            FLOAT.toString(),
+            HALF.toString()};
+    }
+
+    /**
+     * Converts the precision name to PrecisionType
+     *
+     * @param type the name of precision as string
+     *
+     * @return the precision type
+     */
+    public static PrecisionType parse(String type) {
+        return switch (type) {
+            case "Float (32 bits)" -> FLOAT;
+            case "Half (16 bits)" -> HALF;
+            default -> DOUBLE;
+        };
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.util.Arrays;
+import unifeat.util.MathFunc;
+import unifeat.util.WorkerPool;
+
+/**
+ * This java class is used to keep the similarity values between all pairs of
+ * features of a dataset. The values are kept in the lower triangle of the
+ * symmetric matrix in which the value of the pair (i, j), j &lt; i, is placed
+ * at index i * (i - 1) / 2 + j. The lower triangle is kept outside of the Java
+ * heap in the given precision by {@link TriangularMatrix}.
+ * <p>
+ * The columns of the dataset are normalized once (centered for the Pearson
+ * correlation coefficient and scaled to the unit length), and all values are
+ * computed as the dot products of the normalized columns. The matrix is
+ * divided into blocks of features and blocks of samples so that the columns
+ * of a block are reused from the cache, and the rows of blocks are computed
+ * by several threads.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.SimilarityType
+ * @see unifeat.dataset.TriangularMatrix
+ * @see unifeat.dataset.ColumnarDataset#getSimilarityMatrix(SimilarityType)
+ * @see unifeat.dataset.SparseDataset#getSimilarityMatrix(SimilarityType)
+ */
+public class SimilarityMatrix {
+
+    private static final int BLOCK_FEATURES = 32;
+    private static final int BLOCK_SAMPLES = 1024;
+    private final int numFeatures;
+    private final TriangularMatrix values;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param values the similarity values in the lower triangle of the matrix
+     */
+    public SimilarityMatrix(TriangularMatrix values) {
+        this.numFeatures = values.getSize();
+        this.values = values;
+    }
+
+    /**
+     * This method computes the similarity values between all pairs of features
+     * of the dataset
+     *
+     * @param data the input data
+     * @param type the similarity measure
+     * @param precision the precision in which the values are kept
+     * @param numThreads the maximum number of threads used to compute the
+     * values
+     *
+     * @return the similarity matrix
+     */
+    public static SimilarityMatrix compute(ColumnarDataset data, SimilarityType type, PrecisionType precision, int numThreads) {
+        int numFeatures = data.getNumFeatures();
+        int numSamples = data.getNumSamples();
+        double[][] normalized = new double[numFeatures][];
+        boolean[] isZero = new boolean[numFeatures];
+
+        //normalizes the columns of the dataset
+        for (int i = 0; i < numFeatures; i++) {
+            double[] column = data.getColumn(i);
+            double mean = type == SimilarityType.PEARSON ? MathFunc.computeMean(column) : 0;
+            double[] newColumn = new double[numSamples];
+            double sum = 0;
+            for (int k = 0; k < numSamples; k++) {
+                newColumn[k] = column[k] - mean;
+                sum += newColumn[k] * newColumn[k];
+            }
+            if (sum == 0) {
+                isZero[i] = true;
+            } else {
+                double norm = Math.sqrt(sum);
+                for (int k = 0; k < numSamples; k++) {
+                    newColumn[k] /= norm;
+                }
+            }
+            normalized[i] = newColumn;
+        }
+
+        TriangularMatrix values = new TriangularMatrix(numFeatures, precision);
+        int numBlocks = (numFeatures + BLOCK_FEATURES - 1) / BLOCK_FEATURES;
+        //the rows of blocks are given to the threads from the longest one
+        WorkerPool.common().runTasks(numBlocks, numThreads,
+                index -> computeRowBlock(normalized, isZero, type, values, numBlocks - 1 - index));
+
+        return new SimilarityMatrix(values);
+    }
+
+    /**
+     * This method computes the similarity values between all pairs of features
+     * of the sparse dataset. Only the nonzero values of the features are
+     * visited: each feature is scattered into an array of the length of the
+     * samples, and its dot products with the previous features are computed
+     * over the nonzero values of those features. The values are the same as
+     * the values of the dense dataset up to the rounding errors.
+     *
+     * @param data the sparse input data
+     * @param type the similarity measure
+     * @param precision the precision in which the values are kept
+     * @param numThreads the maximum number of threads used to compute the
+     * values
+     *
+     * @return the similarity matrix
+     */
+    public static SimilarityMatrix compute(SparseDataset data, SimilarityType type, PrecisionType precision, int numThreads) {
+        int numFeatures = data.getNumFeatures();
+        int numSamples = data.getNumSamples();
+        double[] means = new double[numFeatures];
+        double[] norms = new double[numFeatures];
+        double[] values = data.getValues();
+
+        //computes the lengths of the columns (centered for the Pearson correlation coefficient)
+        for (int i = 0; i < numFeatures; i++) {
+            double sum = 0;
+            if (type == SimilarityType.PEARSON) {
+                means[i] = MathFunc.computeMean(data, i);
+                sum = MathFunc.computeVariance(data, means[i], i) * numSamples;
+            } else {
+                for (int k = data.getColumnStart(i); k < data.getColumnEnd(i); k++) {
+                    sum += values[k] * values[k];
+                }
+            }
+            norms[i] = Math.sqrt(sum);
+        }
+
+        TriangularMatrix matrix = new TriangularMatrix(numFeatures, precision);
+        //the rows are given to the threads from the longest one, and each thread keeps its own scattered column
+        WorkerPool.common().runTasks(numFeatures, numThreads, () -> new double[numSamples],
+                (column, index) -> computeSparseRow(data, means, norms, type, matrix, column, numFeatures - 1 - index));
+
+        return new SimilarityMatrix(matrix);
+    }
+
+    /**
+     * Computes the similarity values of a feature of the sparse dataset with
+     * all previous features
+     *
+     * @param data the sparse input data
+     * @param means the mean values of the features (zero for the cosine
+     * similarity)
+     * @param norms the lengths of the columns of the features
+     * @param type the similarity measure
+     * @param values the similarity values in the lower triangle of the matrix
+     * @param column an array of zeros of the length of the samples, which is
+     * used to scatter the feature
+     * @param index the index of the feature
+     */
+    private static void computeSparseRow(SparseDataset data, double[] means, double[] norms, SimilarityType type,
+            TriangularMatrix values, double[] column, int index) {
+        int[] rows = data.getRowIndices();
+        double[] nonZeros = data.getValues();
+        int start = data.getColumnStart(index);
+        int end = data.getColumnEnd(index);
+        for (int k = start; k < end; k++) {
+            column[rows[k]] = nonZeros[k];
+        }
+
+        long rowIndex = TriangularMatrix.findIndex(index, 0);
+        for (int j = 0; j < index; j++) {
+            double value;
+            if (norms[index] == 0 && norms[j] == 0) {
+                value = 1;
+            } else if (norms[index] == 0 || norms[j] == 0) {
+                value = 0;
+            } else {
+                double dotProduct = 0;
+                for (int k = data.getColumnStart(j); k < data.getColumnEnd(j); k++) {
+                    dotProduct += column[rows[k]] * nonZeros[k];
+                }
+                if (type == SimilarityType.PEARSON) {
+                    dotProduct -= data.getNumSamples() * means[index] * means[j];
+                    value = Math.max(-1.0, Math.min(1.0, dotProduct / (norms[index] * norms[j])));
+                } else {
+                    value = dotProduct / (norms[index] * norms[j]);
+                }
+            }
+            values.set(rowIndex + j, value);
+        }
+
+        for (int k = start; k < end; k++) {
+            column[rows[k]] = 0;
+        }
+    }
+
+    /**
+     * Computes the dot products of the columns of a row of blocks with the
+     * columns of all previous features. The dot products of each pair of
+     * blocks are summed over all blocks of samples before they are stored.
+     *
+     * @param columns the normalized columns of the dataset
+     * @param isZero shows whether all values of each column are zero (after
+     * centering)
+     * @param type the similarity measure
+     * @param values the similarity values in the lower triangle of the matrix
+     * @param block the index of the row of blocks
+     */
+    private static void computeRowBlock(double[][] columns, boolean[] isZero, SimilarityType type, TriangularMatrix values, int block) {
+        int numSamples = columns.length == 0 ? 0 : columns[0].length;
+        int rowStart = block * BLOCK_FEATURES;
+        int rowEnd = Math.min(columns.length, rowStart + BLOCK_FEATURES);
+        double[] sums = new double[BLOCK_FEATURES * BLOCK_FEATURES];
+
+        for (int colStart = 0; colStart < rowEnd; colStart += BLOCK_FEATURES) {
+            int colEnd = Math.min(rowEnd, colStart + BLOCK_FEATURES);
+            Arrays.fill(sums, 0);
+            for (int start = 0; start < numSamples; start += BLOCK_SAMPLES) {
+                int end = Math.min(numSamples, start + BLOCK_SAMPLES);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    double[] column1 = columns[i];
+                    int sumIndex = (i - rowStart) * BLOCK_FEATURES - colStart;
+                    int last = Math.min(i, colEnd);
+                    int j = colStart;
+
+                    //computes four dot products together to reuse the values of the first column
+                    for (; j + 3 < last; j += 4) {
+                        double[] column2 = columns[j];
+                        double[] column3 = columns[j + 1];
+                        double[] column4 = columns[j + 2];
+                        double[] column5 = columns[j + 3];
+                        double sum2 = 0, sum3 = 0, sum4 = 0, sum5 = 0;
+                        for (int k = start; k < end; k++) {
+                            double value = column1[k];
+                            sum2 += value * column2[k];
+                            sum3 += value * column3[k];
+                            sum4 += value * column4[k];
+                            sum5 += value * column5[k];
+                        }
+                        sums[sumIndex + j] += sum2;
+                        sums[sumIndex + j + 1] += sum3;
+                        sums[sumIndex + j + 2] += sum4;
+                        sums[sumIndex + j + 3] += sum5;
+                    }
+                    for (; j < last; j++) {
+                        double[] column2 = columns[j];
+                        double sum = 0;
+                        for (int k = start; k < end; k++) {
+                            sum += column1[k] * column2[k];
+                        }
+                        sums[sumIndex + j] += sum;
+                    }
+                }
+            }
+
+            //stores the values and sets the values of the pairs of features with zero values
+            for (int i = rowStart; i < rowEnd; i++) {
+                int sumIndex = (i - rowStart) * BLOCK_FEATURES - colStart;
+                long rowIndex = TriangularMatrix.findIndex(i, 0);
+                for (int j = colStart; j < Math.min(i, colEnd); j++) {
+                    double value = sums[sumIndex + j];
+                    if (isZero[i] && isZero[j]) {
+                        value = 1;
+                    } else if (type == SimilarityType.PEARSON) {
+                        value = Math.max(-1.0, Math.min(1.0, value));
+                    }
+                    values.set(rowIndex + j, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method returns the number of features
+     *
+     * @return number of features
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * This method returns the similarity value between two features
+     *
+     * @param index1 the index of the first feature
+     * @param index2 the index of the second feature
+     *
+     * @return the similarity value
+     */
+    public double getValue(int index1, int index2) {
+        if (index1 == index2) {
+            return 1;
+        }
+        return values.get(TriangularMatrix.findIndex(index1, index2));
+    }
+
+    /**
+     * This method returns the similarity value at the given index of the
+     * lower triangle of the matrix
+     *
+     * @param index the index in the lower triangle
+     *
+     * @return the similarity value
+     *
+     * @see unifeat.dataset.TriangularMatrix#findIndex(int, int)
+     */
+    public double getValue(long index) {
+        return values.get(index);
+    }
+
+    /**
+     * This method returns the mean absolute similarity value of each feature
+     * to the other features
+     *
+     * @return the mean absolute similarity values
+     */
+    public double[] getMeanAbsoluteValues() {
+        double[] meanValues = new double[numFeatures];
+        for (int i = 0; i < numFeatures; i++) {
+            for (int j = 0; j < numFeatures; j++) {
+                if (i != j) {
+                    meanValues[i] += Math.abs(values.get(TriangularMatrix.findIndex(i, j)));
+                }
+            }
+            meanValues[i] /= (numFeatures - 1);
+        }
+        return meanValues;
+    }
+
+    /**
+     * This method frees the memory of the similarity values. The matrix must
+     * not be used after it is released.
+     */
+    public void release() {
+        values.release();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import unifeat.featureSelection.EnumType;
+
+/**
+ * This java class is used to define the names of the measures of the
+ * similarity between two features.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.EnumType
+ * @see unifeat.dataset.SimilarityMatrix
+ */
+public final class SimilarityType extends EnumType {
+
+    public static final SimilarityType COSINE = new SimilarityType("Cosine similarity", 0);
+    public static final SimilarityType PEARSON = new SimilarityType("Pearson correlation coefficient", 1);
+
+    /**
+     * Creates new SimilarityType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param name the name of similarity measure
+     */
+    private SimilarityType(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates new SimilarityType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param name the name of similarity measure
+     * @param value the value of similarity measure
+     */
+    private SimilarityType(String name, int value) {
+        super(name, value);
+    }
+
+    /**
+     * Returns the names of similarity measures
+     *
+     * @return an array of names of similarity measures
+     */
+    public static String[] asList() {
+        return new String[]{COSINE.toString(),
+            PEARSON.toString()};
+    }
+
+    /**
+     * Converts the similarity measure name to SimilarityType
+     *
+     * @param type the name of similarity measure as string
+     *
+     * @return the similarity measure type
+     */
+    public static SimilarityType parse(String type) {
+        return switch (type) {
+            case "Pearson correlation coefficient" -> PEARSON;
+            default -> COSINE;
+        };
+    }
+}
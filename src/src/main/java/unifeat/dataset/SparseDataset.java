@@ -0,0 +1,373 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.util.HashMap;
+
+/**
+ * This java class is used to keep the values of a sparse dataset in the
+ * compressed sparse column (CSC) format. Only the nonzero values of each
+ * feature are kept together with the indices of their samples, so the memory
+ * used by the dataset depends on the number of nonzero values instead of the
+ * number of samples times the number of features.
+ * <p>
+ * The nonzero values of feature <code>j</code> are placed in the positions
+ * <code>getColumnStart(j)</code> to <code>getColumnEnd(j)</code> (exclusive)
+ * of the arrays returned by {@link #getRowIndices()} and {@link #getValues()},
+ * and the indices of their samples are in ascending order. The arrays are the
+ * internal arrays of the dataset, so they should not be modified.
+ * <p>
+ * The similarity values between all pairs of features are computed from the
+ * nonzero values once for each similarity measure and are kept outside of the
+ * Java heap until {@link #releaseSimilarityMatrices()} is called, in the same
+ * way as the similarity values of {@link ColumnarDataset}.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.ColumnarDataset
+ */
+public class SparseDataset {
+
+    private final int numSamples;
+    private final int numFeatures;
+    private final int[] columnPointers;
+    private final int[] rowIndices;
+    private final double[] values;
+    private final int[] labels;
+    private final HashMap<SimilarityType, SimilarityMatrix> similarityMatrices;
+    private PrecisionType similarityPrecision;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param columnPointers the position of the first nonzero value of each
+     * feature followed by the total number of nonzero values
+     * @param rowIndices the index of the sample of each nonzero value
+     * @param values the nonzero values
+     * @param labels the index of the class label of each sample
+     */
+    public SparseDataset(int[] columnPointers, int[] rowIndices, double[] values, int[] labels) {
+        this.numSamples = labels.length;
+        this.numFeatures = columnPointers.length - 1;
+        this.columnPointers = columnPointers;
+        this.rowIndices = rowIndices;
+        this.values = values;
+        this.labels = labels;
+        this.similarityMatrices = new HashMap<>();
+        this.similarityPrecision = PrecisionType.DOUBLE;
+    }
+
+    /**
+     * This method creates the sparse dataset of the column-major dataset
+     *
+     * @param data the column-major dataset
+     *
+     * @return the sparse dataset
+     */
+    public static SparseDataset fromColumnar(ColumnarDataset data) {
+        int numFeatures = data.getNumFeatures();
+        int[] pointers = new int[numFeatures + 1];
+        for (int j = 0; j < numFeatures; j++) {
+            int count = 0;
+            for (double value : data.getColumn(j)) {
+                if (value != 0) {
+                    count++;
+                }
+            }
+            pointers[j + 1] = pointers[j] + count;
+        }
+
+        int[] rows = new int[pointers[numFeatures]];
+        double[] nonzeros = new double[pointers[numFeatures]];
+        for (int j = 0; j < numFeatures; j++) {
+            double[] column = data.getColumn(j);
+            int position = pointers[j];
+            for (int i = 0; i < column.length; i++) {
+                if (column[i] != 0) {
+                    rows[position] = i;
+                    nonzeros[position++] = column[i];
+                }
+            }
+        }
+        return new SparseDataset(pointers, rows, nonzeros, data.getLabels().clone());
+    }
+
+    /**
+     * This method creates the column-major dataset in which the zero values are
+     * stored explicitly
+     *
+     * @return the column-major dataset
+     */
+    public ColumnarDataset toColumnar() {
+        double[][] columns = new double[numFeatures][numSamples];
+        for (int j = 0; j < numFeatures; j++) {
+            for (int k = columnPointers[j]; k < columnPointers[j + 1]; k++) {
+                columns[j][rowIndices[k]] = values[k];
+            }
+        }
+        return new ColumnarDataset(columns, labels.clone());
+    }
+
+    /**
+     * This method creates a new dataset that contains the given samples in the
+     * same order as the indices
+     *
+     * @param sampleIndices the indices of the samples
+     *
+     * @return the dataset of the given samples
+     */
+    public SparseDataset subset(int[] sampleIndices) {
+        //computes the nonzero values of each sample (the transpose of the dataset)
+        int[] rowPointers = new int[numSamples + 1];
+        for (int k = 0; k < rowIndices.length; k++) {
+            rowPointers[rowIndices[k] + 1]++;
+        }
+        for (int i = 0; i < numSamples; i++) {
+            rowPointers[i + 1] += rowPointers[i];
+        }
+        int[] featureIndices = new int[rowIndices.length];
+        double[] rowValues = new double[rowIndices.length];
+        int[] nextPosition = new int[numSamples];
+        System.arraycopy(rowPointers, 0, nextPosition, 0, numSamples);
+        for (int j = 0; j < numFeatures; j++) {
+            for (int k = columnPointers[j]; k < columnPointers[j + 1]; k++) {
+                int position = nextPosition[rowIndices[k]]++;
+                featureIndices[position] = j;
+                rowValues[position] = values[k];
+            }
+        }
+
+        //counts the nonzero values of each feature over the given samples
+        int[] newPointers = new int[numFeatures + 1];
+        for (int sample : sampleIndices) {
+            for (int k = rowPointers[sample]; k < rowPointers[sample + 1]; k++) {
+                newPointers[featureIndices[k] + 1]++;
+            }
+        }
+        for (int j = 0; j < numFeatures; j++) {
+            newPointers[j + 1] += newPointers[j];
+        }
+
+        //places the values of the samples in order, so the indices of the samples of each feature are ascending
+        int[] newRowIndices = new int[newPointers[numFeatures]];
+        double[] newValues = new double[newPointers[numFeatures]];
+        int[] newLabels = new int[sampleIndices.length];
+        int[] nextFeaturePosition = new int[numFeatures];
+        System.arraycopy(newPointers, 0, nextFeaturePosition, 0, numFeatures);
+        for (int i = 0; i < sampleIndices.length; i++) {
+            int sample = sampleIndices[i];
+            for (int k = rowPointers[sample]; k < rowPointers[sample + 1]; k++) {
+                int position = nextFeaturePosition[featureIndices[k]]++;
+                newRowIndices[position] = i;
+                newValues[position] = rowValues[k];
+            }
+            newLabels[i] = labels[sample];
+        }
+        return new SparseDataset(newPointers, newRowIndices, newValues, newLabels);
+    }
+
+    /**
+     * This method returns the number of samples in the dataset
+     *
+     * @return number of samples
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * This method returns the number of features in the dataset
+     *
+     * @return number of features
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * This method returns the number of nonzero values in the dataset
+     *
+     * @return number of nonzero values
+     */
+    public int getNumNonZeros() {
+        return columnPointers[numFeatures];
+    }
+
+    /**
+     * This method returns the position of the first nonzero value of the given
+     * feature
+     *
+     * @param feature the index of the feature
+     *
+     * @return the first position of the feature
+     */
+    public int getColumnStart(int feature) {
+        return columnPointers[feature];
+    }
+
+    /**
+     * This method returns the position after the last nonzero value of the
+     * given feature
+     *
+     * @param feature the index of the feature
+     *
+     * @return the end position of the feature (exclusive)
+     */
+    public int getColumnEnd(int feature) {
+        return columnPointers[feature + 1];
+    }
+
+    /**
+     * This method returns the indices of the samples of the nonzero values.
+     * The returned array should not be modified.
+     *
+     * @return the indices of the samples
+     */
+    public int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    /**
+     * This method returns the nonzero values of the dataset. The returned
+     * array should not be modified.
+     *
+     * @return the nonzero values
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * This method returns the value of the given feature in the given sample
+     *
+     * @param sample the index of the sample
+     * @param feature the index of the feature
+     *
+     * @return the value of the feature in the sample
+     */
+    public double getValue(int sample, int feature) {
+        int low = columnPointers[feature];
+        int high = columnPointers[feature + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (rowIndices[middle] < sample) {
+                low = middle + 1;
+            } else if (rowIndices[middle] > sample) {
+                high = middle - 1;
+            } else {
+                return values[middle];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * This method returns the index of the class label of each sample. The
+     * returned array should not be modified.
+     *
+     * @return the class labels of the samples
+     */
+    public int[] getLabels() {
+        return labels;
+    }
+
+    /**
+     * This method returns the index of the class label of the given sample
+     *
+     * @param sample the index of the sample
+     *
+     * @return the index of the class label
+     */
+    public int getLabel(int sample) {
+        return labels[sample];
+    }
+
+    /**
+     * This method returns the similarity values between all pairs of features
+     * by the given similarity measure. The values are computed from the
+     * nonzero values by all available processors when they are requested
+     * first, and are kept in the precision given by
+     * {@link #setSimilarityPrecision(PrecisionType)}.
+     *
+     * @param type the similarity measure
+     *
+     * @return the similarity matrix
+     */
+    public synchronized SimilarityMatrix getSimilarityMatrix(SimilarityType type) {
+        SimilarityMatrix matrix = similarityMatrices.get(type);
+        if (matrix == null) {
+            matrix = SimilarityMatrix.compute(this, type, similarityPrecision, Runtime.getRuntime().availableProcessors());
+            similarityMatrices.put(type, matrix);
+        }
+        return matrix;
+    }
+
+    /**
+     * This method sets the precision in which the similarity values between
+     * all pairs of features are kept. The similarity values computed in the
+     * previous precision are released.
+     *
+     * @param precision the precision of the similarity values
+     */
+    public synchronized void setSimilarityPrecision(PrecisionType precision) {
+        if (similarityPrecision != precision) {
+            similarityPrecision = precision;
+            releaseSimilarityMatrices();
+        }
+    }
+
+    /**
+     * This method returns the precision in which the similarity values between
+     * all pairs of features are kept.
+     *
+     * @return the precision of the similarity values
+     */
+    public synchronized PrecisionType getSimilarityPrecision() {
+        return similarityPrecision;
+    }
+
+    /**
+     * This method releases the memory of all computed similarity matrices of
+     * the dataset. The matrices are computed again if they are requested
+     * later, so this method must not be called while a feature selection
+     * method is using them.
+     */
+    public synchronized void releaseSimilarityMatrices() {
+        for (SimilarityMatrix matrix : similarityMatrices.values()) {
+            matrix.release();
+        }
+        similarityMatrices.clear();
+    }
+
+    /**
+     * This method returns the similarity values between all pairs of features
+     * by the given similarity measure if they have been computed before
+     *
+     * @param type the similarity measure
+     *
+     * @return the similarity matrix, or null if it has not been computed
+     */
+    public synchronized SimilarityMatrix getCachedSimilarityMatrix(SimilarityType type) {
+        return similarityMatrices.get(type);
+    }
+}
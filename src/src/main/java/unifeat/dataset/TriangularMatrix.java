@@ -0,0 +1,323 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This java class is used to keep the values of a symmetric matrix without its
+ * diagonal, such as the values between all pairs of features. Only the lower
+ * triangle of the matrix is kept, in which the value of the pair (i, j),
+ * j &lt; i, is placed at index i * (i - 1) / 2 + j. The indices are computed
+ * in long arithmetic, so the matrix is not limited by the size of the arrays.
+ * <p>
+ * The values are kept outside of the Java heap in pages of direct buffers, so
+ * the total size of the matrices is limited by the
+ * <code>-XX:MaxDirectMemorySize</code> option of the JVM instead of the heap
+ * size. The values can be kept in double, float or half precision to reduce
+ * the memory usage of wide datasets. The direct buffers are freed by
+ * {@link #release()} as soon as the matrix is not needed, instead of waiting
+ * for the garbage collector.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.PrecisionType
+ */
+public class TriangularMatrix {
+
+    private static final int PAGE_SHIFT = 30;
+    private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+    private final int size;
+    private final long length;
+    private final PrecisionType precision;
+    private final int elementShift;
+    private ByteBuffer[] pages;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            //the buffers are freed by the garbage collector
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Initializes the parameters. All values of the matrix are zero.
+     *
+     * @param size the number of rows (and columns) of the matrix
+     * @param precision the precision in which the values are kept
+     */
+    public TriangularMatrix(int size, PrecisionType precision) {
+        this.size = size;
+        this.length = size < 2 ? 0 : ((long) size * (size - 1)) / 2;
+        this.precision = precision;
+        if (precision == PrecisionType.HALF) {
+            this.elementShift = 1;
+        } else if (precision == PrecisionType.FLOAT) {
+            this.elementShift = 2;
+        } else {
+            this.elementShift = 3;
+        }
+
+        long numBytes = length << elementShift;
+        this.pages = new ByteBuffer[(int) ((numBytes + PAGE_MASK) >>> PAGE_SHIFT)];
+        for (int i = 0; i < pages.length; i++) {
+            long pageBytes = Math.min(PAGE_MASK + 1, numBytes - ((long) i << PAGE_SHIFT));
+            pages[i] = ByteBuffer.allocateDirect((int) pageBytes).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Finds the index of the pair (index1, index2) in the lower triangle of
+     * the matrix
+     *
+     * @param index1 index of the row
+     * @param index2 index of the column (not equal to the row)
+     *
+     * @return the index of the pair in the lower triangle
+     */
+    public static long findIndex(int index1, int index2) {
+        if (index1 < index2) {
+            return (((long) index2 * (index2 - 1)) / 2) + index1;
+        } else {
+            return (((long) index1 * (index1 - 1)) / 2) + index2;
+        }
+    }
+
+    /**
+     * This method returns the value at the given index of the lower triangle
+     *
+     * @param index the index in the lower triangle
+     *
+     * @return the value at the index
+     */
+    public double get(long index) {
+        long offset = index << elementShift;
+        ByteBuffer page = pages[(int) (offset >>> PAGE_SHIFT)];
+        int position = (int) (offset & PAGE_MASK);
+        if (elementShift == 3) {
+            return page.getDouble(position);
+        } else if (elementShift == 2) {
+            return page.getFloat(position);
+        } else {
+            return toFloat(page.getShort(position));
+        }
+    }
+
+    /**
+     * This method returns the value of the pair (index1, index2)
+     *
+     * @param index1 index of the row
+     * @param index2 index of the column (not equal to the row)
+     *
+     * @return the value of the pair
+     */
+    public double get(int index1, int index2) {
+        return get(findIndex(index1, index2));
+    }
+
+    /**
+     * This method sets the value at the given index of the lower triangle.
+     * The value is rounded to the precision of the matrix.
+     *
+     * @param index the index in the lower triangle
+     * @param value the new value
+     */
+    public void set(long index, double value) {
+        long offset = index << elementShift;
+        ByteBuffer page = pages[(int) (offset >>> PAGE_SHIFT)];
+        int position = (int) (offset & PAGE_MASK);
+        if (elementShift == 3) {
+            page.putDouble(position, value);
+        } else if (elementShift == 2) {
+            page.putFloat(position, (float) value);
+        } else {
+            page.putShort(position, toHalf((float) value));
+        }
+    }
+
+    /**
+     * This method sets the value of the pair (index1, index2). The value is
+     * rounded to the precision of the matrix.
+     *
+     * @param index1 index of the row
+     * @param index2 index of the column (not equal to the row)
+     * @param value the new value
+     */
+    public void set(int index1, int index2, double value) {
+        set(findIndex(index1, index2), value);
+    }
+
+    /**
+     * This method sets all values of the matrix to the given value
+     *
+     * @param value the new value
+     */
+    public void fill(double value) {
+        for (long i = 0; i < length; i++) {
+            set(i, value);
+        }
+    }
+
+    /**
+     * This method multiplies all values of the matrix by the given factor in
+     * one pass over the values
+     *
+     * @param factor the factor of the values
+     */
+    public void scale(double factor) {
+        for (long i = 0; i < length; i++) {
+            set(i, get(i) * factor);
+        }
+    }
+
+    /**
+     * This method returns the number of rows (and columns) of the matrix
+     *
+     * @return the size of the matrix
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * This method returns the number of values in the lower triangle of the
+     * matrix
+     *
+     * @return the number of values
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * This method returns the precision in which the values are kept
+     *
+     * @return the precision of the values
+     */
+    public PrecisionType getPrecision() {
+        return precision;
+    }
+
+    /**
+     * This method frees the memory of the values of the matrix. The matrix
+     * must not be used after it is released (or while it is being released),
+     * since its values are not kept anymore.
+     */
+    public synchronized void release() {
+        ByteBuffer[] releasedPages = pages;
+        pages = new ByteBuffer[0];
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        for (ByteBuffer page : releasedPages) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, page);
+            } catch (ReflectiveOperationException ex) {
+                //the buffer is freed by the garbage collector
+                return;
+            }
+        }
+    }
+
+    /**
+     * Converts a float value to the bits of the half precision value. The
+     * value is rounded to the nearest half precision value (ties to even).
+     *
+     * @param value the float value
+     *
+     * @return the bits of the half precision value
+     */
+    private static short toHalf(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int floatExponent = (bits >>> 23) & 0xff;
+        int mantissa = bits & 0x7fffff;
+        if (floatExponent == 0xff) {
+            return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200 : 0)); //infinity or NaN
+        }
+
+        int exponent = floatExponent - 127 + 15;
+        if (exponent >= 0x1f) {
+            return (short) (sign | 0x7c00); //overflows to infinity
+        }
+        if (exponent <= 0) {
+            //the value is a subnormal half precision value
+            if (exponent < -10) {
+                return (short) sign;
+            }
+            mantissa |= 0x800000;
+            int shift = 14 - exponent;
+            int half = mantissa >>> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (half & 1) != 0)) {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+
+        int half = (exponent << 10) | (mantissa >>> 13);
+        int remainder = mantissa & 0x1fff;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+            half++;
+        }
+        return (short) (sign | half);
+    }
+
+    /**
+     * Converts the bits of a half precision value to the float value
+     *
+     * @param bits the bits of the half precision value
+     *
+     * @return the float value
+     */
+    private static float toFloat(short bits) {
+        int sign = (bits & 0x8000) << 16;
+        int exponent = (bits >>> 10) & 0x1f;
+        int mantissa = bits & 0x3ff;
+        if (exponent == 0x1f) {
+            return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13)); //infinity or NaN
+        }
+        if (exponent == 0) {
+            float value = mantissa * 0x1p-24f; //zero or subnormal value
+            return sign != 0 ? -value : value;
+        }
+        return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+    }
+}
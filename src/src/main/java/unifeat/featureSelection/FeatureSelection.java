@@ -23,18 +23,44 @@
  */
 package unifeat.featureSelection;
 
+import unifeat.dataset.ColumnarDataset;
 import unifeat.dataset.DatasetInfo;
+import unifeat.dataset.SparseDataset;
 import unifeat.util.ArraysFunc;
+import java.util.Arrays;
 
 /**
  * The abstract class contains the main methods and fields that are used in all
  * feature selection methods.
+ * <p>
+ * The train set is available in two forms: <code>trainData</code> keeps the
+ * values of each feature in a contiguous array (column-major order) and is
+ * suitable for the methods that compute statistics of the features, and
+ * {@link #getTrainSet()} returns the row-major view of the same values in which
+ * the class label of each sample is placed in the last column. The row-major
+ * view is created on its first use, so the methods that work only on the
+ * columns do not keep a second copy of the train set.
+ * <p>
+ * If the dataset has been read from sparse files, <code>trainSparseData</code>
+ * keeps only the nonzero values of the train set. The methods that work on the
+ * sparse train set override {@link #isSparseSupported()}, and the dense forms
+ * of the train set are not created for them.
+ * <p>
+ * The stochastic methods draw all their random numbers from the streams that
+ * are derived from <code>seed</code>, so two runs of a method with the same
+ * seed select the same features.
  *
  * @author Sina Tabakhi
  */
 public abstract class FeatureSelection {
 
-    protected double[][] trainSet;
+    public static final long DEFAULT_SEED = 0;
+
+    private double[][] trainSet;
+
+    protected ColumnarDataset trainData;
+
+    protected SparseDataset trainSparseData;
 
     protected int numFeatures;
 
@@ -44,6 +70,10 @@ public abstract class FeatureSelection {
 
     protected int numSelectedFeature;
 
+    protected int[] featureRanking;
+
+    protected long seed = DEFAULT_SEED;
+
     /**
      * Initializes the parameters
      */
@@ -56,11 +86,59 @@ public abstract class FeatureSelection {
      * @param ob an object of the DatasetInfo class
      */
     public void loadDataSet(DatasetInfo ob) {
-        this.trainSet = ob.getTrainSet();
+        this.trainSparseData = ob.getTrainSparseData();
+        this.trainData = this.trainSparseData == null || !isSparseSupported() ? ob.getTrainData() : null;
+        this.trainSet = null;
         this.numFeatures = ob.getNumFeature();
         this.numClass = ob.getNumClass();
     }
 
+    /**
+     * Loads the column-major dataset. The dataset is shared, so the sorted
+     * indices of its features are reused by the methods.
+     *
+     * @param data the column-major dataset
+     * @param numClasses the number of classes in the dataset
+     */
+    public void loadDataSet(ColumnarDataset data, int numClasses) {
+        this.trainData = data;
+        this.trainSet = null;
+        this.trainSparseData = null;
+        this.numFeatures = data.getNumFeatures();
+        this.numClass = numClasses;
+    }
+
+    /**
+     * Loads the sparse dataset. If the method does not work on the sparse
+     * train set, the zero values are stored explicitly in
+     * <code>trainData</code>.
+     *
+     * @param data the sparse dataset
+     * @param numClasses the number of classes in the dataset
+     */
+    public void loadDataSet(SparseDataset data, int numClasses) {
+        this.trainSparseData = data;
+        this.trainData = isSparseSupported() ? null : data.toColumnar();
+        this.trainSet = null;
+        this.numFeatures = data.getNumFeatures();
+        this.numClass = numClasses;
+    }
+
+    /**
+     * Loads the train set of this method in the given method. The sparse train
+     * set is loaded if it is available, so the given method decides whether
+     * the zero values are stored explicitly.
+     *
+     * @param method the method in which the train set is loaded
+     */
+    protected void shareTrainSet(FeatureSelection method) {
+        if (trainSparseData != null) {
+            method.loadDataSet(trainSparseData, numClass);
+        } else {
+            method.loadDataSet(trainData, numClass);
+        }
+    }
+
     /**
      * Loads the dataset
      *
@@ -69,16 +147,114 @@ public abstract class FeatureSelection {
      * @param numClasses the number of classes in the dataset
      */
     public void loadDataSet(double[][] data, int numFeat, int numClasses) {
-        this.trainSet = ArraysFunc.copyDoubleArray2D(data);
+        this.trainData = ColumnarDataset.fromRows(data, numFeat);
+        this.trainSet = null;
+        this.trainSparseData = null;
         this.numFeatures = numFeat;
         this.numClass = numClasses;
     }
 
+    /**
+     * This method returns the row-major view of the train set in which the
+     * class label of each sample is placed in the last column. The view is
+     * created from <code>trainData</code> on the first call and is kept until
+     * another dataset is loaded.
+     *
+     * @return the matrix of the train set
+     */
+    protected synchronized double[][] getTrainSet() {
+        if (trainSet == null && trainData != null) {
+            trainSet = trainData.toRows();
+        }
+        return trainSet;
+    }
+
+    /**
+     * This method returns the status of the support of the sparse train set.
+     * If it is true and the dataset is sparse, only <code>trainSparseData</code>
+     * is loaded.
+     *
+     * @return true if the method works on the sparse train set
+     */
+    protected boolean isSparseSupported() {
+        return false;
+    }
+
+    /**
+     * This method returns the status of the support of the nested subsets.
+     * If it is true, the selected subset of each size is the set of the first
+     * features in <code>featureRanking</code>, so the subsets of all sizes are
+     * found by running the method only once.
+     *
+     * @return true if the subsets of the different sizes are nested
+     */
+    public boolean isNestedSubsetSupported() {
+        return false;
+    }
+
+    /**
+     * This method shows whether the method eliminates the features one by one
+     * from the whole feature set. If it is true, the nested subsets are found
+     * by running the method with the smallest size; otherwise, the method is
+     * run with the largest size.
+     *
+     * @return true if the features are removed by the backward elimination
+     */
+    protected boolean isBackwardElimination() {
+        return false;
+    }
+
+    /**
+     * This method returns the number of samples in the train set
+     *
+     * @return the number of samples
+     */
+    protected int getNumTrainSamples() {
+        return trainSparseData != null ? trainSparseData.getNumSamples() : trainData.getNumSamples();
+    }
+
     /**
      * Starts the feature selection process by a given method
      */
     public abstract void evaluateFeatures();
 
+    /**
+     * Starts the feature selection process for the given sizes of the subset
+     * of selected features. If the method supports the nested subsets, it is
+     * run only once and the subset of each size is taken from the ranking of
+     * the features; otherwise, it is run once for each size.
+     *
+     * @param sizes the sizes of the subsets of selected features
+     *
+     * @return the subsets of selected features in the order of the sizes
+     */
+    public int[][] evaluateFeaturesForSizes(int[] sizes) {
+        int[][] subsets = new int[sizes.length][];
+        if (!isNestedSubsetSupported()) {
+            for (int i = 0; i < sizes.length; i++) {
+                setNumSelectedFeature(sizes[i]);
+                evaluateFeatures();
+                subsets[i] = getSelectedFeatureSubset().clone();
+            }
+            return subsets;
+        }
+
+        //the backward elimination passes through the larger subsets
+        int runSize = sizes[0];
+        for (int size : sizes) {
+            runSize = isBackwardElimination() ? Math.min(runSize, size) : Math.max(runSize, size);
+        }
+        setNumSelectedFeature(runSize);
+        evaluateFeatures();
+
+        //the subset of each size is the prefix of the ranking of the features
+        for (int i = 0; i < sizes.length; i++) {
+            subsets[i] = Arrays.copyOf(featureRanking, Math.min(sizes[i], featureRanking.length));
+            ArraysFunc.sortArray1D(subsets[i], false);
+        }
+        return subsets;
+    }
+
     /**
      * This method returns the potential errors in the input parameters.
      *
@@ -108,4 +284,24 @@ public abstract class FeatureSelection {
     public int[] getSelectedFeatureSubset() {
         return this.selectedFeatureSubset;
     }
+
+    /**
+     * This method sets the seed of the random numbers that are used by a given
+     * stochastic feature selection method.
+     *
+     * @param seed the seed of the run
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * This method returns the seed of the random numbers that are used by a
+     * given stochastic feature selection method.
+     *
+     * @return the seed of the run
+     */
+    public long getSeed() {
+        return this.seed;
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.featureSelection;
+
+import unifeat.result.performanceMeasure.Criteria;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This java class is used to keep the criteria values of the feature subsets
+ * that have already been evaluated by the fitness evaluator. Each entry is
+ * identified by the set of selected features (regardless of their order) and
+ * the configuration of the classifier. When the number of entries exceeds the
+ * capacity of the cache, the least recently used entry is removed.
+ * <p>
+ * All methods of the cache are synchronized, so the cache can be shared by the
+ * worker threads of the fitness evaluator.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.FitnessEvaluator
+ */
+public class FitnessCache {
+
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    private final LinkedHashMap<Key, Criteria> entries;
+    private int capacity;
+    private long numHits;
+    private long numMisses;
+
+    /**
+     * Initializes the parameters
+     */
+    public FitnessCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes the parameters
+     *
+     * @param capacity the maximum number of entries kept in the cache (the
+     * value zero disables the cache)
+     */
+    public FitnessCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.entries = new LinkedHashMap<Key, Criteria>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Criteria> eldest) {
+                return size() > FitnessCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * This method creates the key of the given feature subset evaluated by the
+     * classifier with the given configuration.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     * @param configuration a string that describes the classifier and its
+     * parameter values
+     *
+     * @return the key of the feature subset
+     */
+    public static Key createKey(int[] selectedFeature, String configuration) {
+        BitSet features = new BitSet();
+        for (int index : selectedFeature) {
+            features.set(index);
+        }
+        return new Key(features, configuration);
+    }
+
+    /**
+     * This method returns the criteria values of the given key, or
+     * <code>null</code> if the key is not in the cache. The number of hits or
+     * misses is updated accordingly.
+     *
+     * @param key the key of the feature subset
+     *
+     * @return a copy of the criteria values of the feature subset
+     */
+    public synchronized Criteria get(Key key) {
+        Criteria criteria = entries.get(key);
+        if (criteria == null) {
+            numMisses++;
+            return null;
+        }
+        numHits++;
+        return copyOf(criteria);
+    }
+
+    /**
+     * This method adds the criteria values of the given key to the cache.
+     *
+     * @param key the key of the feature subset
+     * @param criteria the criteria values of the feature subset
+     */
+    public synchronized void put(Key key, Criteria criteria) {
+        if (capacity > 0) {
+            entries.put(key, copyOf(criteria));
+        }
+    }
+
+    /**
+     * This method increases the number of hits in the cases that a result is
+     * reused without looking up the cache (e.g. the same feature subset is
+     * appeared more than once in a group of evaluated subsets).
+     *
+     * @param count the number of reused results
+     */
+    public synchronized void addHits(int count) {
+        numHits += count;
+    }
+
+    /**
+     * This method removes all entries of the cache and resets the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        numHits = 0;
+        numMisses = 0;
+    }
+
+    /**
+     * This method sets the maximum number of entries kept in the cache. The
+     * least recently used entries are removed if the cache is larger than the
+     * new capacity.
+     *
+     * @param capacity the maximum number of entries (the value zero disables
+     * the cache)
+     */
+    public synchronized void setCapacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        while (entries.size() > this.capacity) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * This method returns the maximum number of entries kept in the cache.
+     *
+     * @return the capacity of the cache
+     */
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * This method returns the number of entries kept in the cache.
+     *
+     * @return the size of the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * This method returns the number of evaluations that have been answered by
+     * the cache.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getNumHits() {
+        return numHits;
+    }
+
+    /**
+     * This method returns the number of evaluations that have not been found
+     * in the cache.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getNumMisses() {
+        return numMisses;
+    }
+
+    /**
+     * This method returns a copy of the given criteria values.
+     *
+     * @param criteria the criteria values
+     *
+     * @return a copy of the criteria values
+     */
+    static Criteria copyOf(Criteria criteria) {
+        Criteria copy = new Criteria();
+        copy.setAccuracy(criteria.getAccuracy());
+        copy.setErrorRate(criteria.getErrorRate());
+        copy.setTime(criteria.getTime());
+        return copy;
+    }
+
+    /**
+     * This java class is used to identify a feature subset evaluated by a
+     * classifier with a specific configuration.
+     */
+    public static final class Key {
+
+        private final BitSet features;
+        private final String configuration;
+        private final int hash;
+
+        /**
+         * Initializes the parameters
+         *
+         * @param features the set of selected features
+         * @param configuration a string that describes the classifier and its
+         * parameter values
+         */
+        private Key(BitSet features, String configuration) {
+            this.features = features;
+            this.configuration = configuration;
+            this.hash = 31 * features.hashCode() + Objects.hashCode(configuration);
+        }
+
+        /**
+         * {@inheritDoc }
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash
+                    && features.equals(other.features)
+                    && Objects.equals(configuration, other.configuration);
+        }
+
+        /**
+         * {@inheritDoc }
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -24,17 +24,56 @@
 package unifeat.featureSelection;
 
 import unifeat.classifier.ClassifierType;
+import unifeat.classifier.WekaInstances;
+import unifeat.classifier.evaluation.nativeClassifier.DistanceMatrix;
+import unifeat.classifier.evaluation.nativeClassifier.GramMatrix;
+import unifeat.classifier.evaluation.nativeClassifier.KNNCrossValidation;
+import unifeat.classifier.evaluation.nativeClassifier.NaiveBayesCrossValidation;
+import unifeat.classifier.evaluation.nativeClassifier.SVMCrossValidation;
 import unifeat.classifier.evaluation.wekaClassifier.CrossValidation;
+import unifeat.dataset.SparseDataset;
 import unifeat.gui.classifier.DTClassifierPanel;
 import unifeat.gui.classifier.KNNClassifierPanel;
 import unifeat.gui.classifier.svmClassifier.SVMClassifierPanel;
 import unifeat.result.performanceMeasure.Criteria;
+import unifeat.util.ArraysFunc;
 import unifeat.util.FileFunc;
+import unifeat.util.WorkerPool;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import weka.core.Instances;
 
 /**
  * This java class is used to implement fitness evaluator of a solution in which
  * k-fold cross validation on training set is used for evaluating the
  * classification performance of a selected feature subset.
+ * <p>
+ * The evaluation of a feature subset does not change the state of the
+ * evaluator, so several subsets can be evaluated at the same time. A group of
+ * subsets (e.g. the whole population of a generation) is evaluated by a pool of
+ * worker threads, and since each cross validation uses its own fixed seed the
+ * results are identical to the sequential evaluation. The criteria values of the
+ * evaluated subsets are kept in a fitness cache, so a subset that is visited
+ * again costs a lookup instead of a classifier training.
+ * <p>
+ * If the classifier is NB, kNN or SVM and the train set is dense, the subsets
+ * are evaluated by the native classifiers instead of building the Weka
+ * classifier for each subset. The per-feature log-likelihoods of the native
+ * naive Bayes classifier are computed once for all folds, the native kNN
+ * classifier evaluates a subset extended by each candidate feature on the
+ * distances of the subset, and the native SVM classifier trains all folds on a
+ * single Gram matrix of the subset, which is also shared by the extensions of
+ * the subset. Since each subset that is evaluated by the native kNN or SVM
+ * classifier keeps its own O(n^2) matrix, the number of subsets evaluated at
+ * the same time is limited by the maximum memory of the virtual machine.
+ * <p>
+ * The worker threads are created on the first group of subsets and are reused
+ * by the next groups, so the evaluator must be shut down when the search is
+ * finished. A failure in the evaluation of a subset is thrown to the caller.
  *
  * @author Sina Tabakhi
  * @see unifeat.classifier.evaluation.wekaClassifier.CrossValidation
@@ -43,11 +82,19 @@ public class FitnessEvaluator {
 
     private final String TEMP_PATH;
     private double[][] trainSet;
+    private SparseDataset trainSparseData;
     private String[] nameFeatures;
     private String[] classLabel;
     private Object selectedEvaluationClassifierPanel;
     private ClassifierType classifierType = ClassifierType.NONE;
     private int kFolds;
+    private int numThreads;
+    private WorkerPool workerPool;
+    private NaiveBayesCrossValidation nativeNaiveBayes;
+    private KNNCrossValidation nativeKNN;
+    private SVMCrossValidation nativeSVM;
+    private int maxConcurrentEvaluations = Integer.MAX_VALUE;
+    private final FitnessCache fitnessCache = new FitnessCache();
 
     /**
      * Initializes the parameters
@@ -61,14 +108,59 @@ public class FitnessEvaluator {
      */
     public FitnessEvaluator(String path, Object classifierName,
             Object selectedEvaluationClassifierPanel, int kFolds) {
+        this(path, classifierName, selectedEvaluationClassifierPanel, kFolds,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes the parameters
+     *
+     * @param path the temp path in the project
+     * @param classifierName the name of given classifier
+     * @param selectedEvaluationClassifierPanel panel of the selected classifier
+     * contained the parameter values
+     * @param kFolds the number of equal sized subsamples that is used in k-fold
+     * cross validation
+     * @param numThreads the number of worker threads that is used for
+     * evaluating a group of feature subsets
+     */
+    public FitnessEvaluator(String path, Object classifierName,
+            Object selectedEvaluationClassifierPanel, int kFolds, int numThreads) {
         this.TEMP_PATH = path;
         this.classifierType = ClassifierType.parse(classifierName.toString());
         this.selectedEvaluationClassifierPanel = selectedEvaluationClassifierPanel;
         this.kFolds = kFolds;
+        setNumThreads(numThreads);
     }
 
     /**
-     * This method sets the information of the dataset.
+     * This method sets the number of worker threads that is used for evaluating
+     * a group of feature subsets. The value one leads to the sequential
+     * evaluation.
+     *
+     * @param numThreads the number of worker threads
+     */
+    public void setNumThreads(int numThreads) {
+        this.numThreads = Math.max(1, numThreads);
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        workerPool = new WorkerPool(this.numThreads);
+    }
+
+    /**
+     * This method returns the number of worker threads that is used for
+     * evaluating a group of feature subsets.
+     *
+     * @return the number of worker threads
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * This method sets the information of the dataset. The fitness cache is
+     * cleared since its entries belong to the previous dataset.
      *
      * @param data the input dataset values
      * @param nameFeatures the string array of features names
@@ -76,41 +168,290 @@ public class FitnessEvaluator {
      */
     public void setDataInfo(double[][] data, String[] nameFeatures, String[] classLabel) {
         this.trainSet = data;
+        this.trainSparseData = null;
         this.nameFeatures = nameFeatures;
         this.classLabel = classLabel;
+        this.nativeNaiveBayes = classifierType == ClassifierType.NB
+                ? new NaiveBayesCrossValidation(data, nameFeatures.length - 1, classLabel.length, kFolds) : null;
+        this.nativeKNN = classifierType == ClassifierType.KNN && KNNCrossValidation.isApplicable(data.length)
+                ? new KNNCrossValidation(data, nameFeatures.length - 1, classLabel.length,
+                        ((KNNClassifierPanel) selectedEvaluationClassifierPanel).getKNNValue(), kFolds) : null;
+        if (classifierType == ClassifierType.SVM && SVMCrossValidation.isApplicable(data.length, kFolds)) {
+            SVMClassifierPanel svmPanel = (SVMClassifierPanel) selectedEvaluationClassifierPanel;
+            this.nativeSVM = new SVMCrossValidation(data, nameFeatures.length - 1, classLabel.length,
+                    svmPanel.getKernel(), svmPanel.getParameterC(), kFolds);
+        } else {
+            this.nativeSVM = null;
+        }
+        if (nativeKNN != null) {
+            this.maxConcurrentEvaluations = KNNCrossValidation.getMaxConcurrentEvaluations(data.length);
+        } else if (nativeSVM != null) {
+            this.maxConcurrentEvaluations = SVMCrossValidation.getMaxConcurrentEvaluations(data.length);
+        } else {
+            this.maxConcurrentEvaluations = Integer.MAX_VALUE;
+        }
+        fitnessCache.clear();
+    }
+
+    /**
+     * This method sets the information of the sparse dataset. The reduced
+     * training sets are built from SparseInstances, so the zero values are not
+     * stored. The fitness cache is cleared since its entries belong to the
+     * previous dataset.
+     *
+     * @param data the sparse dataset
+     * @param nameFeatures the string array of features names
+     * @param classLabel the string array of class labels names
+     */
+    public void setDataInfo(SparseDataset data, String[] nameFeatures, String[] classLabel) {
+        this.trainSet = null;
+        this.trainSparseData = data;
+        this.nameFeatures = nameFeatures;
+        this.classLabel = classLabel;
+        this.nativeNaiveBayes = null;
+        this.nativeKNN = null;
+        this.nativeSVM = null;
+        this.maxConcurrentEvaluations = Integer.MAX_VALUE;
+        fitnessCache.clear();
     }
 
     /**
      * This method performs k-fold cross validation on the reduced training set
-     * which is achieved by selected feature subset.
+     * which is achieved by selected feature subset. The reduced training set is
+     * built in the memory without writing any temporary file. If the feature
+     * subset has already been evaluated, the criteria values are taken from
+     * the fitness cache.
      *
      * @param selectedFeature an array of indices of the selected feature subset
      *
      * @return the different criteria values
      */
     public Criteria crossValidation(int[] selectedFeature) {
+        FitnessCache.Key key = FitnessCache.createKey(selectedFeature, classifierConfiguration());
+        Criteria critria = fitnessCache.get(key);
+        if (critria == null) {
+            critria = evaluate(selectedFeature);
+            fitnessCache.put(key, critria);
+        }
+        return critria;
+    }
+
+    /**
+     * This method performs k-fold cross validation on the reduced training sets
+     * which are achieved by the given feature subsets. The subsets that are not
+     * in the fitness cache are evaluated concurrently by the worker threads
+     * (each distinct subset is evaluated once) and the results are returned in
+     * the same order as the subsets.
+     *
+     * @param selectedFeatures an array of feature subsets in which each subset
+     * is an array of indices of the selected features. A <code>null</code> or
+     * empty subset is not evaluated and its criteria values are zero.
+     *
+     * @return the different criteria values of each feature subset
+     */
+    public Criteria[] crossValidation(int[][] selectedFeatures) {
+        Criteria[] criteria = new Criteria[selectedFeatures.length];
+        String configuration = classifierConfiguration();
+        LinkedHashMap<FitnessCache.Key, List<Integer>> missedSubsets = new LinkedHashMap<>();
+        for (int i = 0; i < selectedFeatures.length; i++) {
+            if (selectedFeatures[i] == null || selectedFeatures[i].length == 0) {
+                criteria[i] = new Criteria();
+                continue;
+            }
+            FitnessCache.Key key = FitnessCache.createKey(selectedFeatures[i], configuration);
+            List<Integer> sameSubsets = missedSubsets.get(key);
+            if (sameSubsets != null) {
+                sameSubsets.add(i);
+                fitnessCache.addHits(1);
+            } else {
+                criteria[i] = fitnessCache.get(key);
+                if (criteria[i] == null) {
+                    sameSubsets = new ArrayList<>();
+                    sameSubsets.add(i);
+                    missedSubsets.put(key, sameSubsets);
+                }
+            }
+        }
+
+        int index = 0;
+        int[][] distinctSubsets = new int[missedSubsets.size()][];
+        for (List<Integer> sameSubsets : missedSubsets.values()) {
+            distinctSubsets[index++] = selectedFeatures[sameSubsets.get(0)];
+        }
+        Criteria[] results = evaluate(distinctSubsets);
+
+        index = 0;
+        for (Map.Entry<FitnessCache.Key, List<Integer>> entry : missedSubsets.entrySet()) {
+            Criteria result = results[index++];
+            fitnessCache.put(entry.getKey(), result);
+            for (int subset : entry.getValue()) {
+                criteria[subset] = FitnessCache.copyOf(result);
+            }
+        }
+        return criteria;
+    }
+
+    /**
+     * This method performs k-fold cross validation on the reduced training sets
+     * which are achieved by the current feature subset extended by each of the
+     * candidate features. The criteria values are returned in the same order
+     * as the candidate features. If the native kNN or SVM classifier is used,
+     * the distances (or the Gram matrix) over the current subset are computed
+     * once and each extended subset is evaluated on them; otherwise, the
+     * extended subsets are evaluated as a group of feature subsets.
+     *
+     * @param currentSet an array of indices of the features of the current
+     * subset
+     * @param candidateFeatures an array of indices of the candidate features
+     * which are not in the current subset
+     *
+     * @return the different criteria values of each extended subset
+     */
+    public Criteria[] crossValidation(int[] currentSet, int[] candidateFeatures) {
+        int[][] candidateSets = new int[candidateFeatures.length][];
+        for (int i = 0; i < candidateFeatures.length; i++) {
+            candidateSets[i] = Arrays.copyOf(currentSet, currentSet.length + 1);
+            candidateSets[i][currentSet.length] = candidateFeatures[i];
+            ArraysFunc.sortArray1D(candidateSets[i], false);
+        }
+        if (nativeKNN == null && nativeSVM == null) {
+            return crossValidation(candidateSets);
+        }
+
+        Criteria[] criteria = new Criteria[candidateFeatures.length];
+        String configuration = classifierConfiguration();
+        FitnessCache.Key[] keys = new FitnessCache.Key[candidateFeatures.length];
+        ArrayList<Integer> missedCandidates = new ArrayList<>();
+        for (int i = 0; i < candidateFeatures.length; i++) {
+            keys[i] = FitnessCache.createKey(candidateSets[i], configuration);
+            criteria[i] = fitnessCache.get(keys[i]);
+            if (criteria[i] == null) {
+                missedCandidates.add(i);
+            }
+        }
+        if (missedCandidates.isEmpty()) {
+            return criteria;
+        }
+
+        Criteria[] results;
+        if (nativeKNN != null) {
+            DistanceMatrix distances = nativeKNN.computeDistances(currentSet);
+            results = evaluate(missedCandidates.size(), numThreads,
+                    i -> nativeKNN.crossValidation(distances, candidateFeatures[missedCandidates.get(i)]));
+        } else {
+            GramMatrix gramMatrix = nativeSVM.computeGramMatrix(currentSet);
+            results = evaluate(missedCandidates.size(), numThreads,
+                    i -> nativeSVM.crossValidation(gramMatrix, candidateFeatures[missedCandidates.get(i)]));
+        }
+        for (int i = 0; i < results.length; i++) {
+            int candidate = missedCandidates.get(i);
+            criteria[candidate] = results[i];
+            fitnessCache.put(keys[candidate], results[i]);
+        }
+        return criteria;
+    }
+
+    /**
+     * This method performs k-fold cross validation on the reduced training set
+     * which is achieved by selected feature subset without using the fitness
+     * cache.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return the different criteria values
+     */
+    private Criteria evaluate(int[] selectedFeature) {
+        if (nativeNaiveBayes != null) {
+            return nativeNaiveBayes.crossValidation(selectedFeature);
+        } else if (nativeKNN != null) {
+            return nativeKNN.crossValidation(selectedFeature);
+        } else if (nativeSVM != null) {
+            return nativeSVM.crossValidation(selectedFeature);
+        }
+
         Criteria critria = new Criteria();
-        String nameDataCSV = TEMP_PATH + "dataCSV.csv";
-        String nameDataARFF = TEMP_PATH + "dataARFF.arff";
-        FileFunc.createCSVFile(trainSet, selectedFeature, nameDataCSV, nameFeatures, classLabel);
-        FileFunc.convertCSVtoARFF(nameDataCSV, nameDataARFF, TEMP_PATH, selectedFeature.length, nameFeatures.length - 1, nameFeatures, classLabel.length, classLabel);
+        Instances dataTrain = trainSparseData != null
+                ? WekaInstances.createInstances(trainSparseData, selectedFeature, nameFeatures, classLabel)
+                : WekaInstances.createInstances(trainSet, selectedFeature, nameFeatures, classLabel);
 
         if (classifierType == ClassifierType.SVM) {
             SVMClassifierPanel svmPanel = (SVMClassifierPanel) selectedEvaluationClassifierPanel;
-            critria = CrossValidation.SVM(nameDataARFF, svmPanel.getKernel(), svmPanel.getParameterC(), this.kFolds);
+            critria = CrossValidation.SVM(dataTrain, svmPanel.getKernel(), svmPanel.getParameterC(), this.kFolds);
         } else if (classifierType == ClassifierType.NB) {
-            critria = CrossValidation.naiveBayes(nameDataARFF, this.kFolds);
+            critria = CrossValidation.naiveBayes(dataTrain, this.kFolds);
         } else if (classifierType == ClassifierType.DT) {
             DTClassifierPanel dtPanel = (DTClassifierPanel) selectedEvaluationClassifierPanel;
-            critria = CrossValidation.dTree(nameDataARFF, dtPanel.getConfidence(), dtPanel.getMinNum(), this.kFolds);
+            critria = CrossValidation.dTree(dataTrain, dtPanel.getConfidence(), dtPanel.getMinNum(), this.kFolds);
         } else if (classifierType == ClassifierType.KNN) {
             KNNClassifierPanel dtPanel = (KNNClassifierPanel) selectedEvaluationClassifierPanel;
-            critria = CrossValidation.kNN(nameDataARFF, dtPanel.getKNNValue(), this.kFolds);
+            critria = CrossValidation.kNN(dataTrain, dtPanel.getKNNValue(), this.kFolds);
         }
 
         return critria;
     }
 
+    /**
+     * This method evaluates the given feature subsets concurrently by the
+     * worker threads without using the fitness cache.
+     *
+     * @param selectedFeatures an array of non-empty feature subsets
+     *
+     * @return the different criteria values of each feature subset
+     */
+    private Criteria[] evaluate(int[][] selectedFeatures) {
+        return evaluate(selectedFeatures.length, maxConcurrentEvaluations, i -> evaluate(selectedFeatures[i]));
+    }
+
+    /**
+     * This method performs the given evaluation tasks concurrently by the
+     * worker threads. If a task is failed, its exception is thrown.
+     *
+     * @param numTasks the number of evaluation tasks
+     * @param maxWorkers the maximum number of threads that evaluate the tasks
+     * at the same time
+     * @param task the evaluation task that returns the criteria values of the
+     * feature subset of the given index
+     *
+     * @return the different criteria values of each task
+     */
+    private Criteria[] evaluate(int numTasks, int maxWorkers, IntFunction<Criteria> task) {
+        Criteria[] criteria = new Criteria[numTasks];
+        workerPool.runTasks(numTasks, maxWorkers, index -> criteria[index] = task.apply(index));
+        return criteria;
+    }
+
+    /**
+     * This method returns a string that describes the classifier and its
+     * parameter values. The string is a part of the key of the fitness cache.
+     *
+     * @return the configuration of the classifier
+     */
+    private String classifierConfiguration() {
+        String configuration = classifierType.toString() + "," + kFolds;
+        if (classifierType == ClassifierType.SVM) {
+            SVMClassifierPanel svmPanel = (SVMClassifierPanel) selectedEvaluationClassifierPanel;
+            configuration += "," + svmPanel.getKernel() + "," + svmPanel.getParameterC();
+        } else if (classifierType == ClassifierType.DT) {
+            DTClassifierPanel dtPanel = (DTClassifierPanel) selectedEvaluationClassifierPanel;
+            configuration += "," + dtPanel.getConfidence() + "," + dtPanel.getMinNum();
+        } else if (classifierType == ClassifierType.KNN) {
+            KNNClassifierPanel knnPanel = (KNNClassifierPanel) selectedEvaluationClassifierPanel;
+            configuration += "," + knnPanel.getKNNValue();
+        }
+        return configuration;
+    }
+
+    /**
+     * This method returns the fitness cache that keeps the criteria values of
+     * the evaluated feature subsets. The number of hits and misses of the cache
+     * can be obtained from it.
+     *
+     * @return the fitness cache
+     */
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
     /**
      * This method creates a directory based on the specific path
      */
@@ -124,4 +465,12 @@ public class FitnessEvaluator {
     public void deleteTempDirectory() {
         FileFunc.deleteDirectoryWithAllFiles(TEMP_PATH);
     }
+
+    /**
+     * This method shuts down the worker threads of the evaluator. The threads
+     * are created again if the evaluator is used after shutting down.
+     */
+    public void shutdown() {
+        workerPool.shutdown();
+    }
 }
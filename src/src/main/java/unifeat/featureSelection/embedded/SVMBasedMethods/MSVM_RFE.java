@@ -23,18 +23,16 @@
  */
 package unifeat.featureSelection.embedded.SVMBasedMethods;
 
-import unifeat.classifier.WekaSVMKernel;
+import unifeat.classifier.evaluation.nativeClassifier.LinearSVMClassifier;
+import unifeat.dataset.ColumnarDataset;
 import unifeat.gui.classifier.svmClassifier.SVMKernelType;
+import unifeat.gui.featureSelection.embedded.EliminationType;
+import unifeat.gui.featureSelection.embedded.SVMSolverType;
 import unifeat.util.ArraysFunc;
-import unifeat.util.FileFunc;
 import unifeat.util.MathFunc;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import unifeat.util.WorkerPool;
 import java.util.Arrays;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import weka.classifiers.functions.SMO;
-import weka.core.Instances;
+import java.util.SplittableRandom;
 
 /**
  * This java class is used to implement MSVM_RFE method for binary
@@ -42,6 +40,11 @@ import weka.core.Instances;
  * on recursive feature elimination) in which multiple linear SVMs trained on
  * subsamples of the original training data. K-fold cross validation is used as
  * the resampling method.
+ * <p>
+ * The folds are drawn once at the start of the method and are kept during the
+ * elimination, so the classifier of each fold is trained on the same samples in
+ * all iterations and the native linear solver is warm-started from the weights
+ * of the previous iteration.
  *
  * @author Sina Tabakhi
  * @see unifeat.featureSelection.embedded.SVMBasedMethods.SVMBasedMethods
@@ -53,24 +56,34 @@ public class MSVM_RFE extends SVMBasedMethods {
     private final double ERROR_DENOMINATOR = 1.0;
     private int kFoldValue;
     private int numRun;
+    private SplittableRandom rand;
+    private double[][][] foldTrainSets;
+    private LinearSVMClassifier[] foldSVMs;
 
     /**
      * Initializes the parameters
      *
      * @param arguments array of parameters contains (<code>path</code>,
      * <code>kernelType</code>, <code>Parameter c</code>,
-     * <code>kFoldValue</code>, <code>numRun</code>) in which
+     * <code>eliminationType</code>, <code>eliminationValue</code>,
+     * <code>solverType</code>, <code>kFoldValue</code>, <code>numRun</code>)
+     * in which
      * <code><b><i>path</i></b></code> is the path of the project,
      * <code><b><i>kernelType</i></b></code> is the type of kernel to use,
      * <code><b><i>Parameter c</i></b></code> is the complexity parameter C,
+     * <code><b><i>eliminationType</i></b></code> is the schedule of the
+     * elimination, <code><b><i>eliminationValue</i></b></code> is the number
+     * of features (fixed step) or the percentage of the remaining features
+     * (percentage and hybrid) eliminated in each iteration,
+     * <code><b><i>solverType</i></b></code> is the solver of the linear SVM,
      * <code><b><i>kFoldValue</i></b></code> is the number of subsamples in
      * k-fold cross validation, and <code><b><i>numRun</i></b></code> is the
      * number of multiple runs of k-fold CV
      */
     public MSVM_RFE(Object... arguments) {
         super(arguments);
-        kFoldValue = (int) arguments[3];
-        numRun = (int) arguments[4];
+        kFoldValue = (int) arguments[6];
+        numRun = (int) arguments[7];
     }
 
     /**
@@ -79,15 +92,73 @@ public class MSVM_RFE extends SVMBasedMethods {
      * @param path the path of the project
      * @param kernelType the type of kernel to use
      * @param c the complexity parameter C
+     * @param eliminationType the schedule of the elimination
+     * @param eliminationValue the number of features (fixed step) or the
+     * percentage of the remaining features (percentage and hybrid) eliminated
+     * in each iteration
+     * @param solverType the solver of the linear SVM
      * @param kFoldValue the number of subsamples in k-fold cross validation
      * @param numRun the number of multiple runs of k-fold CV
      */
-    public MSVM_RFE(String path, SVMKernelType kernelType, double c, int kFoldValue, int numRun) {
-        super(path, kernelType, c);
+    public MSVM_RFE(String path, SVMKernelType kernelType, double c,
+            EliminationType eliminationType, double eliminationValue,
+            SVMSolverType solverType, int kFoldValue, int numRun) {
+        super(path, kernelType, c, eliminationType, eliminationValue, solverType);
         this.kFoldValue = kFoldValue;
         this.numRun = numRun;
     }
 
+    /**
+     * Shuffles the train set by the stream of each run and splits it into the
+     * folds of k-fold cross validation. The folds are kept during the
+     * elimination, so the native linear SVM classifier of each fold is created
+     * once and is warm-started from the solution of the previous feature
+     * subset.
+     */
+    private void createFolds() {
+        int numClassifiers = numRun * kFoldValue;
+        int[] foldStarts = new int[kFoldValue + 1];
+        double[][][] shuffledTrainSets = new double[numRun][][];
+        foldTrainSets = new double[numClassifiers][][];
+        foldSVMs = new LinearSVMClassifier[numClassifiers];
+
+        for (int i = 0; i < numRun; i++) {
+            shuffledTrainSets[i] = ArraysFunc.copyDoubleArray2D(getTrainSet());
+
+            //shuffles the train set by the stream of the run
+            MathFunc.randomize(shuffledTrainSets[i], rand.split());
+        }
+
+        int numSampleInFold = getNumTrainSamples() / kFoldValue;
+        int remainder = getNumTrainSamples() % kFoldValue;
+        for (int k = 0; k < kFoldValue; k++) {
+            foldStarts[k + 1] = foldStarts[k] + numSampleInFold;
+            if (k < remainder) {
+                foldStarts[k + 1]++;
+            }
+        }
+
+        //creates the train sets and the classifiers of all runs and folds concurrently
+        WorkerPool.common().runTasks(numClassifiers, classifier -> {
+            int k = classifier % kFoldValue;
+            double[][] subTrainSet = ArraysFunc.copyDoubleArray2D(shuffledTrainSets[classifier / kFoldValue], foldStarts[k], foldStarts[k + 1]);
+
+            if (isLinearSVMApplicable()) {
+                ColumnarDataset subTrainData = ColumnarDataset.fromRows(subTrainSet, numFeatures);
+                int[] labels = subTrainData.getLabels();
+                int[] sampleIndices = new int[labels.length];
+                boolean[] isPositive = new boolean[labels.length];
+                for (int m = 0; m < labels.length; m++) {
+                    sampleIndices[m] = m;
+                    isPositive[m] = labels[m] == 1;
+                }
+                foldSVMs[classifier] = createLinearSVM(LinearSVMClassifier.normalizeSamples(subTrainData), sampleIndices, isPositive);
+            } else {
+                foldTrainSets[classifier] = subTrainSet;
+            }
+        });
+    }
+
     /**
      * Generates binary classifiers (SVM by applying k-fold cross validation
      * resampling strategy) using input data and based on selected feature
@@ -98,55 +169,16 @@ public class MSVM_RFE extends SVMBasedMethods {
      * @return an array of the weights of features
      */
     protected double[][] buildSVM_KFoldCrossValidation(int[] selectedFeature) {
-        double[][] weights = new double[numRun * kFoldValue][selectedFeature.length];
-        int classifier = 0;
-
-        for (int i = 0; i < numRun; i++) {
-            double[][] copyTrainSet = ArraysFunc.copyDoubleArray2D(trainSet);
-
-            //shuffles the train set
-            MathFunc.randomize(copyTrainSet);
-
-            int numSampleInFold = copyTrainSet.length / kFoldValue;
-            int remainder = copyTrainSet.length % kFoldValue;
-            int indexStart = 0;
-            for (int k = 0; k < kFoldValue; k++) {
-                int indexEnd = indexStart + numSampleInFold;
-                if (k < remainder) {
-                    indexEnd++;
-                }
-                double[][] subTrainSet = ArraysFunc.copyDoubleArray2D(copyTrainSet, indexStart, indexEnd);
-
-                String nameDataCSV = TEMP_PATH + "dataCSV[" + i + "-" + k + "].csv";
-                String nameDataARFF = TEMP_PATH + "dataARFF[" + i + "-" + k + "].arff";
-
-                FileFunc.createCSVFile(subTrainSet, selectedFeature, nameDataCSV, nameFeatures, classLabel);
-                FileFunc.convertCSVtoARFF(nameDataCSV, nameDataARFF, TEMP_PATH, selectedFeature.length, numFeatures, nameFeatures, numClass, classLabel);
-
-                try {
-                    BufferedReader readerTrain = new BufferedReader(new FileReader(nameDataARFF));
-                    Instances dataTrain = new Instances(readerTrain);
-                    readerTrain.close();
-                    dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
-
-                    SMO svm = new SMO();
-                    svm.setC(parameterC);
-                    svm.setKernel(WekaSVMKernel.parse(kernelType));
-                    svm.buildClassifier(dataTrain);
-
-                    double[] weightsSparse = svm.sparseWeights()[0][1];
-                    int[] indicesSparse = svm.sparseIndices()[0][1];
-                    for (int m = 0; m < weightsSparse.length; m++) {
-                        weights[classifier][indicesSparse[m]] = weightsSparse[m];
-                    }
-                } catch (Exception ex) {
-                    Logger.getLogger(MSVM_RFE.class.getName()).log(Level.SEVERE, null, ex);
-                }
+        double[][] weights = new double[numRun * kFoldValue][];
 
-                indexStart = indexEnd;
-                classifier++;
+        //trains the classifiers of all runs and folds concurrently
+        WorkerPool.common().runTasks(numRun * kFoldValue, classifier -> {
+            if (isLinearSVMApplicable()) {
+                weights[classifier] = getLinearSVMWeights(foldSVMs[classifier], selectedFeature);
+            } else {
+                weights[classifier] = buildWekaSVM(foldTrainSets[classifier], selectedFeature, classLabel)[0][1];
             }
-        }
+        });
 
         return weights;
     }
@@ -202,39 +234,39 @@ public class MSVM_RFE extends SVMBasedMethods {
      */
     @Override
     public void evaluateFeatures() {
-        FileFunc.createDirectory(TEMP_PATH);
         int[] indexFeatures = new int[numFeatures];
+        rand = new SplittableRandom(seed);
+        createFolds();
 
         //initializes the feature index values
         for (int i = 0; i < indexFeatures.length; i++) {
             indexFeatures[i] = i;
         }
 
-        for (int i = 0; i < numFeatures - numSelectedFeature; i++) {
+        int numRemaining = numFeatures;
+        for (int i = 0; numRemaining > numSelectedFeature; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
 
-            ArraysFunc.sortArray1D(indexFeatures, false, 0, numFeatures - i);
-            int[] featSpace = Arrays.copyOfRange(indexFeatures, 0, numFeatures - i);
-
-            /**
-             * generates SVM classifiers, computes weights of features, and find
-             * index of a feature with smallest weight
-             */
-            int minIndex = MathFunc.findMinimumIndex(getFeaturesWeights(featSpace));
+            ArraysFunc.sortArray1D(indexFeatures, false, 0, numRemaining);
+            int[] featSpace = Arrays.copyOfRange(indexFeatures, 0, numRemaining);
 
             /**
-             * changing the place of the feature with the minIndex to the last
-             * feature in the indexFeatures array
+             * generates SVM classifiers, computes weights of features, and
+             * eliminates the features with smallest weights according to the
+             * elimination schedule
              */
-            MathFunc.swap(indexFeatures, minIndex, numFeatures - i - 1);
+            numRemaining = eliminateFeatures(indexFeatures, numRemaining, getFeaturesWeights(featSpace));
         }
+        logSolverConvergence();
+        foldTrainSets = null;
+        foldSVMs = null;
+        featureRanking = indexFeatures;
         selectedFeatureSubset = Arrays.copyOfRange(indexFeatures, 0, numSelectedFeature);
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
-        FileFunc.deleteDirectoryWithAllFiles(TEMP_PATH);
     }
 
     /**
@@ -246,7 +278,7 @@ public class MSVM_RFE extends SVMBasedMethods {
             return "Multiple SVM method based on Recursive Feature Elimination "
                     + "(MSVM_RFE) cannot be applied to multiclass classification.";
         }
-        if (kFoldValue > trainSet.length) {
+        if (kFoldValue > getNumTrainSamples()) {
             return "The parameter values of MSVM_RFE (number of folds) are incorrect.";
         }
         return "";
@@ -24,8 +24,9 @@
 package unifeat.featureSelection.embedded.SVMBasedMethods;
 
 import unifeat.gui.classifier.svmClassifier.SVMKernelType;
+import unifeat.gui.featureSelection.embedded.EliminationType;
+import unifeat.gui.featureSelection.embedded.SVMSolverType;
 import unifeat.util.ArraysFunc;
-import unifeat.util.FileFunc;
 import unifeat.util.MathFunc;
 import java.util.Arrays;
 
@@ -49,10 +50,15 @@ public class OVO_SVM_RFE extends SVMBasedMethods {
      * Initializes the parameters
      *
      * @param arguments array of parameters contains (<code>path</code>,
-     * <code>kernelType</code>, <code>Parameter c</code>) in which
+     * <code>kernelType</code>, <code>Parameter c</code>,
+     * <code>eliminationType</code>, <code>eliminationValue</code>) in which
      * <code><b><i>path</i></b></code> is the path of the project,
-     * <code><b><i>kernelType</i></b></code> is the type of kernel to use, and
-     * <code><b><i>Parameter c</i></b></code> is the complexity parameter C
+     * <code><b><i>kernelType</i></b></code> is the type of kernel to use,
+     * <code><b><i>Parameter c</i></b></code> is the complexity parameter C,
+     * <code><b><i>eliminationType</i></b></code> is the schedule of the
+     * elimination, and <code><b><i>eliminationValue</i></b></code> is the
+     * number of features (fixed step) or the percentage of the remaining
+     * features (percentage and hybrid) eliminated in each iteration
      */
     public OVO_SVM_RFE(Object... arguments) {
         super(arguments);
@@ -64,9 +70,16 @@ public class OVO_SVM_RFE extends SVMBasedMethods {
      * @param path the path of the project
      * @param kernelType the type of kernel to use
      * @param c the complexity parameter C
+     * @param eliminationType the schedule of the elimination
+     * @param eliminationValue the number of features (fixed step) or the
+     * percentage of the remaining features (percentage and hybrid) eliminated
+     * in each iteration
+     * @param solverType the solver of the linear SVM
      */
-    public OVO_SVM_RFE(String path, SVMKernelType kernelType, double c) {
-        super(path, kernelType, c);
+    public OVO_SVM_RFE(String path, SVMKernelType kernelType, double c,
+            EliminationType eliminationType, double eliminationValue,
+            SVMSolverType solverType) {
+        super(path, kernelType, c, eliminationType, eliminationValue, solverType);
     }
 
     /**
@@ -133,7 +146,6 @@ public class OVO_SVM_RFE extends SVMBasedMethods {
      */
     @Override
     public void evaluateFeatures() {
-        FileFunc.createDirectory(TEMP_PATH);
         int[] indexFeatures = new int[numFeatures];
 
         //initializes the feature index values
@@ -141,30 +153,27 @@ public class OVO_SVM_RFE extends SVMBasedMethods {
             indexFeatures[i] = i;
         }
 
-        for (int i = 0; i < numFeatures - numSelectedFeature; i++) {
+        int numRemaining = numFeatures;
+        for (int i = 0; numRemaining > numSelectedFeature; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
 
-            ArraysFunc.sortArray1D(indexFeatures, false, 0, numFeatures - i);
-            int[] featSpace = Arrays.copyOfRange(indexFeatures, 0, numFeatures - i);
+            ArraysFunc.sortArray1D(indexFeatures, false, 0, numRemaining);
+            int[] featSpace = Arrays.copyOfRange(indexFeatures, 0, numRemaining);
 
             /**
-             * generates SVM classifiers, computes weights of features, and find
-             * index of a feature with smallest weight
+             * generates SVM classifiers, computes weights of features, and
+             * eliminates the features with smallest weights according to the
+             * elimination schedule
              */
-            int minIndex = MathFunc.findMinimumIndex(getFeaturesWeights(featSpace));
-
-            /**
-             * changing the place of the feature with the minIndex to the last
-             * feature in the indexFeatures array
-             */
-            MathFunc.swap(indexFeatures, minIndex, numFeatures - i - 1);
+            numRemaining = eliminateFeatures(indexFeatures, numRemaining, getFeaturesWeights(featSpace));
         }
+        logSolverConvergence();
+        featureRanking = indexFeatures;
         selectedFeatureSubset = Arrays.copyOfRange(indexFeatures, 0, numSelectedFeature);
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
-        FileFunc.deleteDirectoryWithAllFiles(TEMP_PATH);
     }
 }
@@ -23,15 +23,19 @@
  */
 package unifeat.featureSelection.embedded.SVMBasedMethods;
 
+import unifeat.classifier.WekaInstances;
 import unifeat.classifier.WekaSVMKernel;
+import unifeat.classifier.evaluation.nativeClassifier.LinearSVMClassifier;
+import unifeat.dataset.ColumnarDataset;
 import unifeat.featureSelection.embedded.EmbeddedApproach;
 import unifeat.gui.classifier.svmClassifier.SVMKernelType;
+import unifeat.gui.featureSelection.embedded.EliminationType;
+import unifeat.gui.featureSelection.embedded.SVMSolverType;
 import unifeat.util.ArraysFunc;
-import unifeat.util.FileFunc;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
+import unifeat.util.WorkerPool;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import weka.classifiers.functions.SMO;
@@ -41,6 +45,24 @@ import weka.core.Instances;
  * The abstract class contains the main methods and fields that are used in all
  * SVM-based feature selection methods. This class inherits from
  * EmbeddedApproach class.
+ * <p>
+ * If the kernel is linear (the polynomial kernel with exponent one) and the
+ * native linear solver is selected, the classifiers are trained by the native
+ * linear SVM classifier on the normalized train set instead of the Weka SMO
+ * classifier. The classifiers are kept between the iterations of the
+ * elimination, so each training is warm-started from the solution of the
+ * previous feature subset. A warning is logged at the end of the method if the
+ * solver does not converge in some trainings.
+ * <p>
+ * The binary classifiers are independent of each other, so they are trained
+ * concurrently by the worker threads. The data of the Weka classifiers is
+ * given to them in the memory instead of the temporary files.
+ * <p>
+ * The number of features eliminated in each iteration is given by the
+ * elimination schedule: a fixed number of features, a percentage of the
+ * remaining features, or a hybrid schedule that removes a percentage of the
+ * remaining features while they are more than twice the number of selected
+ * features and then removes them one by one.
  *
  * @author Sina Tabakhi
  * @see unifeat.featureSelection.embedded.EmbeddedApproach
@@ -48,25 +70,42 @@ import weka.core.Instances;
  */
 public abstract class SVMBasedMethods extends EmbeddedApproach {
 
-    protected final String TEMP_PATH;
     protected SVMKernelType kernelType;
     protected double parameterC;
     protected double[] classLabelInTrainSet;
+    protected EliminationType eliminationType;
+    protected double eliminationValue;
+    protected SVMSolverType solverType;
+    private ColumnarDataset normalizedData;
+    private double[][] normalizedTrainSet;
+    private LinearSVMClassifier[][] oneAgainstOneSVMs;
+    private LinearSVMClassifier[] oneAgainstRestSVMs;
+    private final AtomicInteger numLinearSVMTrainings = new AtomicInteger();
+    private final AtomicInteger numNotConvergedTrainings = new AtomicInteger();
 
     /**
      * Initializes the parameters
      *
      * @param arguments array of parameters contains (<code>path</code>,
-     * <code>kernelType</code>, <code>Parameter c</code>) in which
-     * <code><b><i>path</i></b></code> is the path of the project,
-     * <code><b><i>kernelType</i></b></code> is the type of kernel to use, and
-     * <code><b><i>Parameter c</i></b></code> is the complexity parameter C
+     * <code>kernelType</code>, <code>Parameter c</code>,
+     * <code>eliminationType</code>, <code>eliminationValue</code>,
+     * <code>solverType</code>) in which <code><b><i>path</i></b></code> is
+     * the path of the project, <code><b><i>kernelType</i></b></code> is the
+     * type of kernel to use, <code><b><i>Parameter c</i></b></code> is the
+     * complexity parameter C, <code><b><i>eliminationType</i></b></code> is
+     * the schedule of the elimination,
+     * <code><b><i>eliminationValue</i></b></code> is the number of features
+     * (fixed step) or the percentage of the remaining features (percentage and
+     * hybrid) eliminated in each iteration, and
+     * <code><b><i>solverType</i></b></code> is the solver of the linear SVM
      */
     public SVMBasedMethods(Object... arguments) {
         super((String) arguments[0]);
         kernelType = (SVMKernelType) arguments[1];
         parameterC = (double) arguments[2];
-        TEMP_PATH = PROJECT_PATH + "Temp" + File.separator;
+        eliminationType = (EliminationType) arguments[3];
+        eliminationValue = (double) arguments[4];
+        solverType = (SVMSolverType) arguments[5];
     }
 
     /**
@@ -75,12 +114,42 @@ public abstract class SVMBasedMethods extends EmbeddedApproach {
      * @param path the path of the project
      * @param kernelType the type of kernel to use
      * @param c the complexity parameter C
+     * @param eliminationType the schedule of the elimination
+     * @param eliminationValue the number of features (fixed step) or the
+     * percentage of the remaining features (percentage and hybrid) eliminated
+     * in each iteration
+     * @param solverType the solver of the linear SVM
      */
-    public SVMBasedMethods(String path, SVMKernelType kernelType, double c) {
+    public SVMBasedMethods(String path, SVMKernelType kernelType, double c,
+            EliminationType eliminationType, double eliminationValue, SVMSolverType solverType) {
         super(path);
         this.kernelType = kernelType;
         this.parameterC = c;
-        TEMP_PATH = PROJECT_PATH + "Temp" + File.separator;
+        this.eliminationType = eliminationType;
+        this.eliminationValue = eliminationValue;
+        this.solverType = solverType;
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * Only the schedule that eliminates one feature in each iteration visits
+     * every subset size, so the subset of each size is found on the
+     * elimination path of the smallest subset. The other schedules skip some
+     * sizes, and their last step is shortened to reach the number of selected
+     * features, so their subsets depend on the number of selected features.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return eliminationType == EliminationType.FIXED_STEP && eliminationValue == 1;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isBackwardElimination() {
+        return true;
     }
 
     /**
@@ -88,7 +157,7 @@ public abstract class SVMBasedMethods extends EmbeddedApproach {
      */
     public void createClassLabel() {
         ArrayList<Double> labels = new ArrayList<>();
-        for (double[] sample : trainSet) {
+        for (double[] sample : getTrainSet()) {
             if (!labels.contains(sample[this.numFeatures])) {
                 labels.add(sample[this.numFeatures]);
             }
@@ -100,6 +169,154 @@ public abstract class SVMBasedMethods extends EmbeddedApproach {
         }
     }
 
+    /**
+     * This method returns the number of features that are eliminated in the
+     * current iteration according to the elimination schedule. At least one
+     * feature is eliminated, and the number of remaining features does not go
+     * below the number of selected features.
+     *
+     * @param numRemaining the number of remaining features
+     *
+     * @return the number of eliminated features
+     */
+    protected int getNumEliminatedFeatures(int numRemaining) {
+        int numEliminated = 1;
+        if (eliminationType == EliminationType.FIXED_STEP) {
+            numEliminated = (int) eliminationValue;
+        } else if (eliminationType == EliminationType.PERCENTAGE
+                || (eliminationType == EliminationType.HYBRID && numRemaining > 2 * numSelectedFeature)) {
+            numEliminated = (int) (numRemaining * eliminationValue / 100.0);
+        }
+        return Math.max(1, Math.min(numEliminated, numRemaining - numSelectedFeature));
+    }
+
+    /**
+     * This method eliminates the features with smallest weights from the
+     * remaining features. The remaining features are moved to the beginning of
+     * the array, and the eliminated features are placed before the previously
+     * eliminated ones so that the feature with smallest weight is the last.
+     *
+     * @param indexFeatures an array of indices of features in which the first
+     * <code>numRemaining</code> elements are the remaining features
+     * @param numRemaining the number of remaining features
+     * @param featureValues the weights of the remaining features
+     *
+     * @return the number of remaining features after the elimination
+     */
+    protected int eliminateFeatures(int[] indexFeatures, int numRemaining, double[] featureValues) {
+        int numEliminated = getNumEliminatedFeatures(numRemaining);
+        int[] eliminatedIndices = ArraysFunc.selectTopIndices(featureValues, numEliminated, false);
+        int[] featSpace = Arrays.copyOf(indexFeatures, numRemaining);
+        boolean[] isEliminated = new boolean[numRemaining];
+        for (int i = 0; i < numEliminated; i++) {
+            isEliminated[eliminatedIndices[i]] = true;
+            indexFeatures[numRemaining - i - 1] = featSpace[eliminatedIndices[i]];
+        }
+        int index = 0;
+        for (int i = 0; i < numRemaining; i++) {
+            if (!isEliminated[i]) {
+                indexFeatures[index++] = featSpace[i];
+            }
+        }
+        return numRemaining - numEliminated;
+    }
+
+    /**
+     * This method shows whether the classifiers are trained by the native
+     * linear SVM classifier. The weights of features are only defined for the
+     * linear kernel, and the native classifier is only used if it is selected
+     * as the solver.
+     *
+     * @return true if the kernel is linear and the native solver is selected
+     */
+    protected boolean isLinearSVMApplicable() {
+        return kernelType == SVMKernelType.POLYNOMIAL
+                && solverType == SVMSolverType.NATIVE_LINEAR;
+    }
+
+    /**
+     * This method returns the normalized values of the train set. The
+     * classifiers of the previous train set are discarded if the train set is
+     * changed or the elimination is started again from the whole feature set,
+     * so each run of the method gives the same result.
+     *
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return the normalized values of the samples
+     */
+    private double[][] getNormalizedTrainSet(int[] selectedFeature) {
+        if (normalizedTrainSet == null || normalizedData != trainData) {
+            normalizedTrainSet = LinearSVMClassifier.normalizeSamples(trainData);
+            normalizedData = trainData;
+            oneAgainstOneSVMs = null;
+            oneAgainstRestSVMs = null;
+        } else if (selectedFeature.length == numFeatures) {
+            oneAgainstOneSVMs = null;
+            oneAgainstRestSVMs = null;
+        }
+        return normalizedTrainSet;
+    }
+
+    /**
+     * This method creates the native linear SVM classifier on the given
+     * samples. If all samples belong to the same class, the classifier is not
+     * created.
+     *
+     * @param samples the normalized values of the samples
+     * @param sampleIndices the indices of the train samples of the classifier
+     * @param isPositive the class of each train sample of the classifier
+     *
+     * @return the classifier, or null if one of the classes has no sample
+     */
+    protected LinearSVMClassifier createLinearSVM(double[][] samples, int[] sampleIndices, boolean[] isPositive) {
+        int numPositive = 0;
+        for (boolean positive : isPositive) {
+            if (positive) {
+                numPositive++;
+            }
+        }
+        if (numPositive == 0 || numPositive == isPositive.length) {
+            return null;
+        }
+        return new LinearSVMClassifier(samples, sampleIndices, isPositive, parameterC);
+    }
+
+    /**
+     * This method trains the given native linear SVM classifier and returns the
+     * weights of the features
+     *
+     * @param svm the classifier (null if it cannot be trained)
+     * @param selectedFeature an array of indices of the selected feature subset
+     *
+     * @return an array of the weights of features
+     */
+    protected double[] getLinearSVMWeights(LinearSVMClassifier svm, int[] selectedFeature) {
+        if (svm == null) {
+            return new double[selectedFeature.length];
+        }
+        svm.buildClassifier(selectedFeature);
+        numLinearSVMTrainings.incrementAndGet();
+        if (!svm.isConverged()) {
+            numNotConvergedTrainings.incrementAndGet();
+        }
+        return svm.getWeights(selectedFeature);
+    }
+
+    /**
+     * This method logs a warning if the native linear SVM solver did not
+     * converge in some trainings of the last run of the method, and resets the
+     * counters of the trainings
+     */
+    protected void logSolverConvergence() {
+        int numTrainings = numLinearSVMTrainings.getAndSet(0);
+        int numNotConverged = numNotConvergedTrainings.getAndSet(0);
+        if (numNotConverged > 0) {
+            Logger.getLogger(SVMBasedMethods.class.getName()).log(Level.WARNING,
+                    "The native linear SVM solver did not converge in " + numNotConverged
+                    + " of " + numTrainings + " trainings; the Weka SMO solver can be selected instead.");
+        }
+    }
+
     /**
      * Generates binary classifiers (SVM) using input data and based on selected
      * feature subset, and finally returns the weights of features.
@@ -111,38 +328,50 @@ public abstract class SVMBasedMethods extends EmbeddedApproach {
      * @return an array of the weights of features
      */
     protected double[][][] buildSVM_OneAgainstOne(int[] selectedFeature) {
-        String nameDataCSV = TEMP_PATH + "dataCSV.csv";
-        String nameDataARFF = TEMP_PATH + "dataARFF.arff";
         double[][][] weights = new double[numClass][numClass][selectedFeature.length];
 
-        FileFunc.createCSVFile(trainSet, selectedFeature, nameDataCSV, nameFeatures, classLabel);
-        FileFunc.convertCSVtoARFF(nameDataCSV, nameDataARFF, TEMP_PATH, selectedFeature.length, numFeatures, nameFeatures, numClass, classLabel);
-
-        try {
-            BufferedReader readerTrain = new BufferedReader(new FileReader(nameDataARFF));
-            Instances dataTrain = new Instances(readerTrain);
-            readerTrain.close();
-            dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
-
-            SMO svm = new SMO();
-            svm.setC(parameterC);
-            svm.setKernel(WekaSVMKernel.parse(kernelType));
-            svm.buildClassifier(dataTrain);
-
-            for (int i = 0; i < numClass; i++) {
-                for (int j = i + 1; j < numClass; j++) {
-                    double[] weightsSparse = svm.sparseWeights()[i][j];
-                    int[] indicesSparse = svm.sparseIndices()[i][j];
-                    for (int k = 0; k < weightsSparse.length; k++) {
-                        weights[i][j][indicesSparse[k]] = weightsSparse[k];
+        if (isLinearSVMApplicable()) {
+            double[][] samples = getNormalizedTrainSet(selectedFeature);
+            if (oneAgainstOneSVMs == null) {
+                int[] labels = trainData.getLabels();
+                oneAgainstOneSVMs = new LinearSVMClassifier[numClass][numClass];
+                for (int i = 0; i < numClass; i++) {
+                    for (int j = i + 1; j < numClass; j++) {
+                        //the samples of the first class are negative
+                        int numSamples = 0;
+                        for (int label : labels) {
+                            if (label == i || label == j) {
+                                numSamples++;
+                            }
+                        }
+                        int[] sampleIndices = new int[numSamples];
+                        boolean[] isPositive = new boolean[numSamples];
+                        for (int k = 0, index = 0; k < labels.length; k++) {
+                            if (labels[k] == i || labels[k] == j) {
+                                sampleIndices[index] = k;
+                                isPositive[index++] = labels[k] == j;
+                            }
+                        }
+                        oneAgainstOneSVMs[i][j] = createLinearSVM(samples, sampleIndices, isPositive);
                     }
                 }
             }
-        } catch (Exception ex) {
-            Logger.getLogger(SVMBasedMethods.class.getName()).log(Level.SEVERE, null, ex);
+            //trains the binary classifiers of the pairs of classes concurrently
+            int[][] pairs = new int[numClass * (numClass - 1) / 2][];
+            for (int i = 0, index = 0; i < numClass; i++) {
+                for (int j = i + 1; j < numClass; j++) {
+                    pairs[index++] = new int[]{i, j};
+                }
+            }
+            WorkerPool.common().runTasks(pairs.length, index -> {
+                int i = pairs[index][0];
+                int j = pairs[index][1];
+                weights[i][j] = getLinearSVMWeights(oneAgainstOneSVMs[i][j], selectedFeature);
+            });
+            return weights;
         }
 
-        return weights;
+        return buildWekaSVM(getTrainSet(), selectedFeature, classLabel);
     }
 
     /**
@@ -159,11 +388,33 @@ public abstract class SVMBasedMethods extends EmbeddedApproach {
         double[][] weights = new double[numClass][selectedFeature.length];
         String[] tempClassLabel = new String[]{"c1", "c2"};
 
-        for (int indexClass = 0; indexClass < numClass; indexClass++) {
-            double[][] copyTrainSet = ArraysFunc.copyDoubleArray2D(trainSet);
-            String nameDataCSV = TEMP_PATH + "dataCSV" + indexClass + ".csv";
-            String nameDataARFF = TEMP_PATH + "dataARFF" + indexClass + ".arff";
+        if (isLinearSVMApplicable()) {
+            double[][] samples = getNormalizedTrainSet(selectedFeature);
+            if (oneAgainstRestSVMs == null) {
+                int[] labels = trainData.getLabels();
+                int[] sampleIndices = new int[labels.length];
+                for (int i = 0; i < sampleIndices.length; i++) {
+                    sampleIndices[i] = i;
+                }
+                oneAgainstRestSVMs = new LinearSVMClassifier[numClass];
+                for (int indexClass = 0; indexClass < numClass; indexClass++) {
+                    //the samples of the current class are negative
+                    boolean[] isPositive = new boolean[labels.length];
+                    for (int i = 0; i < labels.length; i++) {
+                        isPositive[i] = labels[i] != classLabelInTrainSet[indexClass];
+                    }
+                    oneAgainstRestSVMs[indexClass] = createLinearSVM(samples, sampleIndices, isPositive);
+                }
+            }
+            //trains the binary classifiers of the classes concurrently
+            WorkerPool.common().runTasks(numClass, indexClass
+                    -> weights[indexClass] = getLinearSVMWeights(oneAgainstRestSVMs[indexClass], selectedFeature));
+            return weights;
+        }
 
+        //trains the binary classifiers of the classes concurrently
+        WorkerPool.common().runTasks(numClass, indexClass -> {
+            double[][] copyTrainSet = ArraysFunc.copyDoubleArray2D(getTrainSet());
             for (double[] dataRow : copyTrainSet) {
                 if (dataRow[numFeatures] == classLabelInTrainSet[indexClass]) {
                     dataRow[numFeatures] = 0;
@@ -171,31 +422,56 @@ public abstract class SVMBasedMethods extends EmbeddedApproach {
                     dataRow[numFeatures] = 1;
                 }
             }
+            weights[indexClass] = buildWekaSVM(copyTrainSet, selectedFeature, tempClassLabel)[0][1];
+        });
 
-            FileFunc.createCSVFile(copyTrainSet, selectedFeature, nameDataCSV, nameFeatures, tempClassLabel);
-            FileFunc.convertCSVtoARFF(nameDataCSV, nameDataARFF, TEMP_PATH, selectedFeature.length, numFeatures, nameFeatures, tempClassLabel.length, tempClassLabel);
+        return weights;
+    }
 
-            try {
-                BufferedReader readerTrain = new BufferedReader(new FileReader(nameDataARFF));
-                Instances dataTrain = new Instances(readerTrain);
-                readerTrain.close();
-                dataTrain.setClassIndex(dataTrain.numAttributes() - 1);
+    /**
+     * Generates the SVM classifier of the Weka software using the given data
+     * and based on selected feature subset, and finally returns the weights of
+     * features in the binary classifier of each pair of classes. The data is
+     * given to the classifier in the memory, so the classifiers can be trained
+     * concurrently.
+     *
+     * @param data the input data (the class label of each sample is placed in
+     * the last column)
+     * @param selectedFeature an array of indices of the selected feature subset
+     * @param classNames a string array of class labels names
+     *
+     * @return an array of the weights of features
+     */
+    protected double[][][] buildWekaSVM(double[][] data, int[] selectedFeature, String[] classNames) {
+        int numClasses = classNames.length;
+        double[][][] weights = new double[numClasses][numClasses][selectedFeature.length];
+        try {
+            Instances dataTrain = WekaInstances.createInstances(data, selectedFeature, nameFeatures, classNames);
 
-                SMO svm = new SMO();
-                svm.setC(parameterC);
-                svm.setKernel(WekaSVMKernel.parse(kernelType));
-                svm.buildClassifier(dataTrain);
+            SMO svm = new SMO();
+            svm.setC(parameterC);
+            svm.setKernel(WekaSVMKernel.parse(kernelType));
+            svm.buildClassifier(dataTrain);
 
-                double[] weightsSparse = svm.sparseWeights()[0][1];
-                int[] indicesSparse = svm.sparseIndices()[0][1];
-                for (int k = 0; k < weightsSparse.length; k++) {
-                    weights[indexClass][indicesSparse[k]] = weightsSparse[k];
+            for (int i = 0; i < numClasses; i++) {
+                for (int j = i + 1; j < numClasses; j++) {
+                    double[] weightsSparse = svm.sparseWeights()[i][j];
+                    int[] indicesSparse = svm.sparseIndices()[i][j];
+                    if (weightsSparse == null) {
+                        continue;
+                    }
+                    for (int k = 0; k < weightsSparse.length; k++) {
+                        //the index of the class attribute is skipped
+                        if (indicesSparse[k] < selectedFeature.length) {
+                            weights[i][j][indicesSparse[k]] = weightsSparse[k];
+                        }
+                    }
                 }
-            } catch (Exception ex) {
-                Logger.getLogger(SVMBasedMethods.class.getName()).log(Level.SEVERE, null, ex);
             }
+        } catch (Exception ex) {
+            Logger.getLogger(SVMBasedMethods.class.getName()).log(Level.SEVERE, null, ex);
         }
-
         return weights;
     }
+
 }
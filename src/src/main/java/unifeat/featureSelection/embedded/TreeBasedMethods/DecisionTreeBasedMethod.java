@@ -192,6 +192,7 @@ public class DecisionTreeBasedMethod extends TreeBasedMethods {
                 decisionTreeRandomTree.setMaxDepth(randomTreeMaxDepth);
                 decisionTreeRandomTree.setMinNum(randomTreeMinNum);
                 decisionTreeRandomTree.setMinVarianceProp(randomTreeMinVarianceProp);
+                decisionTreeRandomTree.setSeed((int) seed);
                 decisionTreeRandomTree.buildClassifier(dataTrain);
                 return decisionTreeRandomTree.toString();
             }
@@ -210,7 +211,7 @@ public class DecisionTreeBasedMethod extends TreeBasedMethods {
         String nameDataCSV = TEMP_PATH + "dataCSV.csv";
         String nameDataARFF = TEMP_PATH + "dataARFF.arff";
 
-        FileFunc.createCSVFile(trainSet, originalFeatureSet(), nameDataCSV, nameFeatures, classLabel);
+        FileFunc.createCSVFile(getTrainSet(), originalFeatureSet(), nameDataCSV, nameFeatures, classLabel);
         FileFunc.convertCSVtoARFF(nameDataCSV, nameDataARFF, TEMP_PATH, numFeatures, numFeatures, nameFeatures, numClass, classLabel);
 
         try {
@@ -119,6 +119,7 @@ public class RandomForestMethod extends TreeBasedMethods {
             decisionTreeRandomForest.setMaxDepth(randomForestMaxDepth);
             decisionTreeRandomForest.setNumIterations(randomForestNumIterations);
             decisionTreeRandomForest.setComputeAttributeImportance(true);
+            decisionTreeRandomForest.setSeed((int) seed);
             decisionTreeRandomForest.buildClassifier(dataTrain);
 
             /**
@@ -152,7 +153,7 @@ public class RandomForestMethod extends TreeBasedMethods {
         String nameDataCSV = TEMP_PATH + "dataCSV.csv";
         String nameDataARFF = TEMP_PATH + "dataARFF.arff";
 
-        FileFunc.createCSVFile(trainSet, originalFeatureSet(), nameDataCSV, nameFeatures, classLabel);
+        FileFunc.createCSVFile(getTrainSet(), originalFeatureSet(), nameDataCSV, nameFeatures, classLabel);
         FileFunc.convertCSVtoARFF(nameDataCSV, nameDataARFF, TEMP_PATH, numFeatures, numFeatures, nameFeatures, numClass, classLabel);
 
         try {
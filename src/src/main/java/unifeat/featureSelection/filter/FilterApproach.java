@@ -23,9 +23,13 @@
  */
 package unifeat.featureSelection.filter;
 
+import unifeat.dataset.PrecisionType;
+import unifeat.dataset.SimilarityMatrix;
+import unifeat.dataset.SimilarityType;
 import unifeat.featureSelection.*;
 import unifeat.featureSelection.filter.supervised.*;
 import unifeat.featureSelection.filter.unsupervised.*;
+import unifeat.util.MathFunc;
 
 /**
  * The abstract class contains the main methods and fields that are used in all
@@ -47,6 +51,56 @@ public abstract class FilterApproach extends FeatureSelection {
         this.selectedFeatureSubset = new int[this.numSelectedFeature];
     }
 
+    /**
+     * This method returns the similarity values between all pairs of features
+     * of the train set. The values are computed from the nonzero values if the
+     * sparse train set is loaded.
+     *
+     * @param type the similarity measure
+     *
+     * @return the similarity matrix
+     */
+    protected SimilarityMatrix getSimilarityMatrix(SimilarityType type) {
+        return trainSparseData != null ? trainSparseData.getSimilarityMatrix(type) : trainData.getSimilarityMatrix(type);
+    }
+
+    /**
+     * This method returns the similarity values between all pairs of features
+     * of the train set if they have been computed by the other methods
+     *
+     * @param type the similarity measure
+     *
+     * @return the similarity matrix, or null if it has not been computed
+     */
+    protected SimilarityMatrix getCachedSimilarityMatrix(SimilarityType type) {
+        return trainSparseData != null ? trainSparseData.getCachedSimilarityMatrix(type) : trainData.getCachedSimilarityMatrix(type);
+    }
+
+    /**
+     * This method returns the precision in which the similarity values of the
+     * train set are kept
+     *
+     * @return the precision of the similarity values
+     */
+    protected PrecisionType getSimilarityPrecision() {
+        return trainSparseData != null ? trainSparseData.getSimilarityPrecision() : trainData.getSimilarityPrecision();
+    }
+
+    /**
+     * Computes the cosine similarity value between two features of the train
+     * set. Only the nonzero values are visited if the sparse train set is
+     * loaded.
+     *
+     * @param index1 the index of the first feature
+     * @param index2 the index of the second feature
+     *
+     * @return the similarity value
+     */
+    protected double computeSimilarity(int index1, int index2) {
+        return trainSparseData != null ? MathFunc.computeSimilarity(trainSparseData, index1, index2)
+                : MathFunc.computeSimilarity(trainData.getColumn(index1), trainData.getColumn(index2));
+    }
+
     /**
      * This method creates new object from one of the classes that has been
      * inherited from the FilterApproach class according to type of the feature 
@@ -47,6 +47,17 @@ public abstract class WeightedFilterApproach extends FeatureWeighting {
         this.selectedFeatureSubset = new int[this.numSelectedFeature];
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The ranking of the features by their weights does not depend on the size
+     * of the subset.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return true;
+    }
+
     /**
      * This method creates new object from one of the classes that has been
      * inherited from the WeightedFilterApproach class according to type of the 
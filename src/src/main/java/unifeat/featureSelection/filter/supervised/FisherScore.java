@@ -61,6 +61,59 @@ public class FisherScore extends WeightedFilterApproach {
         super(sizeSelectedFeatureSubset);
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
+    /**
+     * Computes the mean values of each feature and the mean and variance values
+     * of each feature on each class over the nonzero values of the sparse train
+     * set. The zero values of each class are added together.
+     *
+     * @param numClassSample the number of samples in each class
+     * @param meanFeatures the mean values of each feature
+     * @param meanFeatureClass the mean values of each feature on each class
+     * @param varianceFeatureClass the variance values of each feature on each
+     * class
+     */
+    private void computeSparseStatistics(int[] numClassSample, double[] meanFeatures,
+            double[][] meanFeatureClass, double[][] varianceFeatureClass) {
+        int[] labels = trainSparseData.getLabels();
+        int[] rows = trainSparseData.getRowIndices();
+        double[] values = trainSparseData.getValues();
+        int[] numNonZeroClass = new int[numClass];
+
+        for (int j = 0; j < numFeatures; j++) {
+            int start = trainSparseData.getColumnStart(j);
+            int end = trainSparseData.getColumnEnd(j);
+            meanFeatures[j] = MathFunc.computeMean(trainSparseData, j);
+
+            //computes the mean values of the feature on each class
+            Arrays.fill(numNonZeroClass, 0);
+            for (int k = start; k < end; k++) {
+                meanFeatureClass[labels[rows[k]]][j] += values[k];
+                numNonZeroClass[labels[rows[k]]]++;
+            }
+            for (int i = 0; i < numClass; i++) {
+                meanFeatureClass[i][j] /= numClassSample[i];
+            }
+
+            //computes the variance values of the feature on each class
+            for (int k = start; k < end; k++) {
+                int label = labels[rows[k]];
+                varianceFeatureClass[label][j] += Math.pow(values[k] - meanFeatureClass[label][j], 2);
+            }
+            for (int i = 0; i < numClass; i++) {
+                varianceFeatureClass[i][j] += (numClassSample[i] - numNonZeroClass[i]) * Math.pow(meanFeatureClass[i][j], 2);
+                varianceFeatureClass[i][j] /= numClassSample[i];
+            }
+        }
+    }
+
     /**
      * Starts the feature selection process by Fisher score(FS) method
      */
@@ -71,41 +124,45 @@ public class FisherScore extends WeightedFilterApproach {
         double[][] meanFeatureClass = new double[numClass][numFeatures]; // the mean values of each feature on each class
         double[][] varianceFeatureClass = new double[numClass][numFeatures]; // the variance values of each feature on each class
         int[] numClassSample = new int[numClass]; // the number of samples in each class
-        int[] indecesFS;
+        int[] labels = trainSparseData != null ? trainSparseData.getLabels() : trainData.getLabels();
 
         //counts the number of samples in each class
-        for (double[] sample : trainSet) {
-            numClassSample[(int) sample[numFeatures]]++;
+        for (int label : labels) {
+            numClassSample[label]++;
         }
 
-        //computes the mean values of each feature
-        for (int i = 0; i < numFeatures; i++) {
-            meanFeatures[i] = MathFunc.computeMean(trainSet, i);
-        }
+        if (trainSparseData != null) {
+            computeSparseStatistics(numClassSample, meanFeatures, meanFeatureClass, varianceFeatureClass);
+        } else {
+            //computes the mean values of each feature
+            for (int i = 0; i < numFeatures; i++) {
+                meanFeatures[i] = MathFunc.computeMean(trainData.getColumn(i));
+            }
 
-        //computes the mean values of each feature on each class
-        for (double[] sample : trainSet) {
-            int indexClass = (int) sample[numFeatures];
+            //computes the mean values of each feature on each class
             for (int j = 0; j < numFeatures; j++) {
-                meanFeatureClass[indexClass][j] += sample[j];
+                double[] column = trainData.getColumn(j);
+                for (int k = 0; k < column.length; k++) {
+                    meanFeatureClass[labels[k]][j] += column[k];
+                }
             }
-        }
-        for (int i = 0; i < numClass; i++) {
-            for (int j = 0; j < numFeatures; j++) {
-                meanFeatureClass[i][j] /= numClassSample[i];
+            for (int i = 0; i < numClass; i++) {
+                for (int j = 0; j < numFeatures; j++) {
+                    meanFeatureClass[i][j] /= numClassSample[i];
+                }
             }
-        }
 
-        //computes the variance values of each feature on each class
-        for (double[] sample : trainSet) {
-            int indexClass = (int) sample[numFeatures];
+            //computes the variance values of each feature on each class
             for (int j = 0; j < numFeatures; j++) {
-                varianceFeatureClass[indexClass][j] += Math.pow(sample[j] - meanFeatureClass[indexClass][j], 2);
+                double[] column = trainData.getColumn(j);
+                for (int k = 0; k < column.length; k++) {
+                    varianceFeatureClass[labels[k]][j] += Math.pow(column[k] - meanFeatureClass[labels[k]][j], 2);
+                }
             }
-        }
-        for (int i = 0; i < numClass; i++) {
-            for (int j = 0; j < numFeatures; j++) {
-                varianceFeatureClass[i][j] /= numClassSample[i];
+            for (int i = 0; i < numClass; i++) {
+                for (int j = 0; j < numFeatures; j++) {
+                    varianceFeatureClass[i][j] /= numClassSample[i];
+                }
             }
         }
 
@@ -124,12 +181,12 @@ public class FisherScore extends WeightedFilterApproach {
             }
         }
 
-        indecesFS = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println("Fisher(f" + i + ") = " + featureValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesFS, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
@@ -24,8 +24,9 @@
 package unifeat.featureSelection.filter.supervised;
 
 import unifeat.util.ArraysFunc;
-import unifeat.util.MathFunc;
-import java.util.Arrays;
+import unifeat.util.InformationFunc;
+import unifeat.dataset.DiscretizationType;
+import unifeat.dataset.DiscretizedDataset;
 import unifeat.featureSelection.filter.WeightedFilterApproach;
 
 /**
@@ -69,20 +70,10 @@ public class GainRatio extends WeightedFilterApproach {
     private double[] splitInformation() {
         double[] splitInformationValues = new double[numFeatures];
 
+        DiscretizedDataset codedData = trainData.getDiscretizedData(DiscretizationType.EXACT, 0);
+
         for (int i = 0; i < numFeatures; i++) {
-            ArraysFunc.sortArray2D(trainSet, i); // sorts the dataset values corresponding to a given feature(feature i)
-            int indexStart = 0;
-            double startValue = trainSet[indexStart][i];
-            for (int j = 1; j < trainSet.length; j++) {
-                if (startValue != trainSet[j][i]) {
-                    double prob = (j - indexStart) / (double) trainSet.length;
-                    splitInformationValues[i] -= prob * MathFunc.log2(prob);
-                    indexStart = j;
-                    startValue = trainSet[indexStart][i];
-                }
-            }
-            double prob = (trainSet.length - indexStart) / (double) trainSet.length;
-            splitInformationValues[i] -= prob * MathFunc.log2(prob);
+            splitInformationValues[i] = InformationFunc.computeEntropy(codedData.getCodes(i), codedData.getNumCodes(i));
             if (splitInformationValues[i] == 0) {
                 splitInformationValues[i] = ERROR_DENOMINATOR;
             }
@@ -99,11 +90,10 @@ public class GainRatio extends WeightedFilterApproach {
         double[] infoGainValues;
         double[] splitInfoValues;
         featureValues = new double[numFeatures];
-        int[] indecesGR;
 
         //computes the information gain values of the data
         InformationGain infoGain = new InformationGain(numFeatures);
-        infoGain.loadDataSet(trainSet, numFeatures, numClass);
+        infoGain.loadDataSet(trainData, numClass);
         infoGain.evaluateFeatures();
         infoGainValues = infoGain.getFeatureValues();
 
@@ -116,8 +106,8 @@ public class GainRatio extends WeightedFilterApproach {
 //            System.out.println(i + ")= " + infoGainValues[i] + " , " + splitInfoValues[i] + " , " + featureValues[i]);
         }
 
-        indecesGR = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), true);
-        selectedFeatureSubset = Arrays.copyOfRange(indecesGR, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
@@ -59,24 +59,18 @@ public class GiniIndex extends WeightedFilterApproach {
     }
 
     /**
-     * Computes the gini value of the data given by start and end indices
+     * Computes the gini value of the data given by the number of samples in
+     * each class
      *
-     * @param indexStart the start index of the dataset
-     * @param indexEnd the end index of the dataset
+     * @param countClassSample the number of samples in each class
+     * @param sizeUsedData the number of samples of the data
      * 
      * @return the gini value
      */
-    private double computeGini(int indexStart, int indexEnd) {
+    private double computeGini(int[] countClassSample, int sizeUsedData) {
         double gini = 0;
-        int sizeUsedData = indexEnd - indexStart;
-        int[] countClassSample = new int[numClass];
 
-        //counts the number of samples in each class
-        for (int i = indexStart; i < indexEnd; i++) {
-            countClassSample[(int) trainSet[i][numFeatures]]++;
-        }
-
-        //computes the gini value of the data given by start and end indeces
+        //computes the gini value of the data given by the number of samples in each class
         for (int i = 0; i < numClass; i++) {
             if (countClassSample[i] != 0) {
                 double prob = countClassSample[i] / (double) sizeUsedData;
@@ -92,35 +86,46 @@ public class GiniIndex extends WeightedFilterApproach {
      */
     @Override
     public void evaluateFeatures() {
-        double giniSystem = computeGini(0, trainSet.length); // computes the gini value of the system (over all dataset)
+        int[] labels = trainData.getLabels();
+        int numSamples = labels.length;
+        int[] countClass = new int[numClass];
+        for (int label : labels) {
+            countClass[label]++;
+        }
+        double giniSystem = computeGini(countClass, numSamples); // computes the gini value of the system (over all dataset)
         featureValues = new double[numFeatures];
-        int[] indecesGI;
 
         //computes the Gini index values of each feature
+        int[] countGroupClass = new int[numClass];
         for (int i = 0; i < numFeatures; i++) {
             double giniFeature = 0;
-            ArraysFunc.sortArray2D(trainSet, i); // sorts the dataset values corresponding to a given feature(feature i)
+            double[] column = trainData.getColumn(i);
+            int[] order = trainData.getSortedIndices(i); // the samples sorted by the values of feature i
             int indexStart = 0;
-            double startValue = trainSet[indexStart][i];
-            for (int j = 1; j < trainSet.length; j++) {
-                if (startValue != trainSet[j][i]) {
-                    double prob = (j - indexStart) / (double) trainSet.length;
-                    giniFeature += prob * computeGini(indexStart, j);
+            double startValue = column[order[indexStart]];
+            Arrays.fill(countGroupClass, 0);
+            countGroupClass[labels[order[indexStart]]]++;
+            for (int j = 1; j < numSamples; j++) {
+                if (startValue != column[order[j]]) {
+                    double prob = (j - indexStart) / (double) numSamples;
+                    giniFeature += prob * computeGini(countGroupClass, j - indexStart);
                     indexStart = j;
-                    startValue = trainSet[indexStart][i];
+                    startValue = column[order[indexStart]];
+                    Arrays.fill(countGroupClass, 0);
                 }
+                countGroupClass[labels[order[j]]]++;
             }
-            double prob = (trainSet.length - indexStart) / (double) trainSet.length;
-            giniFeature += prob * computeGini(indexStart, trainSet.length);
+            double prob = (numSamples - indexStart) / (double) numSamples;
+            giniFeature += prob * computeGini(countGroupClass, numSamples - indexStart);
             featureValues[i] = giniSystem - giniFeature;
         }
 
-        indecesGI = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + featureValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesGI, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
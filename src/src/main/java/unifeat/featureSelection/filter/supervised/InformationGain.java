@@ -24,8 +24,11 @@
 package unifeat.featureSelection.filter.supervised;
 
 import unifeat.util.ArraysFunc;
+import unifeat.util.InformationFunc;
 import unifeat.util.MathFunc;
 import java.util.Arrays;
+import unifeat.dataset.DiscretizationType;
+import unifeat.dataset.DiscretizedDataset;
 import unifeat.featureSelection.filter.WeightedFilterApproach;
 
 /**
@@ -60,22 +63,16 @@ public class InformationGain extends WeightedFilterApproach {
     }
 
     /**
-     * Computes the entropy of the data given by start and end indices
+     * Computes the entropy of the data given by the number of samples in each
+     * class
+     *
+     * @param countClassSample the number of samples in each class
+     * @param sizeUsedData the number of samples of the data
      *
-     * @param indexStart the start index of the dataset
-     * @param indexEnd the end index of the dataset
-     * 
      * @return the entropy value
      */
-    private double computeEntropy(int indexStart, int indexEnd) {
+    private double computeEntropy(int[] countClassSample, int sizeUsedData) {
         double entropy = 0;
-        int sizeUsedData = indexEnd - indexStart;
-        int[] countClassSample = new int[numClass];
-
-        //counts the number of samples in each class
-        for (int i = indexStart; i < indexEnd; i++) {
-            countClassSample[(int) trainSet[i][numFeatures]]++;
-        }
 
         //computes the probability of each class
         for (int i = 0; i < numClass; i++) {
@@ -88,40 +85,145 @@ public class InformationGain extends WeightedFilterApproach {
         return entropy;
     }
 
+    /**
+     * Computes the information gain value of a feature of the sparse train
+     * set. The nonzero values of each class are sorted, and the samples with
+     * equal values are visited in ascending order of the values. All zero
+     * values of the feature are considered as a single group of samples.
+     *
+     * @param index the index of the feature
+     * @param countClass the number of samples in each class
+     * @param entropySystem the entropy of the system (over all dataset)
+     *
+     * @return the information gain value of the feature
+     */
+    private double computeSparseInformationGain(int index, int[] countClass, double entropySystem) {
+        int[] labels = trainSparseData.getLabels();
+        int[] rows = trainSparseData.getRowIndices();
+        double[] values = trainSparseData.getValues();
+        int start = trainSparseData.getColumnStart(index);
+        int end = trainSparseData.getColumnEnd(index);
+        int numSamples = labels.length;
+
+        //sorts the nonzero values of the feature in each class
+        int[] countZeroClass = Arrays.copyOf(countClass, numClass);
+        for (int k = start; k < end; k++) {
+            countZeroClass[labels[rows[k]]]--;
+        }
+        double[][] classValues = new double[numClass][];
+        for (int i = 0; i < numClass; i++) {
+            classValues[i] = new double[countClass[i] - countZeroClass[i]];
+        }
+        int[] positions = new int[numClass];
+        for (int k = start; k < end; k++) {
+            int label = labels[rows[k]];
+            classValues[label][positions[label]++] = values[k];
+        }
+        for (int i = 0; i < numClass; i++) {
+            Arrays.sort(classValues[i]);
+        }
+
+        int numZeros = numSamples - (end - start);
+        boolean isZeroVisited = numZeros == 0;
+        double entropyFeature = 0;
+        int[] countGroupClass = new int[numClass];
+        Arrays.fill(positions, 0);
+        while (true) {
+            //finds the smallest value that has not been visited
+            int minClass = -1;
+            for (int i = 0; i < numClass; i++) {
+                if (positions[i] < classValues[i].length && (minClass == -1
+                        || Double.compare(classValues[i][positions[i]], classValues[minClass][positions[minClass]]) < 0)) {
+                    minClass = i;
+                }
+            }
+            if (minClass == -1) {
+                break;
+            }
+            double value = classValues[minClass][positions[minClass]];
+            if (!isZeroVisited && value > 0) {
+                entropyFeature += (numZeros / (double) numSamples) * computeEntropy(countZeroClass, numZeros);
+                isZeroVisited = true;
+            }
+
+            //counts the samples of each class whose values are equal to the smallest value
+            int sizeGroup = 0;
+            for (int i = 0; i < numClass; i++) {
+                countGroupClass[i] = 0;
+                while (positions[i] < classValues[i].length && Double.compare(classValues[i][positions[i]], value) == 0) {
+                    countGroupClass[i]++;
+                    positions[i]++;
+                }
+                sizeGroup += countGroupClass[i];
+            }
+            entropyFeature += (sizeGroup / (double) numSamples) * computeEntropy(countGroupClass, sizeGroup);
+        }
+        if (!isZeroVisited) {
+            entropyFeature += (numZeros / (double) numSamples) * computeEntropy(countZeroClass, numZeros);
+        }
+
+        return entropySystem - entropyFeature;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
+    /**
+     * Computes the information gain values of each feature of the train set.
+     * The values of each feature are converted to the integer codes, and the
+     * samples are counted in the contingency table of the codes and the class
+     * labels.
+     */
+    private void evaluateDenseFeatures() {
+        int[] labels = trainData.getLabels();
+        int numSamples = labels.length;
+        int[] countClass = new int[numClass];
+        for (int label : labels) {
+            countClass[label]++;
+        }
+        double entropySystem = computeEntropy(countClass, numSamples); // computes the entropy of the system (over all dataset)
+
+        //computes the information gain values of each feature
+        DiscretizedDataset codedData = trainData.getDiscretizedData(DiscretizationType.EXACT, 0);
+        for (int i = 0; i < numFeatures; i++) {
+            double entropyFeature = InformationFunc.computeConditionalEntropy(codedData.getCodes(i), codedData.getNumCodes(i), labels, numClass);
+            featureValues[i] = entropySystem - entropyFeature;
+        }
+    }
+
     /**
      * Starts the feature selection process by information gain(IG) method
      */
     @Override
     public void evaluateFeatures() {
-        double entropySystem = computeEntropy(0, trainSet.length); // computes the entropy of the system (over all dataset)
         featureValues = new double[numFeatures];
-        int[] indecesIG;
 
-        //computes the information gain values of each feature
-        for (int i = 0; i < numFeatures; i++) {
-            double entropyFeature = 0;
-            ArraysFunc.sortArray2D(trainSet, i); // sorts the dataset values corresponding to a given feature(feature i)
-            int indexStart = 0;
-            double startValue = trainSet[indexStart][i];
-            for (int j = 1; j < trainSet.length; j++) {
-                if (startValue != trainSet[j][i]) {
-                    double prob = (j - indexStart) / (double) trainSet.length;
-                    entropyFeature += prob * computeEntropy(indexStart, j);
-                    indexStart = j;
-                    startValue = trainSet[indexStart][i];
-                }
+        if (trainSparseData != null) {
+            int[] countClass = new int[numClass];
+            for (int label : trainSparseData.getLabels()) {
+                countClass[label]++;
             }
-            double prob = (trainSet.length - indexStart) / (double) trainSet.length;
-            entropyFeature += prob * computeEntropy(indexStart, trainSet.length);
-            featureValues[i] = entropySystem - entropyFeature;
+            double entropySystem = computeEntropy(countClass, trainSparseData.getNumSamples()); // computes the entropy of the system (over all dataset)
+
+            //computes the information gain values of each feature
+            for (int i = 0; i < numFeatures; i++) {
+                featureValues[i] = computeSparseInformationGain(i, countClass, entropySystem);
+            }
+        } else {
+            evaluateDenseFeatures();
         }
 
-        indecesIG = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + featureValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesIG, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
@@ -25,7 +25,6 @@ package unifeat.featureSelection.filter.supervised;
 
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
-import java.util.Arrays;
 import unifeat.featureSelection.filter.WeightedFilterApproach;
 
 /**
@@ -73,6 +72,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the nearest neighbor graph
      */
     private boolean[][] constructNeighborGraph() {
+        double[][] trainSet = getTrainSet();
         boolean[][] tempMatrix = new boolean[trainSet.length][trainSet.length];
 
         for (int i = 0; i < trainSet.length; i++) {
@@ -95,6 +95,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the weight matrix
      */
     private double[][] constructWeightMatrix(boolean[][] neighborGraph) {
+        double[][] trainSet = getTrainSet();
         double[][] tempMatrix = new double[trainSet.length][trainSet.length];
 
         for (int i = 0; i < trainSet.length; i++) {
@@ -122,7 +123,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the diagonal matrix
      */
     private double[][] constructDiagonalMatrix(double[][] simMatrix) {
-        double[][] tempMatrix = new double[trainSet.length][trainSet.length];
+        double[][] tempMatrix = new double[getNumTrainSamples()][getNumTrainSamples()];
 
         for (int i = 0; i < tempMatrix.length; i++) {
             for (int j = 0; j < tempMatrix.length; j++) {
@@ -141,6 +142,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the estimation of the features
      */
     private double[][] estimateFeatureMatrix(double[][] diag, int index) {
+        double[][] trainSet = getTrainSet();
         double numeratorValue = 0;
         double denominatorValue = 0;
         double fractionResult;
@@ -176,6 +178,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return true if the all values is equal to zero
      */
     private boolean isZeroFeat(int index) {
+        double[][] trainSet = getTrainSet();
         for (double[] sample : trainSet) {
             if (sample[index] != 0) {
                 return false;
@@ -205,11 +208,10 @@ public class LaplacianScore extends WeightedFilterApproach {
     public void evaluateFeatures() {
         boolean[][] nearestNeighborGraph; // nearest neighbor graph
         double[][] weightMatrix; // weight matrix of the data space
-        double[][] identityMatrix = new double[trainSet.length][1]; // identity matrix
+        double[][] identityMatrix = new double[getNumTrainSamples()][1]; // identity matrix
         double[][] diagonalMatrix; // diagonal matrix
         double[][] graphLaplacian; // graph Laplacian
         featureValues = new double[numFeatures];
-        int[] indecesLS;
 
         //constructs an identity matrix
         for (double[] row : identityMatrix) {
@@ -244,12 +246,12 @@ public class LaplacianScore extends WeightedFilterApproach {
             }
         }
 
-        indecesLS = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), false);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + featureValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesLS, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, false);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
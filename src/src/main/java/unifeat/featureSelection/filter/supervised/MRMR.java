@@ -24,7 +24,9 @@
 package unifeat.featureSelection.filter.supervised;
 
 import unifeat.util.ArraysFunc;
-import unifeat.util.MathFunc;
+import unifeat.util.InformationFunc;
+import unifeat.dataset.DiscretizationType;
+import unifeat.dataset.DiscretizedDataset;
 import unifeat.featureSelection.filter.FilterApproach;
 
 /**
@@ -37,20 +39,29 @@ import unifeat.featureSelection.filter.FilterApproach;
  */
 public class MRMR extends FilterApproach {
 
-    private double[][] probFeature;
-    private double[][] valuesFeature;
+    private DiscretizationType discretizationType;
+    private int numBins;
+    private int[][] codes;
+    private int[] numCodes;
     //private double ERROR_DENOMINATOR = 0.0001;
 
     /**
      * Initializes the parameters
      *
      * @param arguments array of parameters contains 
-     * (<code>sizeSelectedFeatureSubset</code>) in which 
+     * (<code>sizeSelectedFeatureSubset</code>, <code>discretizationType</code>,
+     * <code>numBins</code>) in which 
      * <code><b><i>sizeSelectedFeatureSubset</i></b></code> is the number of 
-     * selected features
+     * selected features, <code><b><i>discretizationType</i></b></code> is the
+     * method used to convert the values of the features to codes, and
+     * <code><b><i>numBins</i></b></code> is the number of bins of the equal
+     * width and equal frequency methods. The last two parameters are optional
+     * and each distinct value of a feature is used as a code by default.
      */
     public MRMR(Object... arguments) {
         super((int)arguments[0]);
+        discretizationType = arguments.length > 1 ? (DiscretizationType) arguments[1] : DiscretizationType.EXACT;
+        numBins = arguments.length > 2 ? (int) arguments[2] : 0;
     }
     
     /**
@@ -59,103 +70,22 @@ public class MRMR extends FilterApproach {
      * @param sizeSelectedFeatureSubset the number of selected features
      */
     public MRMR(int sizeSelectedFeatureSubset) {
-        super(sizeSelectedFeatureSubset);
-    }
-
-    /**
-     * Computes the number of different values of each feature
-     *
-     * @param index the index of the feature
-     *
-     * @return the number of different values
-     */
-    private int computeNumValue(int index) {
-        int count = 0;
-
-        for (int i = 1; i < trainSet.length; i++) {
-            if (trainSet[i][index] != trainSet[i - 1][index]) {
-                count++;
-            }
-        }
-
-        return count + 1;
+        this(sizeSelectedFeatureSubset, DiscretizationType.EXACT, 0);
     }
 
     /**
-     * Saves the different values of each feature
-     *
-     * @param index the index of the feature
-     */
-    private void computeDifferentValue(int index) {
-        int count = 0;
-
-        for (int i = 1; i < trainSet.length; i++) {
-            if (trainSet[i][index] != trainSet[i - 1][index]) {
-                valuesFeature[index][count++] = trainSet[i - 1][index];
-            }
-        }
-        valuesFeature[index][count] = trainSet[trainSet.length - 1][index];
-    }
-
-    /**
-     * Computes the probabilities values of each feature
-     *
-     * @param index the index of the feature
-     */
-    private void computeProbFeat(int index) {
-        int count = 0;
-        int indexStart = 0;
-
-        for (int i = 1; i < trainSet.length; i++) {
-            if (trainSet[i][index] != trainSet[i - 1][index]) {
-                probFeature[index][count++] = (i - indexStart) / (double) trainSet.length; // probability of the feature based on its given value
-//                if (probFeature[index][count - 1] == 0) {
-//                    probFeature[index][count - 1] = ERROR_DENOMINATOR;
-//                }
-                indexStart = i;
-            }
-        }
-        probFeature[index][count] = (trainSet.length - indexStart) / (double) trainSet.length; // probability of the feature based on its given value
-//        if (probFeature[index][count] == 0) {
-//            probFeature[index][count] = ERROR_DENOMINATOR;
-//        }
-    }
-
-    /**
-     * Computes the joint probabilities values between two features
-     *
-     * @param indexFeat2 the index of the second feature
-     * @param indexStartData the start index of the dataset
-     * @param indexEndData the end index of the dataset
+     * Initializes the parameters
      *
-     * @return an array of the joint probabilities values
+     * @param sizeSelectedFeatureSubset the number of selected features
+     * @param discretizationType the method used to convert the values of the
+     * features to codes
+     * @param numBins the number of bins of the equal width and equal frequency
+     * methods
      */
-    private double[] computeJointProb(int indexFeat2, int indexStartData, int indexEndData) {
-        double[] jointProbValue = new double[probFeature[indexFeat2].length];
-        ArraysFunc.sortArray2D(trainSet, indexFeat2, indexStartData, indexEndData); //sorts the dataset values corresponding to a given feature(feature indexFeat2)
-        int indexStart = indexStartData;
-        int j = -1;
-
-        for (int i = indexStartData + 1; i < indexEndData; i++) {
-            if (trainSet[i][indexFeat2] != trainSet[i - 1][indexFeat2]) {
-                for (j = j + 1; j < valuesFeature[indexFeat2].length; j++) {
-                    if (valuesFeature[indexFeat2][j] == trainSet[i - 1][indexFeat2]) {
-                        jointProbValue[j] = (i - indexStart) / (double) trainSet.length; //probability of the feature based on its given value
-                        break;
-                    }
-                }
-                indexStart = i;
-            }
-        }
-
-        for (j = j + 1; j < valuesFeature[indexFeat2].length; j++) {
-            if (valuesFeature[indexFeat2][j] == trainSet[indexEndData - 1][indexFeat2]) {
-                jointProbValue[j] = (indexEndData - indexStart) / (double) trainSet.length; //probability of the feature based on its given value
-                break;
-            }
-        }
-
-        return jointProbValue;
+    public MRMR(int sizeSelectedFeatureSubset, DiscretizationType discretizationType, int numBins) {
+        super(sizeSelectedFeatureSubset);
+        this.discretizationType = discretizationType;
+        this.numBins = numBins;
     }
 
     /**
@@ -167,39 +97,7 @@ public class MRMR extends FilterApproach {
      * @return the mutual information value
      */
     private double computeMutualInfo(int index1, int index2) {
-        double mutualInfoValue = 0;
-        ArraysFunc.sortArray2D(trainSet, index1); //sorts the dataset values corresponding to a given feature(feature index1)
-        int indexStart = 0;
-
-        for (int i = 1; i < trainSet.length; i++) {
-            if (trainSet[i][index1] != trainSet[i - 1][index1]) {
-                double probFeat1 = (i - indexStart) / (double) trainSet.length; //probability of the feature based on its given value
-                double[] jointProb = computeJointProb(index2, indexStart, i); //joint probabilitis values between feature index1 and index2
-
-                //update mutual information value of the given feature
-                for (int j = 0; j < jointProb.length; j++) {
-                    if (jointProb[j] != 0) {
-                        double denominatorValue = probFeat1 * probFeature[index2][j];
-                        mutualInfoValue += jointProb[j] * MathFunc.log2(jointProb[j] / denominatorValue);
-                    }
-                }
-
-                indexStart = i;
-            }
-        }
-
-        double probFeat1 = (trainSet.length - indexStart) / (double) trainSet.length; //probability of the feature based on its given value
-        double[] jointProb = computeJointProb(index2, indexStart, trainSet.length); //joint probabilitis values between feature index1 and index2
-
-        //update mutual information value of the given feature
-        for (int j = 0; j < jointProb.length; j++) {
-            if (jointProb[j] != 0) {
-                double denominatorValue = probFeat1 * probFeature[index2][j];
-                mutualInfoValue += jointProb[j] * MathFunc.log2(jointProb[j] / denominatorValue);
-            }
-        }
-
-        return mutualInfoValue;
+        return InformationFunc.computeMutualInfo(codes[index1], numCodes[index1], codes[index2], numCodes[index2]);
     }
 
     /**
@@ -240,6 +138,17 @@ public class MRMR extends FilterApproach {
         return false;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The features are selected one by one, so the subset of each size is the
+     * first features in the order of their selection.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by minimal redundancy maximal 
      * relevance (mRMR) method
@@ -247,17 +156,18 @@ public class MRMR extends FilterApproach {
     @Override
     public void evaluateFeatures() {
         double[] mutualInfoFeatClass = new double[numFeatures]; //mutual information values between features and class
-        probFeature = new double[numFeatures + 1][]; //probabilities values of the features (+ class feature)
-        valuesFeature = new double[numFeatures + 1][]; //different values of the features (+ class feature)
+        double[] redundancy = new double[numFeatures]; //sum of mutual information values between features and selected features
+        codes = new int[numFeatures + 1][]; //codes of the values of the features (+ class feature)
+        numCodes = new int[numFeatures + 1];
 
-        //computes the probabilities values of each feature
-        for (int i = 0; i <= numFeatures; i++) {
-            ArraysFunc.sortArray2D(trainSet, i); //sorts the dataset values corresponding to a given feature(feature i)
-            probFeature[i] = new double[computeNumValue(i)]; //computes the number of different values in feature i
-            valuesFeature[i] = new double[probFeature[i].length];
-            computeDifferentValue(i); //saves the different values of each feature
-            computeProbFeat(i); //computes the probabilities values of each feature
+        //converts the values of each feature to codes
+        DiscretizedDataset codedData = trainData.getDiscretizedData(discretizationType, numBins);
+        for (int i = 0; i < numFeatures; i++) {
+            codes[i] = codedData.getCodes(i);
+            numCodes[i] = codedData.getNumCodes(i);
         }
+        codes[numFeatures] = trainData.getLabels();
+        numCodes[numFeatures] = numClass;
 
         //computes the mutual information values between features and class
         for (int i = 0; i < numFeatures; i++) {
@@ -273,11 +183,8 @@ public class MRMR extends FilterApproach {
             //finds the relevant feature from the current features set
             for (int j = 0; j < numFeatures; j++) {
                 if (!isSelectedFeature(j, i)) {
-                    double result = 0;
-                    for (int k = 0; k < i; k++) {
-                        result += computeMutualInfo(j, selectedFeatureSubset[k]);
-                    }
-                    result /= i;
+                    redundancy[j] += computeMutualInfo(j, selectedFeatureSubset[i - 1]); //only the last selected feature is new
+                    double result = redundancy[j] / i;
                     result = mutualInfoFeatClass[j] - result;
                     if (result > maxValue) {
                         maxValue = result;
@@ -288,9 +195,22 @@ public class MRMR extends FilterApproach {
             selectedFeatureSubset[i] = indexMaxValue;
         }
 
+        featureRanking = selectedFeatureSubset.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
     }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public String validate() {
+        if ((discretizationType == DiscretizationType.EQUAL_WIDTH
+                || discretizationType == DiscretizationType.EQUAL_FREQUENCY) && numBins < 2) {
+            return "The parameter values of MRMR (number of bins) are incorrect.";
+        }
+        return "";
+    }
 }
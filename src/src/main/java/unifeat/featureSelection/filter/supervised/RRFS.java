@@ -24,8 +24,9 @@
 package unifeat.featureSelection.filter.supervised;
 
 import unifeat.util.ArraysFunc;
-import unifeat.util.MathFunc;
 import java.util.Arrays;
+import unifeat.dataset.SimilarityMatrix;
+import unifeat.dataset.SimilarityType;
 import unifeat.featureSelection.filter.FilterApproach;
 
 /**
@@ -65,6 +66,25 @@ public class RRFS extends FilterApproach {
         MAX_SIM_VALUE = maxSimilarity;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The features are selected one by one, so the subset of each size is the
+     * first features in the order of their selection.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by relevance-redundancy feature
      * selection(RRFS) method
@@ -77,7 +97,7 @@ public class RRFS extends FilterApproach {
 
         //computes the Fisher score values of the data
         FisherScore fScore = new FisherScore(numFeatures);
-        fScore.loadDataSet(trainSet, numFeatures, numClass);
+        shareTrainSet(fScore);
         fScore.evaluateFeatures();
         fScoreValues = fScore.getFeatureValues();
 
@@ -89,11 +109,14 @@ public class RRFS extends FilterApproach {
         indexFeatures = ArraysFunc.sortWithIndex(fScoreValues, true);
 
         //starts the feature selection process
+        SimilarityMatrix simMatrix = getCachedSimilarityMatrix(SimilarityType.COSINE); //reuses the similarity values computed by the other methods
         selectedFeatureSubset[0] = indexFeatures[0];
         prev = 0;
         next = 1;
         for (int i = 1; i < numFeatures && next < numSelectedFeature; i++) {
-            double simValue = Math.abs(MathFunc.computeSimilarity(trainSet, indexFeatures[i], indexFeatures[prev]));
+            double simValue = Math.abs(simMatrix != null
+                    ? simMatrix.getValue(indexFeatures[i], indexFeatures[prev])
+                    : computeSimilarity(indexFeatures[i], indexFeatures[prev]));
             if (simValue < MAX_SIM_VALUE) {
                 selectedFeatureSubset[next] = indexFeatures[i];
                 prev = i;
@@ -108,6 +131,7 @@ public class RRFS extends FilterApproach {
         if (next < numSelectedFeature) {
             selectedFeatureSubset = Arrays.copyOfRange(selectedFeatureSubset, 0, next);
         }
+        featureRanking = selectedFeatureSubset.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
     }
 }
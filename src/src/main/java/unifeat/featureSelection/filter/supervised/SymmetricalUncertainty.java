@@ -24,8 +24,10 @@
 package unifeat.featureSelection.filter.supervised;
 
 import unifeat.util.ArraysFunc;
+import unifeat.util.InformationFunc;
 import unifeat.util.MathFunc;
-import java.util.Arrays;
+import unifeat.dataset.DiscretizationType;
+import unifeat.dataset.DiscretizedDataset;
 import unifeat.featureSelection.filter.WeightedFilterApproach;
 
 /**
@@ -70,13 +72,14 @@ public class SymmetricalUncertainty extends WeightedFilterApproach {
      * @return the entropy value
      */
     private double computeEntropy(int indexStart, int indexEnd) {
+        int[] labels = trainData.getLabels();
         double entropy = 0;
         int sizeUsedData = indexEnd - indexStart;
         int[] countClassSample = new int[numClass];
 
         //counts the number of samples in each class
         for (int i = indexStart; i < indexEnd; i++) {
-            countClassSample[(int) trainSet[i][numFeatures]]++;
+            countClassSample[labels[i]]++;
         }
 
         //computes the probability of each class
@@ -95,15 +98,14 @@ public class SymmetricalUncertainty extends WeightedFilterApproach {
      */
     @Override
     public void evaluateFeatures() {
-        double entropySystem = computeEntropy(0, trainSet.length); // computes the entropy of the system (over all dataset)
+        double entropySystem = computeEntropy(0, getNumTrainSamples()); // computes the entropy of the system (over all dataset)
         double[] infoGainValues;
         double[] featureEntropyValues = new double[numFeatures];
         featureValues = new double[numFeatures];
-        int[] indecesSU;
 
         //computes the information gain values of the data
         InformationGain infoGain = new InformationGain(numFeatures);
-        infoGain.loadDataSet(trainSet, numFeatures, numClass);
+        infoGain.loadDataSet(trainData, numClass);
         infoGain.evaluateFeatures();
         infoGainValues = infoGain.getFeatureValues();
 //        for (int i = 0; i < infoGainValues.length; i++) {
@@ -111,20 +113,9 @@ public class SymmetricalUncertainty extends WeightedFilterApproach {
 //        }
 
         //computes the entropy values of each feature
+        DiscretizedDataset codedData = trainData.getDiscretizedData(DiscretizationType.EXACT, 0);
         for (int i = 0; i < numFeatures; i++) {
-            ArraysFunc.sortArray2D(trainSet, i); // sorts the dataset values corresponding to a given feature(feature i)
-            int indexStart = 0;
-            double startValue = trainSet[indexStart][i];
-            for (int j = 1; j < trainSet.length; j++) {
-                if (startValue != trainSet[j][i]) {
-                    double prob = (j - indexStart) / (double) trainSet.length;
-                    featureEntropyValues[i] -= prob * MathFunc.log2(prob);
-                    indexStart = j;
-                    startValue = trainSet[indexStart][i];
-                }
-            }
-            double prob = (trainSet.length - indexStart) / (double) trainSet.length;
-            featureEntropyValues[i] -= prob * MathFunc.log2(prob);
+            featureEntropyValues[i] = InformationFunc.computeEntropy(codedData.getCodes(i), codedData.getNumCodes(i));
         }
 
         //computes the symmetrical uncertainty values
@@ -136,12 +127,12 @@ public class SymmetricalUncertainty extends WeightedFilterApproach {
             }
         }
 
-        indecesSU = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + featureValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesSU, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
@@ -26,8 +26,12 @@ package unifeat.featureSelection.filter.unsupervised;
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
+import unifeat.dataset.SimilarityMatrix;
+import unifeat.dataset.SimilarityType;
 import unifeat.featureSelection.filter.FilterApproach;
+import unifeat.util.WorkerPool;
 
 /**
  * This java class is used to implement the incremental relevance-redundancy
@@ -49,15 +53,15 @@ public class IRRFSACO_1 extends FilterApproach {
     private final double PROB_CHOOSE_EQUATION;
     private int[][] antSubsetSelected;
     private double[] relevanceFeature;
-    private double[] simValues;
+    private SimilarityMatrix simValues;
     private double[] pheromoneValues;
     private int[] featureCounter;
     private boolean[][] tabuList;
     private int[] currentState;
-//    private final int SEED_VALUE = 0;
+    private SplittableRandom randNumber;
+    private SplittableRandom[] antRandNumbers;
     private final double ERROR_SIMILARITY = 0.0001;
     private final double ERROR_RELEVANCE = 0.0001;
-//    private Random RAND_NUMBER = new Random(SEED_VALUE);
 
     /**
      * Initializes the parameters
@@ -109,22 +113,6 @@ public class IRRFSACO_1 extends FilterApproach {
         PROB_CHOOSE_EQUATION = q0_Parameter;
     }
 
-    /**
-     * Finds index in new Data Structure(Symmetric Matrix)
-     *
-     * @param index1 index of the row
-     * @param index2 index of the column
-     *
-     * @return the index in new Data Structure
-     */
-    private static int findIndex(int index1, int index2) {
-        if (index1 < index2) {
-            return ((index2 * (index2 - 1)) / 2) + index1;
-        } else {
-            return ((index1 * (index1 - 1)) / 2) + index2;
-        }
-    }
-
     /**
      * Computes the relevance of each feature using the normalized term variance
      * (the relevance values normalized by softmax scaling function)
@@ -136,7 +124,7 @@ public class IRRFSACO_1 extends FilterApproach {
 
         //computes the term variance values of the data
         TermVariance tv = new TermVariance(numFeatures);
-        tv.loadDataSet(trainSet, numFeatures, numClass);
+        shareTrainSet(tv);
         tv.evaluateFeatures();
         relevanceFeature = tv.getFeatureValues();
 
@@ -182,8 +170,7 @@ public class IRRFSACO_1 extends FilterApproach {
         for (int i = 0; i < NUM_ANTS; i++) {
             //finds starting node randomly
             while (true) {
-                int rand = new Random().nextInt(numFeatures);
-//                int rand = RAND_NUMBER.nextInt(numFeatures);
+                int rand = randNumber.nextInt(numFeatures);
                 if (!checkArray[rand]) {
                     currentState[i] = rand;
                     checkArray[rand] = true;
@@ -212,8 +199,7 @@ public class IRRFSACO_1 extends FilterApproach {
             if (!tabuList[indexAnt][j]) {
                 double averageSim = 0;
                 for (int i = 0; i < currentSize; i++) {
-                    int newIndex = findIndex(antSubsetSelected[indexAnt][i], j);
-                    averageSim += simValues[newIndex];
+                    averageSim += Math.abs(simValues.getValue(antSubsetSelected[indexAnt][i], j));
                 }
                 averageSim /= currentSize;
                 double result = pheromoneValues[j] / Math.pow(averageSim + ERROR_SIMILARITY, BETA);
@@ -237,16 +223,14 @@ public class IRRFSACO_1 extends FilterApproach {
      */
     private int probRule(int indexAnt, int currentSize) {
         int index = -1;
-        double rand = new Random().nextDouble();
-//        double rand = RAND_NUMBER.nextDouble();
+        double rand = antRandNumbers[indexAnt].nextDouble();
         double[] prob = new double[numFeatures];
         double sumOfProb = 0;
         for (int j = 0; j < numFeatures; j++) {
             if (!tabuList[indexAnt][j]) {
                 double averageSim = 0;
                 for (int i = 0; i < currentSize; i++) {
-                    int newIndex = findIndex(antSubsetSelected[indexAnt][i], j);
-                    averageSim += simValues[newIndex];
+                    averageSim += Math.abs(simValues.getValue(antSubsetSelected[indexAnt][i], j));
                 }
                 averageSim /= currentSize;
                 prob[j] = pheromoneValues[j] / Math.pow(averageSim + ERROR_SIMILARITY, BETA);
@@ -267,8 +251,7 @@ public class IRRFSACO_1 extends FilterApproach {
         //if the next node(feature) is not selected by previous process
         if (index == -1) {
             while (true) {
-//                int rand1 = RAND_NUMBER.nextInt(numFeatures);
-                int rand1 = new Random().nextInt(numFeatures);
+                int rand1 = antRandNumbers[indexAnt].nextInt(numFeatures);
                 if (!tabuList[indexAnt][rand1]) {
                     index = rand1;
                     break;
@@ -289,8 +272,7 @@ public class IRRFSACO_1 extends FilterApproach {
      * @return the index of the selected feature
      */
     private int stateTransitionRules(int indexAnt, int currentSize) {
-        double q = new Random().nextDouble();
-//        double q = RAND_NUMBER.nextDouble();
+        double q = antRandNumbers[indexAnt].nextDouble();
         if (q <= PROB_CHOOSE_EQUATION) {
             return greedyRule(indexAnt, currentSize);
         } else {
@@ -298,6 +280,25 @@ public class IRRFSACO_1 extends FilterApproach {
         }
     }
 
+    /**
+     * Selects the predefined number of features by the given ant. The ant only
+     * reads the pheromone values and writes into its own tabu list, so the
+     * tours of the ants are constructed concurrently.
+     *
+     * @param indexAnt the index of the ant
+     * @param counter the feature counter of the worker thread which counts the
+     * selected features
+     */
+    private void constructTour(int indexAnt, int[] counter) {
+        for (int i = 1; i < NUM_FEAT_OF_ANT; i++) {
+            int newFeature = stateTransitionRules(indexAnt, i);
+            tabuList[indexAnt][newFeature] = true;
+            antSubsetSelected[indexAnt][i] = newFeature;
+            counter[newFeature]++;
+            currentState[indexAnt] = newFeature;
+        }
+    }
+
     /**
      * Updates intensity of pheromone values
      */
@@ -309,6 +310,14 @@ public class IRRFSACO_1 extends FilterApproach {
         }
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by incremental relevance–redundancy
      * feature selection based on ant colony optimization, version1 (IRRFSACO_1)
@@ -316,7 +325,6 @@ public class IRRFSACO_1 extends FilterApproach {
      */
     @Override
     public void evaluateFeatures() {
-//        RAND_NUMBER = new Random(SEED_VALUE);
         if (TEMP_NUM_FEAT_OF_ANT == 0) {
             NUM_FEAT_OF_ANT = numSelectedFeature;
         }
@@ -327,13 +335,12 @@ public class IRRFSACO_1 extends FilterApproach {
 
         antSubsetSelected = new int[NUM_ANTS][NUM_FEAT_OF_ANT];
         relevanceFeature = new double[numFeatures];
-        simValues = new double[(numFeatures * (numFeatures - 1)) / 2];
         featureCounter = new int[numFeatures];
         tabuList = new boolean[NUM_ANTS][numFeatures];
         currentState = new int[NUM_ANTS];
+        randNumber = new SplittableRandom(seed);
+        antRandNumbers = MathFunc.splitRandomStreams(randNumber, NUM_ANTS);
         pheromoneValues = new double[numFeatures];
-        int[] indecesFeature;
-        int counter = 0;
 
         //computes the relevance values of the features
         computeRelevance();
@@ -344,11 +351,7 @@ public class IRRFSACO_1 extends FilterApproach {
         }
 
         //computes the similarity values between pairs of feature
-        for (int i = 0; i < numFeatures; i++) {
-            for (int j = 0; j < i; j++) {
-                simValues[counter++] = Math.abs(MathFunc.computeSimilarity(trainSet, i, j));
-            }
-        }
+        simValues = getSimilarityMatrix(SimilarityType.COSINE);
 
         //starts the feature selection process
         for (int nc = 0; nc < MAX_ITERATION; nc++) {
@@ -365,32 +368,42 @@ public class IRRFSACO_1 extends FilterApproach {
             //places the ants randomly on the nodes in the graph
             setStartNode();
 
-            //selects predefined number of features for all ants
-            for (int i = 1; i < NUM_FEAT_OF_ANT; i++) {
-                for (int k = 0; k < NUM_ANTS; k++) {
-                    int newFeature = stateTransitionRules(k, i);
-                    tabuList[k][newFeature] = true;
-                    antSubsetSelected[k][i] = newFeature;
-                    featureCounter[newFeature]++;
-                    currentState[k] = newFeature;
+            //selects predefined number of features for all ants concurrently
+            List<int[]> counters = WorkerPool.common().runTasks(NUM_ANTS, () -> new int[numFeatures], (counter, k) -> constructTour(k, counter));
+
+            //merges the feature counters of the worker threads
+            for (int[] counter : counters) {
+                for (int i = 0; i < numFeatures; i++) {
+                    featureCounter[i] += counter[i];
                 }
             }
             //updates intensity of the pheromone values
             pheromoneUpdatingRule();
         }
 
-        indecesFeature = ArraysFunc.sortWithIndex(Arrays.copyOf(pheromoneValues, pheromoneValues.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + pheromoneValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesFeature, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(pheromoneValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If the number of features for ant is not given, it depends on the size of
+     * the subset, and so the subsets of the different sizes are not nested.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return TEMP_NUM_FEAT_OF_ANT != 0;
+    }
+
     /**
      * {@inheritDoc }
      */
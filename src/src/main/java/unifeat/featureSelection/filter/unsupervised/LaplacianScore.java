@@ -25,7 +25,6 @@ package unifeat.featureSelection.filter.unsupervised;
 
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
-import java.util.Arrays;
 import unifeat.featureSelection.filter.WeightedFilterApproach;
 
 /**
@@ -79,6 +78,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the nearest neighbor graph
      */
     private boolean[][] constructNeighborGraph() {
+        double[][] trainSet = getTrainSet();
         boolean[][] tempMatrix = new boolean[trainSet.length][trainSet.length];
 
         for (int i = 0; i < trainSet.length; i++) {
@@ -98,7 +98,7 @@ public class LaplacianScore extends WeightedFilterApproach {
                 }
             }
 
-            indexDataSort = ArraysFunc.sortWithIndex(distance, false);
+            indexDataSort = ArraysFunc.selectTopIndices(distance, K_NEAREST_NEIGHBOR_VALUE, false);
 
             for (int j = 0; j < K_NEAREST_NEIGHBOR_VALUE; j++) {
                 tempMatrix[i][indexDataSort[j]] = tempMatrix[indexDataSort[j]][i] = true;
@@ -117,6 +117,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the weight matrix
      */
     private double[][] constructWeightMatrix(boolean[][] neighborGraph) {
+        double[][] trainSet = getTrainSet();
         double[][] tempMatrix = new double[trainSet.length][trainSet.length];
 
         for (int i = 0; i < trainSet.length; i++) {
@@ -144,7 +145,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the diagonal matrix
      */
     private double[][] constructDiagonalMatrix(double[][] simMatrix) {
-        double[][] tempMatrix = new double[trainSet.length][trainSet.length];
+        double[][] tempMatrix = new double[getNumTrainSamples()][getNumTrainSamples()];
 
         for (int i = 0; i < tempMatrix.length; i++) {
             for (int j = 0; j < tempMatrix.length; j++) {
@@ -163,6 +164,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return the estimation of the features
      */
     private double[][] estimateFeatureMatrix(double[][] diag, int index) {
+        double[][] trainSet = getTrainSet();
         double numeratorValue = 0;
         double denominatorValue = 0;
         double fractionResult;
@@ -198,6 +200,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      * @return true if the all values is equal to zero
      */
     private boolean isZeroFeat(int index) {
+        double[][] trainSet = getTrainSet();
         for (double[] sample : trainSet) {
             if (sample[index] != 0) {
                 return false;
@@ -227,11 +230,10 @@ public class LaplacianScore extends WeightedFilterApproach {
     public void evaluateFeatures() {
         boolean[][] nearestNeighborGraph; // nearest neighbor graph
         double[][] weightMatrix; // weight matrix of the data space
-        double[][] identityMatrix = new double[trainSet.length][1]; // identity matrix
+        double[][] identityMatrix = new double[getNumTrainSamples()][1]; // identity matrix
         double[][] diagonalMatrix; // diagonal matrix
         double[][] graphLaplacian; // graph Laplacian
         featureValues = new double[numFeatures];
-        int[] indecesLS;
 
         //constructs an identity matrix
         for (double[] row : identityMatrix) {
@@ -266,12 +268,12 @@ public class LaplacianScore extends WeightedFilterApproach {
             }
         }
 
-        indecesLS = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), false);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + featureValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesLS, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, false);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
@@ -283,7 +285,7 @@ public class LaplacianScore extends WeightedFilterApproach {
      */
     @Override
     public String validate() {
-        if (K_NEAREST_NEIGHBOR_VALUE >= trainSet.length) {
+        if (K_NEAREST_NEIGHBOR_VALUE >= getNumTrainSamples()) {
             return "The parameter value of Laplacian score (k-nearest neighbor) is incorrect.";
         }
         return "";
@@ -26,8 +26,12 @@ package unifeat.featureSelection.filter.unsupervised;
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.SplittableRandom;
+import unifeat.dataset.SimilarityMatrix;
+import unifeat.dataset.SimilarityType;
+import unifeat.dataset.TriangularMatrix;
 import unifeat.featureSelection.filter.FilterApproach;
+import unifeat.util.WorkerPool;
 
 /**
  * This java class is used to implement the microarray gene selection based on
@@ -49,15 +53,16 @@ public class MGSACO extends FilterApproach {
     private int[][] antSubsetSelected;
     private double[] antPerformValues;
     private double[] relevanceFeature;
-    private double[] simValues;
-    private double[] pheromoneValues;
-    private int[] edgeCounter;
+    private SimilarityMatrix simValues;
+    private TriangularMatrix pheromoneValues;
+    private long[][] antEdges;
+    private long[] visitedEdges;
     private boolean[][] tabuList;
     private int[] currentState;
-//    private final int SEED_VALUE = 0;
+    private SplittableRandom randNumber;
+    private SplittableRandom[] antRandNumbers;
     private final double ERROR_SIMILARITY = 0.0001;
     private final double ERROR_RELEVANCE = 0.0001;
-//    private Random RAND_NUMBER = new Random(SEED_VALUE);
 
     /**
      * Initializes the parameters
@@ -108,22 +113,6 @@ public class MGSACO extends FilterApproach {
         PROB_CHOOSE_EQUATION = q0_Parameter;
     }
 
-    /**
-     * Finds index in new Data Structure(Symmetric Matrix)
-     *
-     * @param index1 index of the row
-     * @param index2 index of the column
-     *
-     * @return the index in new Data Structure
-     */
-    private static int findIndex(int index1, int index2) {
-        if (index1 < index2) {
-            return ((index2 * (index2 - 1)) / 2) + index1;
-        } else {
-            return ((index1 * (index1 - 1)) / 2) + index2;
-        }
-    }
-
     /**
      * Computes the relevance of each feature using the normalized term variance
      * (the relevance values normalized by softmax scaling function)
@@ -135,7 +124,7 @@ public class MGSACO extends FilterApproach {
 
         //computes the term variance values of the data
         TermVariance tv = new TermVariance(numFeatures);
-        tv.loadDataSet(trainSet, numFeatures, numClass);
+        shareTrainSet(tv);
         tv.evaluateFeatures();
         relevanceFeature = tv.getFeatureValues();
 
@@ -181,8 +170,7 @@ public class MGSACO extends FilterApproach {
         for (int i = 0; i < NUM_ANTS; i++) {
             //finds starting node randomly
             while (true) {
-                int rand = new Random().nextInt(numFeatures);
-//                int rand = RAND_NUMBER.nextInt(numFeatures);
+                int rand = randNumber.nextInt(numFeatures);
                 if (!checkArray[rand]) {
                     currentState[i] = rand;
                     checkArray[rand] = true;
@@ -208,8 +196,8 @@ public class MGSACO extends FilterApproach {
 
         for (int j = 0; j < numFeatures; j++) {
             if (!tabuList[indexAnt][j]) {
-                int newIndex = findIndex(currentState[indexAnt], j);
-                double result = pheromoneValues[newIndex] / Math.pow(simValues[newIndex] + ERROR_SIMILARITY, BETA);
+                long newIndex = TriangularMatrix.findIndex(currentState[indexAnt], j);
+                double result = pheromoneValues.get(newIndex) / Math.pow(Math.abs(simValues.getValue(newIndex)) + ERROR_SIMILARITY, BETA);
                 if (result > max) {
                     max = result;
                     index = j;
@@ -229,14 +217,13 @@ public class MGSACO extends FilterApproach {
      */
     private int probRule(int indexAnt) {
         int index = -1;
-        double rand = new Random().nextDouble();
-//        double rand = RAND_NUMBER.nextDouble();
+        double rand = antRandNumbers[indexAnt].nextDouble();
         double[] prob = new double[numFeatures];
         double sumOfProb = 0;
         for (int j = 0; j < numFeatures; j++) {
             if (!tabuList[indexAnt][j]) {
-                int newIndex = findIndex(currentState[indexAnt], j);
-                prob[j] = pheromoneValues[newIndex] / Math.pow(simValues[newIndex] + ERROR_SIMILARITY, BETA);
+                long newIndex = TriangularMatrix.findIndex(currentState[indexAnt], j);
+                prob[j] = pheromoneValues.get(newIndex) / Math.pow(Math.abs(simValues.getValue(newIndex)) + ERROR_SIMILARITY, BETA);
                 sumOfProb += prob[j];
             }
         }
@@ -253,8 +240,7 @@ public class MGSACO extends FilterApproach {
         //if the next node(feature) is not selected by previous process
         if (index == -1) {
             while (true) {
-//                int rand1 = RAND_NUMBER.nextInt(numFeatures);
-                int rand1 = new Random().nextInt(numFeatures);
+                int rand1 = antRandNumbers[indexAnt].nextInt(numFeatures);
                 if (!tabuList[indexAnt][rand1]) {
                     index = rand1;
                     break;
@@ -274,8 +260,7 @@ public class MGSACO extends FilterApproach {
      * @return the index of the selected feature
      */
     private int stateTransitionRules(int indexAnt) {
-        double q = new Random().nextDouble();
-//        double q = RAND_NUMBER.nextDouble();
+        double q = antRandNumbers[indexAnt].nextDouble();
         if (q <= PROB_CHOOSE_EQUATION) {
             return greedyRule(indexAnt);
         } else {
@@ -322,36 +307,78 @@ public class MGSACO extends FilterApproach {
         }
     }
 
+    /**
+     * Selects the predefined number of features by the given ant. The ant only
+     * reads the pheromone values and writes into its own tabu list and edge
+     * list, so the tours of the ants are constructed concurrently.
+     *
+     * @param indexAnt the index of the ant
+     */
+    private void constructTour(int indexAnt) {
+        for (int i = 1; i < numSelectedFeature; i++) {
+            int newFeature = stateTransitionRules(indexAnt);
+            tabuList[indexAnt][newFeature] = true;
+            antSubsetSelected[indexAnt][i] = newFeature;
+            antEdges[indexAnt][i - 1] = TriangularMatrix.findIndex(currentState[indexAnt], newFeature);
+            currentState[indexAnt] = newFeature;
+        }
+    }
+
+    /**
+     * Sorts the indices of the edges visited by all ants, so the edge counter
+     * (EC) of each visited edge is the length of its run in the sorted array
+     */
+    private void sortVisitedEdges() {
+        int numEdges = numSelectedFeature - 1;
+        for (int i = 0; i < NUM_ANTS; i++) {
+            System.arraycopy(antEdges[i], 0, visitedEdges, i * numEdges, numEdges);
+        }
+        Arrays.sort(visitedEdges);
+    }
+
     /**
      * Updates intensity of pheromone values
      */
     private void pheromoneUpdatingRule() {
         double sum = NUM_ANTS * (numSelectedFeature - 1);
-        int indexCounter = 0;
 
-        for (int i = 0; i < numFeatures; i++) {
-            for (int j = 0; j < i; j++) {
-                pheromoneValues[indexCounter] = ((1 - DECAY_RATE) * pheromoneValues[indexCounter]) + (edgeCounter[indexCounter] / sum);
-                indexCounter++;
+        //evaporates all pheromone values in one pass
+        pheromoneValues.scale(1 - DECAY_RATE);
+
+        //only the edges visited by the ants have nonzero edge counters
+        for (int start = 0, end; start < visitedEdges.length; start = end) {
+            long index = visitedEdges[start];
+            end = start + 1;
+            while (end < visitedEdges.length && visitedEdges[end] == index) {
+                end++;
             }
+            pheromoneValues.set(index, pheromoneValues.get(index) + ((end - start) / sum));
         }
 
         for (int i = 0; i < NUM_ANTS; i++) {
             for (int j = 0; j < numSelectedFeature - 1; j++) {
                 int startIndex = antSubsetSelected[i][j];
                 int endIndex = antSubsetSelected[i][j + 1];
-                pheromoneValues[findIndex(startIndex, endIndex)] += antPerformValues[i];
+                long index = TriangularMatrix.findIndex(startIndex, endIndex);
+                pheromoneValues.set(index, pheromoneValues.get(index) + antPerformValues[i]);
             }
         }
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by microarray gene selection based
      * on ant colony optimization (MGSACO) method
      */
     @Override
     public void evaluateFeatures() {
-//        RAND_NUMBER = new Random(SEED_VALUE);
         if (NUM_ANTS == 0) {
             NUM_ANTS = numFeatures < 100 ? numFeatures : 100;
         }
@@ -360,33 +387,27 @@ public class MGSACO extends FilterApproach {
         antSubsetSelected = new int[NUM_ANTS][numSelectedFeature];
         antPerformValues = new double[NUM_ANTS];
         relevanceFeature = new double[numFeatures];
-        simValues = new double[(numFeatures * (numFeatures - 1)) / 2];
-        edgeCounter = new int[(numFeatures * (numFeatures - 1)) / 2];
+        antEdges = new long[NUM_ANTS][Math.max(0, numSelectedFeature - 1)];
+        visitedEdges = new long[NUM_ANTS * Math.max(0, numSelectedFeature - 1)];
         tabuList = new boolean[NUM_ANTS][numFeatures];
         currentState = new int[NUM_ANTS];
-        pheromoneValues = new double[(numFeatures * (numFeatures - 1)) / 2];
-        int counter = 0;
+        randNumber = new SplittableRandom(seed);
+        antRandNumbers = MathFunc.splitRandomStreams(randNumber, NUM_ANTS);
+        pheromoneValues = new TriangularMatrix(numFeatures, getSimilarityPrecision());
 
         //computes the relevance values of the features
         computeRelevance();
 
         //computes the similarity values between pairs of feature
-        for (int i = 0; i < numFeatures; i++) {
-            for (int j = 0; j < i; j++) {
-                simValues[counter++] = Math.abs(MathFunc.computeSimilarity(trainSet, i, j));
-            }
-        }
+        simValues = getSimilarityMatrix(SimilarityType.COSINE);
 
         //sets the initial intensity of pheromone
-        Arrays.fill(pheromoneValues, INIT_PHEROMONE_VALUE);
+        pheromoneValues.fill(INIT_PHEROMONE_VALUE);
 
         //starts the feature selection process
         for (int nc = 0; nc < MAX_ITERATION; nc++) {
             //System.out.println("          ------ Iteration " + nc + " -----");
 
-            //sets the initial values of edge counter (EC) to zero
-            Arrays.fill(edgeCounter, 0);
-
             //sets the initial values of tabu list to false
             for (int i = 0; i < NUM_ANTS; i++) {
                 Arrays.fill(tabuList[i], false);
@@ -395,16 +416,11 @@ public class MGSACO extends FilterApproach {
             //places the ants randomly on the nodes in the graph
             setStartNode();
 
-            //selects predefined number of features for all ants
-            for (int i = 1; i < numSelectedFeature; i++) {
-                for (int k = 0; k < NUM_ANTS; k++) {
-                    int newFeature = stateTransitionRules(k);
-                    tabuList[k][newFeature] = true;
-                    antSubsetSelected[k][i] = newFeature;
-                    edgeCounter[findIndex(currentState[k], newFeature)]++;
-                    currentState[k] = newFeature;
-                }
-            }
+            //selects predefined number of features for all ants concurrently
+            WorkerPool.common().runTasks(NUM_ANTS, k -> constructTour(k));
+
+            //counts the visited edges (EC)
+            sortVisitedEdges();
 
             //evaluates the candidate subsets of selected features
             int bestAntIndex = evaluateSubsets();
@@ -415,6 +431,9 @@ public class MGSACO extends FilterApproach {
             //updates intensity of the pheromone values
             pheromoneUpdatingRule();
         }
+        //frees the pheromone values kept outside of the Java heap
+        pheromoneValues.release();
+        pheromoneValues = null;
 
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
@@ -24,8 +24,9 @@
 package unifeat.featureSelection.filter.unsupervised;
 
 import unifeat.util.ArraysFunc;
-import unifeat.util.MathFunc;
 import java.util.Arrays;
+import unifeat.dataset.SimilarityMatrix;
+import unifeat.dataset.SimilarityType;
 import unifeat.featureSelection.filter.FilterApproach;
 
 /**
@@ -58,54 +59,6 @@ public class MutualCorrelation extends FilterApproach {
         super(sizeSelectedFeatureSubset);
     }
 
-    /**
-     * Computes the mutual correlation value between each pairs of features
-     *
-     * @param index1 the index of the feature 1
-     * @param index2 the index of the feature 2
-     * @param mean1 the mean value of the data corresponding to the feature 1
-     * @param mean2 the mean value of the data corresponding to the feature 2
-     * 
-     * @return the mutual correlation value
-     */
-    private double computeMutualCorrelation(int index1, int index2, double mean1, double mean2) {
-        double sum1 = 0;
-        double sum2 = 0;
-        double sum3 = 0;
-        for (double[] sample : trainSet) {
-            sum1 += sample[index1] * sample[index2];
-            sum2 += sample[index1] * sample[index1];
-            sum3 += sample[index2] * sample[index2];
-        }
-        sum1 -= trainSet.length * mean1 * mean2;
-        sum2 -= trainSet.length * mean1 * mean1;
-        sum3 -= trainSet.length * mean2 * mean2;
-
-        if (sum2 == 0 && sum3 == 0) {
-            return 1;
-        } else if (sum2 == 0 || sum3 == 0) {
-            return 0;
-        } else {
-            return sum1 / Math.sqrt(sum2 * sum3);
-        }
-    }
-
-    /**
-     * Finds index in new Data Structure(Symmetric Matrix)
-     *
-     * @param index1 index of the row
-     * @param index2 index of the column
-     * 
-     * @return the index in new Data Structure
-     */
-    private static int findIndex(int index1, int index2) {
-        if (index1 < index2) {
-            return ((index2 * (index2 - 1)) / 2) + index1;
-        } else {
-            return ((index1 * (index1 - 1)) / 2) + index2;
-        }
-    }
-
     /**
      * Finds the maximum value in the array and returns its index
      *
@@ -152,44 +105,48 @@ public class MutualCorrelation extends FilterApproach {
         array[secondIndex] = temp;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The features are eliminated one by one, so the subset of each size is
+     * found on the elimination path of the smallest subset.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isBackwardElimination() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by mutual correlation(MC) method
      */
     @Override
     public void evaluateFeatures() {
-        double[] mean = new double[numFeatures];
-        double[] correlationValues = new double[(numFeatures * (numFeatures - 1)) / 2]; // mutual correlation values
-        double[] meanMutCorrelation = new double[numFeatures]; //the mean absolute mutual correlation values
+        SimilarityMatrix correlationValues = getSimilarityMatrix(SimilarityType.PEARSON); // mutual correlation values
         int[] indexFeatures = new int[numFeatures];
-        int counter = 0;
 
         //initializes the feature index values
         for (int i = 0; i < indexFeatures.length; i++) {
             indexFeatures[i] = i;
         }
 
-        //computes the mean values of the features
-        for (int i = 0; i < numFeatures; i++) {
-            mean[i] = MathFunc.computeMean(trainSet, i);
-        }
-
-        //computes the mutual correlation values between each pairs of features
-        for (int i = 0; i < numFeatures; i++) {
-            for (int j = 0; j < i; j++) {
-                correlationValues[counter++] = computeMutualCorrelation(i, j, mean[i], mean[j]);
-            }
-        }
-
         //computes the mean absolute mutual correlation values for the features
-        for (int i = 0; i < numFeatures; i++) {
-            for (int j = 0; j < numFeatures; j++) {
-                if (i != j) {
-                    int index = findIndex(i, j);
-                    meanMutCorrelation[i] += Math.abs(correlationValues[index]);
-                }
-            }
-            meanMutCorrelation[i] /= (numFeatures - 1);
-        }
+        double[] meanMutCorrelation = correlationValues.getMeanAbsoluteValues();
 
         //starts the feature elimination process
         for (int i = numFeatures - 1; i >= numSelectedFeature; i--) {
@@ -197,11 +154,12 @@ public class MutualCorrelation extends FilterApproach {
             swapValue(meanMutCorrelation, maxIndex, i);
             swapValue(indexFeatures, maxIndex, i);
             for (int j = 0; j < i; j++) {
-                int index = findIndex(indexFeatures[j], indexFeatures[i]);
-                meanMutCorrelation[j] = (i * meanMutCorrelation[j] - Math.abs(correlationValues[index])) / (i - 1);
+                double value = correlationValues.getValue(indexFeatures[j], indexFeatures[i]);
+                meanMutCorrelation[j] = (i * meanMutCorrelation[j] - Math.abs(value)) / (i - 1);
             }
         }
 
+        featureRanking = indexFeatures;
         selectedFeatureSubset = Arrays.copyOfRange(indexFeatures, 0, numSelectedFeature);
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
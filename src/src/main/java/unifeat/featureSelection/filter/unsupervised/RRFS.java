@@ -26,6 +26,8 @@ package unifeat.featureSelection.filter.unsupervised;
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
 import java.util.Arrays;
+import unifeat.dataset.SimilarityMatrix;
+import unifeat.dataset.SimilarityType;
 import unifeat.featureSelection.filter.FilterApproach;
 
 /**
@@ -75,12 +77,42 @@ public class RRFS extends FilterApproach {
      */
     private double computeMAD(int indexFeature, double mean) {
         double sum = 0;
-        for (double[] sample : trainSet) {
-            sum += Math.abs(sample[indexFeature] - mean);
+        if (trainSparseData != null) {
+            double[] values = trainSparseData.getValues();
+            int start = trainSparseData.getColumnStart(indexFeature);
+            int end = trainSparseData.getColumnEnd(indexFeature);
+            //the zero values of the feature are added together
+            sum = (trainSparseData.getNumSamples() - (end - start)) * Math.abs(mean);
+            for (int k = start; k < end; k++) {
+                sum += Math.abs(values[k] - mean);
+            }
+        } else {
+            for (double value : trainData.getColumn(indexFeature)) {
+                sum += Math.abs(value - mean);
+            }
         }
         return sum;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The features are selected one by one, so the subset of each size is the
+     * first features in the order of their selection.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by relevance-redundancy
      * feature selection(RRFS) method
@@ -93,18 +125,23 @@ public class RRFS extends FilterApproach {
 
         //computes the mean absolute difference(MAD) values
         for (int i = 0; i < numFeatures; i++) {
-            MADValues[i] = computeMAD(i, MathFunc.computeMean(trainSet, i));
+            double mean = trainSparseData != null ? MathFunc.computeMean(trainSparseData, i)
+                    : MathFunc.computeMean(trainData.getColumn(i));
+            MADValues[i] = computeMAD(i, mean);
         }
 
         //sorts the features by their relevance values(MAD values)
         indexFeatures = ArraysFunc.sortWithIndex(MADValues, true);
 
         //starts the feature selection process
+        SimilarityMatrix simMatrix = getCachedSimilarityMatrix(SimilarityType.COSINE); //reuses the similarity values computed by the other methods
         selectedFeatureSubset[0] = indexFeatures[0];
         prev = 0;
         next = 1;
         for (int i = 1; i < numFeatures && next < numSelectedFeature; i++) {
-            double simValue = Math.abs(MathFunc.computeSimilarity(trainSet, indexFeatures[i], indexFeatures[prev]));
+            double simValue = Math.abs(simMatrix != null
+                    ? simMatrix.getValue(indexFeatures[i], indexFeatures[prev])
+                    : computeSimilarity(indexFeatures[i], indexFeatures[prev]));
             if (simValue < MAX_SIM_VALUE) {
                 selectedFeatureSubset[next] = indexFeatures[i];
                 prev = i;
@@ -119,6 +156,7 @@ public class RRFS extends FilterApproach {
         if (next < numSelectedFeature) {
             selectedFeatureSubset = Arrays.copyOfRange(selectedFeatureSubset, 0, next);
         }
+        featureRanking = selectedFeatureSubset.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
     }
 }
@@ -25,7 +25,7 @@ package unifeat.featureSelection.filter.unsupervised;
 
 import unifeat.util.ArraysFunc;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.SplittableRandom;
 import unifeat.featureSelection.filter.FilterApproach;
 import unifeat.gui.featureSelection.filter.rsm.MultivariateMethodType;
 
@@ -87,10 +87,9 @@ public class RSM extends FilterApproach {
      * Permutes the index of features
      *
      * @param indexFeat the array of the index of features
-     * @param seed determines the index of the seed
+     * @param rand the random number generator of the iteration
      */
-    private void permutation(int[] indexFeat, int seed) {
-        Random rand = new Random(seed);
+    private void permutation(int[] indexFeat, SplittableRandom rand) {
         for (int i = 0; i < indexFeat.length; i++) {
             int index1 = rand.nextInt(indexFeat.length);
             int index2 = rand.nextInt(indexFeat.length);
@@ -130,6 +129,7 @@ public class RSM extends FilterApproach {
      * @return a new dataset
      */
     private double[][] createNewDataset(int[] index) {
+        double[][] trainSet = getTrainSet();
         double[][] newData = new double[trainSet.length][SIZE_SUB_SPACE + 1];
 
         for (int i = 0; i < trainSet.length; i++) {
@@ -149,7 +149,7 @@ public class RSM extends FilterApproach {
     public void evaluateFeatures() {
         featureScore = new int[numFeatures];
         int[] indexFeatures = new int[numFeatures];
-        int[] indecesFeatScore;
+        SplittableRandom rand = new SplittableRandom(seed);
 
         //initializes the feature index values
         for (int i = 0; i < indexFeatures.length; i++) {
@@ -158,7 +158,7 @@ public class RSM extends FilterApproach {
 
         for (int i = 0; i < NUM_ITERATION; i++) {
 //            System.out.println("\nIteration " + i + ":\n\n");
-            permutation(indexFeatures, i);
+            permutation(indexFeatures, rand.split());
 
             int[] featSpace = Arrays.copyOfRange(indexFeatures, 0, SIZE_SUB_SPACE);
             ArraysFunc.sortArray1D(featSpace, false);
@@ -175,12 +175,12 @@ public class RSM extends FilterApproach {
             }
         }
 
-        indecesFeatScore = ArraysFunc.sortWithIndex(Arrays.copyOf(featureScore, featureScore.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + featureScore[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesFeatScore, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureScore, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
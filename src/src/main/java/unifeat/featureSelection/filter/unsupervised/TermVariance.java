@@ -25,7 +25,6 @@ package unifeat.featureSelection.filter.unsupervised;
 
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
-import java.util.Arrays;
 import unifeat.featureSelection.filter.WeightedFilterApproach;
 
 /**
@@ -59,6 +58,14 @@ public class TermVariance extends WeightedFilterApproach {
         super(sizeSelectedFeatureSubset);
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by term variance(TV) method
      */
@@ -66,24 +73,31 @@ public class TermVariance extends WeightedFilterApproach {
     public void evaluateFeatures() {
         double[] meanValues = new double[numFeatures];
         featureValues = new double[numFeatures];
-        int[] indecesTV;
 
-        //computes the mean values of each feature
-        for (int i = 0; i < numFeatures; i++) {
-            meanValues[i] = MathFunc.computeMean(trainSet, i);
-        }
+        if (trainSparseData != null) {
+            //computes the mean and variance values of each feature over the nonzero values
+            for (int i = 0; i < numFeatures; i++) {
+                meanValues[i] = MathFunc.computeMean(trainSparseData, i);
+                featureValues[i] = MathFunc.computeVariance(trainSparseData, meanValues[i], i);
+            }
+        } else {
+            //computes the mean values of each feature
+            for (int i = 0; i < numFeatures; i++) {
+                meanValues[i] = MathFunc.computeMean(trainData.getColumn(i));
+            }
 
-        //computes the variance values of each feature
-        for (int i = 0; i < numFeatures; i++) {
-            featureValues[i] = MathFunc.computeVariance(trainSet, meanValues[i], i);
+            //computes the variance values of each feature
+            for (int i = 0; i < numFeatures; i++) {
+                featureValues[i] = MathFunc.computeVariance(trainData.getColumn(i), meanValues[i]);
+            }
         }
 
-        indecesTV = ArraysFunc.sortWithIndex(Arrays.copyOf(featureValues, featureValues.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + featureValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesTV, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(featureValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
@@ -26,8 +26,12 @@ package unifeat.featureSelection.filter.unsupervised;
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
+import unifeat.dataset.SimilarityMatrix;
+import unifeat.dataset.SimilarityType;
 import unifeat.featureSelection.filter.FilterApproach;
+import unifeat.util.WorkerPool;
 
 /**
  * This java class is used to implement the unsupervised feature selection based
@@ -47,14 +51,14 @@ public class UFSACO extends FilterApproach {
     private final double DECAY_RATE;
     private final double BETA;
     private final double PROB_CHOOSE_EQUATION;
-    private double[] simValues;
+    private SimilarityMatrix simValues;
     private double[] pheromoneValues;
     private int[] featureCounter;
     private boolean[][] tabuList;
     private int[] currentState;
-//    private final int SEED_VALUE = 1;
+    private SplittableRandom randNumber;
+    private SplittableRandom[] antRandNumbers;
     private final double ERROR_SIMILARITY = 0.0001;
-//    private Random RAND_NUMBER = new Random(SEED_VALUE);
 
     /**
      * Initializes the parameters
@@ -110,22 +114,6 @@ public class UFSACO extends FilterApproach {
         PROB_CHOOSE_EQUATION = q0_Parameter;
     }
 
-    /**
-     * Finds index in new Data Structure(Symmetric Matrix)
-     *
-     * @param index1 index of the row
-     * @param index2 index of the column
-     *
-     * @return the index in new Data Structure
-     */
-    private static int findIndex(int index1, int index2) {
-        if (index1 < index2) {
-            return ((index2 * (index2 - 1)) / 2) + index1;
-        } else {
-            return ((index1 * (index1 - 1)) / 2) + index2;
-        }
-    }
-
     /**
      * Places the ants randomly on the graph nodes as their starting nodes
      */
@@ -135,8 +123,7 @@ public class UFSACO extends FilterApproach {
         for (int i = 0; i < NUM_ANTS; i++) {
             //finds starting node randomly
             while (true) {
-                int rand = new Random().nextInt(numFeatures);
-//                int rand = RAND_NUMBER.nextInt(numFeatures);
+                int rand = randNumber.nextInt(numFeatures);
                 if (!checkArray[rand]) {
                     currentState[i] = rand;
                     checkArray[rand] = true;
@@ -161,8 +148,7 @@ public class UFSACO extends FilterApproach {
 
         for (int j = 0; j < numFeatures; j++) {
             if (!tabuList[indexAnt][j]) {
-                int newIndex = findIndex(currentState[indexAnt], j);
-                double result = pheromoneValues[j] / Math.pow(simValues[newIndex] + ERROR_SIMILARITY, BETA);
+                double result = pheromoneValues[j] / Math.pow(Math.abs(simValues.getValue(currentState[indexAnt], j)) + ERROR_SIMILARITY, BETA);
                 if (result > max) {
                     max = result;
                     index = j;
@@ -182,14 +168,12 @@ public class UFSACO extends FilterApproach {
      */
     private int probRule(int indexAnt) {
         int index = -1;
-        double rand = new Random().nextDouble();
-//        double rand = RAND_NUMBER.nextDouble();
+        double rand = antRandNumbers[indexAnt].nextDouble();
         double[] prob = new double[numFeatures];
         double sumOfProb = 0;
         for (int j = 0; j < numFeatures; j++) {
             if (!tabuList[indexAnt][j]) {
-                int newIndex = findIndex(currentState[indexAnt], j);
-                prob[j] = pheromoneValues[j] / Math.pow(simValues[newIndex] + ERROR_SIMILARITY, BETA);
+                prob[j] = pheromoneValues[j] / Math.pow(Math.abs(simValues.getValue(currentState[indexAnt], j)) + ERROR_SIMILARITY, BETA);
                 sumOfProb += prob[j];
             }
         }
@@ -206,8 +190,7 @@ public class UFSACO extends FilterApproach {
         //if the next node(feature) is not selected by previous process
         if (index == -1) {
             while (true) {
-//                int rand1 = RAND_NUMBER.nextInt(numFeatures);
-                int rand1 = new Random().nextInt(numFeatures);
+                int rand1 = antRandNumbers[indexAnt].nextInt(numFeatures);
                 if (!tabuList[indexAnt][rand1]) {
                     index = rand1;
                     break;
@@ -227,8 +210,7 @@ public class UFSACO extends FilterApproach {
      * @return the index of the selected feature
      */
     private int stateTransitionRules(int indexAnt) {
-        double q = new Random().nextDouble();
-//        double q = RAND_NUMBER.nextDouble();
+        double q = antRandNumbers[indexAnt].nextDouble();
         if (q <= PROB_CHOOSE_EQUATION) {
             return greedyRule(indexAnt);
         } else {
@@ -236,6 +218,24 @@ public class UFSACO extends FilterApproach {
         }
     }
 
+    /**
+     * Selects the predefined number of features by the given ant. The ant only
+     * reads the pheromone values and writes into its own tabu list, so the
+     * tours of the ants are constructed concurrently.
+     *
+     * @param indexAnt the index of the ant
+     * @param counter the feature counter of the worker thread which counts the
+     * selected features
+     */
+    private void constructTour(int indexAnt, int[] counter) {
+        for (int i = 1; i < NUM_FEAT_OF_ANT; i++) {
+            int newFeature = stateTransitionRules(indexAnt);
+            tabuList[indexAnt][newFeature] = true;
+            counter[newFeature]++;
+            currentState[indexAnt] = newFeature;
+        }
+    }
+
     /**
      * Updates intensity of pheromone values
      */
@@ -247,13 +247,20 @@ public class UFSACO extends FilterApproach {
         }
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
     /**
      * Starts the feature selection process by unsupervised feature selection
      * based on ant colony optimization (UFSACO) method
      */
     @Override
     public void evaluateFeatures() {
-//        RAND_NUMBER = new Random(SEED_VALUE);
         if (TEMP_NUM_FEAT_OF_ANT == 0) {
             NUM_FEAT_OF_ANT = numSelectedFeature;
         }
@@ -262,20 +269,15 @@ public class UFSACO extends FilterApproach {
             NUM_ANTS = numFeatures < 100 ? numFeatures : 100;
         }
 
-        simValues = new double[(numFeatures * (numFeatures - 1)) / 2];
         featureCounter = new int[numFeatures];
         tabuList = new boolean[NUM_ANTS][numFeatures];
         currentState = new int[NUM_ANTS];
+        randNumber = new SplittableRandom(seed);
+        antRandNumbers = MathFunc.splitRandomStreams(randNumber, NUM_ANTS);
         pheromoneValues = new double[numFeatures];
-        int[] indecesFeature;
-        int counter = 0;
 
         //computes the similarity values between pairs of feature
-        for (int i = 0; i < numFeatures; i++) {
-            for (int j = 0; j < i; j++) {
-                simValues[counter++] = Math.abs(MathFunc.computeSimilarity(trainSet, i, j));
-            }
-        }
+        simValues = getSimilarityMatrix(SimilarityType.COSINE);
 
         //sets the initial intensity of pheromone
         Arrays.fill(pheromoneValues, INIT_PHEROMONE_VALUE);
@@ -295,13 +297,13 @@ public class UFSACO extends FilterApproach {
             //places the ants randomly on the nodes in the graph
             setStartNode();
 
-            //selects predefined number of features for all ants
-            for (int i = 1; i < NUM_FEAT_OF_ANT; i++) {
-                for (int k = 0; k < NUM_ANTS; k++) {
-                    int newFeature = stateTransitionRules(k);
-                    tabuList[k][newFeature] = true;
-                    featureCounter[newFeature]++;
-                    currentState[k] = newFeature;
+            //selects predefined number of features for all ants concurrently
+            List<int[]> counters = WorkerPool.common().runTasks(NUM_ANTS, () -> new int[numFeatures], (counter, k) -> constructTour(k, counter));
+
+            //merges the feature counters of the worker threads
+            for (int[] counter : counters) {
+                for (int i = 0; i < numFeatures; i++) {
+                    featureCounter[i] += counter[i];
                 }
             }
 
@@ -309,18 +311,29 @@ public class UFSACO extends FilterApproach {
             pheromoneUpdatingRule();
         }
 
-        indecesFeature = ArraysFunc.sortWithIndex(Arrays.copyOf(pheromoneValues, pheromoneValues.length), true);
 //        for (int i = 0; i < numFeatures; i++) {
 //            System.out.println(i + ") =  " + pheromoneValues[i]);
 //        }
 
-        selectedFeatureSubset = Arrays.copyOfRange(indecesFeature, 0, numSelectedFeature);
+        featureRanking = ArraysFunc.selectTopIndices(pheromoneValues, numSelectedFeature, true);
+        selectedFeatureSubset = featureRanking.clone();
         ArraysFunc.sortArray1D(selectedFeatureSubset, false);
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If the number of features for ant is not given, it depends on the size of
+     * the subset, and so the subsets of the different sizes are not nested.
+     */
+    @Override
+    public boolean isNestedSubsetSupported() {
+        return TEMP_NUM_FEAT_OF_ANT != 0;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -42,6 +42,7 @@ public abstract class BasicACO<ColonyType> extends WrapperApproach {
     protected ColonyType colony;
     protected final int NUM_ITERATION;
     protected final int K_FOLDS;
+    protected final FitnessEvaluator fitnessEvaluator;
 
     /**
      * Initializes the parameters
@@ -73,16 +74,9 @@ public abstract class BasicACO<ColonyType> extends WrapperApproach {
      */
     public BasicACO(Object... arguments) {
         super((String) arguments[0]);
-        BasicColony.NUM_ORIGINAL_FEATURE = (int) arguments[1];
         this.NUM_ITERATION = (int) arguments[4];
-        BasicColony.COLONY_SIZE = (int) arguments[5];
-        BasicColony.ALPHA = (double) arguments[6];
-        BasicColony.BETA = (double) arguments[7];
-        BasicColony.RHO = (double) arguments[8];
         this.K_FOLDS = (int) arguments[9];
-        BasicColony.INIT_PHEROMONE_VALUE = (double) arguments[10];
-
-        BasicColony.fitnessEvaluator = new FitnessEvaluator(TEMP_PATH, (ClassifierType) arguments[2],
+        this.fitnessEvaluator = new FitnessEvaluator(TEMP_PATH, (ClassifierType) arguments[2],
                 arguments[3], this.K_FOLDS);
     }
 
@@ -93,4 +87,14 @@ public abstract class BasicACO<ColonyType> extends WrapperApproach {
      * @return the array of indices of the selected feature subset
      */
     protected abstract int[] createSelectedFeatureSubset();
+
+    /**
+     * This method returns the fitness evaluator of the ACO-based method which
+     * is used to evaluate the candidate feature subsets.
+     *
+     * @return the fitness evaluator of the method
+     */
+    public FitnessEvaluator getFitnessEvaluator() {
+        return fitnessEvaluator;
+    }
 }
@@ -23,15 +23,22 @@
  */
 package unifeat.featureSelection.wrapper.ACOBasedMethods;
 
+import unifeat.featureSelection.FeatureSelection;
 import unifeat.featureSelection.FitnessEvaluator;
 import unifeat.featureSelection.wrapper.ACOBasedMethods.OptimalACO.GraphRepresentation;
 import unifeat.result.performanceMeasure.Criteria;
+import unifeat.util.MathFunc;
 import java.lang.reflect.Array;
+import java.util.SplittableRandom;
 
 /**
  * The abstract class contains the main methods and fields that are used in all
  * ACO-based feature selection methods. This class is used to implement a colony
  * of ants in ACO algorithm.
+ * <p>
+ * Each ant has its own random number stream which is split from the stream of
+ * the colony, so the tour of an ant does not depend on the order in which the
+ * ants are processed.
  *
  * @param <AntType> the type of ant implemented in ACO algorithm
  *
@@ -40,22 +47,71 @@ import java.lang.reflect.Array;
 public abstract class BasicColony<AntType> {
 
     protected AntType[] colony;
-    public static FitnessEvaluator fitnessEvaluator;
-    public static GraphRepresentation graphRepresentation;
-    public static int NUM_ORIGINAL_FEATURE;
-    protected static int COLONY_SIZE;
-    protected static double INIT_PHEROMONE_VALUE;
-    protected static double ALPHA;
-    protected static double BETA;
-    protected static double RHO;
+    protected SplittableRandom rand;
+    protected SplittableRandom[] antRand;
+    protected final FitnessEvaluator fitnessEvaluator;
+    protected final GraphRepresentation graphRepresentation;
+    protected final int NUM_ORIGINAL_FEATURE;
+    protected final int COLONY_SIZE;
+    protected final double INIT_PHEROMONE_VALUE;
+    protected final double ALPHA;
+    protected final double BETA;
+    protected final double RHO;
 
     /**
      * Initializes the parameters
      *
      * @param ant the type of ant implemented in ACO algorithm
+     * @param fitnessEvaluator the fitness evaluator of the ACO-based method
+     * @param graphRepresentation the graph representation of the search space
+     * @param arguments array of parameters contains (<code>path</code>,
+     * <code>numFeatures</code>, <code>classifierType</code>,
+     * <code>selectedClassifierPan</code>, <code>numIteration</code>,
+     * <code>colonySize</code>, <code>alphaParameter</code>,
+     * <code>betaParameter</code>, <code>evaporationRate</code>,
+     * <code>kFolds</code>, <code>initPheromone</code>) in which
+     * <code><b><i>path</i></b></code> is the path of the project,
+     * <code><b><i>numFeatures</i></b></code> is the number of original features
+     * in the dataset, <code><b><i>classifierType</i></b></code> is the
+     * classifier type for evaluating the fitness of a solution,
+     * <code><b><i>selectedClassifierPan</i></b></code> is the selected
+     * classifier panel, <code><b><i>numIteration</i></b></code> is the maximum
+     * number of allowed iterations that algorithm repeated,
+     * <code><b><i>colonySize</i></b></code> is the size of colony of candidate
+     * solutions, <code><b><i>alphaParameter</i></b></code> is the alpha
+     * parameter used in the state transition rule that shows the relative
+     * importance of the pheromone, <code><b><i>betaParameter</i></b></code> is
+     * the beta parameter used in the state transition rule that shows the
+     * relative importance of heuristic information,
+     * <code><b><i>evaporationRate</i></b></code> is the evaporation rate of the
+     * pheromone, <code><b><i>kFolds</i></b></code> is the number of equal sized
+     * subsamples that is used in k-fold cross validation, and
+     * <code><b><i>initPheromone</i></b></code> is the initial value of the
+     * pheromone
      */
-    public BasicColony(Class<AntType> ant) {
+    public BasicColony(Class<AntType> ant, FitnessEvaluator fitnessEvaluator,
+            GraphRepresentation graphRepresentation, Object... arguments) {
+        this.fitnessEvaluator = fitnessEvaluator;
+        this.graphRepresentation = graphRepresentation;
+        this.NUM_ORIGINAL_FEATURE = (int) arguments[1];
+        this.COLONY_SIZE = (int) arguments[5];
+        this.ALPHA = (double) arguments[6];
+        this.BETA = (double) arguments[7];
+        this.RHO = (double) arguments[8];
+        this.INIT_PHEROMONE_VALUE = (double) arguments[10];
         colony = (AntType[]) Array.newInstance(ant, COLONY_SIZE);
+        setSeed(FeatureSelection.DEFAULT_SEED);
+    }
+
+    /**
+     * This method sets the seed of the random number streams of the colony and
+     * each of its ants.
+     *
+     * @param seed the seed of the run
+     */
+    public final void setSeed(long seed) {
+        rand = new SplittableRandom(seed);
+        antRand = MathFunc.splitRandomStreams(rand, COLONY_SIZE);
     }
 
     /**
@@ -24,7 +24,6 @@
 package unifeat.featureSelection.wrapper.ACOBasedMethods.OptimalACO;
 
 import unifeat.featureSelection.wrapper.ACOBasedMethods.BasicAnt;
-import unifeat.featureSelection.wrapper.ACOBasedMethods.BasicColony;
 import java.util.ArrayList;
 
 /**
@@ -41,13 +40,17 @@ public class Ant extends BasicAnt {
      * classification error rate
      */
     private int countSteps;
+    private final int NUM_ORIGINAL_FEATURE;
 
     /**
      * Initializes the parameters
+     *
+     * @param numFeatures the number of original features in the dataset
      */
-    public Ant() {
+    public Ant(int numFeatures) {
         super();
         countSteps = 0;
+        NUM_ORIGINAL_FEATURE = numFeatures;
     }
 
     /**
@@ -81,7 +84,7 @@ public class Ant extends BasicAnt {
     @Override
     public ArrayList<Integer> getFeasibleFeatureSet() {
         ArrayList<Integer> feasibleSet = new ArrayList<>();
-        for (int i = 0; i < BasicColony.NUM_ORIGINAL_FEATURE; i++) {
+        for (int i = 0; i < NUM_ORIGINAL_FEATURE; i++) {
             if (!featureSubset.contains(i)) {
                 feasibleSet.add(i);
             }
@@ -23,6 +23,7 @@
  */
 package unifeat.featureSelection.wrapper.ACOBasedMethods.OptimalACO;
 
+import unifeat.featureSelection.FitnessEvaluator;
 import unifeat.featureSelection.wrapper.ACOBasedMethods.BasicColony;
 import unifeat.featureSelection.wrapper.GABasedMethods.SelectionOperator;
 import unifeat.result.performanceMeasure.Criteria;
@@ -41,20 +42,23 @@ import java.util.Arrays;
  */
 public class Colony extends BasicColony<Ant> {
 
-    public static double PHI;
+    private final double PHI;
 
     /**
      * Initializes the parameters
      *
-     * @param phi the phi parameter used in the pheromone update rule for
-     * controlling the relative weight of classifier performance and feature
-     * subset length
+     * @param fitnessEvaluator the fitness evaluator of the Optimal ACO method
+     * @param graphRepresentation the graph representation of the search space
+     * @param arguments array of parameters of the Optimal ACO method in the
+     * same order as the arguments of
+     * {@link OptimalACO#OptimalACO(java.lang.Object...)}
      */
-    public Colony(double phi) {
-        super(Ant.class);
-        Colony.PHI = phi;
+    public Colony(FitnessEvaluator fitnessEvaluator, GraphRepresentation graphRepresentation,
+            Object... arguments) {
+        super(Ant.class, fitnessEvaluator, graphRepresentation, arguments);
+        this.PHI = (double) arguments[11];
         for (int i = 0; i < COLONY_SIZE; i++) {
-            colony[i] = new Ant();
+            colony[i] = new Ant(NUM_ORIGINAL_FEATURE);
         }
     }
 
@@ -84,7 +88,7 @@ public class Colony extends BasicColony<Ant> {
         for (int feat = 0; feat < COLONY_SIZE; feat++) {
             checkListFeatures[feat] = true;
         }
-        MathFunc.randomize(checkListFeatures);
+        MathFunc.randomize(checkListFeatures, rand);
 
         for (int feat = 0, ant = 0; feat < NUM_ORIGINAL_FEATURE; feat++) {
             if (checkListFeatures[feat]) {
@@ -120,23 +124,27 @@ public class Colony extends BasicColony<Ant> {
         double[] fitnessValues = new double[feasibleFeatureSet.size()];
         double sumProb = 0;
 
+        /**
+         * The current solution extended by each feasible feature is evaluated
+         * as a group of candidate solutions
+         */
+        int[] currentSet = ArraysFunc.convertArrayListToInt(colony[antIndex].getFeatureSubset());
+        int[] candidateFeatures = ArraysFunc.convertArrayListToInt(feasibleFeatureSet);
+        Criteria[] criteria = fitnessEvaluator.crossValidation(currentSet, candidateFeatures);
+
         for (int feat = 0; feat < probabilities.length; feat++) {
             int currFeasible = feasibleFeatureSet.get(feat);
-            colony[antIndex].addFeature(currFeasible);
-            
-            fitnessValues[feat] = evaluateCurrentSolution(antIndex).getAccuracy() / 100.0;
+            fitnessValues[feat] = criteria[feat].getAccuracy() / 100.0;
             double pheromone = graphRepresentation.getPheromone(0, currFeasible);
             probabilities[feat] = Math.pow(pheromone, ALPHA) * Math.pow(fitnessValues[feat], BETA);
             sumProb += probabilities[feat];
-            
-            colony[antIndex].removeFeature(currFeasible);
         }
 
         for (int feat = 0; feat < probabilities.length; feat++) {
             probabilities[feat] = probabilities[feat] / sumProb;
         }
 
-        int selectedIndex = SelectionOperator.rouletteWheel(probabilities);
+        int selectedIndex = SelectionOperator.rouletteWheel(probabilities, antRand[antIndex]);
         int selectedFeat = feasibleFeatureSet.get(selectedIndex);
         colony[antIndex].addFeature(selectedFeat);
         colony[antIndex].setFitness(fitnessValues[selectedIndex]);
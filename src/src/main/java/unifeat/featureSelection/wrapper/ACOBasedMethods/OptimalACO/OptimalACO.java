@@ -24,7 +24,6 @@
 package unifeat.featureSelection.wrapper.ACOBasedMethods.OptimalACO;
 
 import unifeat.featureSelection.wrapper.ACOBasedMethods.BasicACO;
-import unifeat.featureSelection.wrapper.ACOBasedMethods.BasicColony;
 import unifeat.util.ArraysFunc;
 
 /**
@@ -72,8 +71,7 @@ public class OptimalACO extends BasicACO<Colony> {
      */
     public OptimalACO(Object... arguments) {
         super(arguments);
-        BasicColony.graphRepresentation = new GraphRepresentation(1, BasicColony.NUM_ORIGINAL_FEATURE);
-        colony = new Colony((double) arguments[11]);
+        colony = new Colony(fitnessEvaluator, new GraphRepresentation(1, (int) arguments[1]), arguments);
     }
 
     /**
@@ -91,8 +89,9 @@ public class OptimalACO extends BasicACO<Colony> {
      */
     @Override
     public void evaluateFeatures() {
-        Colony.fitnessEvaluator.createTempDirectory();
-        Colony.fitnessEvaluator.setDataInfo(trainSet, nameFeatures, classLabel);
+        fitnessEvaluator.createTempDirectory();
+        setFitnessData(fitnessEvaluator);
+        colony.setSeed(seed);
         colony.initialization();
         for (int i = 0; i < NUM_ITERATION; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
@@ -109,7 +108,8 @@ public class OptimalACO extends BasicACO<Colony> {
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
-        Colony.fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.shutdown();
     }
     
     /**
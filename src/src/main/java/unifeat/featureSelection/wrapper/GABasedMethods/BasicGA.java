@@ -26,10 +26,6 @@ package unifeat.featureSelection.wrapper.GABasedMethods;
 import unifeat.classifier.ClassifierType;
 import unifeat.featureSelection.FitnessEvaluator;
 import unifeat.featureSelection.wrapper.WrapperApproach;
-import unifeat.gui.featureSelection.wrapper.GABased.CrossOverType;
-import unifeat.gui.featureSelection.wrapper.GABased.MutationType;
-import unifeat.gui.featureSelection.wrapper.GABased.ReplacementType;
-import unifeat.gui.featureSelection.wrapper.GABased.SelectionType;
 
 /**
  * The abstract class contains the main methods and fields that are used in all
@@ -46,6 +42,7 @@ public abstract class BasicGA<PopulationType> extends WrapperApproach {
     protected PopulationType population;
     protected final int NUM_ITERATION;
     protected final int K_FOLDS;
+    protected final FitnessEvaluator fitnessEvaluator;
 
     /**
      * Initializes the parameters
@@ -81,17 +78,9 @@ public abstract class BasicGA<PopulationType> extends WrapperApproach {
      */
     public BasicGA(Object... arguments) {
         super((String) arguments[0]);
-        BasicPopulation.PROBLEM_DIMENSION = (int) arguments[1];
-        BasicPopulation.SELECTION_TYPE = (SelectionType) arguments[4];
-        BasicPopulation.CROSSOVER_TYPE = (CrossOverType) arguments[5];
-        BasicPopulation.MUTATION_TYPE = (MutationType) arguments[6];
-        BasicPopulation.REPLACEMENT_TYPE = (ReplacementType) arguments[7];
         this.NUM_ITERATION = (int) arguments[8];
-        BasicPopulation.POPULATION_SIZE = (int) arguments[9];
-        BasicPopulation.CROSS_OVER_RATE = (double) arguments[10];
-        BasicPopulation.MUTATION_RATE = (double) arguments[11];
         this.K_FOLDS = (int) arguments[12];
-        BasicPopulation.fitnessEvaluator = new FitnessEvaluator(TEMP_PATH, (ClassifierType) arguments[2],
+        this.fitnessEvaluator = new FitnessEvaluator(TEMP_PATH, (ClassifierType) arguments[2],
                 arguments[3], this.K_FOLDS);
     }
 
@@ -103,12 +92,22 @@ public abstract class BasicGA<PopulationType> extends WrapperApproach {
      */
     protected abstract int[] createSelectedFeatureSubset();
 
+    /**
+     * This method returns the fitness evaluator of the GA-based method which
+     * is used to evaluate the candidate feature subsets.
+     *
+     * @return the fitness evaluator of the method
+     */
+    public FitnessEvaluator getFitnessEvaluator() {
+        return fitnessEvaluator;
+    }
+
     /**
      * {@inheritDoc }
      */
     @Override
     public String validate() {
-        if (K_FOLDS > trainSet.length) {
+        if (K_FOLDS > getNumTrainSamples()) {
             return "The parameter values of GA-based method (number of folds) are incorred.";
         }
         return "";
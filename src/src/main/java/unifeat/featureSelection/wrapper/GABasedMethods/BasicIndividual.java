@@ -23,31 +23,100 @@
  */
 package unifeat.featureSelection.wrapper.GABasedMethods;
 
-import java.lang.reflect.Array;
-
 /**
  * The abstract class contains the main methods and fields that are used in all
  * GA-based feature selection methods. This class is used to represent a
  * individual in GA algorithm.
- *
- * @param <GeneType> the type of genes of each individual
+ * <p>
+ * The binary genes of the individual are packed into an array of long words
+ * in which the gene with index <code>i</code> is stored in the bit
+ * <code>i % 64</code> of the word <code>i / 64</code>. The unused bits of the
+ * last word are always zero.
  *
  * @author Sina Tabakhi
  */
-public abstract class BasicIndividual<GeneType> {
+public abstract class BasicIndividual {
 
-    public GeneType[] genes;
+    public long[] genes;
+    private final int dimension;
     private double fitness;
 
     /**
      * Initializes the parameters
      *
-     * @param gene the type of genes of each individual
      * @param dimension the dimension of problem which equals to total number of
      * features in the dataset
      */
-    public BasicIndividual(Class<GeneType> gene, Integer dimension) {
-        genes = (GeneType[]) Array.newInstance(gene, dimension);
+    public BasicIndividual(int dimension) {
+        this.dimension = dimension;
+        genes = new long[numWords(dimension)];
+    }
+
+    /**
+     * This method returns the number of long words that is needed for packing
+     * the given number of genes.
+     *
+     * @param dimension the number of genes
+     *
+     * @return the number of long words
+     */
+    public static int numWords(int dimension) {
+        return (dimension + 63) >>> 6;
+    }
+
+    /**
+     * This method returns the dimension of problem which equals to total
+     * number of genes of the individual.
+     *
+     * @return the dimension of problem
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * This method returns the value of a specific gene of the individual.
+     *
+     * @param index the index of the gene
+     *
+     * @return <code>true</code> if the corresponding feature is selected
+     */
+    public boolean getGene(int index) {
+        return (genes[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * This method sets the value of a specific gene of the individual.
+     *
+     * @param index the index of the gene
+     * @param value the new value of the gene
+     */
+    public void setGene(int index, boolean value) {
+        if (value) {
+            genes[index >>> 6] |= 1L << index;
+        } else {
+            genes[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * This method clears all genes of the individual.
+     */
+    public void clearGenes() {
+        for (int word = 0; word < genes.length; word++) {
+            genes[word] = 0;
+        }
+    }
+
+    /**
+     * This method copies the genes and the fitness value of the given
+     * individual to this individual without allocating a new gene array.
+     *
+     * @param individual the source individual
+     */
+    public void copyOf(BasicIndividual individual) {
+        System.arraycopy(individual.genes, 0, genes, 0, genes.length);
+        fitness = individual.fitness;
     }
 
     /**
@@ -85,8 +154,8 @@ public abstract class BasicIndividual<GeneType> {
     }
 
 //    public void showIndividual() {
-//        for (GeneType entry : genes) {
-//            System.out.print(entry + ",");
+//        for (int i = 0; i < dimension; i++) {
+//            System.out.print(getGene(i) + ",");
 //        }
 //        System.out.println("          = " + fitness);
 //    }
@@ -28,12 +28,19 @@ import unifeat.gui.featureSelection.wrapper.GABased.CrossOverType;
 import unifeat.gui.featureSelection.wrapper.GABased.MutationType;
 import unifeat.gui.featureSelection.wrapper.GABased.ReplacementType;
 import unifeat.gui.featureSelection.wrapper.GABased.SelectionType;
+import unifeat.featureSelection.FeatureSelection;
+import unifeat.util.MathFunc;
 import java.lang.reflect.Array;
+import java.util.SplittableRandom;
 
 /**
  * The abstract class contains the main methods and fields that are used in all
  * GA-based feature selection methods. This class is used to implement a
  * population of individuals in GA algorithm.
+ * <p>
+ * Each slot of the population has its own random number stream which is split
+ * from the stream of the population, so the operators applied to an individual
+ * do not depend on the order in which the individuals are processed.
  *
  * @param <IndividualType> the type of individual implemented in GA algorithm
  *
@@ -42,23 +49,75 @@ import java.lang.reflect.Array;
 public abstract class BasicPopulation<IndividualType> {
 
     protected IndividualType[] population;
-    public static FitnessEvaluator fitnessEvaluator;
-    public static int PROBLEM_DIMENSION;
-    protected static int POPULATION_SIZE;
-    protected static double CROSS_OVER_RATE;
-    protected static double MUTATION_RATE;
-    protected static SelectionType SELECTION_TYPE;
-    protected static CrossOverType CROSSOVER_TYPE;
-    protected static MutationType MUTATION_TYPE;
-    protected static ReplacementType REPLACEMENT_TYPE;
+    protected SplittableRandom rand;
+    protected SplittableRandom[] individualRand;
+    protected final FitnessEvaluator fitnessEvaluator;
+    protected final int PROBLEM_DIMENSION;
+    protected final int POPULATION_SIZE;
+    protected final double CROSS_OVER_RATE;
+    protected final double MUTATION_RATE;
+    protected final SelectionType SELECTION_TYPE;
+    protected final CrossOverType CROSSOVER_TYPE;
+    protected final MutationType MUTATION_TYPE;
+    protected final ReplacementType REPLACEMENT_TYPE;
 
     /**
      * Initializes the parameters
      *
      * @param individual the type of individual implemented in GA algorithm
+     * @param fitnessEvaluator the fitness evaluator of the GA-based method
+     * @param arguments array of parameters contains ( <code>path</code>,
+     * <code>numFeatures</code>, <code>classifierType</code>,
+     * <code>selectedClassifierPan</code>, <code>selectionType</code>,
+     * <code>crossoverType</code>, <code>mutationType</code>,
+     * <code>replacementType</code>, <code>numIteration</code>
+     * <code>populationSize</code>, <code>crossoverRate</code>,
+     * <code>mutationRate</code>, <code>kFolds</code>) in which
+     * <code><b><i>path</i></b></code> is the path of the project,
+     * <code><b><i>numFeatures</i></b></code> is the number of original features
+     * in the dataset, <code><b><i>classifierType</i></b></code> is the
+     * classifier type for evaluating the fitness of a solution,
+     * <code><b><i>selectedClassifierPan</i></b></code> is the selected
+     * classifier panel, <code><b><i>selectionType</i></b></code> is used for
+     * selecting parents from the individuals of a population according to their
+     * fitness, <code><b><i>crossoverType</i></b></code> is used for recombining
+     * the parents to generate new offsprings based on crossover rate,
+     * <code><b><i>mutationType</i></b></code> is used for mutating new
+     * offsprings by changing the value of some genes in them based on mutation
+     * rate, <code><b><i>replacementType</i></b></code> is used for handling
+     * populations from one generation to the next generation,
+     * <code><b><i>numIteration</i></b></code> is the maximum number of allowed
+     * iterations that algorithm repeated,
+     * <code><b><i>populationSize</i></b></code> is the size of population of
+     * candidate solutions, <code><b><i>crossoverRate</i></b></code> is the
+     * probability of crossover operation, <code><b><i>mutationRate
+     * </i></b></code> is the probability of mutation operation, and
+     * <code><b><i>kFolds</i></b></code> is the number of equal sized subsamples
+     * that is used in k-fold cross validation
      */
-    public BasicPopulation(Class<IndividualType> individual) {
+    public BasicPopulation(Class<IndividualType> individual, FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        this.fitnessEvaluator = fitnessEvaluator;
+        this.PROBLEM_DIMENSION = (int) arguments[1];
+        this.SELECTION_TYPE = (SelectionType) arguments[4];
+        this.CROSSOVER_TYPE = (CrossOverType) arguments[5];
+        this.MUTATION_TYPE = (MutationType) arguments[6];
+        this.REPLACEMENT_TYPE = (ReplacementType) arguments[7];
+        this.POPULATION_SIZE = (int) arguments[9];
+        this.CROSS_OVER_RATE = (double) arguments[10];
+        this.MUTATION_RATE = (double) arguments[11];
         population = (IndividualType[]) Array.newInstance(individual, POPULATION_SIZE);
+        setSeed(FeatureSelection.DEFAULT_SEED);
+    }
+
+    /**
+     * This method sets the seed of the random number streams of the population
+     * and each of its individuals.
+     *
+     * @param seed the seed of the run
+     */
+    public final void setSeed(long seed) {
+        rand = new SplittableRandom(seed);
+        individualRand = MathFunc.splitRandomStreams(rand, POPULATION_SIZE);
     }
 
     /**
@@ -23,7 +23,8 @@
  */
 package unifeat.featureSelection.wrapper.GABasedMethods;
 
-import java.util.Random;
+import unifeat.util.MathFunc;
+import java.util.random.RandomGenerator;
 
 /**
  * This java class is used to implement various crossover operators for
@@ -87,6 +88,51 @@ public class CrossoverOperator {
         parent2[index2] = temp;
     }
 
+    /**
+     * Changes the values of the bits of the two packed bit arrays that are
+     * selected by the given mask in a specific word
+     *
+     * @param parent1 the first packed bit array
+     * @param parent2 the second packed bit array
+     * @param word the index of the word in the two arrays
+     * @param mask the mask of the bits that should be changed
+     */
+    public static void swap(long[] parent1, long[] parent2, int word, long mask) {
+        long diff = (parent1[word] ^ parent2[word]) & mask;
+        parent1[word] ^= diff;
+        parent2[word] ^= diff;
+    }
+
+    /**
+     * Changes the values of the bits of the two packed bit arrays in a
+     * specific range of bit indices
+     *
+     * @param parent1 the first packed bit array
+     * @param parent2 the second packed bit array
+     * @param from the index of the first bit in the range (inclusive)
+     * @param to the index of the last bit in the range (exclusive)
+     */
+    public static void swapRange(long[] parent1, long[] parent2, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            swap(parent1, parent2, firstWord, firstMask & lastMask);
+            return;
+        }
+        swap(parent1, parent2, firstWord, firstMask);
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            long temp = parent1[word];
+            parent1[word] = parent2[word];
+            parent2[word] = temp;
+        }
+        swap(parent1, parent2, lastWord, lastMask);
+    }
+
     /**
      * Recombines (cross over) the two parents to generate new offsprings using
      * one-point crossover
@@ -94,9 +140,10 @@ public class CrossoverOperator {
      * @param <GeneType> the type of elements in the input arrays
      * @param parent1 the first parent
      * @param parent2 the second parent
+     * @param rand the random number generator
      */
-    public static <GeneType> void onePointCrossover(GeneType[] parent1, GeneType[] parent2) {
-        int point = (new Random()).nextInt(parent1.length);
+    public static <GeneType> void onePointCrossover(GeneType[] parent1, GeneType[] parent2, RandomGenerator rand) {
+        int point = rand.nextInt(parent1.length);
         for (int gene = point; gene < parent1.length; gene++) {
             swap(parent1, gene, parent2, gene);
         }
@@ -108,9 +155,10 @@ public class CrossoverOperator {
      *
      * @param parent1 the first parent
      * @param parent2 the second parent
+     * @param rand the random number generator
      */
-    public static void onePointCrossover(boolean[] parent1, boolean[] parent2) {
-        int point = (new Random()).nextInt(parent1.length);
+    public static void onePointCrossover(boolean[] parent1, boolean[] parent2, RandomGenerator rand) {
+        int point = rand.nextInt(parent1.length);
         for (int gene = point; gene < parent1.length; gene++) {
             swap(parent1, gene, parent2, gene);
         }
@@ -122,14 +170,29 @@ public class CrossoverOperator {
      *
      * @param parent1 the first parent
      * @param parent2 the second parent
+     * @param rand the random number generator
      */
-    public static void onePointCrossover(double[] parent1, double[] parent2) {
-        int point = (new Random()).nextInt(parent1.length);
+    public static void onePointCrossover(double[] parent1, double[] parent2, RandomGenerator rand) {
+        int point = rand.nextInt(parent1.length);
         for (int gene = point; gene < parent1.length; gene++) {
             swap(parent1, gene, parent2, gene);
         }
     }
 
+    /**
+     * Recombines (cross over) the two parents to generate new offsprings using
+     * one-point crossover
+     *
+     * @param parent1 the first parent whose genes are packed into long words
+     * @param parent2 the second parent whose genes are packed into long words
+     * @param dimension the number of genes of each parent
+     * @param rand the random number generator
+     */
+    public static void onePointCrossover(long[] parent1, long[] parent2, int dimension, RandomGenerator rand) {
+        int point = rand.nextInt(dimension);
+        swapRange(parent1, parent2, point, dimension);
+    }
+
     /**
      * Recombines (cross over) the two parents to generate new offsprings using
      * two-point crossover
@@ -137,10 +200,11 @@ public class CrossoverOperator {
      * @param <GeneType> the type of elements in the input arrays
      * @param parent1 the first parent
      * @param parent2 the second parent
+     * @param rand the random number generator
      */
-    public static <GeneType> void twoPointCrossover(GeneType[] parent1, GeneType[] parent2) {
-        int point1 = (new Random()).nextInt(parent1.length);
-        int point2 = (new Random()).nextInt(parent1.length);
+    public static <GeneType> void twoPointCrossover(GeneType[] parent1, GeneType[] parent2, RandomGenerator rand) {
+        int point1 = rand.nextInt(parent1.length);
+        int point2 = rand.nextInt(parent1.length);
 
         if (point2 < point1) {
             int temp = point1;
@@ -159,10 +223,11 @@ public class CrossoverOperator {
      *
      * @param parent1 the first parent
      * @param parent2 the second parent
+     * @param rand the random number generator
      */
-    public static void twoPointCrossover(boolean[] parent1, boolean[] parent2) {
-        int point1 = (new Random()).nextInt(parent1.length);
-        int point2 = (new Random()).nextInt(parent1.length);
+    public static void twoPointCrossover(boolean[] parent1, boolean[] parent2, RandomGenerator rand) {
+        int point1 = rand.nextInt(parent1.length);
+        int point2 = rand.nextInt(parent1.length);
 
         if (point2 < point1) {
             int temp = point1;
@@ -181,10 +246,11 @@ public class CrossoverOperator {
      *
      * @param parent1 the first parent
      * @param parent2 the second parent
+     * @param rand the random number generator
      */
-    public static void twoPointCrossover(double[] parent1, double[] parent2) {
-        int point1 = (new Random()).nextInt(parent1.length);
-        int point2 = (new Random()).nextInt(parent1.length);
+    public static void twoPointCrossover(double[] parent1, double[] parent2, RandomGenerator rand) {
+        int point1 = rand.nextInt(parent1.length);
+        int point2 = rand.nextInt(parent1.length);
 
         if (point2 < point1) {
             int temp = point1;
@@ -197,6 +263,28 @@ public class CrossoverOperator {
         }
     }
 
+    /**
+     * Recombines (cross over) the two parents to generate new offsprings using
+     * two-point crossover
+     *
+     * @param parent1 the first parent whose genes are packed into long words
+     * @param parent2 the second parent whose genes are packed into long words
+     * @param dimension the number of genes of each parent
+     * @param rand the random number generator
+     */
+    public static void twoPointCrossover(long[] parent1, long[] parent2, int dimension, RandomGenerator rand) {
+        int point1 = rand.nextInt(dimension);
+        int point2 = rand.nextInt(dimension);
+
+        if (point2 < point1) {
+            int temp = point1;
+            point1 = point2;
+            point2 = temp;
+        }
+
+        swapRange(parent1, parent2, point1, point2);
+    }
+
     /**
      * Recombines (cross over) the two parents to generate new offsprings using
      * uniform crossover
@@ -205,10 +293,11 @@ public class CrossoverOperator {
      * @param parent1 the first parent
      * @param parent2 the second parent
      * @param prob the probability of crossover operation
+     * @param rand the random number generator
      */
-    public static <GeneType> void uniformCrossover(GeneType[] parent1, GeneType[] parent2, double prob) {
+    public static <GeneType> void uniformCrossover(GeneType[] parent1, GeneType[] parent2, double prob, RandomGenerator rand) {
         for (int gene = 0; gene < parent1.length; gene++) {
-            if (Math.random() <= prob) {
+            if (rand.nextDouble() <= prob) {
                 swap(parent1, gene, parent2, gene);
             }
         }
@@ -221,10 +310,11 @@ public class CrossoverOperator {
      * @param parent1 the first parent
      * @param parent2 the second parent
      * @param prob the probability of crossover operation
+     * @param rand the random number generator
      */
-    public static void uniformCrossover(boolean[] parent1, boolean[] parent2, double prob) {
+    public static void uniformCrossover(boolean[] parent1, boolean[] parent2, double prob, RandomGenerator rand) {
         for (int gene = 0; gene < parent1.length; gene++) {
-            if (Math.random() <= prob) {
+            if (rand.nextDouble() <= prob) {
                 swap(parent1, gene, parent2, gene);
             }
         }
@@ -237,12 +327,55 @@ public class CrossoverOperator {
      * @param parent1 the first parent
      * @param parent2 the second parent
      * @param prob the probability of crossover operation
+     * @param rand the random number generator
      */
-    public static void uniformCrossover(double[] parent1, double[] parent2, double prob) {
+    public static void uniformCrossover(double[] parent1, double[] parent2, double prob, RandomGenerator rand) {
         for (int gene = 0; gene < parent1.length; gene++) {
-            if (Math.random() <= prob) {
+            if (rand.nextDouble() <= prob) {
                 swap(parent1, gene, parent2, gene);
             }
         }
     }
+
+    /**
+     * Recombines (cross over) the two parents to generate new offsprings using
+     * uniform crossover
+     * <p>
+     * The swapped genes of each word are collected in a mask. The positions of
+     * the swapped genes are drawn by geometric skips instead of one random
+     * number per gene, except for the probability of 0.5 in which each mask is
+     * a random long word.
+     *
+     * @param parent1 the first parent whose genes are packed into long words
+     * @param parent2 the second parent whose genes are packed into long words
+     * @param dimension the number of genes of each parent
+     * @param prob the probability of crossover operation
+     * @param rand the random number generator
+     */
+    public static void uniformCrossover(long[] parent1, long[] parent2, int dimension, double prob, RandomGenerator rand) {
+        if (prob == 0.5) {
+            for (int word = 0; word < parent1.length; word++) {
+                swap(parent1, parent2, word, rand.nextLong());
+            }
+            return;
+        }
+
+        int currentWord = -1;
+        long mask = 0;
+        for (long gene = MathFunc.generateGeometricRandNum(prob, rand); gene < dimension;
+                gene += 1L + MathFunc.generateGeometricRandNum(prob, rand)) {
+            int word = (int) (gene >>> 6);
+            if (word != currentWord) {
+                if (currentWord >= 0) {
+                    swap(parent1, parent2, currentWord, mask);
+                }
+                currentWord = word;
+                mask = 0;
+            }
+            mask |= 1L << gene;
+        }
+        if (currentWord >= 0) {
+            swap(parent1, parent2, currentWord, mask);
+        }
+    }
 }
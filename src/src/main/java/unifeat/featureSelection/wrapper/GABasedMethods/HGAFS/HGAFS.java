@@ -25,7 +25,6 @@ package unifeat.featureSelection.wrapper.GABasedMethods.HGAFS;
 
 import unifeat.featureSelection.wrapper.GABasedMethods.BasicGA;
 import unifeat.util.ArraysFunc;
-import java.util.ArrayList;
 
 /**
  * This java class is used to implement feature selection method based on hybrid
@@ -77,7 +76,7 @@ public class HGAFS extends BasicGA<Population> {
      */
     public HGAFS(Object... arguments) {
         super(arguments);
-        population = new Population((double) arguments[13], (double) arguments[14]);
+        population = new Population(fitnessEvaluator, arguments);
     }
 
     /**
@@ -85,16 +84,21 @@ public class HGAFS extends BasicGA<Population> {
      */
     @Override
     protected int[] createSelectedFeatureSubset() {
-        ArrayList<Integer> featSubset = new ArrayList();
         population.evaluateFitness();
         Individual fittestIndividual = population.getFittestIndividual();
 
-        for (int i = 0; i < Population.PROBLEM_DIMENSION; i++) {
-            if (fittestIndividual.genes[i]) {
-                featSubset.add(i);
-            }
-        }
-        return featSubset.stream().mapToInt(i -> i).toArray();
+        return fittestIndividual.selectedFeaturesSubset();
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The local search uses the correlations between the features that are
+     * computed on the column-major train set.
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return false;
     }
 
     /**
@@ -103,9 +107,10 @@ public class HGAFS extends BasicGA<Population> {
      */
     @Override
     public void evaluateFeatures() {
-        Population.fitnessEvaluator.createTempDirectory();
-        Population.fitnessEvaluator.setDataInfo(trainSet, nameFeatures, classLabel);
-        population.setDataInfo(trainSet);
+        fitnessEvaluator.createTempDirectory();
+        setFitnessData(fitnessEvaluator);
+        population.setDataInfo(trainData);
+        population.setSeed(seed);
         population.initialization();
         for (int i = 0; i < NUM_ITERATION; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
@@ -125,6 +130,7 @@ public class HGAFS extends BasicGA<Population> {
 //        for (int i = 0; i < numSelectedFeature; i++) {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
-        Population.fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.shutdown();
     }
 }
@@ -24,16 +24,16 @@
 package unifeat.featureSelection.wrapper.GABasedMethods.HGAFS;
 
 import unifeat.featureSelection.wrapper.GABasedMethods.BasicIndividual;
-import java.util.ArrayList;
 
 /**
  * This java class is used to represent an individual in simple genetic
- * algorithm (Simple GA) method in which the type of gene vector is boolean.
+ * algorithm (Simple GA) method in which the gene vector is a packed array of
+ * bits.
  *
  * @author Sina Tabakhi
  * @see unifeat.featureSelection.wrapper.GABasedMethods.BasicIndividual
  */
-public class Individual extends BasicIndividual<Boolean> {
+public class Individual extends BasicIndividual {
 
     /**
      * Initializes the parameters
@@ -42,7 +42,7 @@ public class Individual extends BasicIndividual<Boolean> {
      * features in the dataset
      */
     public Individual(int dimension) {
-        super(Boolean.class, dimension);
+        super(dimension);
     }
 
     /**
@@ -51,10 +51,8 @@ public class Individual extends BasicIndividual<Boolean> {
     @Override
     public int numSelectedFeatures() {
         int count = 0;
-        for (Boolean x : this.genes) {
-            if (x) {
-                count++;
-            }
+        for (long word : this.genes) {
+            count += Long.bitCount(word);
         }
         return count;
     }
@@ -64,12 +62,14 @@ public class Individual extends BasicIndividual<Boolean> {
      */
     @Override
     public int[] selectedFeaturesSubset() {
-        ArrayList<Integer> list = new ArrayList<>();
-        for (int i = 0; i < this.genes.length; i++) {
-            if (this.genes[i]) {
-                list.add(i);
+        int[] list = new int[numSelectedFeatures()];
+        for (int word = 0, count = 0; word < this.genes.length; word++) {
+            long bits = this.genes[word];
+            while (bits != 0) {
+                list[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
             }
         }
-        return list.stream().mapToInt(i -> i).toArray();
+        return list;
     }
 }
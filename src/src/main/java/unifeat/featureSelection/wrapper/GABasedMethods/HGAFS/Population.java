@@ -23,6 +23,9 @@
  */
 package unifeat.featureSelection.wrapper.GABasedMethods.HGAFS;
 
+import unifeat.dataset.ColumnarDataset;
+import unifeat.dataset.SimilarityType;
+import unifeat.featureSelection.FitnessEvaluator;
 import unifeat.featureSelection.wrapper.GABasedMethods.BasicPopulation;
 import unifeat.featureSelection.wrapper.GABasedMethods.CrossoverOperator;
 import unifeat.featureSelection.wrapper.GABasedMethods.MutationOperator;
@@ -36,7 +39,6 @@ import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Random;
 
 /**
  * This java class is used to implement a population of individuals in hybrid
@@ -48,11 +50,9 @@ import java.util.Random;
  */
 public class Population extends BasicPopulation<Individual> {
 
-    private double[][] trainSet;
-    private int seedValue = 0;
-    private Random rand = new Random(seedValue);
-    public static double EPSILON;
-    public static double MU;
+    private ColumnarDataset trainData;
+    private final double EPSILON;
+    private final double MU;
     private int constantSubsetSize;
     private double[] featCorrelationValue;
     private ArrayList<Integer> dissimilarSet;
@@ -62,17 +62,18 @@ public class Population extends BasicPopulation<Individual> {
     /**
      * Initializes the parameters
      *
-     * @param epsilon the epsilon parameter used in the subset size determining
-     * scheme
-     * @param mu the mu parameter used in the local search operation (control
-     * similar/dissimilar)
+     * @param fitnessEvaluator the fitness evaluator of the HGAFS method
+     * @param arguments array of parameters of the HGAFS method in the same
+     * order as the arguments of {@link HGAFS#HGAFS(java.lang.Object...)}
      */
-    public Population(double epsilon, double mu) {
-        super(Individual.class);
-        Population.EPSILON = epsilon;
-        Population.MU = mu;
+    public Population(FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        super(Individual.class, fitnessEvaluator, arguments);
+        this.EPSILON = (double) arguments[13];
+        this.MU = (double) arguments[14];
+        matingPool = new Individual[POPULATION_SIZE];
         for (int i = 0; i < POPULATION_SIZE; i++) {
             population[i] = new Individual(PROBLEM_DIMENSION);
+            matingPool[i] = new Individual(PROBLEM_DIMENSION);
         }
     }
 
@@ -88,7 +89,7 @@ public class Population extends BasicPopulation<Individual> {
         constantSubsetSize = determineSubsetSize();
 
         featCorrelationValue = computeCorrelation();
-        int[] indecesFeatures = ArraysFunc.sortWithIndex(computeCorrelation(), false);
+        int[] indecesFeatures = ArraysFunc.sortWithIndex(Arrays.copyOf(featCorrelationValue, PROBLEM_DIMENSION), false);
 
         dissimilarSet = new ArrayList<>();
         similarSet = new ArrayList<>();
@@ -101,11 +102,23 @@ public class Population extends BasicPopulation<Individual> {
             }
         }
 
+        /**
+         * selects constantSubsetSize distinct random genes of each individual
+         * by a partial Fisher–Yates shuffle of the gene indices
+         */
+        int[] indecesGenes = new int[PROBLEM_DIMENSION];
+        for (int gene = 0; gene < PROBLEM_DIMENSION; gene++) {
+            indecesGenes[gene] = gene;
+        }
         for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
-            for (int gene = 0; gene < PROBLEM_DIMENSION; gene++) {
-                population[indiv].genes[gene] = gene < constantSubsetSize;
+            population[indiv].clearGenes();
+            for (int gene = 0; gene < constantSubsetSize; gene++) {
+                int selected = MathFunc.generateRandNum(gene, PROBLEM_DIMENSION - 1, individualRand[indiv]);
+                int temp = indecesGenes[gene];
+                indecesGenes[gene] = indecesGenes[selected];
+                indecesGenes[selected] = temp;
+                population[indiv].setGene(indecesGenes[gene], true);
             }
-            MathFunc.randomize(population[indiv].genes);
         }
     }
 
@@ -118,6 +131,14 @@ public class Population extends BasicPopulation<Individual> {
      */
     @Override
     public void evaluateFitness() {
+        int[][] featureSubsets = new int[POPULATION_SIZE][];
+        for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
+            if (population[indiv].numSelectedFeatures() > 0) {
+                featureSubsets[indiv] = population[indiv].selectedFeaturesSubset();
+            }
+        }
+
+        Criteria[] criteria = fitnessEvaluator.crossValidation(featureSubsets);
         for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
 
             /**
@@ -125,17 +146,16 @@ public class Population extends BasicPopulation<Individual> {
              * selected features
              */
             double sumCor = 0;
-            for (int gene = 0; gene < PROBLEM_DIMENSION; gene++) {
-                if (population[indiv].genes[gene]) {
+            if (featureSubsets[indiv] != null) {
+                for (int gene : featureSubsets[indiv]) {
                     sumCor += featCorrelationValue[gene];
                 }
             }
 
             sumCor = 1.0 / sumCor;
 
-            if (population[indiv].numSelectedFeatures() > 0) {
-                Criteria criteria = fitnessEvaluator.crossValidation(population[indiv].selectedFeaturesSubset());
-                population[indiv].setFitness(criteria.getAccuracy() + sumCor);
+            if (featureSubsets[indiv] != null) {
+                population[indiv].setFitness(criteria[indiv].getAccuracy() + sumCor);
             } else {
                 population[indiv].setFitness(0 + sumCor);
             }
@@ -150,21 +170,15 @@ public class Population extends BasicPopulation<Individual> {
     @Override
     public void operateSelection() {
         int[] selectedParentIndices = new int[POPULATION_SIZE];
-        matingPool = new Individual[POPULATION_SIZE];
 
-        for (int indiv = 0; indiv < matingPool.length; indiv++) {
-            matingPool[indiv] = new Individual(PROBLEM_DIMENSION);
-        }
-
-        if (Population.SELECTION_TYPE == SelectionType.FITNESS_PROPORTIONAL_SELECTION) {
-            selectedParentIndices = SelectionOperator.fitnessProportionalSelection(this.getFitness(), POPULATION_SIZE);
-        } else if (Population.SELECTION_TYPE == SelectionType.RANK_BASED_SELECTION) {
-            selectedParentIndices = SelectionOperator.rankBasedSelection(this.getFitness(), POPULATION_SIZE);
+        if (SELECTION_TYPE == SelectionType.FITNESS_PROPORTIONAL_SELECTION) {
+            selectedParentIndices = SelectionOperator.fitnessProportionalSelection(this.getFitness(), POPULATION_SIZE, rand);
+        } else if (SELECTION_TYPE == SelectionType.RANK_BASED_SELECTION) {
+            selectedParentIndices = SelectionOperator.rankBasedSelection(this.getFitness(), POPULATION_SIZE, rand);
         }
 
         for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
-            matingPool[indiv].genes = Arrays.copyOf(population[selectedParentIndices[indiv]].genes, PROBLEM_DIMENSION);
-            matingPool[indiv].setFitness(population[selectedParentIndices[indiv]].getFitness());
+            matingPool[indiv].copyOf(population[selectedParentIndices[indiv]]);
         }
     }
 
@@ -175,21 +189,21 @@ public class Population extends BasicPopulation<Individual> {
      */
     @Override
     public void operateCrossOver() {
-        if (Population.CROSSOVER_TYPE == CrossOverType.ONE_POINT_CROSS_OVER) {
+        if (CROSSOVER_TYPE == CrossOverType.ONE_POINT_CROSS_OVER) {
             for (int indiv = 0; indiv < matingPool.length - 1; indiv += 2) {
-                if (Math.random() < CROSS_OVER_RATE) {
-                    CrossoverOperator.onePointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes);
+                if (individualRand[indiv].nextDouble() < CROSS_OVER_RATE) {
+                    CrossoverOperator.onePointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, PROBLEM_DIMENSION, individualRand[indiv]);
                 }
             }
-        } else if (Population.CROSSOVER_TYPE == CrossOverType.TWO_POINT_CROSS_OVER) {
+        } else if (CROSSOVER_TYPE == CrossOverType.TWO_POINT_CROSS_OVER) {
             for (int indiv = 0; indiv < matingPool.length - 1; indiv += 2) {
-                if (Math.random() < CROSS_OVER_RATE) {
-                    CrossoverOperator.twoPointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes);
+                if (individualRand[indiv].nextDouble() < CROSS_OVER_RATE) {
+                    CrossoverOperator.twoPointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, PROBLEM_DIMENSION, individualRand[indiv]);
                 }
             }
-        } else if (Population.CROSSOVER_TYPE == CrossOverType.UNIFORM_CROSS_OVER) {
+        } else if (CROSSOVER_TYPE == CrossOverType.UNIFORM_CROSS_OVER) {
             for (int indiv = 0; indiv < matingPool.length - 1; indiv += 2) {
-                CrossoverOperator.uniformCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, CROSS_OVER_RATE);
+                CrossoverOperator.uniformCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, PROBLEM_DIMENSION, CROSS_OVER_RATE, individualRand[indiv]);
             }
         }
     }
@@ -201,9 +215,9 @@ public class Population extends BasicPopulation<Individual> {
      */
     @Override
     public void operateMutation() {
-        if (Population.MUTATION_TYPE == MutationType.BITWISE_MUTATION) {
-            for (Individual indiv : matingPool) {
-                MutationOperator.bitwiseMutation(indiv.genes, MUTATION_RATE);
+        if (MUTATION_TYPE == MutationType.BITWISE_MUTATION) {
+            for (int indiv = 0; indiv < matingPool.length; indiv++) {
+                MutationOperator.bitwiseMutation(matingPool[indiv].genes, PROBLEM_DIMENSION, MUTATION_RATE, individualRand[indiv]);
             }
         }
     }
@@ -220,40 +234,40 @@ public class Population extends BasicPopulation<Individual> {
             ArrayList<Integer> Xs = new ArrayList<>();
 
             for (Integer entry : dissimilarSet) {
-                if (matingPool[indiv].genes[entry]) {
+                if (matingPool[indiv].getGene(entry)) {
                     Xd.add(entry);
                 }
             }
 
             for (Integer entry : similarSet) {
-                if (matingPool[indiv].genes[entry]) {
+                if (matingPool[indiv].getGene(entry)) {
                     Xs.add(entry);
                 }
             }
 
             if (Xd.size() < Nd) {
                 for (int entry = 0, count = 0; entry < dissimilarSet.size() && count < Nd - Xd.size(); entry++) {
-                    if (!matingPool[indiv].genes[dissimilarSet.get(entry)]) {
-                        matingPool[indiv].genes[dissimilarSet.get(entry)] = true;
+                    if (!matingPool[indiv].getGene(dissimilarSet.get(entry))) {
+                        matingPool[indiv].setGene(dissimilarSet.get(entry), true);
                         count++;
                     }
                 }
             } else if (Xd.size() > Nd) {
                 for (int entry = Xd.size() - 1; entry >= Nd; entry--) {
-                    matingPool[indiv].genes[Xd.get(entry)] = false;
+                    matingPool[indiv].setGene(Xd.get(entry), false);
                 }
             }
 
             if (Xs.size() < Ns) {
                 for (int entry = 0, count = 0; entry < similarSet.size() && count < Ns - Xs.size(); entry++) {
-                    if (!matingPool[indiv].genes[similarSet.get(entry)]) {
-                        matingPool[indiv].genes[similarSet.get(entry)] = true;
+                    if (!matingPool[indiv].getGene(similarSet.get(entry))) {
+                        matingPool[indiv].setGene(similarSet.get(entry), true);
                         count++;
                     }
                 }
             } else if (Xs.size() > Ns) {
                 for (int row = Xs.size() - 1; row >= Ns; row--) {
-                    matingPool[indiv].genes[Xs.get(row)] = false;
+                    matingPool[indiv].setGene(Xs.get(row), false);
                 }
             }
         }
@@ -262,12 +276,16 @@ public class Population extends BasicPopulation<Individual> {
     /**
      * {@inheritDoc }
      * <p>
-     * The replacement type is selected based on replacementType by user.
+     * The replacement type is selected based on replacementType by user. The
+     * arrays of the population and the mating pool are exchanged, so the
+     * individuals of both arrays are reused in the next generation.
      */
     @Override
     public void operateGenerationReplacement() {
-        if (Population.REPLACEMENT_TYPE == ReplacementType.TOTAL_REPLACEMENT) {
+        if (REPLACEMENT_TYPE == ReplacementType.TOTAL_REPLACEMENT) {
+            Individual[] temp = population;
             population = matingPool;
+            matingPool = temp;
         }
     }
 
@@ -355,27 +373,15 @@ public class Population extends BasicPopulation<Individual> {
      * @return computed correlation of each feature to other features
      */
     private double[] computeCorrelation() {
-        double[] cor = new double[PROBLEM_DIMENSION];
-
-        for (int i = 0; i < PROBLEM_DIMENSION; i++) {
-            cor[i] = 0;
-            for (int j = 0; j < PROBLEM_DIMENSION; j++) {
-                if (i != j) {
-                    cor[i] += Math.abs(MathFunc.computePearsonCorCoef(trainSet, i, j));
-                }
-            }
-            cor[i] /= (PROBLEM_DIMENSION - 1);
-        }
-
-        return cor;
+        return trainData.getSimilarityMatrix(SimilarityType.PEARSON).getMeanAbsoluteValues();
     }
 
     /**
      * This method sets the information of the dataset.
      *
-     * @param data the input dataset values
+     * @param data the column-major input dataset
      */
-    public void setDataInfo(double[][] data) {
-        this.trainSet = data;
+    public void setDataInfo(ColumnarDataset data) {
+        this.trainData = data;
     }
 }
@@ -23,6 +23,9 @@
  */
 package unifeat.featureSelection.wrapper.GABasedMethods;
 
+import unifeat.util.MathFunc;
+import java.util.random.RandomGenerator;
+
 /**
  * This java class is used to implement various mutation operators for mutating
  * new offsprings by changing the value of some genes in them.
@@ -39,10 +42,11 @@ public class MutationOperator {
      *
      * @param parent the first parent
      * @param prob the probability of mutation operation
+     * @param rand the random number generator
      */
-    public static void bitwiseMutation(boolean[] parent, double prob) {
+    public static void bitwiseMutation(boolean[] parent, double prob, RandomGenerator rand) {
         for (int gene = 0; gene < parent.length; gene++) {
-            if (Math.random() <= prob) {
+            if (rand.nextDouble() <= prob) {
                 parent[gene] = !parent[gene];
             }
         }
@@ -54,12 +58,33 @@ public class MutationOperator {
      *
      * @param parent the first parent
      * @param prob the probability of mutation operation
+     * @param rand the random number generator
      */
-    public static void bitwiseMutation(Boolean[] parent, double prob) {
+    public static void bitwiseMutation(Boolean[] parent, double prob, RandomGenerator rand) {
         for (int gene = 0; gene < parent.length; gene++) {
-            if (Math.random() <= prob) {
+            if (rand.nextDouble() <= prob) {
                 parent[gene] = !parent[gene];
             }
         }
     }
+
+    /**
+     * Mutates new offsprings by changing the value of some genes in them using
+     * bitwise mutation
+     * <p>
+     * The positions of the mutated genes are drawn by geometric skips, so the
+     * number of generated random numbers is proportional to the number of
+     * mutated genes instead of the number of all genes.
+     *
+     * @param parent the parent whose genes are packed into long words
+     * @param dimension the number of genes of the parent
+     * @param prob the probability of mutation operation
+     * @param rand the random number generator
+     */
+    public static void bitwiseMutation(long[] parent, int dimension, double prob, RandomGenerator rand) {
+        for (long gene = MathFunc.generateGeometricRandNum(prob, rand); gene < dimension;
+                gene += 1L + MathFunc.generateGeometricRandNum(prob, rand)) {
+            parent[(int) (gene >>> 6)] ^= 1L << gene;
+        }
+    }
 }
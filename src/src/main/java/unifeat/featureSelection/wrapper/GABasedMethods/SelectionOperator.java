@@ -25,6 +25,7 @@ package unifeat.featureSelection.wrapper.GABasedMethods;
 
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
+import java.util.random.RandomGenerator;
 
 /**
  * This java class is used to implement various selection operators for
@@ -42,11 +43,12 @@ public class SelectionOperator {
      * using roulette wheel algorithm
      *
      * @param probabilities the array of probabilities of selecting individuals
+     * @param rand the random number generator
      *
      * @return the index of selected individual
      */
-    public static int rouletteWheel(double[] probabilities) {
-        double randomNumber = Math.random();
+    public static int rouletteWheel(double[] probabilities, RandomGenerator rand) {
+        double randomNumber = rand.nextDouble();
         double sumInRoulette = 0;
         for (int indiv = 0; indiv < probabilities.length; indiv++) {
             sumInRoulette += probabilities[indiv];
@@ -67,10 +69,11 @@ public class SelectionOperator {
      * @param fitnessValues the array of fitness values of individuals in a
      * population
      * @param matingPoolSize the size of the mating pool
+     * @param rand the random number generator
      *
      * @return an array of indices of the selected individuals
      */
-    public static int[] fitnessProportionalSelection(double[] fitnessValues, int matingPoolSize) {
+    public static int[] fitnessProportionalSelection(double[] fitnessValues, int matingPoolSize, RandomGenerator rand) {
         int[] maitingPool = new int[matingPoolSize];
         int populationSize = fitnessValues.length;
         double[] probabilities = new double[populationSize];
@@ -84,7 +87,7 @@ public class SelectionOperator {
         }
 
         for (int i = 0; i < matingPoolSize; i++) {
-            maitingPool[i] = rouletteWheel(probabilities);
+            maitingPool[i] = rouletteWheel(probabilities, rand);
         }
 
         return maitingPool;
@@ -98,10 +101,11 @@ public class SelectionOperator {
      * @param fitnessValues the array of fitness values of individuals in a
      * population
      * @param matingPoolSize the size of the mating pool
+     * @param rand the random number generator
      *
      * @return an array of indices of the selected individuals
      */
-    public static int[] rankBasedSelection(double[] fitnessValues, int matingPoolSize) {
+    public static int[] rankBasedSelection(double[] fitnessValues, int matingPoolSize, RandomGenerator rand) {
         int[] maitingPool = new int[matingPoolSize];
         int populationSize = fitnessValues.length;
         double[] probabilities = new double[populationSize];
@@ -123,7 +127,7 @@ public class SelectionOperator {
         }
 
         for (int i = 0; i < matingPoolSize; i++) {
-            maitingPool[i] = rouletteWheel(probabilities);
+            maitingPool[i] = rouletteWheel(probabilities, rand);
         }
 
         return maitingPool;
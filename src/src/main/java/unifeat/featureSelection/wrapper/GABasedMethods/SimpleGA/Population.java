@@ -23,6 +23,7 @@
  */
 package unifeat.featureSelection.wrapper.GABasedMethods.SimpleGA;
 
+import unifeat.featureSelection.FitnessEvaluator;
 import unifeat.featureSelection.wrapper.GABasedMethods.BasicPopulation;
 import unifeat.featureSelection.wrapper.GABasedMethods.CrossoverOperator;
 import unifeat.featureSelection.wrapper.GABasedMethods.MutationOperator;
@@ -32,8 +33,6 @@ import unifeat.gui.featureSelection.wrapper.GABased.MutationType;
 import unifeat.gui.featureSelection.wrapper.GABased.ReplacementType;
 import unifeat.gui.featureSelection.wrapper.GABased.SelectionType;
 import unifeat.result.performanceMeasure.Criteria;
-import java.util.Arrays;
-import java.util.Random;
 
 /**
  * This java class is used to implement a population of individuals in simple
@@ -45,17 +44,21 @@ import java.util.Random;
  */
 public class Population extends BasicPopulation<Individual> {
 
-    private int seedValue = 0;
-    private Random rand = new Random(seedValue);
     private Individual[] matingPool;
 
     /**
      * Initializes the parameters
+     *
+     * @param fitnessEvaluator the fitness evaluator of the SimpleGA method
+     * @param arguments array of parameters of the SimpleGA method in the same
+     * order as the arguments of {@link SimpleGA#SimpleGA(java.lang.Object...)}
      */
-    public Population() {
-        super(Individual.class);
+    public Population(FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        super(Individual.class, fitnessEvaluator, arguments);
+        matingPool = new Individual[POPULATION_SIZE];
         for (int i = 0; i < POPULATION_SIZE; i++) {
             population[i] = new Individual(PROBLEM_DIMENSION);
+            matingPool[i] = new Individual(PROBLEM_DIMENSION);
         }
     }
 
@@ -67,11 +70,11 @@ public class Population extends BasicPopulation<Individual> {
     public void initialization() {
         for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
             for (int gene = 0; gene < PROBLEM_DIMENSION; gene++) {
-                population[indiv].genes[gene] = rand.nextDouble() > 0.5;
+                population[indiv].setGene(gene, individualRand[indiv].nextDouble() > 0.5);
             }
 
             if (population[indiv].numSelectedFeatures() == 0) {
-                population[indiv].genes[rand.nextInt(PROBLEM_DIMENSION)] = true;
+                population[indiv].setGene(individualRand[indiv].nextInt(PROBLEM_DIMENSION), true);
             }
         }
     }
@@ -83,10 +86,17 @@ public class Population extends BasicPopulation<Individual> {
      */
     @Override
     public void evaluateFitness() {
+        int[][] featureSubsets = new int[POPULATION_SIZE][];
         for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
             if (population[indiv].numSelectedFeatures() > 0) {
-                Criteria criteria = fitnessEvaluator.crossValidation(population[indiv].selectedFeaturesSubset());
-                population[indiv].setFitness(criteria.getAccuracy());
+                featureSubsets[indiv] = population[indiv].selectedFeaturesSubset();
+            }
+        }
+
+        Criteria[] criteria = fitnessEvaluator.crossValidation(featureSubsets);
+        for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
+            if (featureSubsets[indiv] != null) {
+                population[indiv].setFitness(criteria[indiv].getAccuracy());
             } else {
                 population[indiv].setFitness(0);
             }
@@ -101,21 +111,15 @@ public class Population extends BasicPopulation<Individual> {
     @Override
     public void operateSelection() {
         int[] selectedParentIndices = new int[POPULATION_SIZE];
-        matingPool = new Individual[POPULATION_SIZE];
-
-        for (int indiv = 0; indiv < matingPool.length; indiv++) {
-            matingPool[indiv] = new Individual(PROBLEM_DIMENSION);
-        }
 
-        if (Population.SELECTION_TYPE == SelectionType.FITNESS_PROPORTIONAL_SELECTION) {
-            selectedParentIndices = SelectionOperator.fitnessProportionalSelection(this.getFitness(), POPULATION_SIZE);
-        } else if (Population.SELECTION_TYPE == SelectionType.RANK_BASED_SELECTION) {
-            selectedParentIndices = SelectionOperator.rankBasedSelection(this.getFitness(), POPULATION_SIZE);
+        if (SELECTION_TYPE == SelectionType.FITNESS_PROPORTIONAL_SELECTION) {
+            selectedParentIndices = SelectionOperator.fitnessProportionalSelection(this.getFitness(), POPULATION_SIZE, rand);
+        } else if (SELECTION_TYPE == SelectionType.RANK_BASED_SELECTION) {
+            selectedParentIndices = SelectionOperator.rankBasedSelection(this.getFitness(), POPULATION_SIZE, rand);
         }
 
         for (int indiv = 0; indiv < POPULATION_SIZE; indiv++) {
-            matingPool[indiv].genes = Arrays.copyOf(population[selectedParentIndices[indiv]].genes, PROBLEM_DIMENSION);
-            matingPool[indiv].setFitness(population[selectedParentIndices[indiv]].getFitness());
+            matingPool[indiv].copyOf(population[selectedParentIndices[indiv]]);
         }
     }
 
@@ -126,21 +130,21 @@ public class Population extends BasicPopulation<Individual> {
      */
     @Override
     public void operateCrossOver() {
-        if (Population.CROSSOVER_TYPE == CrossOverType.ONE_POINT_CROSS_OVER) {
+        if (CROSSOVER_TYPE == CrossOverType.ONE_POINT_CROSS_OVER) {
             for (int indiv = 0; indiv < matingPool.length - 1; indiv += 2) {
-                if (Math.random() < CROSS_OVER_RATE) {
-                    CrossoverOperator.onePointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes);
+                if (individualRand[indiv].nextDouble() < CROSS_OVER_RATE) {
+                    CrossoverOperator.onePointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, PROBLEM_DIMENSION, individualRand[indiv]);
                 }
             }
-        } else if (Population.CROSSOVER_TYPE == CrossOverType.TWO_POINT_CROSS_OVER) {
+        } else if (CROSSOVER_TYPE == CrossOverType.TWO_POINT_CROSS_OVER) {
             for (int indiv = 0; indiv < matingPool.length - 1; indiv += 2) {
-                if (Math.random() < CROSS_OVER_RATE) {
-                    CrossoverOperator.twoPointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes);
+                if (individualRand[indiv].nextDouble() < CROSS_OVER_RATE) {
+                    CrossoverOperator.twoPointCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, PROBLEM_DIMENSION, individualRand[indiv]);
                 }
             }
-        } else if (Population.CROSSOVER_TYPE == CrossOverType.UNIFORM_CROSS_OVER) {
+        } else if (CROSSOVER_TYPE == CrossOverType.UNIFORM_CROSS_OVER) {
             for (int indiv = 0; indiv < matingPool.length - 1; indiv += 2) {
-                CrossoverOperator.uniformCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, CROSS_OVER_RATE);
+                CrossoverOperator.uniformCrossover(matingPool[indiv].genes, matingPool[indiv + 1].genes, PROBLEM_DIMENSION, CROSS_OVER_RATE, individualRand[indiv]);
             }
         }
     }
@@ -152,9 +156,9 @@ public class Population extends BasicPopulation<Individual> {
      */
     @Override
     public void operateMutation() {
-        if (Population.MUTATION_TYPE == MutationType.BITWISE_MUTATION) {
-            for (Individual indiv : matingPool) {
-                MutationOperator.bitwiseMutation(indiv.genes, MUTATION_RATE);
+        if (MUTATION_TYPE == MutationType.BITWISE_MUTATION) {
+            for (int indiv = 0; indiv < matingPool.length; indiv++) {
+                MutationOperator.bitwiseMutation(matingPool[indiv].genes, PROBLEM_DIMENSION, MUTATION_RATE, individualRand[indiv]);
             }
         }
     }
@@ -162,12 +166,16 @@ public class Population extends BasicPopulation<Individual> {
     /**
      * {@inheritDoc }
      * <p>
-     * The replacement type is selected based on replacementType by user.
+     * The replacement type is selected based on replacementType by user. The
+     * arrays of the population and the mating pool are exchanged, so the
+     * individuals of both arrays are reused in the next generation.
      */
     @Override
     public void operateGenerationReplacement() {
-        if (Population.REPLACEMENT_TYPE == ReplacementType.TOTAL_REPLACEMENT) {
+        if (REPLACEMENT_TYPE == ReplacementType.TOTAL_REPLACEMENT) {
+            Individual[] temp = population;
             population = matingPool;
+            matingPool = temp;
         }
     }
 
@@ -25,7 +25,6 @@ package unifeat.featureSelection.wrapper.GABasedMethods.SimpleGA;
 
 import unifeat.featureSelection.wrapper.GABasedMethods.BasicGA;
 import unifeat.util.ArraysFunc;
-import java.util.ArrayList;
 
 /**
  * This java class is used to implement feature selection method based on simple
@@ -73,7 +72,7 @@ public class SimpleGA extends BasicGA<Population> {
      */
     public SimpleGA(Object... arguments) {
         super(arguments);
-        population = new Population();
+        population = new Population(fitnessEvaluator, arguments);
     }
 
     /**
@@ -81,16 +80,10 @@ public class SimpleGA extends BasicGA<Population> {
      */
     @Override
     protected int[] createSelectedFeatureSubset() {
-        ArrayList<Integer> featSubset = new ArrayList();
         population.evaluateFitness();
         Individual fittestIndividual = population.getFittestIndividual();
 
-        for (int i = 0; i < Population.PROBLEM_DIMENSION; i++) {
-            if (fittestIndividual.genes[i]) {
-                featSubset.add(i);
-            }
-        }
-        return featSubset.stream().mapToInt(i -> i).toArray();
+        return fittestIndividual.selectedFeaturesSubset();
     }
 
     /**
@@ -99,8 +92,9 @@ public class SimpleGA extends BasicGA<Population> {
      */
     @Override
     public void evaluateFeatures() {
-        Population.fitnessEvaluator.createTempDirectory();
-        Population.fitnessEvaluator.setDataInfo(trainSet, nameFeatures, classLabel);
+        fitnessEvaluator.createTempDirectory();
+        setFitnessData(fitnessEvaluator);
+        population.setSeed(seed);
         population.initialization();
         for (int i = 0; i < NUM_ITERATION; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
@@ -120,6 +114,7 @@ public class SimpleGA extends BasicGA<Population> {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
 
-        Population.fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.shutdown();
     }
 }
@@ -25,7 +25,6 @@ package unifeat.featureSelection.wrapper.PSOBasedMethods.BPSO;
 
 import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicPSO;
 import unifeat.util.ArraysFunc;
-import java.util.ArrayList;
 
 /**
  * This java class is used to implement feature selection method based on binary
@@ -72,7 +71,7 @@ public class BPSO extends BasicPSO<Swarm> {
      */
     public BPSO(Object... arguments) {
         super(arguments);
-        swarm = new Swarm();
+        swarm = new Swarm(fitnessEvaluator, arguments);
     }
 
     /**
@@ -80,13 +79,7 @@ public class BPSO extends BasicPSO<Swarm> {
      */
     @Override
     protected int[] createSelectedFeatureSubset() {
-        ArrayList<Integer> featSubset = new ArrayList();
-        for (int i = 0; i < Swarm.PROBLEM_DIMENSION; i++) {
-            if (swarm.getGBest()[i]) {
-                featSubset.add(i);
-            }
-        }
-        return featSubset.stream().mapToInt(i -> i).toArray();
+        return swarm.selectedFeaturesGBest();
     }
 
     /**
@@ -95,8 +88,9 @@ public class BPSO extends BasicPSO<Swarm> {
      */
     @Override
     public void evaluateFeatures() {
-        Swarm.fitnessEvaluator.createTempDirectory();
-        Swarm.fitnessEvaluator.setDataInfo(trainSet, nameFeatures, classLabel);
+        fitnessEvaluator.createTempDirectory();
+        setFitnessData(fitnessEvaluator);
+        swarm.setSeed(seed);
         swarm.initialization();
         for (int i = 0; i < NUM_ITERATION; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
@@ -116,6 +110,7 @@ public class BPSO extends BasicPSO<Swarm> {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
 
-        Swarm.fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.shutdown();
     }
 }
@@ -23,33 +23,30 @@
  */
 package unifeat.featureSelection.wrapper.PSOBasedMethods.BPSO;
 
-import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm;
-import unifeat.result.performanceMeasure.Criteria;
+import unifeat.featureSelection.FitnessEvaluator;
+import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicBinarySwarm;
 import unifeat.util.MathFunc;
-import java.util.Arrays;
-import java.util.Random;
 
 /**
  * This java class is used to implement a swarm of particles in binary particle
- * swarm optimization (BPSO) method in which the type of position vector is
- * boolean and the type of particle is extended from Particle class.
+ * swarm optimization (BPSO) method in which the position vector of each
+ * particle is binary.
  *
  * @author Sina Tabakhi
+ * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicBinarySwarm
  * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm
  */
-public class Swarm extends BasicSwarm<Boolean, Particle> {
-
-    private int seedValue = 0;
-    private Random rand = new Random(seedValue);
+public class Swarm extends BasicBinarySwarm {
 
     /**
      * Initializes the parameters
+     *
+     * @param fitnessEvaluator the fitness evaluator of the BPSO method
+     * @param arguments array of parameters of the BPSO method in the same order
+     * as the arguments of {@link BPSO#BPSO(java.lang.Object...)}
      */
-    public Swarm() {
-        super(Boolean.class, Particle.class);
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            population[i] = new Particle(PROBLEM_DIMENSION);
-        }
+    public Swarm(FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        super(fitnessEvaluator, arguments);
     }
 
     /**
@@ -58,130 +55,18 @@ public class Swarm extends BasicSwarm<Boolean, Particle> {
      */
     @Override
     public void initialization() {
+        resetBestFitness();
         for (int par = 0; par < POPULATION_SIZE; par++) {
+            int offsetPos = par * NUM_WORDS;
+            int offsetVel = par * PROBLEM_DIMENSION;
             for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                population[par].position[dim] = MathFunc.generateRandNum(START_POS_INTERVAL, END_POS_INTERVAL, rand) > 0.5;
-                population[par].velocity[dim] = MathFunc.generateRandNum(MIN_VELOCITY, MAX_VELOCITY, rand);
-            }
-
-            if (population[par].numSelectedFeatures() == 0) {
-                population[par].position[rand.nextInt(PROBLEM_DIMENSION)] = true;
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     * K-fold cross validation on training set is used for evaluating the
-     * classification performance of selected feature subset by each particle.
-     */
-    @Override
-    public void evaluateFitness() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            if (population[par].numSelectedFeatures() > 0) {
-                Criteria criteria = fitnessEvaluator.crossValidation(population[par].selectedFeaturesSubset());
-                population[par].setFitness(criteria.getAccuracy());
-            } else {
-                population[par].setFitness(0);
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     * Personal best position is updated when the classification performance of
-     * the particle's new position is better than personal best.
-     */
-    @Override
-    public void updatePersonalBest() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            if (population[par].getFitness() > population[par].getPBestFitness()) {
-                population[par].pBest = Arrays.copyOf(population[par].position, PROBLEM_DIMENSION);
-                population[par].setPBestFitness(population[par].getFitness());
+                setBit(position, offsetPos, dim, MathFunc.generateRandNum(START_POS_INTERVAL, END_POS_INTERVAL, particleRand[par]) > 0.5);
+                velocity[offsetVel + dim] = MathFunc.generateRandNum(MIN_VELOCITY, MAX_VELOCITY, particleRand[par]);
             }
-        }
-    }
 
-    /**
-     * {@inheritDoc }
-     * Global best position is updated when the classification performance of
-     * any personal best position of the particles is better than global best.
-     */
-    @Override
-    public void updateGlobalBest() {
-        int maxIndex = 0;
-        double maxValue = population[0].getPBestFitness();
-        for (int par = 1; par < POPULATION_SIZE; par++) {
-            if (population[par].getPBestFitness() > maxValue) {
-                maxIndex = par;
-                maxValue = population[par].getPBestFitness();
+            if (numSelectedFeatures(par) == 0) {
+                setBit(position, offsetPos, particleRand[par].nextInt(PROBLEM_DIMENSION), true);
             }
         }
-
-        if (maxValue > this.getGBestFitness()) {
-            this.setGBest(Arrays.copyOf(population[maxIndex].pBest, PROBLEM_DIMENSION));
-            this.setGBestFitness(maxValue);
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     */
-    @Override
-    public void updateParticleVelocity() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                double firstPart = INERTIA_WEIGHT * population[par].velocity[dim];
-                double secondPart = C1 * rand.nextDouble() * subtractBoolean(population[par].pBest[dim], population[par].position[dim]);
-                double thirdPart = C2 * rand.nextDouble() * subtractBoolean(gBest[dim], population[par].position[dim]);
-                population[par].velocity[dim] = firstPart + secondPart + thirdPart;
-                if (population[par].velocity[dim] > MAX_VELOCITY) {
-                    population[par].velocity[dim] = MAX_VELOCITY;
-                } else if (population[par].velocity[dim] < MIN_VELOCITY) {
-                    population[par].velocity[dim] = MIN_VELOCITY;
-                }
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     */
-    @Override
-    public void updateParticlePosition() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                population[par].position[dim] = rand.nextDouble() < sigmoidFunc(population[par].velocity[dim]);
-            }
-        }
-    }
-
-    /**
-     * This method subtracts two boolean values.
-     * <p>
-     * If the input value equals to true, the result will be considered as 1,
-     * otherwise 0.
-     *
-     * @param num1 the first input value
-     * @param num2 the second input value
-     *
-     * @return the result of subtraction
-     */
-    private int subtractBoolean(boolean num1, boolean num2) {
-        int intNum1 = num1 ? 1 : 0;
-        int intNum2 = num2 ? 1 : 0;
-        return intNum1 - intNum2;
-    }
-
-    /**
-     * This method transforms a input value to the range of (0,1) using sigmoid
-     * function.
-     *
-     * @param value the input value that will be transformed
-     *
-     * @return the transformed value of the input value
-     */
-    private double sigmoidFunc(double value) {
-        return 1.0 / (1.0 + Math.pow(Math.E, -value));
     }
 }
@@ -0,0 +1,234 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.featureSelection.wrapper.PSOBasedMethods;
+
+import unifeat.featureSelection.FitnessEvaluator;
+
+/**
+ * The abstract class contains the main methods and fields that are used in the
+ * PSO-based feature selection methods in which the position vector of each
+ * particle is binary and is updated by the sigmoid of its velocity.
+ * <p>
+ * The position vectors of all particles are packed into a single array of long
+ * words in which the particle <code>par</code> occupies the words
+ * <code>[par * NUM_WORDS, (par + 1) * NUM_WORDS)</code> and the dimension
+ * <code>dim</code> is stored in the bit <code>dim % 64</code> of the word
+ * <code>dim / 64</code> of the particle. The unused bits of the last word of
+ * each particle are always zero.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm
+ */
+public abstract class BasicBinarySwarm extends BasicSwarm {
+
+    protected final int NUM_WORDS;
+    protected final long[] position;
+    protected final long[] pBest;
+    protected final long[] gBest;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param fitnessEvaluator the fitness evaluator of the PSO-based method
+     * @param arguments array of parameters of the PSO-based method in the same
+     * order as the arguments of {@link BasicPSO#BasicPSO(java.lang.Object...)}
+     */
+    public BasicBinarySwarm(FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        super(fitnessEvaluator, arguments);
+        NUM_WORDS = (PROBLEM_DIMENSION + 63) >>> 6;
+        position = new long[POPULATION_SIZE * NUM_WORDS];
+        pBest = new long[POPULATION_SIZE * NUM_WORDS];
+        gBest = new long[NUM_WORDS];
+    }
+
+    /**
+     * This method returns the value of a bit in a packed bit array.
+     *
+     * @param bits the packed bit array
+     * @param offset the index of the first word of the vector in the array
+     * @param dim the index of the dimension in the vector
+     *
+     * @return <code>true</code> if the feature is selected in the vector
+     */
+    protected static boolean getBit(long[] bits, int offset, int dim) {
+        return (bits[offset + (dim >>> 6)] & (1L << dim)) != 0;
+    }
+
+    /**
+     * This method sets the value of a bit in a packed bit array.
+     *
+     * @param bits the packed bit array
+     * @param offset the index of the first word of the vector in the array
+     * @param dim the index of the dimension in the vector
+     * @param value the new value of the bit
+     */
+    protected static void setBit(long[] bits, int offset, int dim, boolean value) {
+        if (value) {
+            bits[offset + (dim >>> 6)] |= 1L << dim;
+        } else {
+            bits[offset + (dim >>> 6)] &= ~(1L << dim);
+        }
+    }
+
+    /**
+     * This method returns the indices of the set bits of a vector in a packed
+     * bit array.
+     *
+     * @param bits the packed bit array
+     * @param offset the index of the first word of the vector in the array
+     *
+     * @return the array of indices of the selected features by the vector
+     */
+    private int[] selectedFeatures(long[] bits, int offset) {
+        int count = 0;
+        for (int word = 0; word < NUM_WORDS; word++) {
+            count += Long.bitCount(bits[offset + word]);
+        }
+        int[] list = new int[count];
+        for (int word = 0, index = 0; word < NUM_WORDS; word++) {
+            long value = bits[offset + word];
+            while (value != 0) {
+                list[index++] = (word << 6) + Long.numberOfTrailingZeros(value);
+                value &= value - 1;
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int numSelectedFeatures(int par) {
+        int count = 0;
+        for (int word = par * NUM_WORDS; word < (par + 1) * NUM_WORDS; word++) {
+            count += Long.bitCount(position[word]);
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int[] selectedFeaturesSubset(int par) {
+        return selectedFeatures(position, par * NUM_WORDS);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int[] selectedFeaturesGBest() {
+        return selectedFeatures(gBest, 0);
+    }
+
+    /**
+     * {@inheritDoc }
+     * Personal best position is updated when the classification performance of
+     * the particle's new position is better than personal best.
+     */
+    @Override
+    public void updatePersonalBest() {
+        for (int par = 0; par < POPULATION_SIZE; par++) {
+            if (fitness[par] > pBestFitness[par]) {
+                System.arraycopy(position, par * NUM_WORDS, pBest, par * NUM_WORDS, NUM_WORDS);
+                pBestFitness[par] = fitness[par];
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * Global best position is updated when the classification performance of
+     * any personal best position of the particles is better than global best.
+     */
+    @Override
+    public void updateGlobalBest() {
+        int maxIndex = bestParticleIndex();
+        if (pBestFitness[maxIndex] > this.getGBestFitness()) {
+            System.arraycopy(pBest, maxIndex * NUM_WORDS, gBest, 0, NUM_WORDS);
+            this.setGBestFitness(pBestFitness[maxIndex]);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The selected and not selected features are considered as 1 and 0 in the
+     * velocity updating rule, respectively.
+     */
+    @Override
+    public void updateParticleVelocity() {
+        for (int par = 0; par < POPULATION_SIZE; par++) {
+            int offsetVel = par * PROBLEM_DIMENSION;
+            int offsetPos = par * NUM_WORDS;
+            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
+                double pos = getBit(position, offsetPos, dim) ? 1 : 0;
+                double personal = getBit(pBest, offsetPos, dim) ? 1 : 0;
+                double global = getBit(gBest, 0, dim) ? 1 : 0;
+                double firstPart = INERTIA_WEIGHT * velocity[offsetVel + dim];
+                double secondPart = C1 * particleRand[par].nextDouble() * (personal - pos);
+                double thirdPart = C2 * particleRand[par].nextDouble() * (global - pos);
+                velocity[offsetVel + dim] = clampVelocity(firstPart + secondPart + thirdPart);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * Each bit of the position vector is set with the probability that is
+     * computed by the sigmoid of its velocity. The bits of each word are
+     * collected locally and written once.
+     */
+    @Override
+    public void updateParticlePosition() {
+        for (int par = 0; par < POPULATION_SIZE; par++) {
+            int offsetVel = par * PROBLEM_DIMENSION;
+            for (int word = 0; word < NUM_WORDS; word++) {
+                long bits = 0;
+                int end = Math.min(PROBLEM_DIMENSION, (word + 1) << 6);
+                for (int dim = word << 6; dim < end; dim++) {
+                    if (particleRand[par].nextDouble() < sigmoidFunc(velocity[offsetVel + dim])) {
+                        bits |= 1L << dim;
+                    }
+                }
+                position[par * NUM_WORDS + word] = bits;
+            }
+        }
+    }
+
+    /**
+     * This method transforms a input value to the range of (0,1) using sigmoid
+     * function.
+     *
+     * @param value the input value that will be transformed
+     *
+     * @return the transformed value of the input value
+     */
+    protected static double sigmoidFunc(double value) {
+        return 1.0 / (1.0 + Math.exp(-value));
+    }
+}
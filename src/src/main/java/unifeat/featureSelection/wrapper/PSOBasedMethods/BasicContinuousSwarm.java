@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.featureSelection.wrapper.PSOBasedMethods;
+
+import unifeat.featureSelection.FitnessEvaluator;
+
+/**
+ * The abstract class contains the main methods and fields that are used in the
+ * PSO-based feature selection methods in which the position vector of each
+ * particle is continuous and a feature is selected when its position value is
+ * greater than a threshold (theta).
+ * <p>
+ * The position vectors of all particles are stored in a single row-major array
+ * in the same way as the velocity vectors.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm
+ */
+public abstract class BasicContinuousSwarm extends BasicSwarm {
+
+    protected final double THETA;
+    protected final double[] position;
+    protected final double[] pBest;
+    protected final double[] gBest;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param fitnessEvaluator the fitness evaluator of the PSO-based method
+     * @param theta the threshold value that is used to determine whether a
+     * feature is selected by a position vector
+     * @param arguments array of parameters of the PSO-based method in the same
+     * order as the arguments of {@link BasicPSO#BasicPSO(java.lang.Object...)}
+     */
+    public BasicContinuousSwarm(FitnessEvaluator fitnessEvaluator, double theta, Object... arguments) {
+        super(fitnessEvaluator, arguments);
+        this.THETA = theta;
+        position = new double[POPULATION_SIZE * PROBLEM_DIMENSION];
+        pBest = new double[POPULATION_SIZE * PROBLEM_DIMENSION];
+        gBest = new double[PROBLEM_DIMENSION];
+    }
+
+    /**
+     * This method returns the number of selected features by a vector in a
+     * row-major array of position vectors.
+     *
+     * @param vectors the row-major array of position vectors
+     * @param offset the index of the first entry of the vector in the array
+     *
+     * @return number of selected features by the vector
+     */
+    protected int numSelectedFeatures(double[] vectors, int offset) {
+        int count = 0;
+        for (int dim = offset; dim < offset + PROBLEM_DIMENSION; dim++) {
+            if (vectors[dim] > THETA) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method returns the indices of selected features by a vector in a
+     * row-major array of position vectors.
+     *
+     * @param vectors the row-major array of position vectors
+     * @param offset the index of the first entry of the vector in the array
+     *
+     * @return the array of indices of the selected features by the vector
+     */
+    private int[] selectedFeatures(double[] vectors, int offset) {
+        int[] list = new int[numSelectedFeatures(vectors, offset)];
+        for (int dim = 0, index = 0; dim < PROBLEM_DIMENSION; dim++) {
+            if (vectors[offset + dim] > THETA) {
+                list[index++] = dim;
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int numSelectedFeatures(int par) {
+        return numSelectedFeatures(position, par * PROBLEM_DIMENSION);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int[] selectedFeaturesSubset(int par) {
+        return selectedFeatures(position, par * PROBLEM_DIMENSION);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int[] selectedFeaturesGBest() {
+        return selectedFeatures(gBest, 0);
+    }
+
+    /**
+     * {@inheritDoc }
+     * Personal best position is updated when the classification performance of
+     * the particle's new position is better than personal best.
+     */
+    @Override
+    public void updatePersonalBest() {
+        for (int par = 0; par < POPULATION_SIZE; par++) {
+            if (fitness[par] > pBestFitness[par]) {
+                System.arraycopy(position, par * PROBLEM_DIMENSION, pBest, par * PROBLEM_DIMENSION, PROBLEM_DIMENSION);
+                pBestFitness[par] = fitness[par];
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * Global best position is updated when the classification performance of
+     * any personal best position of the particles is better than global best.
+     */
+    @Override
+    public void updateGlobalBest() {
+        int maxIndex = bestParticleIndex();
+        if (pBestFitness[maxIndex] > this.getGBestFitness()) {
+            System.arraycopy(pBest, maxIndex * PROBLEM_DIMENSION, gBest, 0, PROBLEM_DIMENSION);
+            this.setGBestFitness(pBestFitness[maxIndex]);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void updateParticleVelocity() {
+        for (int par = 0; par < POPULATION_SIZE; par++) {
+            int offset = par * PROBLEM_DIMENSION;
+            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
+                double pos = position[offset + dim];
+                double firstPart = INERTIA_WEIGHT * velocity[offset + dim];
+                double secondPart = C1 * particleRand[par].nextDouble() * (pBest[offset + dim] - pos);
+                double thirdPart = C2 * particleRand[par].nextDouble() * (gBest[dim] - pos);
+                velocity[offset + dim] = clampVelocity(firstPart + secondPart + thirdPart);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The position vectors of all particles are updated in a single pass over
+     * the row-major arrays of position and velocity vectors.
+     */
+    @Override
+    public void updateParticlePosition() {
+        for (int index = 0; index < position.length; index++) {
+            double pos = position[index] + velocity[index];
+            if (pos > END_POS_INTERVAL) {
+                pos = END_POS_INTERVAL;
+            } else if (pos < START_POS_INTERVAL) {
+                pos = START_POS_INTERVAL;
+            }
+            position[index] = pos;
+        }
+    }
+
+    /**
+     * This method returns the threshold value that is used to determine
+     * whether a feature is selected by a position vector.
+     *
+     * @return the threshold value of the position vector
+     */
+    public double getTheta() {
+        return THETA;
+    }
+}
@@ -42,6 +42,7 @@ public abstract class BasicPSO<SwarmType> extends WrapperApproach {
     protected SwarmType swarm;
     protected final int NUM_ITERATION;
     protected final int K_FOLDS;
+    protected final FitnessEvaluator fitnessEvaluator;
 
     /**
      * Initializes the parameters
@@ -76,18 +77,9 @@ public abstract class BasicPSO<SwarmType> extends WrapperApproach {
      */
     public BasicPSO(Object... arguments) {
         super((String) arguments[0]);
-        BasicSwarm.PROBLEM_DIMENSION = (int) arguments[1];
         this.NUM_ITERATION = (int) arguments[4];
-        BasicSwarm.POPULATION_SIZE = (int) arguments[5];
-        BasicSwarm.INERTIA_WEIGHT = (double) arguments[6];
-        BasicSwarm.C1 = (double) arguments[7];
-        BasicSwarm.C2 = (double) arguments[8];
-        BasicSwarm.START_POS_INTERVAL = (double) arguments[9];
-        BasicSwarm.END_POS_INTERVAL = (double) arguments[10];
-        BasicSwarm.MIN_VELOCITY = (double) arguments[11];
-        BasicSwarm.MAX_VELOCITY = (double) arguments[12];
         this.K_FOLDS = (int) arguments[13];
-        BasicSwarm.fitnessEvaluator = new FitnessEvaluator(TEMP_PATH, (ClassifierType) arguments[2],
+        this.fitnessEvaluator = new FitnessEvaluator(TEMP_PATH, (ClassifierType) arguments[2],
                 arguments[3], this.K_FOLDS);
     }
 
@@ -99,12 +91,22 @@ public abstract class BasicPSO<SwarmType> extends WrapperApproach {
      */
     protected abstract int[] createSelectedFeatureSubset();
 
+    /**
+     * This method returns the fitness evaluator of the PSO-based method which
+     * is used to evaluate the candidate feature subsets.
+     *
+     * @return the fitness evaluator of the method
+     */
+    public FitnessEvaluator getFitnessEvaluator() {
+        return fitnessEvaluator;
+    }
+
     /**
      * {@inheritDoc }
      */
     @Override
     public String validate() {
-        if (K_FOLDS > trainSet.length) {
+        if (K_FOLDS > getNumTrainSamples()) {
             return "The parameter values of PSO-based method (number of folds) are incorrect.";
         }
         return "";
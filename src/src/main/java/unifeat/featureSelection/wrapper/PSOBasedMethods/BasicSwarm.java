@@ -23,47 +23,120 @@
  */
 package unifeat.featureSelection.wrapper.PSOBasedMethods;
 
+import unifeat.featureSelection.FeatureSelection;
 import unifeat.featureSelection.FitnessEvaluator;
-import java.lang.reflect.Array;
+import unifeat.result.performanceMeasure.Criteria;
+import unifeat.util.MathFunc;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * The abstract class contains the main methods and fields that are used in all
  * PSO-based feature selection methods. This class is used to implement a swarm
  * of particles in PSO algorithm.
- *
- * @param <PosType> the type of position vector of each particle
- * @param <ParType> the type of particle implemented in PSO algorithm
+ * <p>
+ * The particles are not stored as separate objects. The velocity vectors of
+ * all particles are stored in a single row-major array in which the velocity
+ * of the particle <code>par</code> in the dimension <code>dim</code> is the
+ * entry <code>par * PROBLEM_DIMENSION + dim</code>. The position vectors are
+ * stored by the subclasses in the same way.
+ * <p>
+ * Each particle has its own random number stream which is split from the
+ * stream of the swarm, so the update of a particle does not depend on the
+ * order in which the particles are processed.
  *
  * @author Sina Tabakhi
  */
-public abstract class BasicSwarm<PosType, ParType> {
+public abstract class BasicSwarm {
 
-    protected ParType[] population;
-    protected PosType[] gBest;
+    protected final double[] velocity;
+    protected final double[] fitness;
+    protected final double[] pBestFitness;
     private double gBestFitness;
-    public static FitnessEvaluator fitnessEvaluator;
-    public static int PROBLEM_DIMENSION;
-    protected static int POPULATION_SIZE;
-    protected static double INERTIA_WEIGHT;
-    protected static double C1;
-    protected static double C2;
-    protected static double START_POS_INTERVAL;
-    protected static double END_POS_INTERVAL;
-    protected static double MIN_VELOCITY;
-    protected static double MAX_VELOCITY;
+    protected SplittableRandom rand;
+    protected SplittableRandom[] particleRand;
+    protected final FitnessEvaluator fitnessEvaluator;
+    protected final int PROBLEM_DIMENSION;
+    protected final int POPULATION_SIZE;
+    protected final double INERTIA_WEIGHT;
+    protected final double C1;
+    protected final double C2;
+    protected final double START_POS_INTERVAL;
+    protected final double END_POS_INTERVAL;
+    protected final double MIN_VELOCITY;
+    protected final double MAX_VELOCITY;
 
     /**
      * Initializes the parameters
      *
-     * @param pos the type of position vector of each particle
-     * @param par the type of particle implemented in PSO algorithm
+     * @param fitnessEvaluator the fitness evaluator of the PSO-based method
+     * @param arguments array of parameters contains ( <code>path</code>,
+     * <code>numFeatures</code>, <code>classifierType</code>,
+     * <code>selectedClassifierPan</code>, <code>numIteration</code>
+     * <code>populationSize</code>, <code>inertiaWeight</code>,
+     * <code>parameter c1</code>, <code>parameter c2</code>,
+     * <code>startPosInterval</code>, <code>endPosInterval</code>,
+     * <code>minVelocity</code>, <code>maxVelocity</code>, <code>kFolds</code>)
+     * in which <code><b><i>path</i></b></code> is the path of the project,
+     * <code><b><i>numFeatures</i></b></code> is the number of original features
+     * in the dataset, <code><b><i>classifierType</i></b></code> is the
+     * classifier type for evaluating the fitness of a solution,
+     * <code><b><i>selectedClassifierPan</i></b></code> is the selected
+     * classifier panel, <code><b><i>numIteration</i></b></code> is the maximum
+     * number of allowed iterations that algorithm repeated,
+     * <code><b><i>populationSize</i></b></code> is the size of population of
+     * candidate solutions, <code><b><i>inertiaWeight</i></b></code> is the
+     * inertia weight in the velocity updating rule, <code><b><i>parameter
+     * c1</i></b></code> is the acceleration constant in the velocity updating
+     * rule, <code><b><i>parameter c2</i></b></code> is the acceleration
+     * constant in the velocity updating rule,
+     * <code><b><i>startPosInterval</i></b></code> is the position interval
+     * start value, <code><b><i>endPosInterval</i></b></code> is the position
+     * interval end value, <code><b><i>minVelocity</i></b></code> is the
+     * velocity interval start value, <code><b><i>maxVelocity</i></b></code> is
+     * the velocity interval end value, and <code><b><i>kFolds</i></b></code> is
+     * the number of equal sized subsamples that is used in k-fold cross
+     * validation
+     */
+    public BasicSwarm(FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        this.fitnessEvaluator = fitnessEvaluator;
+        this.PROBLEM_DIMENSION = (int) arguments[1];
+        this.POPULATION_SIZE = (int) arguments[5];
+        this.INERTIA_WEIGHT = (double) arguments[6];
+        this.C1 = (double) arguments[7];
+        this.C2 = (double) arguments[8];
+        this.START_POS_INTERVAL = (double) arguments[9];
+        this.END_POS_INTERVAL = (double) arguments[10];
+        this.MIN_VELOCITY = (double) arguments[11];
+        this.MAX_VELOCITY = (double) arguments[12];
+        velocity = new double[POPULATION_SIZE * PROBLEM_DIMENSION];
+        fitness = new double[POPULATION_SIZE];
+        pBestFitness = new double[POPULATION_SIZE];
+        resetBestFitness();
+        setSeed(FeatureSelection.DEFAULT_SEED);
+    }
+
+    /**
+     * This method resets the fitness values of the personal best positions and
+     * the global best position, so the bests of a previous run are not used in
+     * a new run of the swarm.
      */
-    public BasicSwarm(Class<PosType> pos, Class<ParType> par) {
-        population = (ParType[]) Array.newInstance(par, POPULATION_SIZE);
-        gBest = (PosType[]) Array.newInstance(pos, PROBLEM_DIMENSION);
+    protected void resetBestFitness() {
+        Arrays.fill(pBestFitness, -1);
         gBestFitness = -1;
     }
 
+    /**
+     * This method sets the seed of the random number streams of the swarm and
+     * each of its particles.
+     *
+     * @param seed the seed of the run
+     */
+    public final void setSeed(long seed) {
+        rand = new SplittableRandom(seed);
+        particleRand = MathFunc.splitRandomStreams(rand, POPULATION_SIZE);
+    }
+
     /**
      * This method initializes the position and velocity vectors of each
      * particle in the swarm.
@@ -73,8 +146,27 @@ public abstract class BasicSwarm<PosType, ParType> {
     /**
      * This method evaluates the fitness of each particle in the swarm by
      * predefined fitness function.
+     * <p>
+     * K-fold cross validation on training set is used for evaluating the
+     * classification performance of selected feature subset by each particle.
      */
-    public abstract void evaluateFitness();
+    public void evaluateFitness() {
+        int[][] featureSubsets = new int[POPULATION_SIZE][];
+        for (int par = 0; par < POPULATION_SIZE; par++) {
+            if (numSelectedFeatures(par) > 0) {
+                featureSubsets[par] = selectedFeaturesSubset(par);
+            }
+        }
+
+        Criteria[] criteria = fitnessEvaluator.crossValidation(featureSubsets);
+        for (int par = 0; par < POPULATION_SIZE; par++) {
+            if (featureSubsets[par] != null) {
+                fitness[par] = criteria[par].getAccuracy();
+            } else {
+                fitness[par] = 0;
+            }
+        }
+    }
 
     /**
      * This method updates the best position (personal best) of each particle in
@@ -98,22 +190,32 @@ public abstract class BasicSwarm<PosType, ParType> {
     public abstract void updateParticlePosition();
 
     /**
-     * This method returns the best position in the swarm (global best)
+     * This method returns the number of selected features by a particle based
+     * on its position vector.
      *
-     * @return the best position in the swarm
+     * @param par the index of the particle in the swarm
+     *
+     * @return number of selected features by the particle
      */
-    public PosType[] getGBest() {
-        return gBest;
-    }
+    public abstract int numSelectedFeatures(int par);
+
+    /**
+     * This method returns the indices of selected features by a particle based
+     * on its position vector.
+     *
+     * @param par the index of the particle in the swarm
+     *
+     * @return the array of indices of the selected features by the particle
+     */
+    public abstract int[] selectedFeaturesSubset(int par);
 
     /**
-     * This method sets the best position in the swarm (global best)
+     * This method returns the indices of selected features by the best
+     * position in the swarm (global best).
      *
-     * @param gBest the best position in the swarm
+     * @return the array of indices of the selected features by the global best
      */
-    public void setGBest(PosType[] gBest) {
-        this.gBest = gBest;
-    }
+    public abstract int[] selectedFeaturesGBest();
 
     /**
      * This method returns the fitness value of best position in the swarm
@@ -135,10 +237,37 @@ public abstract class BasicSwarm<PosType, ParType> {
         this.gBestFitness = gBestFitness;
     }
 
-//    public void showPBestPosition() {
-//        for (PosType entry : gBest) {
-//            System.out.print(entry + ",");
-//        }
-//        System.out.println("          = " + gBestFitness);
-//    }
+    /**
+     * This method returns the index of the particle with the best personal best
+     * fitness value in the swarm.
+     *
+     * @return the index of the best particle
+     */
+    protected int bestParticleIndex() {
+        int maxIndex = 0;
+        double maxValue = pBestFitness[0];
+        for (int par = 1; par < POPULATION_SIZE; par++) {
+            if (pBestFitness[par] > maxValue) {
+                maxIndex = par;
+                maxValue = pBestFitness[par];
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * This method limits a velocity value to the predefined velocity interval.
+     *
+     * @param value the input velocity value
+     *
+     * @return the velocity value in the range [MIN_VELOCITY, MAX_VELOCITY]
+     */
+    protected double clampVelocity(double value) {
+        if (value > MAX_VELOCITY) {
+            return MAX_VELOCITY;
+        } else if (value < MIN_VELOCITY) {
+            return MIN_VELOCITY;
+        }
+        return value;
+    }
 }
@@ -25,7 +25,6 @@ package unifeat.featureSelection.wrapper.PSOBasedMethods.CPSO;
 
 import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicPSO;
 import unifeat.util.ArraysFunc;
-import java.util.ArrayList;
 
 /**
  * This java class is used to implement feature selection method based on
@@ -74,7 +73,7 @@ public class CPSO extends BasicPSO<Swarm> {
      */
     public CPSO(Object... arguments) {
         super(arguments);
-        swarm = new Swarm((double) arguments[14]);
+        swarm = new Swarm(fitnessEvaluator, arguments);
     }
 
     /**
@@ -82,13 +81,7 @@ public class CPSO extends BasicPSO<Swarm> {
      */
     @Override
     protected int[] createSelectedFeatureSubset() {
-        ArrayList<Integer> featSubset = new ArrayList();
-        for (int i = 0; i < Swarm.PROBLEM_DIMENSION; i++) {
-            if (swarm.getGBest()[i] > Particle.THETA) {
-                featSubset.add(i);
-            }
-        }
-        return featSubset.stream().mapToInt(i -> i).toArray();
+        return swarm.selectedFeaturesGBest();
     }
 
     /**
@@ -97,8 +90,9 @@ public class CPSO extends BasicPSO<Swarm> {
      */
     @Override
     public void evaluateFeatures() {
-        Swarm.fitnessEvaluator.createTempDirectory();
-        Swarm.fitnessEvaluator.setDataInfo(trainSet, nameFeatures, classLabel);
+        fitnessEvaluator.createTempDirectory();
+        setFitnessData(fitnessEvaluator);
+        swarm.setSeed(seed);
         swarm.initialization();
         for (int i = 0; i < NUM_ITERATION; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
@@ -118,6 +112,7 @@ public class CPSO extends BasicPSO<Swarm> {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
 
-        Swarm.fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.shutdown();
     }
 }
@@ -25,7 +25,6 @@ package unifeat.featureSelection.wrapper.PSOBasedMethods.HPSO_LS;
 
 import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicPSO;
 import unifeat.util.ArraysFunc;
-import java.util.ArrayList;
 
 /**
  * This java class is used to implement feature selection based on hybrid
@@ -75,7 +74,7 @@ public class HPSO_LS extends BasicPSO<Swarm> {
      */
     public HPSO_LS(Object... arguments) {
         super(arguments);
-        swarm = new Swarm((double) arguments[14], (double) arguments[15]);
+        swarm = new Swarm(fitnessEvaluator, arguments);
     }
 
     /**
@@ -83,13 +82,18 @@ public class HPSO_LS extends BasicPSO<Swarm> {
      */
     @Override
     protected int[] createSelectedFeatureSubset() {
-        ArrayList<Integer> featSubset = new ArrayList();
-        for (int i = 0; i < Swarm.PROBLEM_DIMENSION; i++) {
-            if (swarm.getGBest()[i]) {
-                featSubset.add(i);
-            }
-        }
-        return featSubset.stream().mapToInt(i -> i).toArray();
+        return swarm.selectedFeaturesGBest();
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The local search uses the correlations between the features that are
+     * computed on the column-major train set.
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return false;
     }
 
     /**
@@ -98,9 +102,10 @@ public class HPSO_LS extends BasicPSO<Swarm> {
      */
     @Override
     public void evaluateFeatures() {
-        Swarm.fitnessEvaluator.createTempDirectory();
-        Swarm.fitnessEvaluator.setDataInfo(trainSet, nameFeatures, classLabel);
-        swarm.setDataInfo(trainSet);
+        fitnessEvaluator.createTempDirectory();
+        setFitnessData(fitnessEvaluator);
+        swarm.setDataInfo(trainData);
+        swarm.setSeed(seed);
         swarm.initialization();
         for (int i = 0; i < NUM_ITERATION; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
@@ -121,6 +126,7 @@ public class HPSO_LS extends BasicPSO<Swarm> {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
 
-        Swarm.fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.shutdown();
     }
 }
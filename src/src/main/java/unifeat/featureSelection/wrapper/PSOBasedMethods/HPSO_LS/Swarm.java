@@ -23,30 +23,29 @@
  */
 package unifeat.featureSelection.wrapper.PSOBasedMethods.HPSO_LS;
 
-import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm;
-import unifeat.result.performanceMeasure.Criteria;
+import unifeat.dataset.ColumnarDataset;
+import unifeat.dataset.SimilarityType;
+import unifeat.featureSelection.FitnessEvaluator;
+import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicBinarySwarm;
 import unifeat.util.ArraysFunc;
 import unifeat.util.MathFunc;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Random;
 
 /**
  * This java class is used to implement a swarm of particles in hybrid particle
- * swarm optimization method using local search (HPSO-LS) in which the type of
- * position vector is boolean and the type of particle is extended from Particle
- * class.
+ * swarm optimization method using local search (HPSO-LS) in which the position
+ * vector of each particle is binary.
  *
  * @author Sina Tabakhi
+ * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicBinarySwarm
  * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm
  */
-public class Swarm extends BasicSwarm<Boolean, Particle> {
+public class Swarm extends BasicBinarySwarm {
 
-    private double[][] trainSet;
-    private int seedValue = 0;
-    private Random rand = new Random(seedValue);
-    public static double EPSILON;
-    public static double ALPHA;
+    private ColumnarDataset trainData;
+    private final double EPSILON;
+    private final double ALPHA;
     private int constantSubsetSize;
     private ArrayList<Integer> dissimilarSet;
     private ArrayList<Integer> similarSet;
@@ -54,18 +53,14 @@ public class Swarm extends BasicSwarm<Boolean, Particle> {
     /**
      * Initializes the parameters
      *
-     * @param epsilon the epsilon parameter used in the subset size determining
-     * scheme
-     * @param alpha the alpha parameter used in the local search operation
-     * (control similar/dissimilar)
+     * @param fitnessEvaluator the fitness evaluator of the HPSO_LS method
+     * @param arguments array of parameters of the HPSO_LS method in the same
+     * order as the arguments of {@link HPSO_LS#HPSO_LS(java.lang.Object...)}
      */
-    public Swarm(double epsilon, double alpha) {
-        super(Boolean.class, Particle.class);
-        Swarm.EPSILON = epsilon;
-        Swarm.ALPHA = alpha;
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            population[i] = new Particle(PROBLEM_DIMENSION);
-        }
+    public Swarm(FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        super(fitnessEvaluator, arguments);
+        this.EPSILON = (double) arguments[14];
+        this.ALPHA = (double) arguments[15];
     }
 
     /**
@@ -76,10 +71,11 @@ public class Swarm extends BasicSwarm<Boolean, Particle> {
      */
     @Override
     public void initialization() {
+        resetBestFitness();
         constantSubsetSize = determineSubsetSize();
 
         double[] featCorrelation = computeCorrelation();
-        int[] indecesFeatures = ArraysFunc.sortWithIndex(computeCorrelation(), false);
+        int[] indecesFeatures = ArraysFunc.sortWithIndex(Arrays.copyOf(featCorrelation, PROBLEM_DIMENSION), false);
 
         dissimilarSet = new ArrayList<>();
         similarSet = new ArrayList<>();
@@ -92,97 +88,29 @@ public class Swarm extends BasicSwarm<Boolean, Particle> {
             }
         }
 
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                population[par].position[dim] = dim < constantSubsetSize;
-                population[par].velocity[dim] = MathFunc.generateRandNum(MIN_VELOCITY, MAX_VELOCITY, rand);
-            }
-            MathFunc.randomize(population[par].position);
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     * K-fold cross validation on training set is used for evaluating the
-     * classification performance of selected feature subset by each particle.
-     */
-    @Override
-    public void evaluateFitness() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            if (population[par].numSelectedFeatures() > 0) {
-                Criteria criteria = fitnessEvaluator.crossValidation(population[par].selectedFeaturesSubset());
-                population[par].setFitness(criteria.getAccuracy());
-            } else {
-                population[par].setFitness(0);
-            }
+        /**
+         * selects constantSubsetSize distinct random features of each particle
+         * by a partial Fisher–Yates shuffle of the feature indices
+         */
+        int[] indecesDims = new int[PROBLEM_DIMENSION];
+        for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
+            indecesDims[dim] = dim;
         }
-    }
-
-    /**
-     * {@inheritDoc }
-     * Personal best position is updated when the classification performance of
-     * the particle's new position is better than personal best.
-     */
-    @Override
-    public void updatePersonalBest() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            if (population[par].getFitness() > population[par].getPBestFitness()) {
-                population[par].pBest = Arrays.copyOf(population[par].position, PROBLEM_DIMENSION);
-                population[par].setPBestFitness(population[par].getFitness());
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     * Global best position is updated when the classification performance of
-     * any personal best position of the particles is better than global best.
-     */
-    @Override
-    public void updateGlobalBest() {
-        int maxIndex = 0;
-        double maxValue = population[0].getPBestFitness();
-        for (int par = 1; par < POPULATION_SIZE; par++) {
-            if (population[par].getPBestFitness() > maxValue) {
-                maxIndex = par;
-                maxValue = population[par].getPBestFitness();
-            }
-        }
-
-        if (maxValue > this.getGBestFitness()) {
-            this.setGBest(Arrays.copyOf(population[maxIndex].pBest, PROBLEM_DIMENSION));
-            this.setGBestFitness(maxValue);
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     */
-    @Override
-    public void updateParticleVelocity() {
         for (int par = 0; par < POPULATION_SIZE; par++) {
+            int offsetPos = par * NUM_WORDS;
+            int offsetVel = par * PROBLEM_DIMENSION;
             for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                double firstPart = INERTIA_WEIGHT * population[par].velocity[dim];
-                double secondPart = C1 * rand.nextDouble() * subtractBoolean(population[par].pBest[dim], population[par].position[dim]);
-                double thirdPart = C2 * rand.nextDouble() * subtractBoolean(gBest[dim], population[par].position[dim]);
-                population[par].velocity[dim] = firstPart + secondPart + thirdPart;
-                if (population[par].velocity[dim] > MAX_VELOCITY) {
-                    population[par].velocity[dim] = MAX_VELOCITY;
-                } else if (population[par].velocity[dim] < MIN_VELOCITY) {
-                    population[par].velocity[dim] = MIN_VELOCITY;
-                }
+                velocity[offsetVel + dim] = MathFunc.generateRandNum(MIN_VELOCITY, MAX_VELOCITY, particleRand[par]);
             }
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     */
-    @Override
-    public void updateParticlePosition() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                population[par].position[dim] = rand.nextDouble() < sigmoidFunc(population[par].velocity[dim]);
+            for (int word = offsetPos; word < offsetPos + NUM_WORDS; word++) {
+                position[word] = 0;
+            }
+            for (int dim = 0; dim < constantSubsetSize; dim++) {
+                int selected = MathFunc.generateRandNum(dim, PROBLEM_DIMENSION - 1, particleRand[par]);
+                int temp = indecesDims[dim];
+                indecesDims[dim] = indecesDims[selected];
+                indecesDims[selected] = temp;
+                setBit(position, offsetPos, indecesDims[dim], true);
             }
         }
     }
@@ -195,44 +123,45 @@ public class Swarm extends BasicSwarm<Boolean, Particle> {
         int Nd = (int) (ALPHA * constantSubsetSize);
         int Ns = constantSubsetSize - Nd;
         for (int par = 0; par < POPULATION_SIZE; par++) {
+            int offsetPos = par * NUM_WORDS;
             ArrayList<Integer> Xd = new ArrayList<>();
             ArrayList<Integer> Xs = new ArrayList<>();
 
             for (Integer entry : dissimilarSet) {
-                if (population[par].position[entry]) {
+                if (getBit(position, offsetPos, entry)) {
                     Xd.add(entry);
                 }
             }
 
             for (Integer entry : similarSet) {
-                if (population[par].position[entry]) {
+                if (getBit(position, offsetPos, entry)) {
                     Xs.add(entry);
                 }
             }
 
             if (Xd.size() < Nd) {
                 for (int entry = 0, count = 0; entry < dissimilarSet.size() && count < Nd - Xd.size(); entry++) {
-                    if (!population[par].position[dissimilarSet.get(entry)]) {
-                        population[par].position[dissimilarSet.get(entry)] = true;
+                    if (!getBit(position, offsetPos, dissimilarSet.get(entry))) {
+                        setBit(position, offsetPos, dissimilarSet.get(entry), true);
                         count++;
                     }
                 }
             } else if (Xd.size() > Nd) {
                 for (int entry = Xd.size() - 1; entry >= Nd; entry--) {
-                    population[par].position[Xd.get(entry)] = false;
+                    setBit(position, offsetPos, Xd.get(entry), false);
                 }
             }
 
             if (Xs.size() < Ns) {
                 for (int entry = 0, count = 0; entry < similarSet.size() && count < Ns - Xs.size(); entry++) {
-                    if (!population[par].position[similarSet.get(entry)]) {
-                        population[par].position[similarSet.get(entry)] = true;
+                    if (!getBit(position, offsetPos, similarSet.get(entry))) {
+                        setBit(position, offsetPos, similarSet.get(entry), true);
                         count++;
                     }
                 }
             } else if (Xs.size() > Ns) {
                 for (int row = Xs.size() - 1; row >= Ns; row--) {
-                    population[par].position[Xs.get(row)] = false;
+                    setBit(position, offsetPos, Xs.get(row), false);
                 }
             }
         }
@@ -291,57 +220,15 @@ public class Swarm extends BasicSwarm<Boolean, Particle> {
      * @return computed correlation of each feature to other features
      */
     private double[] computeCorrelation() {
-        double[] cor = new double[PROBLEM_DIMENSION];
-
-        for (int i = 0; i < PROBLEM_DIMENSION; i++) {
-            cor[i] = 0;
-            for (int j = 0; j < PROBLEM_DIMENSION; j++) {
-                if (i != j) {
-                    cor[i] += Math.abs(MathFunc.computePearsonCorCoef(trainSet, i, j));
-                }
-            }
-
-            cor[i] /= (PROBLEM_DIMENSION - 1);
-        }
-
-        return cor;
-    }
-
-    /**
-     * This method subtracts two boolean values.
-     * <p>
-     * If the input value equals to true, the result will be considered as 1,
-     * otherwise 0.
-     *
-     * @param num1 the first input value
-     * @param num2 the second input value
-     *
-     * @return the result of subtraction
-     */
-    private int subtractBoolean(boolean num1, boolean num2) {
-        int intNum1 = num1 ? 1 : 0;
-        int intNum2 = num2 ? 1 : 0;
-        return intNum1 - intNum2;
-    }
-
-    /**
-     * This method transforms a input value to the range of (0,1) using sigmoid
-     * function.
-     *
-     * @param value the input value that will be transformed
-     *
-     * @return the transformed value of the input value
-     */
-    private double sigmoidFunc(double value) {
-        return 1.0 / (1.0 + Math.pow(Math.E, -value));
+        return trainData.getSimilarityMatrix(SimilarityType.PEARSON).getMeanAbsoluteValues();
     }
 
     /**
      * This method sets the information of the dataset.
      *
-     * @param data the input dataset values
+     * @param data the column-major input dataset
      */
-    public void setDataInfo(double[][] data) {
-        this.trainSet = data;
+    public void setDataInfo(ColumnarDataset data) {
+        this.trainData = data;
     }
 }
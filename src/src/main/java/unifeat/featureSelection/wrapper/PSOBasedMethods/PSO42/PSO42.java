@@ -25,7 +25,6 @@ package unifeat.featureSelection.wrapper.PSOBasedMethods.PSO42;
 
 import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicPSO;
 import unifeat.util.ArraysFunc;
-import java.util.ArrayList;
 
 /**
  * This java class is used to implement feature selection method based on
@@ -75,7 +74,7 @@ public class PSO42 extends BasicPSO<Swarm> {
      */
     public PSO42(Object... arguments) {
         super(arguments);
-        swarm = new Swarm((double) arguments[14]);
+        swarm = new Swarm(fitnessEvaluator, arguments);
     }
 
     /**
@@ -83,13 +82,7 @@ public class PSO42 extends BasicPSO<Swarm> {
      */
     @Override
     protected int[] createSelectedFeatureSubset() {
-        ArrayList<Integer> featSubset = new ArrayList();
-        for (int i = 0; i < Swarm.PROBLEM_DIMENSION; i++) {
-            if (swarm.getGBest()[i] > Particle.THETA) {
-                featSubset.add(i);
-            }
-        }
-        return featSubset.stream().mapToInt(i -> i).toArray();
+        return swarm.selectedFeaturesGBest();
     }
 
     /**
@@ -98,8 +91,9 @@ public class PSO42 extends BasicPSO<Swarm> {
      */
     @Override
     public void evaluateFeatures() {
-        Swarm.fitnessEvaluator.createTempDirectory();
-        Swarm.fitnessEvaluator.setDataInfo(trainSet, nameFeatures, classLabel);
+        fitnessEvaluator.createTempDirectory();
+        setFitnessData(fitnessEvaluator);
+        swarm.setSeed(seed);
         swarm.initialization();
         for (int i = 0; i < NUM_ITERATION; i++) {
             System.out.println("\nIteration " + i + ":\n\n");
@@ -119,6 +113,7 @@ public class PSO42 extends BasicPSO<Swarm> {
 //            System.out.println("ranked  = " + selectedFeatureSubset[i]);
 //        }
 
-        Swarm.fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.deleteTempDirectory();
+        fitnessEvaluator.shutdown();
     }
 }
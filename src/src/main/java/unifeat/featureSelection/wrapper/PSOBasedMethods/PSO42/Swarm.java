@@ -23,37 +23,30 @@
  */
 package unifeat.featureSelection.wrapper.PSOBasedMethods.PSO42;
 
-import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm;
-import unifeat.result.performanceMeasure.Criteria;
+import unifeat.featureSelection.FitnessEvaluator;
+import unifeat.featureSelection.wrapper.PSOBasedMethods.BasicContinuousSwarm;
 import unifeat.util.MathFunc;
-import java.util.Arrays;
-import java.util.Random;
 
 /**
  * This java class is used to implement a swarm of particles in particle swarm
- * optimization version 4-2(PSO(4-2)) method in which the type of position
- * vector is double and the type of particle is extended from Particle class.
+ * optimization version 4-2(PSO(4-2)) method in which the position vector of
+ * each particle is continuous.
  *
  * @author Sina Tabakhi
+ * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicContinuousSwarm
  * @see unifeat.featureSelection.wrapper.PSOBasedMethods.BasicSwarm
  */
-public class Swarm extends BasicSwarm<Double, Particle> {
-
-    private int seedValue = 0;
-    private Random rand = new Random(seedValue);
+public class Swarm extends BasicContinuousSwarm {
 
     /**
      * Initializes the parameters
      *
-     * @param theta the threshold is used to determine whether a feature is
-     * selected or not
+     * @param fitnessEvaluator the fitness evaluator of the PSO42 method
+     * @param arguments array of parameters of the PSO42 method in the same order
+     * as the arguments of {@link PSO42#PSO42(java.lang.Object...)}
      */
-    public Swarm(double theta) {
-        super(Double.class, Particle.class);
-        Particle.THETA = theta;
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            population[i] = new Particle(PROBLEM_DIMENSION);
-        }
+    public Swarm(FitnessEvaluator fitnessEvaluator, Object... arguments) {
+        super(fitnessEvaluator, (double) arguments[14], arguments);
     }
 
     /**
@@ -66,6 +59,7 @@ public class Swarm extends BasicSwarm<Double, Particle> {
      */
     @Override
     public void initialization() {
+        resetBestFitness();
         int numSmallParticles = (2 * POPULATION_SIZE) / 3;
 
         /**
@@ -75,7 +69,7 @@ public class Swarm extends BasicSwarm<Double, Particle> {
          */
         int numSelectedFeats = (int) (0.1 * PROBLEM_DIMENSION);
         for (int par = 0; par < numSmallParticles; par++) {
-            population[par].position = generateRandomFeatureSubset(numSelectedFeats);
+            generateRandomFeatureSubset(par, numSelectedFeats);
         }
 
         /**
@@ -85,31 +79,14 @@ public class Swarm extends BasicSwarm<Double, Particle> {
          * POPULATION_SIZE]
          */
         for (int par = numSmallParticles; par < POPULATION_SIZE; par++) {
-            numSelectedFeats = MathFunc.generateRandNum(PROBLEM_DIMENSION / 2, PROBLEM_DIMENSION, rand);
-            population[par].position = generateRandomFeatureSubset(numSelectedFeats);
+            numSelectedFeats = MathFunc.generateRandNum(PROBLEM_DIMENSION / 2, PROBLEM_DIMENSION, particleRand[par]);
+            generateRandomFeatureSubset(par, numSelectedFeats);
         }
 
         //Initialized particle's velocity randomly
         for (int par = 0; par < POPULATION_SIZE; par++) {
-            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                population[par].velocity[dim] = MathFunc.generateRandNum(MIN_VELOCITY, MAX_VELOCITY, rand);
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     * K-fold cross validation on training set is used for evaluating the
-     * classification performance of selected feature subset by each particle.
-     */
-    @Override
-    public void evaluateFitness() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            if (population[par].numSelectedFeatures() > 0) {
-                Criteria criteria = fitnessEvaluator.crossValidation(population[par].selectedFeaturesSubset());
-                population[par].setFitness(criteria.getAccuracy());
-            } else {
-                population[par].setFitness(0);
+            for (int index = par * PROBLEM_DIMENSION; index < (par + 1) * PROBLEM_DIMENSION; index++) {
+                velocity[index] = MathFunc.generateRandNum(MIN_VELOCITY, MAX_VELOCITY, particleRand[par]);
             }
         }
     }
@@ -125,11 +102,12 @@ public class Swarm extends BasicSwarm<Double, Particle> {
     @Override
     public void updatePersonalBest() {
         for (int par = 0; par < POPULATION_SIZE; par++) {
-            if ((population[par].getFitness() > population[par].getPBestFitness())
-                    || ((population[par].getFitness() == population[par].getPBestFitness())
-                    && (population[par].numSelectedFeatures() < Particle.numSelectedFeatures(population[par].pBest)))) {
-                population[par].pBest = Arrays.copyOf(population[par].position, PROBLEM_DIMENSION);
-                population[par].setPBestFitness(population[par].getFitness());
+            int offset = par * PROBLEM_DIMENSION;
+            if ((fitness[par] > pBestFitness[par])
+                    || ((fitness[par] == pBestFitness[par])
+                    && (numSelectedFeatures(par) < numSelectedFeatures(pBest, offset)))) {
+                System.arraycopy(position, offset, pBest, offset, PROBLEM_DIMENSION);
+                pBestFitness[par] = fitness[par];
             }
         }
     }
@@ -145,80 +123,42 @@ public class Swarm extends BasicSwarm<Double, Particle> {
     @Override
     public void updateGlobalBest() {
         int maxIndex = 0;
-        double maxValue = population[0].getPBestFitness();
-        int numFeatSubset = Particle.numSelectedFeatures(population[0].pBest);
+        double maxValue = pBestFitness[0];
+        int numFeatSubset = numSelectedFeatures(pBest, 0);
         for (int par = 1; par < POPULATION_SIZE; par++) {
-            if ((population[par].getPBestFitness() > maxValue)
-                    || ((population[par].getPBestFitness() == maxValue)
-                    && (Particle.numSelectedFeatures(population[par].pBest) < numFeatSubset))) {
+            if ((pBestFitness[par] > maxValue)
+                    || ((pBestFitness[par] == maxValue)
+                    && (numSelectedFeatures(pBest, par * PROBLEM_DIMENSION) < numFeatSubset))) {
                 maxIndex = par;
-                maxValue = population[par].getPBestFitness();
-                numFeatSubset = Particle.numSelectedFeatures(population[par].pBest);
+                maxValue = pBestFitness[par];
+                numFeatSubset = numSelectedFeatures(pBest, par * PROBLEM_DIMENSION);
             }
         }
 
         if ((maxValue > this.getGBestFitness())
                 || ((maxValue == this.getGBestFitness())
-                && (numFeatSubset < Particle.numSelectedFeatures(this.gBest)))) {
-            this.setGBest(Arrays.copyOf(population[maxIndex].pBest, PROBLEM_DIMENSION));
+                && (numFeatSubset < numSelectedFeatures(gBest, 0)))) {
+            System.arraycopy(pBest, maxIndex * PROBLEM_DIMENSION, gBest, 0, PROBLEM_DIMENSION);
             this.setGBestFitness(maxValue);
         }
     }
 
-    /**
-     * {@inheritDoc }
-     */
-    @Override
-    public void updateParticleVelocity() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                double firstPart = INERTIA_WEIGHT * population[par].velocity[dim];
-                double secondPart = C1 * rand.nextDouble() * (population[par].pBest[dim] - population[par].position[dim]);
-                double thirdPart = C2 * rand.nextDouble() * (gBest[dim] - population[par].position[dim]);
-                population[par].velocity[dim] = firstPart + secondPart + thirdPart;
-                if (population[par].velocity[dim] > MAX_VELOCITY) {
-                    population[par].velocity[dim] = MAX_VELOCITY;
-                } else if (population[par].velocity[dim] < MIN_VELOCITY) {
-                    population[par].velocity[dim] = MIN_VELOCITY;
-                }
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc }
-     */
-    @Override
-    public void updateParticlePosition() {
-        for (int par = 0; par < POPULATION_SIZE; par++) {
-            for (int dim = 0; dim < PROBLEM_DIMENSION; dim++) {
-                population[par].position[dim] += population[par].velocity[dim];
-                if (population[par].position[dim] > END_POS_INTERVAL) {
-                    population[par].position[dim] = END_POS_INTERVAL;
-                } else if (population[par].position[dim] < START_POS_INTERVAL) {
-                    population[par].position[dim] = START_POS_INTERVAL;
-                }
-            }
-        }
-    }
-
     /**
      * This method generates a position for a particle in which the number of
      * selected features is defined by input value.
      *
+     * @param par the index of the particle in the swarm
      * @param numFeatures the number of selected features for particle
-     *
-     * @return a generated position for a particle
      */
-    private Double[] generateRandomFeatureSubset(int numFeatures) {
-        Double[] particlePositionState = new Double[PROBLEM_DIMENSION];
+    private void generateRandomFeatureSubset(int par, int numFeatures) {
+        int offset = par * PROBLEM_DIMENSION;
 
         /**
          * values of selected features. Generates a random number in a range
          * (theta, END_POS_INTERVAL]
          */
         for (int dim = 0; dim < numFeatures; dim++) {
-            particlePositionState[dim] = MathFunc.generateRandNum(Particle.THETA + 0.001, END_POS_INTERVAL, rand);
+            position[offset + dim] = MathFunc.generateRandNum(THETA + 0.001, END_POS_INTERVAL, particleRand[par]);
         }
 
         /**
@@ -226,11 +166,18 @@ public class Swarm extends BasicSwarm<Double, Particle> {
          * [START_POS_INTERVAL, theta]
          */
         for (int dim = numFeatures; dim < PROBLEM_DIMENSION; dim++) {
-            particlePositionState[dim] = MathFunc.generateRandNum(START_POS_INTERVAL, Particle.THETA, rand);
+            position[offset + dim] = MathFunc.generateRandNum(START_POS_INTERVAL, THETA, particleRand[par]);
         }
 
-        MathFunc.randomize(particlePositionState);
-
-        return particlePositionState;
+        /**
+         * shuffles the position of the particle using Fisher–Yates shuffle
+         * algorithm
+         */
+        for (int dim = PROBLEM_DIMENSION - 1; dim > 0; dim--) {
+            int selected = particleRand[par].nextInt(dim + 1);
+            double temp = position[offset + dim];
+            position[offset + dim] = position[offset + selected];
+            position[offset + selected] = temp;
+        }
     }
 }
@@ -26,6 +26,7 @@ package unifeat.featureSelection.wrapper;
 import java.io.File;
 import unifeat.dataset.DatasetInfo;
 import unifeat.featureSelection.FeatureSelection;
+import unifeat.featureSelection.FitnessEvaluator;
 import unifeat.featureSelection.wrapper.ACOBasedMethods.OptimalACO.OptimalACO;
 import unifeat.featureSelection.wrapper.GABasedMethods.HGAFS.HGAFS;
 import unifeat.featureSelection.wrapper.GABasedMethods.SimpleGA.SimpleGA;
@@ -99,6 +100,31 @@ public abstract class WrapperApproach extends FeatureSelection {
         this.classLabel = labels.toArray(this.classLabel);
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The wrapper methods use the train set only through the fitness
+     * evaluator, which builds sparse instances of the sparse train set.
+     */
+    @Override
+    protected boolean isSparseSupported() {
+        return true;
+    }
+
+    /**
+     * This method sets the train set of the given fitness evaluator. The
+     * sparse train set is used if the dataset is sparse.
+     *
+     * @param fitnessEvaluator the fitness evaluator of the method
+     */
+    protected void setFitnessData(FitnessEvaluator fitnessEvaluator) {
+        if (trainSparseData != null) {
+            fitnessEvaluator.setDataInfo(trainSparseData, nameFeatures, classLabel);
+        } else {
+            fitnessEvaluator.setDataInfo(getTrainSet(), nameFeatures, classLabel);
+        }
+    }
+
     /**
      * This method creates an array of indices of features and returns it.
      *
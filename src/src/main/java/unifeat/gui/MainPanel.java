@@ -25,6 +25,9 @@ package unifeat.gui;
 
 import unifeat.classifier.*;
 import unifeat.dataset.DatasetInfo;
+import unifeat.dataset.DiscretizationType;
+import unifeat.dataset.PrecisionType;
+import unifeat.featureSelection.FeatureSelection;
 import unifeat.featureSelection.embedded.EmbeddedApproach;
 import unifeat.featureSelection.embedded.EmbeddedType;
 import unifeat.featureSelection.filter.FilterApproach;
@@ -42,11 +45,13 @@ import unifeat.gui.classifier.DTClassifierPanel;
 import unifeat.gui.classifier.KNNClassifierPanel;
 import unifeat.gui.classifier.svmClassifier.SVMClassifierPanel;
 import unifeat.gui.featureSelection.embedded.MSVM_RFEPanel;
+import unifeat.gui.featureSelection.embedded.SVM_RFEPanel;
 import unifeat.gui.featureSelection.embedded.decisionTreeBased.DecisionTreeBasedPanel;
 import unifeat.gui.featureSelection.embedded.decisionTreeBased.TreeType;
 import unifeat.gui.featureSelection.filter.IRRFSACO_1Panel;
 import unifeat.gui.featureSelection.filter.IRRFSACO_2Panel;
 import unifeat.gui.featureSelection.filter.LaplacianScorePanel;
+import unifeat.gui.featureSelection.filter.MRMRPanel;
 import unifeat.gui.featureSelection.filter.MGSACOPanel;
 import unifeat.gui.featureSelection.filter.RRFSACO_1Panel;
 import unifeat.gui.featureSelection.filter.RRFSACO_2Panel;
@@ -70,6 +75,7 @@ import unifeat.gui.menu.selectMode.SelectModeType;
 import unifeat.result.ResultType;
 import unifeat.result.Results;
 import unifeat.util.FileFunc;
+import unifeat.util.MathFunc;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dialog;
@@ -87,6 +93,7 @@ import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JFileChooser;
@@ -154,8 +161,10 @@ public class MainPanel extends JPanel {
     JLabel lbl_classifier;
     JButton btn_moreOpClassifier;
     //--------------- Configuration Panel--------------------------------------
-    JComboBox cb_start;
-    JLabel lbl_start;
+    JComboBox cb_start, cb_precision;
+    JLabel lbl_start, lbl_precision, lbl_seed, lbl_cacheSize;
+    JTextField txt_seed, txt_cacheSize;
+    JCheckBox chk_cache;
     JButton btn_start, btn_exit;
     //--------------- Menu Panel ----------------------------------------------
     EventHandler eh;
@@ -171,7 +180,10 @@ public class MainPanel extends JPanel {
     private final String PATH_PROJECT;
     private final String PATH_DATA_CSV;
     private final String PATH_DATA_ARFF;
+    private final String PATH_DATASET_CACHE;
     private double simValue; //RRFS method
+    private DiscretizationType discretizationType; //MRMR method
+    private int numBins; //MRMR method
     private double constParam; //Laplacian score method
     private int KNearest; //Laplacian score method
     private int numSelection, sizeSubspace, elimination; //RSM method
@@ -184,7 +196,7 @@ public class MainPanel extends JPanel {
     private int randomForestNumFeatures, maxDepth, randomForestNumIterations; //DT based method[Embedded _ Random Forest]
     private int randomTreeKValue, randomTreeMaxDepth; //DT based method[Embedded_Random Tree]
     private double randomTreeMinNum, randomTreeMinVarianceProp; //DT based method[Embedded_Rendom Tree]
-    private SVMClassifierPanel svmFeatureSelectionPanel;
+    private SVM_RFEPanel svmFeatureSelectionPanel;
     private MSVM_RFEPanel msvmFeatureSelectionPanel; //MSVM_RFE method
     private BPSOPanel bpsoFeatSelectionPanel; //BPSO method
     private CPSOPanel cpsoFeatSelectionPanel; //CPSO method
@@ -217,6 +229,7 @@ public class MainPanel extends JPanel {
         PATH_PROJECT = path + File.separator;
         PATH_DATA_CSV = PATH_PROJECT + "CSV" + File.separator;
         PATH_DATA_ARFF = PATH_PROJECT + "ARFF" + File.separator;
+        PATH_DATASET_CACHE = PATH_PROJECT + "DatasetCache" + File.separator;
  
         /////////////////////// "File Paths" panel ////////////////////////////
         panel_filePath = new JPanel();
@@ -485,21 +498,44 @@ public class MainPanel extends JPanel {
         cb_start = new JComboBox();
         cb_start.setModel(new DefaultComboBoxModel(new String[]{
             "none", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10"}));
-        cb_start.setBounds(130, 40, 200, 25);
+        cb_start.setBounds(130, 22, 80, 25);
         cb_start.addItemListener(eh);
         lbl_start = new JLabel("Number of runs:");
-        lbl_start.setBounds(15, 40, 140, 22);
+        lbl_start.setBounds(15, 22, 140, 22);
+        txt_seed = new JTextField(String.valueOf(FeatureSelection.DEFAULT_SEED));
+        txt_seed.setBounds(260, 22, 70, 25);
+        lbl_seed = new JLabel("Seed:");
+        lbl_seed.setBounds(220, 22, 40, 22);
+        cb_precision = new JComboBox();
+        cb_precision.setModel(new DefaultComboBoxModel(PrecisionType.asList()));
+        cb_precision.setBounds(130, 51, 200, 25);
+        lbl_precision = new JLabel("Similarity precision:");
+        lbl_precision.setBounds(15, 51, 140, 22);
+        chk_cache = new JCheckBox("Dataset cache", true);
+        chk_cache.setBounds(11, 80, 115, 22);
+        chk_cache.addItemListener(eh);
+        lbl_cacheSize = new JLabel("Max size (MB):");
+        lbl_cacheSize.setBounds(130, 80, 90, 22);
+        txt_cacheSize = new JTextField("1024");
+        txt_cacheSize.setBounds(220, 80, 110, 25);
         btn_start = new JButton("start");
         btn_start.addActionListener(eh);
         btn_exit = new JButton("Exit");
-        btn_start.setBounds(110, 90, 80, 25);
-        btn_exit.setBounds(210, 90, 80, 25);
+        btn_start.setBounds(110, 109, 80, 25);
+        btn_exit.setBounds(210, 109, 80, 25);
         btn_exit.addActionListener(eh);
 
         panel_config.add(btn_start);
         panel_config.add(btn_exit);
         panel_config.add(cb_start);
         panel_config.add(lbl_start);
+        panel_config.add(txt_seed);
+        panel_config.add(lbl_seed);
+        panel_config.add(cb_precision);
+        panel_config.add(lbl_precision);
+        panel_config.add(chk_cache);
+        panel_config.add(lbl_cacheSize);
+        panel_config.add(txt_cacheSize);
 
         //---------------------------------------------------------------
         add(panel_filePath);
@@ -673,6 +709,8 @@ public class MainPanel extends JPanel {
                 cb_classifierItemStateChanged(e);
             } else if (e.getSource().equals(cb_start)) {
                 cb_startItemStateChanged(e);
+            } else if (e.getSource().equals(chk_cache)) {
+                chk_cacheItemStateChanged(e);
             }
         }
     }
@@ -877,6 +915,13 @@ public class MainPanel extends JPanel {
             rrfsPanel.setVisible(true);
             simValue = rrfsPanel.getSimilarity();
 //            System.out.println("user value:   simValue = " + simValue);
+        } else if (suprvisedVersion == FilterType.MRMR) {
+            MRMRPanel mrmrPanel = new MRMRPanel();
+            Dialog mrmrDlg = new Dialog(mrmrPanel);
+            mrmrPanel.setUserValue(discretizationType, numBins);
+            mrmrPanel.setVisible(true);
+            discretizationType = mrmrPanel.getDiscretizationType();
+            numBins = mrmrPanel.getNumBins();
         } else if (unsupervisedVersion == FilterType.LAPLACIAN_SCORE) {
             LaplacianScorePanel lapScorePanel = new LaplacianScorePanel();
             Dialog lapScoreDlg = new Dialog(lapScorePanel);
@@ -1337,9 +1382,11 @@ public class MainPanel extends JPanel {
 //                    + "   maxDepth = " + maxDepth
 //                    + "   randomforestNumIterations = " + randomForestNumIterations);
         } else if (type == EmbeddedType.SVM_RFE) {
-            SVMClassifierPanel svmPanel = new SVMClassifierPanel();
+            SVM_RFEPanel svmPanel = new SVM_RFEPanel();
             Dialog svmDlg = new Dialog(svmPanel);
-            svmPanel.setUserValue(svmFeatureSelectionPanel.getKernel(), svmFeatureSelectionPanel.getParameterC());
+            svmPanel.setUserValue(svmFeatureSelectionPanel.getKernel(), svmFeatureSelectionPanel.getParameterC(),
+                    svmFeatureSelectionPanel.getEliminationType(), svmFeatureSelectionPanel.getEliminationValue(),
+                    svmFeatureSelectionPanel.getSolverType());
             svmPanel.setEnableKernelType(false);
             svmPanel.setMethodTitle("SVM_RFE settings:");
             svmPanel.setMethodDescription("<html>Support vector machine method based on recursive feature elimination (SVM_RFE).</html>");
@@ -1351,7 +1398,9 @@ public class MainPanel extends JPanel {
             MSVM_RFEPanel msvmPanel = new MSVM_RFEPanel();
             Dialog msvmDlg = new Dialog(msvmPanel);
             msvmPanel.setUserValue(msvmFeatureSelectionPanel.getKernel(), msvmFeatureSelectionPanel.getParameterC(),
-                    msvmFeatureSelectionPanel.getNumFold(), msvmFeatureSelectionPanel.getNumRun());
+                    msvmFeatureSelectionPanel.getNumFold(), msvmFeatureSelectionPanel.getNumRun(),
+                    msvmFeatureSelectionPanel.getEliminationType(), msvmFeatureSelectionPanel.getEliminationValue(),
+                    msvmFeatureSelectionPanel.getSolverType());
             msvmPanel.setEnableKernelType(false);
             msvmPanel.setVisible(true);
             msvmFeatureSelectionPanel = msvmPanel;
@@ -1360,9 +1409,11 @@ public class MainPanel extends JPanel {
 //                    + "   Fold = " + msvmFeatureSelectionPanel.getNumFold()
 //                    + "   numRun = " + msvmFeatureSelectionPanel.getNumRun());
         } else if (type == EmbeddedType.OVO_SVM_RFE) {
-            SVMClassifierPanel svmPanel = new SVMClassifierPanel();
+            SVM_RFEPanel svmPanel = new SVM_RFEPanel();
             Dialog svmDlg = new Dialog(svmPanel);
-            svmPanel.setUserValue(svmFeatureSelectionPanel.getKernel(), svmFeatureSelectionPanel.getParameterC());
+            svmPanel.setUserValue(svmFeatureSelectionPanel.getKernel(), svmFeatureSelectionPanel.getParameterC(),
+                    svmFeatureSelectionPanel.getEliminationType(), svmFeatureSelectionPanel.getEliminationValue(),
+                    svmFeatureSelectionPanel.getSolverType());
             svmPanel.setEnableKernelType(false);
             svmPanel.setMethodTitle("OVO_SVM_RFE settings:");
             svmPanel.setMethodDescription("<html>OVO_SVM_RFE method is used for multiclass classification problem in which one-versus-one (OVO) strategy is applied to construct binary classifiers. The feature selection process is based on SVM_RFE method.</html>");
@@ -1372,9 +1423,11 @@ public class MainPanel extends JPanel {
 //            System.out.println("kernel = " + svmFeatureSelectionPanel.getKernel().toString()
 //                    + "   C = " + svmFeatureSelectionPanel.getParameterC());
         } else if (type == EmbeddedType.OVA_SVM_RFE) {
-            SVMClassifierPanel svmPanel = new SVMClassifierPanel();
+            SVM_RFEPanel svmPanel = new SVM_RFEPanel();
             Dialog svmDlg = new Dialog(svmPanel);
-            svmPanel.setUserValue(svmFeatureSelectionPanel.getKernel(), svmFeatureSelectionPanel.getParameterC());
+            svmPanel.setUserValue(svmFeatureSelectionPanel.getKernel(), svmFeatureSelectionPanel.getParameterC(),
+                    svmFeatureSelectionPanel.getEliminationType(), svmFeatureSelectionPanel.getEliminationValue(),
+                    svmFeatureSelectionPanel.getSolverType());
             svmPanel.setEnableKernelType(false);
             svmPanel.setMethodTitle("OVA_SVM_RFE settings:");
             svmPanel.setMethodDescription("<html>OVA_SVM_RFE method is used for multiclass classification problem in which one-versus-all (OVA) strategy is applied to construct binary classifiers. The feature selection process is based on SVM_RFE method.</html>");
@@ -1458,6 +1511,14 @@ public class MainPanel extends JPanel {
 
         //reads the data information
         data = new DatasetInfo();
+        if (chk_cache.isSelected() && MathFunc.isInteger(txt_cacheSize.getText())) {
+            data.setCacheDirectory(PATH_DATASET_CACHE);
+            data.setMaxCacheSize(Long.parseLong(txt_cacheSize.getText()) * 1024 * 1024);
+        }
+        data.setSimilarityPrecision(PrecisionType.parse(cb_precision.getSelectedItem().toString()));
+        if (MathFunc.isLong(txt_seed.getText())) {
+            data.setSeed(getRunSeed(0));
+        }
         if (isCorrectDataset()) {
             if (rd_randSet.isSelected()) {
                 data.preProcessing(txt_inputdst.getText(), txt_classLbl.getText());
@@ -1568,6 +1629,12 @@ public class MainPanel extends JPanel {
                 simValue = rrfsPanel.getSimilarity();
                 btn_moreOpFilter.setEnabled(true);
 //                System.out.println("default:   simValue = " + simValue);
+            } else if (filterType == FilterType.MRMR) {
+                MRMRPanel mrmrPanel = new MRMRPanel();
+                mrmrPanel.setDefaultValue();
+                discretizationType = mrmrPanel.getDiscretizationType();
+                numBins = mrmrPanel.getNumBins();
+                btn_moreOpFilter.setEnabled(true);
             } else {
                 btn_moreOpFilter.setEnabled(false);
             }
@@ -1997,7 +2064,7 @@ public class MainPanel extends JPanel {
             } else if (embeddedType == EmbeddedType.SVM_RFE
                     || embeddedType == EmbeddedType.OVO_SVM_RFE
                     || embeddedType == EmbeddedType.OVA_SVM_RFE) {
-                SVMClassifierPanel svmPanel = new SVMClassifierPanel();
+                SVM_RFEPanel svmPanel = new SVM_RFEPanel();
                 svmPanel.setDefaultValue();
                 svmFeatureSelectionPanel = svmPanel;
                 btn_moreOpEmbedded.setEnabled(true);
@@ -2082,6 +2149,29 @@ public class MainPanel extends JPanel {
     private void cb_startItemStateChanged(ItemEvent e) {
     }
 
+    /**
+     * This method sets an action for the chk_cache check box.
+     *
+     * @param e an action event
+     */
+    private void chk_cacheItemStateChanged(ItemEvent e) {
+        lbl_cacheSize.setEnabled(chk_cache.isSelected());
+        txt_cacheSize.setEnabled(chk_cache.isSelected());
+    }
+
+    /**
+     * This method returns the seed of the given run. Each run uses its own
+     * seed for the feature selection method and the random train/test sets,
+     * so the runs are different and reproducible.
+     *
+     * @param run the index of the run
+     *
+     * @return the seed of the run
+     */
+    private long getRunSeed(int run) {
+        return Long.parseLong(txt_seed.getText()) + run;
+    }
+
     /**
      * This method returns a list of parameters that are applied in a given
      * filter-based feature selection method
@@ -2096,6 +2186,10 @@ public class MainPanel extends JPanel {
         if (type == FilterType.RRFS) {
             parameters = new Object[2];
             parameters[1] = simValue;
+        } else if (type == FilterType.MRMR) {
+            parameters = new Object[3];
+            parameters[1] = discretizationType;
+            parameters[2] = numBins;
         } else if (type == FilterType.RSM) {
             parameters = new Object[5];
             int newSizeSubspace = sizeSubspace;
@@ -2358,15 +2452,21 @@ public class MainPanel extends JPanel {
         } else if (type == EmbeddedType.SVM_RFE
                 || type == EmbeddedType.OVO_SVM_RFE
                 || type == EmbeddedType.OVA_SVM_RFE) {
-            parameters = new Object[3];
+            parameters = new Object[6];
             parameters[1] = svmFeatureSelectionPanel.getKernel();
             parameters[2] = svmFeatureSelectionPanel.getParameterC();
+            parameters[3] = svmFeatureSelectionPanel.getEliminationType();
+            parameters[4] = svmFeatureSelectionPanel.getEliminationValue();
+            parameters[5] = svmFeatureSelectionPanel.getSolverType();
         } else if (type == EmbeddedType.MSVM_RFE) {
-            parameters = new Object[5];
+            parameters = new Object[8];
             parameters[1] = msvmFeatureSelectionPanel.getKernel();
             parameters[2] = msvmFeatureSelectionPanel.getParameterC();
-            parameters[3] = msvmFeatureSelectionPanel.getNumFold();
-            parameters[4] = msvmFeatureSelectionPanel.getNumRun();
+            parameters[3] = msvmFeatureSelectionPanel.getEliminationType();
+            parameters[4] = msvmFeatureSelectionPanel.getEliminationValue();
+            parameters[5] = msvmFeatureSelectionPanel.getSolverType();
+            parameters[6] = msvmFeatureSelectionPanel.getNumFold();
+            parameters[7] = msvmFeatureSelectionPanel.getNumRun();
         } else {
             parameters = new Object[1];
         }
@@ -2399,6 +2499,29 @@ public class MainPanel extends JPanel {
         return parameters;
     }
 
+    /**
+     * This method finds the subsets of selected features of all sizes in the
+     * current run if the subsets of the feature selection method are nested.
+     * The method is run once and its execution time is set for all sizes.
+     *
+     * @param method the feature selection method
+     *
+     * @return the subsets of selected features in the order of the sizes, or
+     * null if the subsets of the method are not nested
+     */
+    private int[][] evaluateNestedSubsets(FeatureSelection method) {
+        if (!method.isNestedSubsetSupported()) {
+            return null;
+        }
+        method.loadDataSet(data);
+
+        long startTime = System.currentTimeMillis();
+        int[][] subsets = method.evaluateFeaturesForSizes(numSelectedSubsets);
+
+        finalResults.setTime((System.currentTimeMillis() - startTime) / 1000.0);
+        return subsets;
+    }
+
     /**
      * This method performs the feature selection based on weighted filter
      * approach
@@ -2427,18 +2550,24 @@ public class MainPanel extends JPanel {
 
             for (int i = 0; i < numRuns; i++) {
                 resPanel.setMessage("  Iteration (" + (i + 1) + "):\n");
+                method.setSeed(getRunSeed(i));
+                int[][] nestedSubsets = evaluateNestedSubsets(method);
                 for (int j = 0; j < numSelectedSubsets.length; j++) {
                     resPanel.setMessage("    " + numSelectedSubsets[j] + " feature selected:\n");
 
-                    //Set new parameter values of feature selection method
-                    method.setNumSelectedFeature(numSelectedSubsets[j]);
-                    method.loadDataSet(data);
+                    if (nestedSubsets != null) {
+                        finalResults.setCurrentSelectedSubset(i, j, nestedSubsets[j]);
+                    } else {
+                        //Set new parameter values of feature selection method
+                        method.setNumSelectedFeature(numSelectedSubsets[j]);
+                        method.loadDataSet(data);
 
-                    long startTime = System.currentTimeMillis();
-                    method.evaluateFeatures();
+                        long startTime = System.currentTimeMillis();
+                        method.evaluateFeatures();
 
-                    finalResults.setTime((System.currentTimeMillis() - startTime) / 1000.0);
-                    finalResults.setCurrentSelectedSubset(i, j, method.getSelectedFeatureSubset());
+                        finalResults.setTime((System.currentTimeMillis() - startTime) / 1000.0);
+                        finalResults.setCurrentSelectedSubset(i, j, method.getSelectedFeatureSubset());
+                    }
                     finalResults.setCurrentFeatureValues(method.getFeatureValues());
                     finalResults.computePerformanceMeasures(i, j);
 
@@ -2452,6 +2581,7 @@ public class MainPanel extends JPanel {
                 }
                 //randomly splits the datasets
                 if (rd_randSet.isSelected()) {
+                    data.setSeed(getRunSeed(i + 1));
                     data.preProcessing(txt_inputdst.getText(), txt_classLbl.getText());
                 }
             }
@@ -2492,18 +2622,24 @@ public class MainPanel extends JPanel {
 
             for (int i = 0; i < numRuns; i++) {
                 resPanel.setMessage("  Iteration (" + (i + 1) + "):\n");
+                method.setSeed(getRunSeed(i));
+                int[][] nestedSubsets = evaluateNestedSubsets(method);
                 for (int j = 0; j < numSelectedSubsets.length; j++) {
                     resPanel.setMessage("    " + numSelectedSubsets[j] + " feature selected:\n");
 
-                    //Set new parameter values of feature selection method
-                    method.setNumSelectedFeature(numSelectedSubsets[j]);
-                    method.loadDataSet(data);
+                    if (nestedSubsets != null) {
+                        finalResults.setCurrentSelectedSubset(i, j, nestedSubsets[j]);
+                    } else {
+                        //Set new parameter values of feature selection method
+                        method.setNumSelectedFeature(numSelectedSubsets[j]);
+                        method.loadDataSet(data);
 
-                    long startTime = System.currentTimeMillis();
-                    method.evaluateFeatures();
+                        long startTime = System.currentTimeMillis();
+                        method.evaluateFeatures();
 
-                    finalResults.setTime((System.currentTimeMillis() - startTime) / 1000.0);
-                    finalResults.setCurrentSelectedSubset(i, j, method.getSelectedFeatureSubset());
+                        finalResults.setTime((System.currentTimeMillis() - startTime) / 1000.0);
+                        finalResults.setCurrentSelectedSubset(i, j, method.getSelectedFeatureSubset());
+                    }
                     finalResults.computePerformanceMeasures(i, j);
 
                     //shows new results in the panel of results
@@ -2515,6 +2651,7 @@ public class MainPanel extends JPanel {
                 }
                 //randomly splits the datasets
                 if (rd_randSet.isSelected()) {
+                    data.setSeed(getRunSeed(i + 1));
                     data.preProcessing(txt_inputdst.getText(), txt_classLbl.getText());
                 }
             }
@@ -2554,6 +2691,7 @@ public class MainPanel extends JPanel {
 
             for (int i = 0; i < numRuns; i++) {
                 resPanel.setMessage("  Iteration (" + (i + 1) + "):\n");
+                method.setSeed(getRunSeed(i));
                 for (int j = 0; j < numSelectedSubsets.length; j++) {
 
                     //Set new parameter values of feature selection method
@@ -2577,6 +2715,7 @@ public class MainPanel extends JPanel {
                 }
                 //randomly splits the datasets
                 if (rd_randSet.isSelected()) {
+                    data.setSeed(getRunSeed(i + 1));
                     data.preProcessing(txt_inputdst.getText(), txt_classLbl.getText());
                 }
             }
@@ -2616,18 +2755,24 @@ public class MainPanel extends JPanel {
 
             for (int i = 0; i < numRuns; i++) {
                 resPanel.setMessage("  Iteration (" + (i + 1) + "):\n");
+                method.setSeed(getRunSeed(i));
+                int[][] nestedSubsets = evaluateNestedSubsets(method);
                 for (int j = 0; j < numSelectedSubsets.length; j++) {
                     resPanel.setMessage("    " + numSelectedSubsets[j] + " feature selected:\n");
 
-                    //Set new parameter values of feature selection method
-                    method.setNumSelectedFeature(numSelectedSubsets[j]);
-                    method.loadDataSet(data);
+                    if (nestedSubsets != null) {
+                        finalResults.setCurrentSelectedSubset(i, j, nestedSubsets[j]);
+                    } else {
+                        //Set new parameter values of feature selection method
+                        method.setNumSelectedFeature(numSelectedSubsets[j]);
+                        method.loadDataSet(data);
 
-                    long startTime = System.currentTimeMillis();
-                    method.evaluateFeatures();
+                        long startTime = System.currentTimeMillis();
+                        method.evaluateFeatures();
 
-                    finalResults.setTime((System.currentTimeMillis() - startTime) / 1000.0);
-                    finalResults.setCurrentSelectedSubset(i, j, method.getSelectedFeatureSubset());
+                        finalResults.setTime((System.currentTimeMillis() - startTime) / 1000.0);
+                        finalResults.setCurrentSelectedSubset(i, j, method.getSelectedFeatureSubset());
+                    }
                     finalResults.computePerformanceMeasures(i, j);
 
                     //shows new results in the panel of results
@@ -2639,6 +2784,7 @@ public class MainPanel extends JPanel {
                 }
                 //randomly splits the datasets
                 if (rd_randSet.isSelected()) {
+                    data.setSeed(getRunSeed(i + 1));
                     data.preProcessing(txt_inputdst.getText(), txt_classLbl.getText());
                 }
             }
@@ -2677,6 +2823,7 @@ public class MainPanel extends JPanel {
 
             for (int i = 0; i < numRuns; i++) {
                 resPanel.setMessage("  Iteration (" + (i + 1) + "):\n");
+                method.setSeed(getRunSeed(i));
                 for (int j = 0; j < numSelectedSubsets.length; j++) {
                     resPanel.setMessage("    " + numSelectedSubsets[j] + " feature selected:\n");
 
@@ -2700,6 +2847,7 @@ public class MainPanel extends JPanel {
                 }
                 //randomly splits the datasets
                 if (rd_randSet.isSelected()) {
+                    data.setSeed(getRunSeed(i + 1));
                     data.preProcessing(txt_inputdst.getText(), txt_classLbl.getText());
                 }
             }
@@ -2754,7 +2902,9 @@ public class MainPanel extends JPanel {
             "  - Number of selected features is greater than the original features.",
             "  - Numbers of selected features are empty.",
             "  - Classifier hasn't been selected.",
-            "  - Number of runs haven't been selected."};
+            "  - Number of runs haven't been selected.",
+            "  - Seed of the runs isn't an integer value.",
+            "  - Maximum size of the dataset cache isn't a positive integer value."};
         String selectedMessages = "Following errors were occured before the starting feature selection process:\n";
 
         boolean checkError = false;
@@ -2813,6 +2963,15 @@ public class MainPanel extends JPanel {
             selectedMessages += errorMessages[9] + "\n";
             checkError = true;
         }
+        if (!MathFunc.isLong(txt_seed.getText())) {
+            selectedMessages += errorMessages[10] + "\n";
+            checkError = true;
+        }
+        if (chk_cache.isSelected() && (!MathFunc.isInteger(txt_cacheSize.getText())
+                || Integer.parseInt(txt_cacheSize.getText()) <= 0)) {
+            selectedMessages += errorMessages[11] + "\n";
+            checkError = true;
+        }
         if (checkError) {
             JOptionPane.showMessageDialog(null, selectedMessages, "Error", JOptionPane.ERROR_MESSAGE);
             return false;
@@ -2893,7 +3052,10 @@ public class MainPanel extends JPanel {
                                                     An error arose in performing the feature selection method. It may occur to incorrect parameter values or an error in the feature selection process.
                                                     Please close the window, re-check the parameters' values, and re-run the algorithm.""", 
                                             "Error", JOptionPane.ERROR_MESSAGE);
-            }    
+            } finally {
+                //frees the similarity values of the dataset kept outside of the Java heap
+                data.releaseSimilarityMatrices();
+            }
         }
     }
 
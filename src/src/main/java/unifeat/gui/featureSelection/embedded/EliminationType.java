@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.gui.featureSelection.embedded;
+
+import unifeat.featureSelection.EnumType;
+
+/**
+ * This java class is used to define the names of different schedules of the
+ * elimination used in the methods based on recursive feature elimination.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.EnumType
+ */
+public final class EliminationType extends EnumType {
+
+    public static final EliminationType NONE = new EliminationType("none");
+    public static final EliminationType FIXED_STEP = new EliminationType("Fixed step");
+    public static final EliminationType PERCENTAGE = new EliminationType("Percentage");
+    public static final EliminationType HYBRID = new EliminationType("Hybrid");
+
+    /**
+     * Creates new EliminationType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param eliminationName the name of elimination schedule
+     */
+    private EliminationType(String eliminationName) {
+        super(eliminationName);
+    }
+
+    /**
+     * Returns the names of different elimination schedules
+     *
+     * @return an array of names of elimination schedules
+     */
+    public static String[] asList() {
+        return new String[]{FIXED_STEP.toString(),
+            PERCENTAGE.toString(),
+            HYBRID.toString()};
+    }
+
+    /**
+     * Converts the elimination schedule name to EliminationType
+     *
+     * @param type the name of elimination schedule as string
+     *
+     * @return the elimination schedule type
+     */
+    public static EliminationType parse(String type) {
+        return switch (type) {
+            case "Fixed step" -> FIXED_STEP;
+            case "Percentage" -> PERCENTAGE;
+            case "Hybrid" -> HYBRID;
+            default -> NONE;
+        };
+    }
+}
@@ -32,6 +32,7 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
+import java.awt.event.ItemEvent;
 import java.awt.event.KeyEvent;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
@@ -52,15 +53,23 @@ public class MSVM_RFEPanel extends ParameterPanel {
 
     JLabel lbl_kernel, lbl_parameterC, lbl_parameterCError,
             lbl_numFold, lbl_numFoldError,
-            lbl_numRun, lbl_numRunError;
-    JComboBox cb_kernel;
-    JTextField txt_parameterC, txt_numFold, txt_numRun;
+            lbl_numRun, lbl_numRunError,
+            lbl_elimination, lbl_eliminationValue, lbl_eliminationValueError,
+            lbl_solver;
+    JComboBox cb_kernel, cb_elimination, cb_solver;
+    JTextField txt_parameterC, txt_numFold, txt_numRun, txt_eliminationValue;
     private SVMKernelType typeKernel = SVMKernelType.POLYNOMIAL;
     private double parameterC = 1.0;
     private int numFold = 5, numRun = 20;
+    private EliminationType typeElimination = EliminationType.FIXED_STEP;
+    private double eliminationValue = 1.0;
+    private SVMSolverType typeSolver = SVMSolverType.WEKA_SMO;
     private static final SVMKernelType DEFAULT_TYPE_KERNEL = SVMKernelType.POLYNOMIAL;
     private static final double DEFAULT_PARAMETER_C = 1.0;
     private static final int DEFAULT_NUM_FOLD = 5, DEFAULT_NUM_RUN = 20;
+    private static final EliminationType DEFAULT_TYPE_ELIMINATION = EliminationType.FIXED_STEP;
+    private static final double DEFAULT_ELIMINATION_VALUE = 1.0;
+    private static final SVMSolverType DEFAULT_TYPE_SOLVER = SVMSolverType.WEKA_SMO;
 
     /**
      * Creates new form MSVM_RFEPanel. This method is called from within the
@@ -74,12 +83,24 @@ public class MSVM_RFEPanel extends ParameterPanel {
                 + "Kernel -> the kernel to use in SVM.\n\n"
                 + "Parameter c -> The complexity parameter C in SVM.\n\n"
                 + "Fold -> the number of subsamples in k-fold cross validation.\n\n"
-                + "Number of runs -> the number of multiple runs of k-fold cross validation.\n\n",
+                + "Number of runs -> the number of multiple runs of k-fold cross validation.\n\n"
+                + "Elimination -> the schedule of the elimination. Fixed step removes "
+                + "a fixed number of features in each iteration, Percentage removes a "
+                + "percentage of the remaining features, and Hybrid removes a percentage "
+                + "of the remaining features while they are more than twice the number "
+                + "of selected features and then removes them one by one.\n\n"
+                + "Elimination value -> the number of features (Fixed step) or the "
+                + "percentage of the remaining features (Percentage and Hybrid) "
+                + "eliminated in each iteration.\n\n"
+                + "Solver -> the solver that trains the SVM classifiers with the linear "
+                + "(polynomial) kernel. Native linear SVM is the fast dual coordinate "
+                + "descent solver, and Weka SMO is the SMO classifier of the Weka software. "
+                + "The other kernels are always trained by Weka SMO.\n\n",
                 new Rectangle(10, 10, 160, 20),
                 new Rectangle(10, 35, 430, 80),
-                new Rectangle(130, 295, 75, 25),
-                new Rectangle(250, 295, 75, 25),
-                new Dimension(470, 395));
+                new Rectangle(130, 400, 75, 25),
+                new Rectangle(250, 400, 75, 25),
+                new Dimension(470, 500));
 
         Container contentPane = getContentPane();
 
@@ -115,6 +136,30 @@ public class MSVM_RFEPanel extends ParameterPanel {
         lbl_numRunError.setBounds(290, 240, 50, 22);
         lbl_numRunError.setForeground(Color.red);
 
+        lbl_elimination = new JLabel("Elimination:");
+        lbl_elimination.setBounds(50, 275, 170, 22);
+        cb_elimination = new JComboBox(EliminationType.asList());
+        cb_elimination.setBounds(160, 275, 120, 25);
+        cb_elimination.addItemListener((ItemEvent e) -> {
+            if (e.getStateChange() == ItemEvent.SELECTED) {
+                keyReleased(null);
+            }
+        });
+
+        lbl_eliminationValue = new JLabel("Elimination value:");
+        lbl_eliminationValue.setBounds(50, 310, 170, 22);
+        txt_eliminationValue = new JTextField(Double.toString(DEFAULT_ELIMINATION_VALUE));
+        txt_eliminationValue.setBounds(160, 310, 120, 24);
+        txt_eliminationValue.addKeyListener(this);
+        lbl_eliminationValueError = new JLabel("");
+        lbl_eliminationValueError.setBounds(290, 310, 50, 22);
+        lbl_eliminationValueError.setForeground(Color.red);
+
+        lbl_solver = new JLabel("Solver:");
+        lbl_solver.setBounds(50, 345, 170, 22);
+        cb_solver = new JComboBox(SVMSolverType.asList());
+        cb_solver.setBounds(160, 345, 120, 25);
+
         contentPane.add(lbl_kernel);
         contentPane.add(cb_kernel);
 
@@ -130,6 +175,16 @@ public class MSVM_RFEPanel extends ParameterPanel {
         contentPane.add(txt_numRun);
         contentPane.add(lbl_numRunError);
 
+        contentPane.add(lbl_elimination);
+        contentPane.add(cb_elimination);
+
+        contentPane.add(lbl_eliminationValue);
+        contentPane.add(txt_eliminationValue);
+        contentPane.add(lbl_eliminationValueError);
+
+        contentPane.add(lbl_solver);
+        contentPane.add(cb_solver);
+
         contentPane.validate();
 //        contentPane.revalidate();
         contentPane.repaint();
@@ -171,6 +226,14 @@ public class MSVM_RFEPanel extends ParameterPanel {
             lbl_numRunError.setText("");
         }
 
+        tempStr = txt_eliminationValue.getText();
+        if (!SVM_RFEPanel.isValidEliminationValue(EliminationType.parse(cb_elimination.getSelectedItem().toString()), tempStr)) {
+            lbl_eliminationValueError.setText("*");
+            enableOkButton = false;
+        } else {
+            lbl_eliminationValueError.setText("");
+        }
+
         btn_ok.setEnabled(enableOkButton);
     }
 
@@ -185,6 +248,9 @@ public class MSVM_RFEPanel extends ParameterPanel {
         setParameterC(Double.parseDouble(txt_parameterC.getText()));
         setNumFold(Integer.parseInt(txt_numFold.getText()));
         setNumRun(Integer.parseInt(txt_numRun.getText()));
+        setEliminationType(EliminationType.parse(cb_elimination.getSelectedItem().toString()));
+        setEliminationValue(Double.parseDouble(txt_eliminationValue.getText()));
+        setSolverType(SVMSolverType.parse(cb_solver.getSelectedItem().toString()));
         super.btn_okActionPerformed(e);
     }
 
@@ -260,6 +326,61 @@ public class MSVM_RFEPanel extends ParameterPanel {
         this.numRun = numRun;
     }
 
+    /**
+     * This method returns the schedule of the elimination.
+     *
+     * @return the <code>Elimination</code> parameter
+     */
+    public EliminationType getEliminationType() {
+        return typeElimination;
+    }
+
+    /**
+     * This method sets the schedule of the elimination.
+     *
+     * @param eliminationType the schedule of the elimination
+     */
+    public void setEliminationType(EliminationType eliminationType) {
+        this.typeElimination = eliminationType;
+    }
+
+    /**
+     * This method returns the value of the elimination schedule.
+     *
+     * @return the <code>Elimination value</code> parameter
+     */
+    public double getEliminationValue() {
+        return eliminationValue;
+    }
+
+    /**
+     * This method sets the value of the elimination schedule.
+     *
+     * @param eliminationValue the number of features (fixed step) or the
+     * percentage of the remaining features (percentage and hybrid)
+     */
+    public void setEliminationValue(double eliminationValue) {
+        this.eliminationValue = eliminationValue;
+    }
+
+    /**
+     * This method returns the solver of the linear SVM classifiers.
+     *
+     * @return the <code>Solver</code> parameter
+     */
+    public SVMSolverType getSolverType() {
+        return typeSolver;
+    }
+
+    /**
+     * This method sets the solver of the linear SVM classifiers.
+     *
+     * @param solverType the solver of the linear SVM classifiers
+     */
+    public void setSolverType(SVMSolverType solverType) {
+        this.typeSolver = solverType;
+    }
+
     /**
      * Sets the default values of the MSVM_RFE parameters
      */
@@ -268,10 +389,16 @@ public class MSVM_RFEPanel extends ParameterPanel {
         txt_parameterC.setText(String.valueOf(DEFAULT_PARAMETER_C));
         txt_numFold.setText(String.valueOf(DEFAULT_NUM_FOLD));
         txt_numRun.setText(String.valueOf(DEFAULT_NUM_RUN));
+        txt_eliminationValue.setText(String.valueOf(DEFAULT_ELIMINATION_VALUE));
+        cb_elimination.setSelectedItem(DEFAULT_TYPE_ELIMINATION.toString());
+        cb_solver.setSelectedItem(DEFAULT_TYPE_SOLVER.toString());
         typeKernel = DEFAULT_TYPE_KERNEL;
         parameterC = DEFAULT_PARAMETER_C;
         numFold = DEFAULT_NUM_FOLD;
         numRun = DEFAULT_NUM_RUN;
+        typeElimination = DEFAULT_TYPE_ELIMINATION;
+        eliminationValue = DEFAULT_ELIMINATION_VALUE;
+        typeSolver = DEFAULT_TYPE_SOLVER;
     }
 
     /**
@@ -281,16 +408,26 @@ public class MSVM_RFEPanel extends ParameterPanel {
      * @param c the complexity parameter C
      * @param numFold the number of subsamples in k-fold cross validation
      * @param numRun the number of multiple runs of k-fold CV
+     * @param eliminationType the schedule of the elimination
+     * @param eliminationValue the value of the elimination schedule
+     * @param solverType the solver of the linear SVM classifiers
      */
-    public void setUserValue(SVMKernelType type, double c, int numFold, int numRun) {
+    public void setUserValue(SVMKernelType type, double c, int numFold, int numRun,
+            EliminationType eliminationType, double eliminationValue, SVMSolverType solverType) {
         typeKernel = type;
         parameterC = c;
         this.numFold = numFold;
         this.numRun = numRun;
+        typeElimination = eliminationType;
+        this.eliminationValue = eliminationValue;
+        typeSolver = solverType;
         cb_kernel.setSelectedItem(typeKernel.toString());
         txt_parameterC.setText(String.valueOf(parameterC));
         txt_numFold.setText(String.valueOf(this.numFold));
         txt_numRun.setText(String.valueOf(this.numRun));
+        txt_eliminationValue.setText(String.valueOf(this.eliminationValue));
+        cb_elimination.setSelectedItem(typeElimination.toString());
+        cb_solver.setSelectedItem(typeSolver.toString());
     }
 
     /**
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.gui.featureSelection.embedded;
+
+import unifeat.featureSelection.EnumType;
+
+/**
+ * This java class is used to define the names of different solvers that train
+ * the linear SVM classifiers of the methods based on recursive feature
+ * elimination.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.EnumType
+ */
+public final class SVMSolverType extends EnumType {
+
+    public static final SVMSolverType NONE = new SVMSolverType("none");
+    public static final SVMSolverType NATIVE_LINEAR = new SVMSolverType("Native linear SVM");
+    public static final SVMSolverType WEKA_SMO = new SVMSolverType("Weka SMO");
+
+    /**
+     * Creates new SVMSolverType. This method is called from within the
+     * constructor to initialize the parameter.
+     *
+     * @param solverName the name of solver
+     */
+    private SVMSolverType(String solverName) {
+        super(solverName);
+    }
+
+    /**
+     * Returns the names of different solvers
+     *
+     * @return an array of names of solvers
+     */
+    public static String[] asList() {
+        return new String[]{NATIVE_LINEAR.toString(),
+            WEKA_SMO.toString()};
+    }
+
+    /**
+     * Converts the solver name to SVMSolverType
+     *
+     * @param type the name of solver as string
+     *
+     * @return the solver type
+     */
+    public static SVMSolverType parse(String type) {
+        return switch (type) {
+            case "Native linear SVM" -> NATIVE_LINEAR;
+            case "Weka SMO" -> WEKA_SMO;
+            default -> NONE;
+        };
+    }
+}
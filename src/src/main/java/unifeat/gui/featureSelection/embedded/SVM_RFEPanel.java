@@ -0,0 +1,363 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.gui.featureSelection.embedded;
+
+import unifeat.gui.ParameterPanel;
+import unifeat.gui.classifier.svmClassifier.SVMKernelType;
+import unifeat.util.MathFunc;
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ItemEvent;
+import java.awt.event.KeyEvent;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JTextField;
+
+/**
+ * This java class is used to create and show a panel for the parameter settings
+ * of the support vector machine methods based on recursive feature elimination
+ * (SVM_RFE, OVO_SVM_RFE, and OVA_SVM_RFE).
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.gui.ParameterPanel
+ * @see unifeat.featureSelection.embedded.SVMBasedMethods.SVM_RFE
+ * @see unifeat.featureSelection.embedded.SVMBasedMethods.OVO_SVM_RFE
+ * @see unifeat.featureSelection.embedded.SVMBasedMethods.OVA_SVM_RFE
+ */
+public class SVM_RFEPanel extends ParameterPanel {
+
+    JLabel lbl_kernel, lbl_parameterC, lbl_parameterCError,
+            lbl_elimination, lbl_eliminationValue, lbl_eliminationValueError,
+            lbl_solver;
+    JComboBox cb_kernel, cb_elimination, cb_solver;
+    JTextField txt_parameterC, txt_eliminationValue;
+    private SVMKernelType typeKernel = SVMKernelType.POLYNOMIAL;
+    private double parameterC = 1.0;
+    private EliminationType typeElimination = EliminationType.FIXED_STEP;
+    private double eliminationValue = 1.0;
+    private SVMSolverType typeSolver = SVMSolverType.WEKA_SMO;
+    private static final SVMKernelType DEFAULT_TYPE_KERNEL = SVMKernelType.POLYNOMIAL;
+    private static final double DEFAULT_PARAMETER_C = 1.0;
+    private static final EliminationType DEFAULT_TYPE_ELIMINATION = EliminationType.FIXED_STEP;
+    private static final double DEFAULT_ELIMINATION_VALUE = 1.0;
+    private static final SVMSolverType DEFAULT_TYPE_SOLVER = SVMSolverType.WEKA_SMO;
+
+    /**
+     * Creates new form SVM_RFEPanel. This method is called from within the
+     * constructor to initialize the form.
+     */
+    public SVM_RFEPanel() {
+        super("Parameter Settings Panel",
+                "SVM_RFE settings:",
+                "<html>Support vector machine method based on recursive feature elimination (SVM_RFE).</html>",
+                "Option\n\n"
+                + "Kernel -> the kernel to use in SVM.\n\n"
+                + "Parameter c -> The complexity parameter C in SVM.\n\n"
+                + "Elimination -> the schedule of the elimination. Fixed step removes "
+                + "a fixed number of features in each iteration, Percentage removes a "
+                + "percentage of the remaining features, and Hybrid removes a percentage "
+                + "of the remaining features while they are more than twice the number "
+                + "of selected features and then removes them one by one.\n\n"
+                + "Elimination value -> the number of features (Fixed step) or the "
+                + "percentage of the remaining features (Percentage and Hybrid) "
+                + "eliminated in each iteration.\n\n"
+                + "Solver -> the solver that trains the SVM classifiers with the linear "
+                + "(polynomial) kernel. Native linear SVM is the fast dual coordinate "
+                + "descent solver, and Weka SMO is the SMO classifier of the Weka software. "
+                + "The other kernels are always trained by Weka SMO.\n\n",
+                new Rectangle(10, 10, 215, 20),
+                new Rectangle(10, 35, 400, 80),
+                new Rectangle(150, 330, 75, 25),
+                new Rectangle(270, 330, 75, 25),
+                new Dimension(500, 420));
+
+        Container contentPane = getContentPane();
+
+        lbl_kernel = new JLabel("Kernel:");
+        lbl_kernel.setBounds(50, 135, 120, 22);
+        cb_kernel = new JComboBox(SVMKernelType.asList());
+        cb_kernel.setBounds(170, 135, 285, 25);
+
+        lbl_parameterC = new JLabel("Parameter c:");
+        lbl_parameterC.setBounds(50, 170, 170, 22);
+        txt_parameterC = new JTextField(Double.toString(DEFAULT_PARAMETER_C));
+        txt_parameterC.setBounds(170, 170, 130, 24);
+        txt_parameterC.addKeyListener(this);
+        lbl_parameterCError = new JLabel("");
+        lbl_parameterCError.setBounds(305, 170, 50, 22);
+        lbl_parameterCError.setForeground(Color.red);
+
+        lbl_elimination = new JLabel("Elimination:");
+        lbl_elimination.setBounds(50, 205, 120, 22);
+        cb_elimination = new JComboBox(EliminationType.asList());
+        cb_elimination.setBounds(170, 205, 130, 25);
+        cb_elimination.addItemListener((ItemEvent e) -> {
+            if (e.getStateChange() == ItemEvent.SELECTED) {
+                keyReleased(null);
+            }
+        });
+
+        lbl_eliminationValue = new JLabel("Elimination value:");
+        lbl_eliminationValue.setBounds(50, 240, 120, 22);
+        txt_eliminationValue = new JTextField(Double.toString(DEFAULT_ELIMINATION_VALUE));
+        txt_eliminationValue.setBounds(170, 240, 130, 24);
+        txt_eliminationValue.addKeyListener(this);
+        lbl_eliminationValueError = new JLabel("");
+        lbl_eliminationValueError.setBounds(305, 240, 50, 22);
+        lbl_eliminationValueError.setForeground(Color.red);
+
+        lbl_solver = new JLabel("Solver:");
+        lbl_solver.setBounds(50, 275, 120, 22);
+        cb_solver = new JComboBox(SVMSolverType.asList());
+        cb_solver.setBounds(170, 275, 130, 25);
+
+        contentPane.add(lbl_kernel);
+        contentPane.add(cb_kernel);
+
+        contentPane.add(lbl_parameterC);
+        contentPane.add(txt_parameterC);
+        contentPane.add(lbl_parameterCError);
+
+        contentPane.add(lbl_elimination);
+        contentPane.add(cb_elimination);
+
+        contentPane.add(lbl_eliminationValue);
+        contentPane.add(txt_eliminationValue);
+        contentPane.add(lbl_eliminationValueError);
+
+        contentPane.add(lbl_solver);
+        contentPane.add(cb_solver);
+
+        contentPane.validate();
+        contentPane.repaint();
+    }
+
+    /**
+     * The listener method for receiving keyboard events (keystrokes). Invoked
+     * when a key has been released.
+     *
+     * @param e an action event
+     */
+    @Override
+    public void keyReleased(KeyEvent e) {
+        boolean enableOkButton = true;
+        String tempStr;
+
+        tempStr = txt_parameterC.getText();
+        if (!MathFunc.isDouble(tempStr) || Double.parseDouble(tempStr) < 0) {
+            lbl_parameterCError.setText("*");
+            enableOkButton = false;
+        } else {
+            lbl_parameterCError.setText("");
+        }
+
+        tempStr = txt_eliminationValue.getText();
+        if (!isValidEliminationValue(EliminationType.parse(cb_elimination.getSelectedItem().toString()), tempStr)) {
+            lbl_eliminationValueError.setText("*");
+            enableOkButton = false;
+        } else {
+            lbl_eliminationValueError.setText("");
+        }
+
+        btn_ok.setEnabled(enableOkButton);
+    }
+
+    /**
+     * This method checks the value of the elimination schedule. The value of
+     * the fixed step is a positive integer and the percentage is in the range
+     * (0, 100).
+     *
+     * @param type the schedule of the elimination
+     * @param value the value of the elimination as string
+     *
+     * @return true if the value is valid
+     */
+    static boolean isValidEliminationValue(EliminationType type, String value) {
+        if (!MathFunc.isDouble(value)) {
+            return false;
+        }
+        double number = Double.parseDouble(value);
+        if (type == EliminationType.FIXED_STEP) {
+            return number >= 1 && number == Math.floor(number);
+        }
+        return number > 0 && number < 100;
+    }
+
+    /**
+     * This method sets an action for the btn_ok button.
+     *
+     * @param e an action event
+     */
+    @Override
+    protected void btn_okActionPerformed(ActionEvent e) {
+        setKernel(SVMKernelType.parse(cb_kernel.getSelectedItem().toString()));
+        setParameterC(Double.parseDouble(txt_parameterC.getText()));
+        setEliminationType(EliminationType.parse(cb_elimination.getSelectedItem().toString()));
+        setEliminationValue(Double.parseDouble(txt_eliminationValue.getText()));
+        setSolverType(SVMSolverType.parse(cb_solver.getSelectedItem().toString()));
+        super.btn_okActionPerformed(e);
+    }
+
+    /**
+     * This method returns the name of kernel.
+     *
+     * @return the <code>Kernel</code> parameter
+     */
+    public SVMKernelType getKernel() {
+        return typeKernel;
+    }
+
+    /**
+     * This method sets the name of kernel.
+     *
+     * @param kernelName the name of kernel
+     */
+    public void setKernel(SVMKernelType kernelName) {
+        this.typeKernel = kernelName;
+    }
+
+    /**
+     * This method returns the complexity parameter C.
+     *
+     * @return the <code>C</code> parameter
+     */
+    public double getParameterC() {
+        return parameterC;
+    }
+
+    /**
+     * This method sets the complexity parameter C.
+     *
+     * @param c the complexity parameter C
+     */
+    public void setParameterC(double c) {
+        this.parameterC = c;
+    }
+
+    /**
+     * This method returns the schedule of the elimination.
+     *
+     * @return the <code>Elimination</code> parameter
+     */
+    public EliminationType getEliminationType() {
+        return typeElimination;
+    }
+
+    /**
+     * This method sets the schedule of the elimination.
+     *
+     * @param eliminationType the schedule of the elimination
+     */
+    public void setEliminationType(EliminationType eliminationType) {
+        this.typeElimination = eliminationType;
+    }
+
+    /**
+     * This method returns the value of the elimination schedule.
+     *
+     * @return the <code>Elimination value</code> parameter
+     */
+    public double getEliminationValue() {
+        return eliminationValue;
+    }
+
+    /**
+     * This method sets the value of the elimination schedule.
+     *
+     * @param eliminationValue the number of features (fixed step) or the
+     * percentage of the remaining features (percentage and hybrid)
+     */
+    public void setEliminationValue(double eliminationValue) {
+        this.eliminationValue = eliminationValue;
+    }
+
+    /**
+     * This method returns the solver of the linear SVM classifiers.
+     *
+     * @return the <code>Solver</code> parameter
+     */
+    public SVMSolverType getSolverType() {
+        return typeSolver;
+    }
+
+    /**
+     * This method sets the solver of the linear SVM classifiers.
+     *
+     * @param solverType the solver of the linear SVM classifiers
+     */
+    public void setSolverType(SVMSolverType solverType) {
+        this.typeSolver = solverType;
+    }
+
+    /**
+     * Sets the default values of the SVM_RFE parameters
+     */
+    public void setDefaultValue() {
+        cb_kernel.setSelectedItem(DEFAULT_TYPE_KERNEL.toString());
+        txt_parameterC.setText(String.valueOf(DEFAULT_PARAMETER_C));
+        txt_eliminationValue.setText(String.valueOf(DEFAULT_ELIMINATION_VALUE));
+        cb_elimination.setSelectedItem(DEFAULT_TYPE_ELIMINATION.toString());
+        cb_solver.setSelectedItem(DEFAULT_TYPE_SOLVER.toString());
+        typeKernel = DEFAULT_TYPE_KERNEL;
+        parameterC = DEFAULT_PARAMETER_C;
+        typeElimination = DEFAULT_TYPE_ELIMINATION;
+        eliminationValue = DEFAULT_ELIMINATION_VALUE;
+        typeSolver = DEFAULT_TYPE_SOLVER;
+    }
+
+    /**
+     * Sets the last values of the SVM_RFE parameters entered by user
+     *
+     * @param type the name of the kernel
+     * @param c the complexity parameter C
+     * @param eliminationType the schedule of the elimination
+     * @param eliminationValue the value of the elimination schedule
+     * @param solverType the solver of the linear SVM classifiers
+     */
+    public void setUserValue(SVMKernelType type, double c, EliminationType eliminationType, double eliminationValue,
+            SVMSolverType solverType) {
+        typeKernel = type;
+        parameterC = c;
+        typeElimination = eliminationType;
+        this.eliminationValue = eliminationValue;
+        typeSolver = solverType;
+        cb_kernel.setSelectedItem(typeKernel.toString());
+        txt_parameterC.setText(String.valueOf(parameterC));
+        txt_eliminationValue.setText(String.valueOf(this.eliminationValue));
+        cb_elimination.setSelectedItem(typeElimination.toString());
+        cb_solver.setSelectedItem(typeSolver.toString());
+    }
+
+    /**
+     * Sets the status of the kernel's combo box
+     *
+     * @param status the status of the kernel
+     */
+    public void setEnableKernelType(boolean status) {
+        cb_kernel.setEnabled(status);
+    }
+}
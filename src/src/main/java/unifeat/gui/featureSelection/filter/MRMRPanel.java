@@ -0,0 +1,226 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.gui.featureSelection.filter;
+
+import unifeat.dataset.DiscretizationType;
+import unifeat.gui.ParameterPanel;
+import unifeat.util.MathFunc;
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ItemEvent;
+import java.awt.event.KeyEvent;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JTextField;
+
+/**
+ * This java class is used to create and show a panel for the parameter settings
+ * of the minimal redundancy maximal relevance (mRMR) method.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.gui.ParameterPanel
+ * @see unifeat.featureSelection.filter.supervised.MRMR
+ */
+public class MRMRPanel extends ParameterPanel {
+
+    JLabel lbl_discretization,
+            lbl_numBins, lbl_numBinsError;
+    JComboBox cb_discretization;
+    JTextField txt_numBins;
+    private DiscretizationType discretizationType = DiscretizationType.EXACT;
+    private static final DiscretizationType DEFAULT_DISCRETIZATION_TYPE = DiscretizationType.EXACT;
+    private int numBins = 10;
+    private static final int DEFAULT_NUM_BINS = 10;
+
+    /**
+     * Creates new form MRMRPanel. This method is called from within the
+     * constructor to initialize the form.
+     */
+    public MRMRPanel() {
+        super("Parameter Settings Panel",
+                "Minimal redundancy maximal relevance (mRMR) settings:",
+                "<html>Minimal redundancy maximal relevance (mRMR) selects the features one by one so that the mutual information of the selected features with the class is maximal and the mutual information between them is minimal. The mutual information is computed on the discretized values of the features.</html>",
+                "Option\n\n"
+                + "Discretization -> the method used to convert the values of the features to codes. "
+                + "Exact values uses each distinct value of a feature as a code, Equal width and "
+                + "Equal frequency divide the values into a number of bins, and MDL finds the cut points "
+                + "by the minimum description length principle.\n\n"
+                + "Number of bins -> the number of bins of the equal width and equal frequency methods "
+                + "(an integer greater than one).\n\n",
+                new Rectangle(10, 10, 440, 20),
+                new Rectangle(10, 35, 450, 80),
+                new Rectangle(140, 220, 75, 25),
+                new Rectangle(260, 220, 75, 25),
+                new Dimension(480, 300));
+
+        Container contentPane = getContentPane();
+
+        lbl_discretization = new JLabel("Discretization:");
+        lbl_discretization.setBounds(50, 135, 120, 22);
+        cb_discretization = new JComboBox(DiscretizationType.asList());
+        cb_discretization.setBounds(175, 135, 200, 25);
+        cb_discretization.addItemListener((ItemEvent e) -> {
+            if (e.getStateChange() == ItemEvent.SELECTED) {
+                keyReleased(null);
+            }
+        });
+
+        lbl_numBins = new JLabel("Number of bins:");
+        lbl_numBins.setBounds(50, 170, 120, 22);
+        txt_numBins = new JTextField(String.valueOf(DEFAULT_NUM_BINS));
+        txt_numBins.setBounds(175, 170, 120, 24);
+        txt_numBins.addKeyListener(this);
+        txt_numBins.setEnabled(false);
+        lbl_numBinsError = new JLabel("");
+        lbl_numBinsError.setBounds(305, 170, 50, 22);
+        lbl_numBinsError.setForeground(Color.red);
+
+        contentPane.add(lbl_discretization);
+        contentPane.add(cb_discretization);
+
+        contentPane.add(lbl_numBins);
+        contentPane.add(txt_numBins);
+        contentPane.add(lbl_numBinsError);
+
+        contentPane.validate();
+        contentPane.repaint();
+    }
+
+    /**
+     * This method shows whether the given discretization method uses the
+     * number of bins
+     *
+     * @param type the discretization method
+     *
+     * @return true if the method divides the values into a number of bins
+     */
+    private static boolean isBinningMethod(DiscretizationType type) {
+        return type == DiscretizationType.EQUAL_WIDTH || type == DiscretizationType.EQUAL_FREQUENCY;
+    }
+
+    /**
+     * The listener method for receiving keyboard events (keystrokes). Invoked
+     * when a key has been released.
+     *
+     * @param e an action event
+     */
+    @Override
+    public void keyReleased(KeyEvent e) {
+        boolean enableOkButton = true;
+        boolean isBinning = isBinningMethod(DiscretizationType.parse(cb_discretization.getSelectedItem().toString()));
+        String tempStr;
+
+        txt_numBins.setEnabled(isBinning);
+        tempStr = txt_numBins.getText();
+        if (isBinning && (!MathFunc.isInteger(tempStr) || Integer.parseInt(tempStr) < 2)) {
+            lbl_numBinsError.setText("*");
+            enableOkButton = false;
+        } else {
+            lbl_numBinsError.setText("");
+        }
+
+        btn_ok.setEnabled(enableOkButton);
+    }
+
+    /**
+     * This method sets an action for the btn_ok button.
+     *
+     * @param e an action event
+     */
+    @Override
+    protected void btn_okActionPerformed(ActionEvent e) {
+        setDiscretizationType(DiscretizationType.parse(cb_discretization.getSelectedItem().toString()));
+        if (isBinningMethod(discretizationType)) {
+            setNumBins(Integer.parseInt(txt_numBins.getText()));
+        }
+        super.btn_okActionPerformed(e);
+    }
+
+    /**
+     * This method returns the discretization method.
+     *
+     * @return the <code>discretization</code> parameter
+     */
+    public DiscretizationType getDiscretizationType() {
+        return discretizationType;
+    }
+
+    /**
+     * This method sets the discretization method.
+     *
+     * @param discretizationType the discretization method
+     */
+    public void setDiscretizationType(DiscretizationType discretizationType) {
+        this.discretizationType = discretizationType;
+    }
+
+    /**
+     * This method returns the number of bins.
+     *
+     * @return the <code>number of bins</code> parameter
+     */
+    public int getNumBins() {
+        return numBins;
+    }
+
+    /**
+     * This method sets the number of bins.
+     *
+     * @param numBins the number of bins
+     */
+    public void setNumBins(int numBins) {
+        this.numBins = numBins;
+    }
+
+    /**
+     * Sets the default values of the mRMR parameters
+     */
+    public void setDefaultValue() {
+        cb_discretization.setSelectedItem(DEFAULT_DISCRETIZATION_TYPE.toString());
+        txt_numBins.setText(String.valueOf(DEFAULT_NUM_BINS));
+        txt_numBins.setEnabled(isBinningMethod(DEFAULT_DISCRETIZATION_TYPE));
+
+        discretizationType = DEFAULT_DISCRETIZATION_TYPE;
+        numBins = DEFAULT_NUM_BINS;
+    }
+
+    /**
+     * Sets the last values of the mRMR parameters entered by user
+     *
+     * @param type the discretization method
+     * @param bins the number of bins of the equal width and equal frequency
+     * methods
+     */
+    public void setUserValue(DiscretizationType type, int bins) {
+        discretizationType = type;
+        numBins = bins;
+
+        cb_discretization.setSelectedItem(discretizationType.toString());
+        txt_numBins.setText(String.valueOf(numBins));
+        txt_numBins.setEnabled(isBinningMethod(discretizationType));
+    }
+}
@@ -327,8 +327,13 @@ public class Results {
         String nameTestDataCSV = PATH_DATA_CSV + "testSet[" + (i + 1) + "-" + currentSelectedSubset.length + "].csv";
         String nameTestDataARFF = PATH_DATA_ARFF + "testSet[" + (i + 1) + "-" + currentSelectedSubset.length + "].arff";
 
-        FileFunc.createCSVFile(data.getTrainSet(), currentSelectedSubset, nameTrainDataCSV, data.getNameFeatures(), data.getClassLabel());
-        FileFunc.createCSVFile(data.getTestSet(), currentSelectedSubset, nameTestDataCSV, data.getNameFeatures(), data.getClassLabel());
+        if (data.isSparse()) {
+            FileFunc.createCSVFile(data.getTrainSparseData(), currentSelectedSubset, nameTrainDataCSV, data.getNameFeatures(), data.getClassLabel());
+            FileFunc.createCSVFile(data.getTestSparseData(), currentSelectedSubset, nameTestDataCSV, data.getNameFeatures(), data.getClassLabel());
+        } else {
+            FileFunc.createCSVFile(data.getTrainSet(), currentSelectedSubset, nameTrainDataCSV, data.getNameFeatures(), data.getClassLabel());
+            FileFunc.createCSVFile(data.getTestSet(), currentSelectedSubset, nameTestDataCSV, data.getNameFeatures(), data.getClassLabel());
+        }
         FileFunc.convertCSVtoARFF(nameTrainDataCSV, nameTrainDataARFF, PATH_PROJECT, currentSelectedSubset.length, data);
         FileFunc.convertCSVtoARFF(nameTestDataCSV, nameTestDataARFF, PATH_PROJECT, currentSelectedSubset.length, data);
 
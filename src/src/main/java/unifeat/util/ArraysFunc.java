@@ -158,7 +158,8 @@ public final class ArraysFunc {
 
     /**
      * Sorts the one dimensional array (double values) by values and returns a
-     * list of indices
+     * list of indices. The sort is stable and takes O(n log n) time. The NaN
+     * values are not moved, and the values between them are sorted separately.
      *
      * @param array the input array
      * @param descending indicates the type of sorting
@@ -167,79 +168,265 @@ public final class ArraysFunc {
      */
     public static int[] sortWithIndex(double[] array, boolean descending) {
         int[] index = new int[array.length];
-        int i, j;
-        for (i = 0; i < index.length; i++) {
+        int[] temp = new int[array.length];
+        for (int i = 0; i < index.length; i++) {
             index[i] = i;
         }
 
-        if (descending) {
-            for (i = 1; i < array.length; i++) {
-                double next = array[i];
-                int nextIndex = index[i];
-                for (j = i - 1; j >= 0 && (next > array[j]); j--) {
-                    array[j + 1] = array[j];
-                    index[j + 1] = index[j];
-                }
-                array[j + 1] = next;
-                index[j + 1] = nextIndex;
-            }
-        } else {
-            for (i = 1; i < array.length; i++) {
-                double next = array[i];
-                int nextIndex = index[i];
-                for (j = i - 1; j >= 0 && (next < array[j]); j--) {
-                    array[j + 1] = array[j];
-                    index[j + 1] = index[j];
-                }
-                array[j + 1] = next;
-                index[j + 1] = nextIndex;
+        //sorts each range of the values between two NaN values
+        int start = 0;
+        for (int i = 0; i <= array.length; i++) {
+            if (i == array.length || Double.isNaN(array[i])) {
+                mergeSortIndex(array, index, temp, start, i, descending);
+                start = i + 1;
             }
         }
+
+        double[] sortedArray = new double[array.length];
+        for (int i = 0; i < index.length; i++) {
+            sortedArray[i] = array[index[i]];
+        }
+        System.arraycopy(sortedArray, 0, array, 0, array.length);
         return index;
     }
 
     /**
-     * Sorts the one dimensional array (integer values) by values and returns a
-     * list of indices
+     * Returns the indices of the k largest (or smallest) values of the one
+     * dimensional array in sorted order without changing the array. The equal
+     * values are ordered by their indices, so the result is the same as the
+     * first k indices given by {@link #sortWithIndex(double[], boolean)}. The
+     * selection takes O(n log k) time by keeping the best k values in a heap.
      *
      * @param array the input array
+     * @param k the number of selected indices
+     * @param descending if true, the largest values are selected; otherwise,
+     * the smallest values are selected
+     *
+     * @return the indices of the selected values
+     */
+    public static int[] selectTopIndices(double[] array, int k, boolean descending) {
+        k = Math.min(k, array.length);
+        for (double value : array) {
+            if (Double.isNaN(value)) {
+                return Arrays.copyOfRange(sortWithIndex(Arrays.copyOf(array, array.length), descending), 0, k);
+            }
+        }
+        if (k <= 0) {
+            return new int[0];
+        }
+
+        //the root of the heap is the worst of the selected values
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(array, heap, size++, descending);
+            } else if (isBefore(array, i, heap[0], descending)) {
+                heap[0] = i;
+                siftDown(array, heap, 0, size, descending);
+            }
+        }
+
+        //removes the worst value from the heap and places it at the end
+        for (int last = size - 1; last > 0; last--) {
+            int worst = heap[0];
+            heap[0] = heap[last];
+            heap[last] = worst;
+            siftDown(array, heap, 0, last, descending);
+        }
+        return heap;
+    }
+
+    /**
+     * Checks whether the value of the first index is placed before the value
+     * of the second index. The equal values are ordered by their indices.
+     *
+     * @param array the values of the indices
+     * @param index1 the first index
+     * @param index2 the second index
      * @param descending indicates the type of sorting
      *
-     * @return the sorted array
+     * @return true if the first index is placed before the second index
      */
-    public static int[] sortWithIndex(int[] array, boolean descending) {
+    private static boolean isBefore(double[] array, int index1, int index2, boolean descending) {
+        if (array[index1] == array[index2]) {
+            return index1 < index2;
+        }
+        return isGreater(array[index1], array[index2], descending);
+    }
+
+    /**
+     * Moves the element of the heap up while it is placed after its parent
+     *
+     * @param array the values of the indices
+     * @param heap the indices in the heap
+     * @param position the position of the element in the heap
+     * @param descending indicates the type of sorting
+     */
+    private static void siftUp(double[] array, int[] heap, int position, boolean descending) {
+        int element = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!isBefore(array, heap[parent], element, descending)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = element;
+    }
+
+    /**
+     * Moves the element of the heap down while it is placed before one of its
+     * children
+     *
+     * @param array the values of the indices
+     * @param heap the indices in the heap
+     * @param position the position of the element in the heap
+     * @param size the number of elements in the heap
+     * @param descending indicates the type of sorting
+     */
+    private static void siftDown(double[] array, int[] heap, int position, int size, boolean descending) {
+        int element = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && isBefore(array, heap[child], heap[child + 1], descending)) {
+                child++;
+            }
+            if (!isBefore(array, element, heap[child], descending)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = element;
+    }
+
+    /**
+     * Returns the indices of the values of the one dimensional array in
+     * ascending order of the values without changing the array. The sort is
+     * stable (the indices of equal values remain in ascending order) and
+     * takes O(n log n) time.
+     *
+     * @param array the input array
+     *
+     * @return the indices of the values in ascending order
+     */
+    public static int[] argsort(double[] array) {
         int[] index = new int[array.length];
-        int i, j;
-        for (i = 0; i < index.length; i++) {
+        for (int i = 0; i < index.length; i++) {
             index[i] = i;
         }
+        mergeSortIndex(array, index, new int[index.length], 0, index.length, false);
+        return index;
+    }
 
-        if (descending) {
-            for (i = 1; i < array.length; i++) {
-                int next = array[i];
-                int nextIndex = index[i];
-                for (j = i - 1; j >= 0 && (next > array[j]); j--) {
-                    array[j + 1] = array[j];
+    /**
+     * Sorts the given range of the indices by the values of the array using
+     * the merge sort algorithm. The indices of equal values remain in their
+     * order.
+     *
+     * @param array the values of the indices
+     * @param index the indices that are sorted
+     * @param temp the temporary array that is used for merging
+     * @param start the start index of the range
+     * @param end the end index of the range (exclusive)
+     * @param descending indicates the type of sorting
+     */
+    private static void mergeSortIndex(double[] array, int[] index, int[] temp, int start, int end, boolean descending) {
+        if (end - start <= 16) {
+            for (int i = start + 1; i < end; i++) {
+                int next = index[i];
+                int j;
+                for (j = i - 1; j >= start && isGreater(array[next], array[index[j]], descending); j--) {
                     index[j + 1] = index[j];
                 }
-                array[j + 1] = next;
-                index[j + 1] = nextIndex;
+                index[j + 1] = next;
             }
-        } else {
-            for (i = 1; i < array.length; i++) {
-                int next = array[i];
-                int nextIndex = index[i];
-                for (j = i - 1; j >= 0 && (next < array[j]); j--) {
-                    array[j + 1] = array[j];
-                    index[j + 1] = index[j];
-                }
-                array[j + 1] = next;
-                index[j + 1] = nextIndex;
+            return;
+        }
+
+        int middle = (start + end) >>> 1;
+        mergeSortIndex(array, index, temp, start, middle, descending);
+        mergeSortIndex(array, index, temp, middle, end, descending);
+        if (!isGreater(array[index[middle]], array[index[middle - 1]], descending)) {
+            return; //the two halves are already in order
+        }
+
+        System.arraycopy(index, start, temp, start, end - start);
+        int left = start;
+        int right = middle;
+        for (int k = start; k < end; k++) {
+            if (right >= end || (left < middle && !isGreater(array[temp[right]], array[temp[left]], descending))) {
+                index[k] = temp[left++];
+            } else {
+                index[k] = temp[right++];
             }
         }
+    }
+
+    /**
+     * Checks whether the first value is placed before the second value, that
+     * is, the first value is greater (descending) or less (ascending) than
+     * the second value
+     *
+     * @param value1 the first value
+     * @param value2 the second value
+     * @param descending indicates the type of sorting
+     *
+     * @return true if the first value is placed before the second value
+     */
+    private static boolean isGreater(double value1, double value2, boolean descending) {
+        return descending ? value1 > value2 : value1 < value2;
+    }
+
+    /**
+     * Sorts the one dimensional array (integer values) by values and returns a
+     * list of indices. The sort is stable and takes O(n log n) time.
+     *
+     * @param array the input array
+     * @param descending indicates the type of sorting
+     *
+     * @return the sorted array
+     */
+    public static int[] sortWithIndex(int[] array, boolean descending) {
+        double[] values = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            values[i] = array[i];
+        }
+        int[] index = sortWithIndex(values, descending);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (int) values[i];
+        }
         return index;
     }
 
+    /**
+     * Returns the indices of the k largest (or smallest) values of the one
+     * dimensional array (integer values) in sorted order without changing the
+     * array
+     *
+     * @param array the input array
+     * @param k the number of selected indices
+     * @param descending if true, the largest values are selected; otherwise,
+     * the smallest values are selected
+     *
+     * @return the indices of the selected values
+     *
+     * @see #selectTopIndices(double[], int, boolean)
+     */
+    public static int[] selectTopIndices(int[] array, int k, boolean descending) {
+        double[] values = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            values[i] = array[i];
+        }
+        return selectTopIndices(values, k, descending);
+    }
+
     /**
      * Converts the string input to double values
      *
@@ -24,6 +24,7 @@
 package unifeat.util;
 
 import unifeat.dataset.DatasetInfo;
+import unifeat.dataset.SparseDataset;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -118,6 +119,40 @@ public final class FileFunc {
         }
     }
     
+    /**
+     * This method creates a CSV (Comma delimited) file of the sparse data in
+     * which only the selected features are converted to the dense values
+     *
+     * @param data the sparse data
+     * @param selectedFeature the list of selected Feature
+     * @param name name of the path for created CSV file
+     * @param featureNames a string array of features names
+     * @param classNames a string array of class labels names
+     */
+    public static void createCSVFile(SparseDataset data, int[] selectedFeature, String name, String[] featureNames, String[] classNames) {
+        int numSamples = data.getNumSamples();
+        int sizeFeatureSet = selectedFeature.length;
+        double[][] reducedData = new double[numSamples][sizeFeatureSet + 1];
+        int[] rows = data.getRowIndices();
+        double[] values = data.getValues();
+        for (int j = 0; j < sizeFeatureSet; j++) {
+            for (int k = data.getColumnStart(selectedFeature[j]); k < data.getColumnEnd(selectedFeature[j]); k++) {
+                reducedData[rows[k]][j] = values[k];
+            }
+        }
+        String[] reducedNames = new String[sizeFeatureSet + 1];
+        int[] reducedFeatures = new int[sizeFeatureSet];
+        for (int j = 0; j < sizeFeatureSet; j++) {
+            reducedNames[j] = featureNames[selectedFeature[j]];
+            reducedFeatures[j] = j;
+        }
+        reducedNames[sizeFeatureSet] = featureNames[featureNames.length - 1];
+        for (int i = 0; i < numSamples; i++) {
+            reducedData[i][sizeFeatureSet] = data.getLabel(i);
+        }
+        createCSVFile(reducedData, reducedFeatures, name, reducedNames, classNames);
+    }
+
     /**
      * This method converts CSV file to ARFF file for the Weka Software
      *
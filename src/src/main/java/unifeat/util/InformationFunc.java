@@ -0,0 +1,251 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.util;
+
+import java.util.Arrays;
+
+/**
+ * This java class is used to implement the information-theoretic measures
+ * such as entropy, conditional entropy and mutual information over the
+ * features whose values are given as integer codes.
+ * <p>
+ * The samples are counted in the contingency tables of the codes, so the
+ * measures are computed in a time linear in the number of samples. The codes
+ * of a feature must be in the range [0, number of codes).
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.DiscretizedDataset
+ */
+public final class InformationFunc {
+
+    /**
+     * Counts the number of samples that have each code
+     *
+     * @param codes the codes of the samples
+     * @param numCodes the number of codes
+     *
+     * @return the number of samples of each code
+     */
+    public static int[] countCodes(int[] codes, int numCodes) {
+        int[] counts = new int[numCodes];
+        for (int code : codes) {
+            counts[code]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Sorts the indices of the samples by their codes using the counting sort.
+     * The samples with equal codes remain in their original order.
+     *
+     * @param codes the codes of the samples
+     * @param counts the number of samples of each code
+     *
+     * @return the indices of the samples sorted by the codes
+     */
+    private static int[] sortByCodes(int[] codes, int[] counts) {
+        int[] positions = new int[counts.length];
+        for (int i = 1; i < counts.length; i++) {
+            positions[i] = positions[i - 1] + counts[i - 1];
+        }
+        int[] order = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            order[positions[codes[i]]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Computes the entropy of a feature given by the codes of the samples
+     *
+     * @param codes the codes of the samples
+     * @param numCodes the number of codes
+     *
+     * @return the entropy value
+     */
+    public static double computeEntropy(int[] codes, int numCodes) {
+        double entropy = 0;
+        int numSamples = codes.length;
+        for (int count : countCodes(codes, numCodes)) {
+            if (count != 0) {
+                double prob = count / (double) numSamples;
+                entropy -= prob * MathFunc.log2(prob);
+            }
+        }
+        return entropy;
+    }
+
+    /**
+     * Computes the conditional entropy of the second feature given the first
+     * feature, H(feature2 | feature1)
+     *
+     * @param codes1 the codes of the samples in the first feature
+     * @param numCodes1 the number of codes of the first feature
+     * @param codes2 the codes of the samples in the second feature
+     * @param numCodes2 the number of codes of the second feature
+     *
+     * @return the conditional entropy value
+     */
+    public static double computeConditionalEntropy(int[] codes1, int numCodes1, int[] codes2, int numCodes2) {
+        double entropy = 0;
+        int numSamples = codes1.length;
+        int[] counts1 = countCodes(codes1, numCodes1);
+        int[] order = sortByCodes(codes1, counts1);
+        int[] countGroup = new int[numCodes2];
+        int[] usedCodes = new int[numCodes2];
+        int indexStart = 0;
+
+        //computes the entropy of the second feature in each group of the samples with equal code of the first feature
+        for (int a = 0; a < numCodes1; a++) {
+            int size = counts1[a];
+            if (size == 0) {
+                continue;
+            }
+            int numUsed = countGroup(codes2, order, indexStart, indexStart + size, countGroup, usedCodes);
+            double entropyGroup = 0;
+            if (isSortedScan(numUsed, numCodes2)) {
+                Arrays.sort(usedCodes, 0, numUsed);
+                for (int k = 0; k < numUsed; k++) {
+                    double prob = countGroup[usedCodes[k]] / (double) size;
+                    entropyGroup -= prob * MathFunc.log2(prob);
+                }
+            } else {
+                for (int b = 0; b < numCodes2; b++) {
+                    if (countGroup[b] != 0) {
+                        double prob = countGroup[b] / (double) size;
+                        entropyGroup -= prob * MathFunc.log2(prob);
+                    }
+                }
+            }
+            entropy += (size / (double) numSamples) * entropyGroup;
+            clearGroup(countGroup, usedCodes, numUsed);
+            indexStart += size;
+        }
+
+        return entropy;
+    }
+
+    /**
+     * Computes the mutual information value between two features
+     *
+     * @param codes1 the codes of the samples in the first feature
+     * @param numCodes1 the number of codes of the first feature
+     * @param codes2 the codes of the samples in the second feature
+     * @param numCodes2 the number of codes of the second feature
+     *
+     * @return the mutual information value
+     */
+    public static double computeMutualInfo(int[] codes1, int numCodes1, int[] codes2, int numCodes2) {
+        double mutualInfoValue = 0;
+        int numSamples = codes1.length;
+        int[] counts1 = countCodes(codes1, numCodes1);
+        int[] counts2 = countCodes(codes2, numCodes2);
+        int[] order = sortByCodes(codes1, counts1);
+        int[] countGroup = new int[numCodes2];
+        int[] usedCodes = new int[numCodes2];
+        int indexStart = 0;
+
+        //counts the joint codes of the samples in each group of the samples with equal code of the first feature
+        for (int a = 0; a < numCodes1; a++) {
+            int size = counts1[a];
+            if (size == 0) {
+                continue;
+            }
+            double probFeat1 = size / (double) numSamples;
+            int numUsed = countGroup(codes2, order, indexStart, indexStart + size, countGroup, usedCodes);
+            if (isSortedScan(numUsed, numCodes2)) {
+                Arrays.sort(usedCodes, 0, numUsed);
+                for (int k = 0; k < numUsed; k++) {
+                    int b = usedCodes[k];
+                    double jointProb = countGroup[b] / (double) numSamples;
+                    double denominatorValue = probFeat1 * (counts2[b] / (double) numSamples);
+                    mutualInfoValue += jointProb * MathFunc.log2(jointProb / denominatorValue);
+                }
+            } else {
+                for (int b = 0; b < numCodes2; b++) {
+                    if (countGroup[b] != 0) {
+                        double jointProb = countGroup[b] / (double) numSamples;
+                        double denominatorValue = probFeat1 * (counts2[b] / (double) numSamples);
+                        mutualInfoValue += jointProb * MathFunc.log2(jointProb / denominatorValue);
+                    }
+                }
+            }
+            clearGroup(countGroup, usedCodes, numUsed);
+            indexStart += size;
+        }
+
+        return mutualInfoValue;
+    }
+
+    /**
+     * Counts the codes of the second feature over a group of samples and
+     * keeps the list of the codes that are seen in the group
+     *
+     * @param codes the codes of the samples in the second feature
+     * @param order the indices of the samples sorted by the codes of the first
+     * feature
+     * @param indexStart the start index of the group
+     * @param indexEnd the end index of the group
+     * @param countGroup the number of samples of each code in the group
+     * @param usedCodes the codes that are seen in the group
+     *
+     * @return the number of codes that are seen in the group
+     */
+    private static int countGroup(int[] codes, int[] order, int indexStart, int indexEnd, int[] countGroup, int[] usedCodes) {
+        int numUsed = 0;
+        for (int i = indexStart; i < indexEnd; i++) {
+            int code = codes[order[i]];
+            if (countGroup[code]++ == 0) {
+                usedCodes[numUsed++] = code;
+            }
+        }
+        return numUsed;
+    }
+
+    /**
+     * Resets the counts of the codes that are seen in the group
+     *
+     * @param countGroup the number of samples of each code in the group
+     * @param usedCodes the codes that are seen in the group
+     * @param numUsed the number of codes that are seen in the group
+     */
+    private static void clearGroup(int[] countGroup, int[] usedCodes, int numUsed) {
+        for (int k = 0; k < numUsed; k++) {
+            countGroup[usedCodes[k]] = 0;
+        }
+    }
+
+    /**
+     * Checks whether the codes seen in a group are few enough to be sorted
+     * instead of scanning all codes of the feature
+     *
+     * @param numUsed the number of codes that are seen in the group
+     * @param numCodes the number of codes of the feature
+     *
+     * @return true if the seen codes should be sorted
+     */
+    private static boolean isSortedScan(int numUsed, int numCodes) {
+        return numUsed * 8 < numCodes;
+    }
+}
@@ -25,6 +25,9 @@ package unifeat.util;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import unifeat.dataset.SparseDataset;
 
 /**
  * This java class is used to implement various utility methods for performing
@@ -70,6 +73,22 @@ public final class MathFunc {
         return true;
     }
 
+    /**
+     * Checks whether the input string is a long value or not
+     *
+     * @param input input string
+     *
+     * @return true if the input string is a long value
+     */
+    public static boolean isLong(String input) {
+        try {
+            Long.parseLong(input);
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Checks whether the input string is an double value or not
      *
@@ -176,6 +195,40 @@ public final class MathFunc {
         return sum / data.length;
     }
 
+    /**
+     * Computes the mean value of the values of a feature (a column of the
+     * column-major data)
+     *
+     * @param column the values of the feature
+     *
+     * @return the mean value of the feature
+     */
+    public static double computeMean(double[] column) {
+        double sum = 0;
+        for (double value : column) {
+            sum += value;
+        }
+        return sum / column.length;
+    }
+
+    /**
+     * Computes the mean value of the values of a feature of the sparse data in
+     * which only the nonzero values of the feature are visited
+     *
+     * @param data the sparse data
+     * @param index the index of the feature
+     *
+     * @return the mean value of the feature
+     */
+    public static double computeMean(SparseDataset data, int index) {
+        double[] values = data.getValues();
+        double sum = 0;
+        for (int k = data.getColumnStart(index); k < data.getColumnEnd(index); k++) {
+            sum += values[k];
+        }
+        return sum / data.getNumSamples();
+    }
+
     /**
      * Calculates the average values of all columns
      *
@@ -227,6 +280,59 @@ public final class MathFunc {
         return sum / denominatorValue;
     }
 
+    /**
+     * Computes the variance value of the values of a feature (a column of the
+     * column-major data)
+     *
+     * @param column the values of the feature
+     * @param mean the mean value of the feature
+     *
+     * @return the variance value of the feature
+     */
+    public static double computeVariance(double[] column, double mean) {
+        return computeVariance(column, mean, column.length);
+    }
+
+    /**
+     * Computes the variance value of the values of a feature (a column of the
+     * column-major data) based on a specific denominator value
+     *
+     * @param column the values of the feature
+     * @param mean the mean value of the feature
+     * @param denominatorValue the denominator value of the final division
+     *
+     * @return the variance value of the feature
+     */
+    public static double computeVariance(double[] column, double mean, double denominatorValue) {
+        double sum = 0;
+        for (double value : column) {
+            sum += Math.pow(value - mean, 2);
+        }
+        return sum / denominatorValue;
+    }
+
+    /**
+     * Computes the variance value of the values of a feature of the sparse
+     * data in which only the nonzero values of the feature are visited (the
+     * zero values are added together)
+     *
+     * @param data the sparse data
+     * @param mean the mean value of the feature
+     * @param index the index of the feature
+     *
+     * @return the variance value of the feature
+     */
+    public static double computeVariance(SparseDataset data, double mean, int index) {
+        double[] values = data.getValues();
+        int start = data.getColumnStart(index);
+        int end = data.getColumnEnd(index);
+        double sum = (data.getNumSamples() - (end - start)) * Math.pow(mean, 2);
+        for (int k = start; k < end; k++) {
+            sum += Math.pow(values[k] - mean, 2);
+        }
+        return sum / data.getNumSamples();
+    }
+
     /**
      * Computes the standard deviation value of the data corresponding to a
      * given column (column index) based on a specific denominator value
@@ -272,6 +378,86 @@ public final class MathFunc {
         }
     }
 
+    /**
+     * Computes the similarity value between two features using cosine
+     * similarity in which the values of each feature are given as a column of
+     * the column-major data
+     *
+     * @param column1 the values of the first feature
+     * @param column2 the values of the second feature
+     *
+     * @return the similarity value
+     */
+    public static double computeSimilarity(double[] column1, double[] column2) {
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+
+        for (int i = 0; i < column1.length; i++) {
+            sum1 += (column1[i] * column2[i]);
+            sum2 += (column1[i] * column1[i]);
+            sum3 += (column2[i] * column2[i]);
+        }
+
+        if (sum2 == 0 && sum3 == 0) {
+            return 1;
+        } else if (sum2 == 0 || sum3 == 0) {
+            return 0;
+        } else {
+            return sum1 / (Math.sqrt(sum2) * Math.sqrt(sum3));
+        }
+    }
+
+    /**
+     * Computes the similarity value between two features of the sparse data
+     * using cosine similarity in which only the nonzero values of the features
+     * are visited
+     *
+     * @param data the sparse data
+     * @param index1 the index of the first feature
+     * @param index2 the index of the second feature
+     *
+     * @return the similarity value
+     */
+    public static double computeSimilarity(SparseDataset data, int index1, int index2) {
+        int[] rows = data.getRowIndices();
+        double[] values = data.getValues();
+        int k1 = data.getColumnStart(index1);
+        int k2 = data.getColumnStart(index2);
+        int end1 = data.getColumnEnd(index1);
+        int end2 = data.getColumnEnd(index2);
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+
+        //merges the nonzero values of the features in order of the samples
+        while (k1 < end1 || k2 < end2) {
+            int row1 = k1 < end1 ? rows[k1] : Integer.MAX_VALUE;
+            int row2 = k2 < end2 ? rows[k2] : Integer.MAX_VALUE;
+            if (row1 == row2) {
+                sum1 += (values[k1] * values[k2]);
+                sum2 += (values[k1] * values[k1]);
+                sum3 += (values[k2] * values[k2]);
+                k1++;
+                k2++;
+            } else if (row1 < row2) {
+                sum2 += (values[k1] * values[k1]);
+                k1++;
+            } else {
+                sum3 += (values[k2] * values[k2]);
+                k2++;
+            }
+        }
+
+        if (sum2 == 0 && sum3 == 0) {
+            return 1;
+        } else if (sum2 == 0 || sum3 == 0) {
+            return 0;
+        } else {
+            return sum1 / (Math.sqrt(sum2) * Math.sqrt(sum3));
+        }
+    }
+
     /**
      * Computes the correlation value between two features using Pearson
      * correlation coefficient
@@ -311,6 +497,45 @@ public final class MathFunc {
         }
     }
 
+    /**
+     * Computes the correlation value between two features using Pearson
+     * correlation coefficient in which the values of each feature are given as
+     * a column of the column-major data
+     *
+     * @param column1 the values of the first feature
+     * @param column2 the values of the second feature
+     *
+     * @return the Pearson correlation coefficient value
+     */
+    public static double computePearsonCorCoef(double[] column1, double[] column2) {
+        double numerator = 0.0;
+        double denominator1 = 0.0;
+        double denominator2 = 0.0;
+        double meanColumn1 = computeMean(column1);
+        double meanColumn2 = computeMean(column2);
+
+        for (int i = 0; i < column1.length; i++) {
+            numerator += (column1[i] - meanColumn1) * (column2[i] - meanColumn2);
+            denominator1 += Math.pow(column1[i] - meanColumn1, 2);
+            denominator2 += Math.pow(column2[i] - meanColumn2, 2);
+        }
+
+        if (denominator1 == 0 && denominator2 == 0) {
+            return 1;
+        } else if (denominator1 == 0 || denominator2 == 0) {
+            return 0;
+        }
+
+        double result = numerator / (Math.sqrt(denominator1) * Math.sqrt(denominator2));
+        if (result > 1.0) {
+            return 1.0;
+        } else if (result < -1.0) {
+            return -1.0;
+        } else {
+            return result;
+        }
+    }
+
     /**
      * Calculates the error rate values based on the array of accuracies
      *
@@ -501,7 +726,16 @@ public final class MathFunc {
      * @param array the input array
      */
     public static void randomize(double[][] array) {
-        Random rand = new Random();
+        randomize(array, new Random());
+    }
+
+    /**
+     * Shuffles a given array using Fisher–Yates shuffle Algorithm
+     *
+     * @param array the input array
+     * @param rand the random number generator used for shuffling
+     */
+    public static void randomize(double[][] array, RandomGenerator rand) {
         for (int i = array.length - 1; i > 0; i--) {
             swap(array, i, rand.nextInt(i));
         }
@@ -514,7 +748,17 @@ public final class MathFunc {
      * @param array the input array
      */
     public static <T> void randomize(T[] array) {
-        Random rand = new Random();
+        randomize(array, new Random());
+    }
+
+    /**
+     * Shuffles a given array using Fisher–Yates shuffle Algorithm
+     *
+     * @param <T> type of the input array
+     * @param array the input array
+     * @param rand the random number generator used for shuffling
+     */
+    public static <T> void randomize(T[] array, RandomGenerator rand) {
         for (int i = array.length - 1; i > 0; i--) {
             swap(array, i, rand.nextInt(i));
         }
@@ -539,11 +783,11 @@ public final class MathFunc {
      *
      * @param start the beginning number of the interval
      * @param end the end number of the interval
-     * @param rand the Random class for generating number
+     * @param rand the random number generator
      *
      * @return a generated random double number in the specific interval
      */
-    public static double generateRandNum(double start, double end, Random rand) {
+    public static double generateRandNum(double start, double end, RandomGenerator rand) {
         return (rand.nextDouble() * (end - start)) + start;
     }
 
@@ -553,11 +797,52 @@ public final class MathFunc {
      *
      * @param start the beginning number of the interval
      * @param end the end number of the interval
-     * @param rand the Random class for generating number
+     * @param rand the random number generator
      *
      * @return a generated random integer number in the specific interval
      */
-    public static int generateRandNum(int start, int end, Random rand) {
+    public static int generateRandNum(int start, int end, RandomGenerator rand) {
         return rand.nextInt((end - start) + 1) + start;
     }
+
+    /**
+     * Generates a random integer number that is drawn from a geometric
+     * distribution. The generated number is the number of failed Bernoulli
+     * trials before the first success, so it can be used to skip directly to
+     * the next element that is selected with the given probability.
+     *
+     * @param prob the probability of success in each trial
+     * @param rand the random number generator
+     *
+     * @return a generated random integer number which is non-negative
+     */
+    public static int generateGeometricRandNum(double prob, RandomGenerator rand) {
+        if (prob >= 1) {
+            return 0;
+        } else if (prob <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        double skip = Math.floor(Math.log(1.0 - rand.nextDouble()) / Math.log(1.0 - prob));
+        return skip >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) skip;
+    }
+
+    /**
+     * Splits the given random number generator into a number of independent
+     * streams. The streams are deterministic for a given state of the input
+     * generator, so each ant, particle, individual or task that draws only from
+     * its own stream produces the same numbers regardless of the order in which
+     * the tasks are run.
+     *
+     * @param rand the random number generator which is split
+     * @param numStreams the number of streams
+     *
+     * @return an array of the independent random number generators
+     */
+    public static SplittableRandom[] splitRandomStreams(SplittableRandom rand, int numStreams) {
+        SplittableRandom[] streams = new SplittableRandom[numStreams];
+        for (int i = 0; i < numStreams; i++) {
+            streams[i] = rand.split();
+        }
+        return streams;
+    }
 }
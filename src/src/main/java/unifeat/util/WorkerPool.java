@@ -0,0 +1,250 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * This java class is used to implement a pool of worker threads that performs
+ * a group of independent tasks concurrently.
+ * <p>
+ * The threads of the pool are created on the first use and are reused by the
+ * next groups of tasks until the pool is shut down. The tasks are given to the
+ * workers one by one, and the calling thread works on the tasks as well. The
+ * workers that have not started when all tasks are taken are cancelled, so a
+ * task can use the same pool without waiting for a busy thread.
+ * <p>
+ * If a task fails, the remaining tasks are not started and the exception of
+ * the task is thrown by the calling thread.
+ *
+ * @author Sina Tabakhi
+ */
+public class WorkerPool {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+    private static final WorkerPool COMMON_POOL = new WorkerPool(Runtime.getRuntime().availableProcessors());
+    private final int numThreads;
+    private final String threadName;
+    private ExecutorService executor;
+
+    /**
+     * Initializes the parameters
+     *
+     * @param numThreads the number of worker threads
+     */
+    public WorkerPool(int numThreads) {
+        this.numThreads = Math.max(1, numThreads);
+        this.threadName = "unifeat-worker-" + POOL_COUNTER.incrementAndGet() + "-";
+    }
+
+    /**
+     * This method returns the shared pool whose number of threads is the
+     * number of available processors. The shared pool is never shut down.
+     *
+     * @return the shared pool of worker threads
+     */
+    public static WorkerPool common() {
+        return COMMON_POOL;
+    }
+
+    /**
+     * This method returns the number of worker threads of the pool.
+     *
+     * @return the number of worker threads
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * This method performs the given tasks concurrently by the worker threads.
+     *
+     * @param numTasks the number of tasks
+     * @param task the task of the given index
+     */
+    public void runTasks(int numTasks, IntConsumer task) {
+        runTasks(numTasks, numThreads, task);
+    }
+
+    /**
+     * This method performs the given tasks concurrently by at most the given
+     * number of worker threads.
+     *
+     * @param numTasks the number of tasks
+     * @param maxWorkers the maximum number of threads that work on the tasks
+     * @param task the task of the given index
+     */
+    public void runTasks(int numTasks, int maxWorkers, IntConsumer task) {
+        runTasks(numTasks, maxWorkers, () -> null, (state, index) -> task.accept(index));
+    }
+
+    /**
+     * This method performs the given tasks concurrently by the worker threads.
+     * Each worker creates its own state by the given supplier, and the tasks
+     * that are performed by a worker write only into its state.
+     *
+     * @param <StateType> the type of the state of a worker thread
+     * @param numTasks the number of tasks
+     * @param newState creates the empty state of a worker thread
+     * @param task the task of the given index which is performed using the
+     * state of the worker thread
+     *
+     * @return the states of the worker threads
+     */
+    public <StateType> List<StateType> runTasks(int numTasks, Supplier<StateType> newState,
+            ObjIntConsumer<StateType> task) {
+        return runTasks(numTasks, numThreads, newState, task);
+    }
+
+    /**
+     * This method performs the given tasks concurrently by at most the given
+     * number of worker threads. Each worker creates its own state by the given
+     * supplier, and the tasks that are performed by a worker write only into
+     * its state, so the states of the workers are returned to be merged by the
+     * caller.
+     *
+     * @param <StateType> the type of the state of a worker thread
+     * @param numTasks the number of tasks
+     * @param maxWorkers the maximum number of threads that work on the tasks
+     * @param newState creates the empty state of a worker thread
+     * @param task the task of the given index which is performed using the
+     * state of the worker thread
+     *
+     * @return the states of the worker threads
+     */
+    public <StateType> List<StateType> runTasks(int numTasks, int maxWorkers,
+            Supplier<StateType> newState, ObjIntConsumer<StateType> task) {
+        int numWorkers = Math.min(Math.min(numThreads, maxWorkers), numTasks);
+        List<StateType> states = new ArrayList<>(Math.max(numWorkers, 1));
+        StateType callerState = newState.get();
+        states.add(callerState);
+        AtomicInteger nextTask = new AtomicInteger();
+        if (numWorkers <= 1) {
+            performTasks(nextTask, numTasks, callerState, task);
+            return states;
+        }
+
+        List<Future<?>> helpers = new ArrayList<>(numWorkers - 1);
+        List<AtomicBoolean> started = new ArrayList<>(numWorkers - 1);
+        try {
+            ExecutorService service = getExecutor();
+            for (int t = 1; t < numWorkers; t++) {
+                StateType state = newState.get();
+                states.add(state);
+                AtomicBoolean isStarted = new AtomicBoolean();
+                started.add(isStarted);
+                helpers.add(service.submit(() -> {
+                    if (isStarted.compareAndSet(false, true)) {
+                        performTasks(nextTask, numTasks, state, task);
+                    }
+                }));
+            }
+            performTasks(nextTask, numTasks, callerState, task);
+
+            //the workers that have not started are not needed anymore
+            for (int t = 0; t < helpers.size(); t++) {
+                if (started.get(t).compareAndSet(false, true)) {
+                    helpers.get(t).cancel(false);
+                } else {
+                    helpers.get(t).get();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The tasks of the worker pool are interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            } else if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            //stops the other workers if a task is failed
+            nextTask.set(numTasks);
+            for (Future<?> helper : helpers) {
+                helper.cancel(false);
+            }
+        }
+        return states;
+    }
+
+    /**
+     * This method shuts down the threads of the pool. The threads are created
+     * again if the pool is used after shutting down. The shared pool is not
+     * shut down.
+     */
+    public synchronized void shutdown() {
+        if (this != COMMON_POOL && executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * This method returns the executor of the pool and creates it on the first
+     * use. The threads are daemon threads, so a pool that is not shut down does
+     * not prevent the application from exiting.
+     *
+     * @return the executor of the pool
+     */
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(numThreads, runnable -> {
+                Thread thread = new Thread(runnable, threadName + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * This method performs the tasks that are not taken by the other workers.
+     *
+     * @param <StateType> the type of the state of a worker thread
+     * @param nextTask the index of the next task that is not taken
+     * @param numTasks the number of tasks
+     * @param state the state of the worker thread
+     * @param task the task of the given index
+     */
+    private static <StateType> void performTasks(AtomicInteger nextTask, int numTasks,
+            StateType state, ObjIntConsumer<StateType> task) {
+        int index;
+        while ((index = nextTask.getAndIncrement()) < numTasks) {
+            task.accept(state, index);
+        }
+    }
+}
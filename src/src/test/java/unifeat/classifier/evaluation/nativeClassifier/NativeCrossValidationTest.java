@@ -0,0 +1,207 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.classifier.evaluation.nativeClassifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import unifeat.classifier.WekaInstances;
+import unifeat.classifier.evaluation.wekaClassifier.CrossValidation;
+import unifeat.gui.classifier.svmClassifier.SVMKernelType;
+import weka.classifiers.Evaluation;
+import weka.classifiers.functions.SMO;
+import weka.classifiers.functions.supportVector.CachedKernel;
+import weka.core.Instance;
+import weka.core.Instances;
+
+/**
+ * This java class is used to test the native classifiers of the cross
+ * validation. The accuracy of each native classifier on a small fixed dataset
+ * is compared with the accuracy of the same classifier of the Weka software
+ * for several feature subsets.
+ * <p>
+ * The values of the features are the integers from zero to four and both
+ * bounds occur in the train samples of every fold, so the normalized values
+ * are multiples of 0.25 and the inner products of the Gram matrix are exact.
+ * Otherwise, the rounding errors of the Gram matrix could break the ties of
+ * the SMO algorithm differently from the Weka software.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.classifier.evaluation.nativeClassifier.NaiveBayesCrossValidation
+ * @see unifeat.classifier.evaluation.nativeClassifier.KNNCrossValidation
+ * @see unifeat.classifier.evaluation.nativeClassifier.SVMCrossValidation
+ */
+public class NativeCrossValidationTest {
+
+    private static final int NUM_SAMPLES = 90;
+    private static final int NUM_FEATURES = 6;
+    private static final int NUM_CLASSES = 3;
+    private static final int K_FOLD = 5;
+    private static final double MAX_VALUE = 4;
+    private static final double EPSILON = 1e-9;
+    private static final int[][] FEATURE_SUBSETS = {{0, 1, 2, 3, 4, 5}, {1, 3}, {4}, {0, 2, 5}};
+    private static final double[][] DATA = createData();
+
+    /**
+     * Creates the dataset in which the first three features depend on the
+     * class label and the others are noise
+     *
+     * @return the data (the class label of each sample is placed in the last
+     * column)
+     */
+    private static double[][] createData() {
+        SplittableRandom rand = new SplittableRandom(7);
+        double[][] data = new double[NUM_SAMPLES][NUM_FEATURES + 1];
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            int label = i % NUM_CLASSES;
+            for (int j = 0; j < NUM_FEATURES; j++) {
+                double gaussian = Math.sqrt(-2 * Math.log(1 - rand.nextDouble())) * Math.cos(2 * Math.PI * rand.nextDouble());
+                data[i][j] = Math.max(0, Math.min(MAX_VALUE, Math.round(gaussian + 1.5 + (j < 3 ? label : 0))));
+            }
+            data[i][NUM_FEATURES] = label;
+        }
+        return data;
+    }
+
+    /**
+     * Creates the Instances of the dataset for the Weka classifiers
+     *
+     * @param selectedFeature the list of selected features
+     *
+     * @return the Instances of the reduced data
+     */
+    private static Instances createInstances(int[] selectedFeature) {
+        String[] featureNames = new String[NUM_FEATURES + 1];
+        for (int j = 0; j < NUM_FEATURES; j++) {
+            featureNames[j] = "f" + j;
+        }
+        featureNames[NUM_FEATURES] = "class";
+        String[] classNames = new String[NUM_CLASSES];
+        for (int c = 0; c < NUM_CLASSES; c++) {
+            classNames[c] = "c" + c;
+        }
+        return WekaInstances.createInstances(DATA, selectedFeature, featureNames, classNames);
+    }
+
+    /**
+     * Evaluates the SMO classifier of the Weka software with the linear kernel
+     * in the same way as {@link CrossValidation#SVM}. The Weka software
+     * computes the output of the polynomial kernel with the exponent of one by
+     * a weight vector, which rounds differently from the sum over the support
+     * vectors, so the kernel is evaluated by {@link LinearKernel} instead.
+     *
+     * @param selectedFeature the list of selected features
+     *
+     * @return the accuracy of the classifier
+     */
+    private static double linearSVMAccuracy(int[] selectedFeature) throws Exception {
+        Instances data = createInstances(selectedFeature);
+        SMO svm = new SMO();
+        svm.setC(1.0);
+        svm.setKernel(new LinearKernel());
+        Evaluation eval = new Evaluation(data);
+        eval.crossValidateModel(svm, data, K_FOLD, new Random(1));
+        return eval.pctCorrect();
+    }
+
+    @Test
+    public void dataKeepsRangesInFolds() {
+        int[] labels = new int[NUM_SAMPLES];
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            labels[i] = (int) DATA[i][NUM_FEATURES];
+        }
+        CrossValidationFolds folds = new CrossValidationFolds(labels, NUM_CLASSES, K_FOLD);
+        for (int f = 0; f < K_FOLD; f++) {
+            for (int j = 0; j < NUM_FEATURES; j++) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int index : folds.getTrainIndices(f)) {
+                    min = Math.min(min, DATA[index][j]);
+                    max = Math.max(max, DATA[index][j]);
+                }
+                assertEquals(0, min);
+                assertEquals(MAX_VALUE, max);
+            }
+        }
+    }
+
+    @Test
+    public void naiveBayesMatchesWeka() {
+        NaiveBayesCrossValidation nb = new NaiveBayesCrossValidation(DATA, NUM_FEATURES, NUM_CLASSES, K_FOLD);
+        for (int[] subset : FEATURE_SUBSETS) {
+            assertEquals(CrossValidation.naiveBayes(createInstances(subset), K_FOLD).getAccuracy(),
+                    nb.crossValidation(subset).getAccuracy(), EPSILON);
+        }
+    }
+
+    @Test
+    public void kNNMatchesWeka() {
+        for (int kNNValue : new int[]{1, 3, 7}) {
+            KNNCrossValidation knn = new KNNCrossValidation(DATA, NUM_FEATURES, NUM_CLASSES, kNNValue, K_FOLD);
+            for (int[] subset : FEATURE_SUBSETS) {
+                assertEquals(CrossValidation.kNN(createInstances(subset), kNNValue, K_FOLD).getAccuracy(),
+                        knn.crossValidation(subset).getAccuracy(), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void linearSVMMatchesWeka() throws Exception {
+        SVMCrossValidation svm = new SVMCrossValidation(DATA, NUM_FEATURES, NUM_CLASSES,
+                SVMKernelType.POLYNOMIAL, 1.0, K_FOLD);
+        for (int[] subset : FEATURE_SUBSETS) {
+            assertEquals(linearSVMAccuracy(subset), svm.crossValidation(subset).getAccuracy(), EPSILON);
+        }
+    }
+
+    @Test
+    public void nonlinearSVMMatchesWeka() {
+        for (SVMKernelType kernel : new SVMKernelType[]{SVMKernelType.RBF, SVMKernelType.PEARSON_VII}) {
+            SVMCrossValidation svm = new SVMCrossValidation(DATA, NUM_FEATURES, NUM_CLASSES, kernel, 1.0, K_FOLD);
+            for (int[] subset : FEATURE_SUBSETS) {
+                assertEquals(CrossValidation.SVM(createInstances(subset), kernel, 1.0, K_FOLD).getAccuracy(),
+                        svm.crossValidation(subset).getAccuracy(), EPSILON);
+            }
+        }
+    }
+
+    /**
+     * This java class is used to evaluate the linear kernel by the inner
+     * products of the samples in the SMO classifier of the Weka software.
+     */
+    public static class LinearKernel extends CachedKernel {
+
+        @Override
+        protected double evaluate(int id1, int id2, Instance inst1) throws Exception {
+            return dotProd(inst1, m_data.instance(id2));
+        }
+
+        @Override
+        public String globalInfo() {
+            return "The linear kernel evaluated by the inner products of the samples.";
+        }
+    }
+}
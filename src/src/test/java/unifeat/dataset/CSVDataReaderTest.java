@@ -0,0 +1,254 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This java class is used to test the CSVDataReader class. The parsed values
+ * are compared with the values of Double.parseDouble, and the files are read
+ * with the different line endings and with the byte ranges that split the
+ * lines at every position.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.CSVDataReader
+ */
+public class CSVDataReaderTest {
+
+    private static final String[] CLASS_NAMES = {"c0", "c1", "c2"};
+    private static final int CHUNKED_FILE_SIZE = 9 << 20;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Parses the given string by the reader and checks that the result has the
+     * same bits as the result of Double.parseDouble
+     *
+     * @param text the number as string
+     */
+    private static void assertSameAsJdk(String text) {
+        byte[] bytes = ("," + text + ",").getBytes(StandardCharsets.ISO_8859_1);
+        double expected = Double.parseDouble(text);
+        double actual = CSVDataReader.parseDouble(bytes, 1, bytes.length - 1);
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual), text);
+    }
+
+    @Test
+    public void parseDoubleOfPlainNumbers() {
+        String[] numbers = {"0", "-0", "+0", "1", "-1", "+2.5", "0.1", "0.2", "0.3",
+            ".5", "5.", "-.25", "000123.4500", "3.141592653589793", "2.718281828459045",
+            "123456.789", "0.000001", "99999999.99999999"};
+        for (String number : numbers) {
+            assertSameAsJdk(number);
+        }
+    }
+
+    @Test
+    public void parseDoubleOfExponents() {
+        String[] numbers = {"1e0", "1E5", "1e+5", "1e-5", "-2.5e3", "1e22", "1e-22",
+            "1e23", "1e-23", "1.5e22", "9e22", "123e-24", "1e308", "1.7976931348623157e308",
+            "1.7976931348623159e308", "1e309", "-1e309", "2.2250738585072014e-308",
+            "4.9e-324", "2e-324", "1e-400", "1e00000000000000001", "5e-0000000000000000001"};
+        for (String number : numbers) {
+            assertSameAsJdk(number);
+        }
+    }
+
+    @Test
+    public void parseDoubleOfLongMantissas() {
+        String[] numbers = {"9007199254740991", "9007199254740992", "9007199254740993",
+            "9007199254740994", "9007199254740995", "18014398509481985",
+            "9007199254740993e-10", "0.9007199254740993", "123456789012345678901234567890",
+            "0.30000000000000004", "0.1000000000000000055511151231257827",
+            "3.14159265358979323846264338327950288", "1.00000000000000000000000000001",
+            "9007199254740992e22", "9007199254740992e-22"};
+        for (String number : numbers) {
+            assertSameAsJdk(number);
+        }
+    }
+
+    @Test
+    public void parseDoubleOfRandomNumbers() {
+        SplittableRandom rand = new SplittableRandom(42);
+        for (int i = 0; i < 100000; i++) {
+            assertSameAsJdk(Double.toString(Double.longBitsToDouble(rand.nextLong())).replace("Infinity", "1e400"));
+            assertSameAsJdk(Double.toString(rand.nextDouble() * 1000 - 500));
+
+            StringBuilder number = new StringBuilder();
+            int numDigits = rand.nextInt(1, 21);
+            for (int j = 0; j < numDigits; j++) {
+                number.append((char) ('0' + rand.nextInt(10)));
+            }
+            number.insert(rand.nextInt(numDigits + 1), '.');
+            if (rand.nextBoolean()) {
+                number.append('e').append(rand.nextInt(-40, 41));
+            }
+            assertSameAsJdk(number.toString());
+        }
+    }
+
+    @Test
+    public void parseDoubleOfInvalidNumbers() {
+        String[] texts = {"", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", "1,5", "abc", "1x", "--1"};
+        for (String text : texts) {
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            assertThrows(NumberFormatException.class, () -> CSVDataReader.parseDouble(bytes, 0, bytes.length), text);
+        }
+    }
+
+    /**
+     * Writes the given text to a file of the temporary directory
+     *
+     * @param name the name of the file
+     * @param text the content of the file
+     *
+     * @return the path of the file
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private String writeFile(String name, String text) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.write(path, text.getBytes(StandardCharsets.ISO_8859_1));
+        return path.toString();
+    }
+
+    /**
+     * Reads the given file by a reader with the given number of threads
+     *
+     * @param path the path of the file
+     * @param numThreads the number of worker threads of the reader
+     *
+     * @return the reader
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private static CSVDataReader read(String path, int numThreads) throws IOException {
+        CSVDataReader reader = new CSVDataReader(CLASS_NAMES, numThreads);
+        reader.read(path);
+        return reader;
+    }
+
+    /**
+     * Checks that the reader contains the given samples
+     *
+     * @param reader the reader of the file
+     * @param values the values of the features of the samples
+     * @param labels the class labels of the samples
+     */
+    private static void assertSamples(CSVDataReader reader, double[][] values, int[] labels) {
+        assertTrue(reader.isCorrectFormat());
+        assertTrue(reader.isCorrectLabels());
+        assertEquals(labels.length, reader.getNumSamples());
+        ColumnarDataset data = reader.createDataset();
+        assertArrayEquals(labels, data.getLabels());
+        for (int j = 0; j < values.length; j++) {
+            assertArrayEquals(values[j], data.getColumn(j));
+        }
+    }
+
+    @Test
+    public void readLineEndings() throws IOException {
+        double[][] values = {{1.5, -2, 3e-3}, {0.25, 7, 1e10}};
+        int[] labels = {2, 0, 1};
+        String[] lines = {"f1,f2,class", "1.5,0.25,c2", "-2,7,c0", "3e-3,1e10,c1"};
+
+        String[] separators = {"\n", "\r\n", "\r"};
+        for (String separator : separators) {
+            String text = String.join(separator, lines);
+            for (String end : new String[]{"", separator}) {
+                String path = writeFile("lines.csv", text + end);
+                CSVDataReader reader = read(path, 1);
+                assertEquals("f1,f2,class", reader.getHeader());
+                assertEquals(2, reader.getNumFeatures());
+                assertSamples(reader, values, labels);
+            }
+        }
+    }
+
+    @Test
+    public void readWrongFormat() throws IOException {
+        CSVDataReader reader = read(writeFile("fields.csv", "f1,f2,class\r\n1,2,c0\r\n1,c1\r\n"), 1);
+        assertTrue(!reader.isCorrectFormat());
+
+        reader = read(writeFile("labels.csv", "f1,f2,class\r\n1,2,c0\r\n1,2,c9\r\n"), 1);
+        assertTrue(!reader.isCorrectLabels());
+    }
+
+    /**
+     * Converts the given sample to a line of the file
+     *
+     * @param values the values of the features of the samples
+     * @param labels the class labels of the samples
+     * @param index the index of the sample
+     * @param padding the number of extra zeros of the first value
+     *
+     * @return the line of the sample without the line separator
+     */
+    private static String toLine(double[][] values, int[] labels, int index, int padding) {
+        return String.format(Locale.ROOT, "%.4f", values[0][index]) + "0".repeat(padding) + ","
+                + String.format(Locale.ROOT, "%.4f", values[1][index]) + "," + CLASS_NAMES[labels[index]];
+    }
+
+    @Test
+    public void readByteRanges() throws IOException {
+        for (String separator : new String[]{"\n", "\r\n"}) {
+            int lineLength = 16 + separator.length();
+            int numSamples = CHUNKED_FILE_SIZE / lineLength;
+            SplittableRandom rand = new SplittableRandom(7);
+            double[][] values = new double[2][numSamples];
+            int[] labels = new int[numSamples];
+            for (int i = 0; i < numSamples; i++) {
+                values[0][i] = Double.parseDouble(String.format(Locale.ROOT, "%.4f", rand.nextDouble(9)));
+                values[1][i] = Double.parseDouble(String.format(Locale.ROOT, "%.4f", rand.nextDouble(9)));
+                labels[i] = rand.nextInt(CLASS_NAMES.length);
+            }
+            StringBuilder text = new StringBuilder("f1,f2,class").append(separator);
+            for (int i = 0; i < numSamples - 1; i++) {
+                text.append(toLine(values, labels, i, 0)).append(separator);
+            }
+            String body = text.toString();
+
+            //the padding of the last line moves the ends of the byte ranges over every byte of a line
+            for (int padding = 0; padding < 2 * lineLength; padding++) {
+                String path = writeFile("chunked.csv", body + toLine(values, labels, numSamples - 1, padding) + separator);
+                assertSamples(read(path, 1), values, labels);
+            }
+            String path = writeFile("chunked.csv", body + toLine(values, labels, numSamples - 1, 0));
+            assertSamples(read(path, 4), values, labels);
+        }
+    }
+}
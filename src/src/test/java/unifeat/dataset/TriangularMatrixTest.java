@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This java class is used to test the TriangularMatrix class. The values kept
+ * in half precision are compared with the exact values and with the bound of
+ * the rounding error, and the indices of the pairs are checked in all
+ * precisions.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.dataset.TriangularMatrix
+ */
+public class TriangularMatrixTest {
+
+    private static final int SIZE = 50;
+
+    /**
+     * Keeps the value in a half precision matrix and returns the value that
+     * is read from the matrix
+     *
+     * @param value the value
+     *
+     * @return the value after the round trip
+     */
+    private static double roundTrip(double value) {
+        TriangularMatrix matrix = new TriangularMatrix(2, PrecisionType.HALF);
+        matrix.set(0, value);
+        double result = matrix.get(0);
+        matrix.release();
+        return result;
+    }
+
+    @Test
+    public void halfPrecisionKeepsExactValues() {
+        double[] values = {0, 1, -1, 0.5, -0.25, 0.1875, 3, 2048, -65504,
+            0x1p-14, 0x1p-24, 3 * 0x1p-24, -1023 * 0x1p-24};
+        for (double value : values) {
+            assertEquals(value, roundTrip(value), String.valueOf(value));
+        }
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(roundTrip(-0.0)));
+    }
+
+    @Test
+    public void halfPrecisionRoundsToNearestEven() {
+        assertEquals(1, roundTrip(1 + 0x1p-11));
+        assertEquals(1 + 0x1p-9, roundTrip(1 + 3 * 0x1p-11));
+        assertEquals(0, roundTrip(0x1p-25));
+        assertEquals(0x1p-24, roundTrip(3 * 0x1p-26));
+        assertEquals(0, roundTrip(0x1p-30));
+        assertEquals(Double.POSITIVE_INFINITY, roundTrip(65520));
+        assertEquals(Double.NEGATIVE_INFINITY, roundTrip(-1e6));
+        assertEquals(Double.POSITIVE_INFINITY, roundTrip(Double.POSITIVE_INFINITY));
+        assertTrue(Double.isNaN(roundTrip(Double.NaN)));
+    }
+
+    @Test
+    public void halfPrecisionRoundTrip() {
+        TriangularMatrix matrix = new TriangularMatrix(SIZE, PrecisionType.HALF);
+        assertEquals(PrecisionType.HALF, matrix.getPrecision());
+        assertEquals(SIZE, matrix.getSize());
+        assertEquals(SIZE * (SIZE - 1) / 2, matrix.getLength());
+
+        SplittableRandom rand = new SplittableRandom(1);
+        double[] values = new double[(int) matrix.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rand.nextDouble(-100, 100);
+            matrix.set(i, values[i]);
+        }
+        for (int i = 0; i < values.length; i++) {
+            //the rounding error is at most half of the unit in the last place
+            double error = Math.abs(matrix.get(i) - values[i]);
+            assertTrue(error <= Math.max(Math.abs(values[i]) * 0x1p-11, 0x1p-25), values[i] + " " + matrix.get(i));
+        }
+
+        matrix.scale(0.5);
+        matrix.fill(0.375);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(0.375, matrix.get(i));
+        }
+        matrix.release();
+    }
+
+    @Test
+    public void pairsAreSymmetric() {
+        for (PrecisionType precision : new PrecisionType[]{PrecisionType.DOUBLE, PrecisionType.FLOAT, PrecisionType.HALF}) {
+            TriangularMatrix matrix = new TriangularMatrix(SIZE, precision);
+            for (int i = 0; i < SIZE; i++) {
+                for (int j = 0; j < i; j++) {
+                    matrix.set(i, j, i * SIZE + j);
+                }
+            }
+            for (int i = 0; i < SIZE; i++) {
+                for (int j = 0; j < i; j++) {
+                    assertEquals(TriangularMatrix.findIndex(i, j), TriangularMatrix.findIndex(j, i));
+                    double expected = precision == PrecisionType.HALF ? (float) roundTrip(i * SIZE + j) : i * SIZE + j;
+                    assertEquals(expected, matrix.get(j, i), precision.toString());
+                }
+            }
+            matrix.release();
+        }
+    }
+}
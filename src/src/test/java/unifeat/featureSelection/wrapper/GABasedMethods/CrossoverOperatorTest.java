@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 UniFeat
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package unifeat.featureSelection.wrapper.GABasedMethods;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This java class is used to test the crossover operators of the packed bit
+ * arrays. The results of swapping the ranges of bits are compared with the
+ * results of swapping the bits one by one, especially for the ranges that
+ * start or end at the boundaries of the long words.
+ *
+ * @author Sina Tabakhi
+ * @see unifeat.featureSelection.wrapper.GABasedMethods.CrossoverOperator
+ */
+public class CrossoverOperatorTest {
+
+    private static final int NUM_WORDS = 4;
+    private static final int[] BOUNDS = {0, 1, 31, 63, 64, 65, 100, 127, 128, 129, 191, 192, 255, 256};
+
+    /**
+     * Swaps the bits of the two packed bit arrays in the given range one by
+     * one
+     *
+     * @param parent1 the first packed bit array
+     * @param parent2 the second packed bit array
+     * @param from the index of the first bit in the range (inclusive)
+     * @param to the index of the last bit in the range (exclusive)
+     */
+    private static void swapBits(long[] parent1, long[] parent2, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long mask = 1L << i;
+            long bit1 = parent1[i >>> 6] & mask;
+            long bit2 = parent2[i >>> 6] & mask;
+            parent1[i >>> 6] = (parent1[i >>> 6] & ~mask) | bit2;
+            parent2[i >>> 6] = (parent2[i >>> 6] & ~mask) | bit1;
+        }
+    }
+
+    @Test
+    public void swapRangeMatchesSwapOfBits() {
+        SplittableRandom rand = new SplittableRandom(1);
+        for (int from : BOUNDS) {
+            for (int to : BOUNDS) {
+                long[] parent1 = rand.longs(NUM_WORDS).toArray();
+                long[] parent2 = rand.longs(NUM_WORDS).toArray();
+                long[] expected1 = parent1.clone();
+                long[] expected2 = parent2.clone();
+                swapBits(expected1, expected2, from, to);
+
+                CrossoverOperator.swapRange(parent1, parent2, from, to);
+                String range = "[" + from + ", " + to + ")";
+                assertArrayEquals(expected1, parent1, range);
+                assertArrayEquals(expected2, parent2, range);
+            }
+        }
+    }
+
+    @Test
+    public void swapRangeEndingAtWordBoundary() {
+        for (int to = 64; to <= NUM_WORDS * 64; to += 64) {
+            for (int from = 0; from < to; from++) {
+                long[] parent1 = new long[NUM_WORDS];
+                long[] parent2 = {-1L, -1L, -1L, -1L};
+                CrossoverOperator.swapRange(parent1, parent2, from, to);
+
+                //only the bits in the range are moved, and the next word is not changed
+                long[] expected1 = new long[NUM_WORDS];
+                long[] expected2 = {-1L, -1L, -1L, -1L};
+                swapBits(expected1, expected2, from, to);
+                String range = "[" + from + ", " + to + ")";
+                assertArrayEquals(expected1, parent1, range);
+                assertArrayEquals(expected2, parent2, range);
+            }
+        }
+    }
+}